@@ -34,16 +34,19 @@ public final class SideProofStatistics extends Statistics {
      * @param operationContractApps amount of operation contract applications
      * @param blockLoopContractApps amount of block or loop contract applications
      * @param loopInvApps amount of loop invariant rule applications
+     * @param congruenceClosureApps amount of congruence closure rule applications
+     * @param congruenceClosureEquations amount of equations derived by congruence closure
      * @param autoModeTime accumulated (spent) auto mode time
      */
     private SideProofStatistics(int sideProofs, int nodes, int branches, int interactiveSteps,
             int symbExApps, int quantifierInstantiations, int ossApps, int mergeRuleApps,
             int totalRuleApps, int smtSolverApps, int dependencyContractApps,
             int operationContractApps, int blockLoopContractApps, int loopInvApps,
-            long autoModeTime) {
+            int congruenceClosureApps, int congruenceClosureEquations, long autoModeTime) {
         super(nodes, branches, 0, interactiveSteps, symbExApps, quantifierInstantiations, ossApps,
             mergeRuleApps, totalRuleApps, smtSolverApps, dependencyContractApps,
-            operationContractApps, blockLoopContractApps, loopInvApps, autoModeTime, -1,
+            operationContractApps, blockLoopContractApps, loopInvApps, congruenceClosureApps,
+            congruenceClosureEquations, autoModeTime, -1,
             nodes <= sideProofs ? .0f : (autoModeTime / (float) (nodes - sideProofs)));
         this.sideProofs = sideProofs;
     }
@@ -60,6 +63,7 @@ public final class SideProofStatistics extends Statistics {
             stat.symbExApps, stat.quantifierInstantiations, stat.ossApps, stat.mergeRuleApps,
             stat.totalRuleApps, stat.smtSolverApps, stat.dependencyContractApps,
             stat.operationContractApps, stat.blockLoopContractApps, stat.loopInvApps,
+            stat.congruenceClosureApps, stat.congruenceClosureEquations,
             stat.autoModeTimeInMillis);
     }
 
@@ -75,6 +79,7 @@ public final class SideProofStatistics extends Statistics {
             stat.symbExApps, stat.quantifierInstantiations, stat.ossApps, stat.mergeRuleApps,
             stat.totalRuleApps, stat.smtSolverApps, stat.dependencyContractApps,
             stat.operationContractApps, stat.blockLoopContractApps, stat.loopInvApps,
+            stat.congruenceClosureApps, stat.congruenceClosureEquations,
             stat.autoModeTimeInMillis);
     }
 
@@ -95,6 +100,8 @@ public final class SideProofStatistics extends Statistics {
             this.operationContractApps + stat.operationContractApps,
             this.blockLoopContractApps + stat.blockLoopContractApps,
             this.loopInvApps + stat.loopInvApps,
+            this.congruenceClosureApps + stat.congruenceClosureApps,
+            this.congruenceClosureEquations + stat.congruenceClosureEquations,
             this.autoModeTimeInMillis + stat.autoModeTimeInMillis);
     }
 
@@ -115,6 +122,8 @@ public final class SideProofStatistics extends Statistics {
             this.operationContractApps + stat.operationContractApps,
             this.blockLoopContractApps + stat.blockLoopContractApps,
             this.loopInvApps + stat.loopInvApps,
+            this.congruenceClosureApps + stat.congruenceClosureApps,
+            this.congruenceClosureEquations + stat.congruenceClosureEquations,
             this.autoModeTimeInMillis + stat.autoModeTimeInMillis);
     }
 
@@ -128,6 +137,6 @@ public final class SideProofStatistics extends Statistics {
         return new SideProofStatistics(sideProofs, nodes, branches, interactiveSteps, symbExApps,
             quantifierInstantiations, ossApps, mergeRuleApps, totalRuleApps, smtSolverApps,
             dependencyContractApps, operationContractApps, blockLoopContractApps, loopInvApps,
-            autoTime);
+            congruenceClosureApps, congruenceClosureEquations, autoTime);
     }
 }
@@ -0,0 +1,189 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import de.uka.ilkd.key.settings.GeneralSettings;
+import de.uka.ilkd.key.util.CacheMetrics;
+
+import org.key_project.util.ConcurrentClockCache;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import recoder.convenience.TreeWalker;
+import recoder.java.Comment;
+import recoder.java.CompilationUnit;
+import recoder.java.ProgramElement;
+import recoder.list.generic.ASTList;
+
+/**
+ * Caches the Recoder compilation units parsed from Java source files, keyed by the digest of the
+ * contents of the files. When a problem is loaded again, e.g., after a source file has been edited,
+ * only the files whose contents have changed are parsed again; the compilation units of the other
+ * files are copied from the cache. The cache is only used if
+ * {@link GeneralSettings#reuseParsedSources} is set; {@link #clear()} releases the cached units.
+ * <p>
+ * The cache keeps pristine copies of the compilation units as returned by the parser, i.e., before
+ * they have been attached to a service configuration and transformed. Every lookup returns a
+ * fresh deep copy, which the caller may modify. Compilation units which cannot be copied (some
+ * KeY specific program elements do not support copying) are not cached.
+ * <p>
+ * The cache is bounded by the total length of the cached sources and registered with
+ * {@link CacheMetrics} as <code>javaSources</code>. It is thread-safe.
+ */
+public final class JavaSourceCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JavaSourceCache.class);
+
+    /** the maximal total length of the sources of the cached compilation units in characters */
+    private static final long MAX_SOURCE_LENGTH = 8L * 1024 * 1024;
+
+    /** the estimated memory retained by a compilation unit per character of its source */
+    private static final int BYTES_PER_CHARACTER = 24;
+
+    private static final JavaSourceCache INSTANCE = new JavaSourceCache();
+
+    private final ConcurrentClockCache<String, Entry> units =
+        new ConcurrentClockCache<>(MAX_SOURCE_LENGTH, (digest, entry) -> entry.length());
+
+    private JavaSourceCache() {
+        CacheMetrics.getInstance().register("javaSources", units, BYTES_PER_CHARACTER);
+    }
+
+    /**
+     * @return the cache
+     */
+    public static JavaSourceCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Computes the key of a source file.
+     *
+     * @param source the contents of the file
+     * @return the SHA-256 digest of the contents
+     */
+    public static String digest(String source) {
+        try {
+            final MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Looks up the compilation unit of a source file.
+     *
+     * @param digest the digest of the contents of the file, see {@link #digest(String)}
+     * @return a copy of the compilation unit parsed from the contents, or <code>null</code> if the
+     *         contents have not been parsed before
+     */
+    public @Nullable CompilationUnit get(String digest) {
+        final Entry entry = units.get(digest);
+        return entry == null ? null : copy(entry.unit());
+    }
+
+    /**
+     * Stores the compilation unit of a source file. Must be called before the compilation unit is
+     * modified.
+     *
+     * @param digest the digest of the contents of the file, see {@link #digest(String)}
+     * @param length the length of the contents
+     * @param unit the compilation unit as returned by the parser
+     */
+    public void put(String digest, int length, CompilationUnit unit) {
+        final CompilationUnit copy;
+        try {
+            copy = faithfulCopy(unit);
+        } catch (RuntimeException | StackOverflowError e) {
+            LOGGER.debug("Compilation unit {} cannot be copied, not cached", unit.getName(), e);
+            return;
+        }
+        if (copy == null) {
+            LOGGER.debug("Copy of compilation unit {} is incomplete, not cached", unit.getName());
+            return;
+        }
+        units.putIfAbsent(digest, new Entry(copy, Math.max(length, 1)));
+    }
+
+    /**
+     * Removes all compilation units from the cache.
+     */
+    public void clear() {
+        units.clear();
+    }
+
+    private static CompilationUnit copy(CompilationUnit unit) {
+        final CompilationUnit result = unit.deepClone();
+        final TreeWalker tw = new TreeWalker(result);
+        while (tw.next()) {
+            attachComments(tw.getProgramElement());
+        }
+        return result;
+    }
+
+    /**
+     * Copies a compilation unit and checks in the same pass that the copy has the same structure,
+     * positions and comments as the original and does not share any program element with it. Some
+     * KeY specific program elements do not copy their comments or positions, which are needed,
+     * e.g., by the JML transformer.
+     *
+     * @return the copy, or <code>null</code> if it is not faithful
+     */
+    private static @Nullable CompilationUnit faithfulCopy(CompilationUnit original) {
+        final CompilationUnit result = original.deepClone();
+        final TreeWalker left = new TreeWalker(original);
+        final TreeWalker right = new TreeWalker(result);
+        while (left.next()) {
+            if (!right.next()) {
+                return null;
+            }
+            final ProgramElement a = left.getProgramElement();
+            final ProgramElement b = right.getProgramElement();
+            if (a == b || a.getClass() != b.getClass()
+                    || !a.getStartPosition().equals(b.getStartPosition())
+                    || !a.getEndPosition().equals(b.getEndPosition())
+                    || !a.getRelativePosition().equals(b.getRelativePosition())
+                    || !sameComments(a.getComments(), b.getComments())) {
+                return null;
+            }
+            attachComments(b);
+        }
+        return right.next() ? null : result;
+    }
+
+    /** the copied comments do not know their parents yet */
+    private static void attachComments(ProgramElement pe) {
+        final ASTList<Comment> comments = pe.getComments();
+        if (comments != null) {
+            pe.setComments(comments);
+        }
+    }
+
+    private static boolean sameComments(@Nullable ASTList<Comment> a,
+            @Nullable ASTList<Comment> b) {
+        final int size = a == null ? 0 : a.size();
+        if (size != (b == null ? 0 : b.size())) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            final Comment ca = a.get(i);
+            final Comment cb = b.get(i);
+            if (ca == cb || ca.getClass() != cb.getClass() || !ca.getText().equals(cb.getText())
+                    || ca.isPrefixed() != cb.isPrefixed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Entry(CompilationUnit unit, int length) {
+    }
+}
@@ -5,15 +5,10 @@ package de.uka.ilkd.key.java;
 
 
 import de.uka.ilkd.key.java.reference.ExecutionContext;
-import de.uka.ilkd.key.java.statement.CatchAllStatement;
-import de.uka.ilkd.key.java.statement.LabeledStatement;
 import de.uka.ilkd.key.java.statement.MethodFrame;
-import de.uka.ilkd.key.java.visitor.CreatingASTVisitor;
 import de.uka.ilkd.key.java.visitor.JavaASTVisitor;
+import de.uka.ilkd.key.java.visitor.ProgramElementReplacer;
 import de.uka.ilkd.key.logic.JavaBlock;
-import de.uka.ilkd.key.logic.ProgramPrefix;
-
-import org.key_project.util.ExtList;
 
 import org.jspecify.annotations.Nullable;
 
@@ -26,23 +21,11 @@ import org.jspecify.annotations.Nullable;
 public final class JavaTools {
 
     /**
-     * Returns the active statement of the passed a java block.
+     * Returns the active statement of the passed a java block. The statement is computed once per
+     * block, see {@link JavaBlock#getActiveStatement()}.
      */
     public static SourceElement getActiveStatement(JavaBlock jb) {
-        assert jb.program() != null;
-
-        SourceElement result = jb.program().getFirstElement();
-        while ((result instanceof ProgramPrefix || result instanceof CatchAllStatement)
-                && !(result instanceof StatementBlock && ((StatementBlock) result).isEmpty())) {
-            if (result instanceof LabeledStatement) {
-                result = ((LabeledStatement) result).getChildAt(1);
-            } else if (result instanceof CatchAllStatement) {
-                result = ((CatchAllStatement) result).getBody();
-            } else {
-                result = result.getFirstElement();
-            }
-        }
-        return result;
+        return jb.getActiveStatement();
     }
 
     /**
@@ -55,7 +38,8 @@ public final class JavaTools {
     }
 
     /**
-     * Returns the passed java block with `statement` replaced with `with`.
+     * Returns the passed java block with `statement` replaced with `with`. Only the elements on
+     * the path to `statement` are recreated, see {@link ProgramElementReplacer}.
      *
      * @param jb the block
      * @param statement the statement to replace
@@ -65,30 +49,8 @@ public final class JavaTools {
     public static JavaBlock replaceStatement(JavaBlock jb, Services services,
             SourceElement statement, @Nullable SourceElement with) {
         assert jb.program() != null;
-        Statement newProg = (Statement) (new CreatingASTVisitor(jb.program(), false, services) {
-            private boolean done = false;
-
-            public ProgramElement go() {
-                stack.push(new ExtList());
-                walk(root());
-                ExtList el = stack.peek();
-                return el.get(ProgramElement.class);
-            }
-
-            @Override
-            public void doAction(ProgramElement node) {
-                if (!done && node == statement) {
-                    done = true;
-                    stack.pop();
-                    if (with != null) {
-                        addToTopOfStack(with);
-                    }
-                    changed();
-                } else {
-                    super.doAction(node);
-                }
-            }
-        }).go();
+        final Statement newProg = (Statement) new ProgramElementReplacer(jb.program(), services)
+                .replace((ProgramElement) statement, (ProgramElement) with);
 
         StatementBlock newSB = newProg instanceof StatementBlock ? (StatementBlock) newProg
                 : new StatementBlock(newProg);
@@ -118,10 +80,11 @@ public final class JavaTools {
     }
 
     /**
-     * Returns the innermost method frame of the passed java block
+     * Returns the innermost method frame of the passed java block. The frame is computed once per
+     * block, see {@link JavaBlock#getInnermostMethodFrame(Services)}.
      */
     public static MethodFrame getInnermostMethodFrame(JavaBlock jb, Services services) {
-        return getInnermostMethodFrame(jb.program(), services);
+        return jb.getInnermostMethodFrame(services);
     }
 
     public static ExecutionContext getInnermostExecutionContext(JavaBlock jb, Services services) {
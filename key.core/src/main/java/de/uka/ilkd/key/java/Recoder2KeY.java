@@ -10,6 +10,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.java.abstraction.NullType;
@@ -22,6 +26,7 @@ import de.uka.ilkd.key.logic.op.IProgramVariable;
 import de.uka.ilkd.key.logic.op.ProgramVariable;
 import de.uka.ilkd.key.logic.sort.NullSort;
 import de.uka.ilkd.key.proof.io.consistency.FileRepo;
+import de.uka.ilkd.key.settings.GeneralSettings;
 import de.uka.ilkd.key.util.*;
 import de.uka.ilkd.key.util.LinkedHashMap;
 import de.uka.ilkd.key.util.parsing.HasLocation;
@@ -42,10 +47,13 @@ import recoder.ParserException;
 import recoder.ProgramFactory;
 import recoder.bytecode.ByteCodeParser;
 import recoder.bytecode.ClassFile;
+import recoder.bytecode.FieldInfo;
+import recoder.bytecode.MethodInfo;
 import recoder.convenience.TreeWalker;
 import recoder.io.DataFileLocation;
 import recoder.io.DataLocation;
 import recoder.io.PropertyNames;
+import recoder.java.Comment;
 import recoder.java.CompilationUnit;
 import recoder.java.Identifier;
 import recoder.java.ProgramElement;
@@ -100,6 +108,13 @@ public class Recoder2KeY implements JavaReader {
      */
     private Path bootClassPath;
 
+    /**
+     * the files, besides the Java sources, which may mention library classes by name, e.g., the
+     * problem file. Only the class files of library classes which are referenced by the sources or
+     * by these files are converted.
+     */
+    private Collection<Path> referencingFiles = List.of();
+
     /**
      * this mapping stores the relation between recoder and KeY entities in a bidirectional way.
      *
@@ -329,39 +344,122 @@ public class Recoder2KeY implements JavaReader {
     }
 
     /**
-     * Helper method for parsing a single compilation unit when a FileRepo is present.
+     * Helper method for reading a source file when a FileRepo is present.
      *
      * @param fileRepo the FileRepo that provides the InputStream
      * @param filename the name of the file to read
+     * @return the contents of the file
+     * @throws IOException if the file cannot be read
+     */
+    private static String readViaFileRepo(FileRepo fileRepo, String filename) throws IOException {
+        // file repos are not thread-safe, only the parsing is done in parallel
+        synchronized (fileRepo) {
+            try (InputStream is = fileRepo.getInputStream(Paths.get(filename))) {
+                return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    /**
+     * Helper method for parsing a single compilation unit from a file.
+     * <p>
+     * If {@link GeneralSettings#reuseParsedSources} is set, files whose contents have been parsed
+     * before are not parsed again, their compilation units are copied from the
+     * {@link JavaSourceCache}.
+     *
+     * @param filename the name of the file to read
+     * @param fileRepo the FileRepo that provides the InputStream, may be null
      * @return the parsed compilation unit
      * @throws ParseExceptionInFile exceptions are wrapped into this to provide location information
      */
-    private CompilationUnit readViaFileRepo(FileRepo fileRepo, String filename)
+    private CompilationUnit readFile(String filename, @Nullable FileRepo fileRepo)
             throws ParseExceptionInFile {
-        try (InputStream is = fileRepo.getInputStream(Paths.get(filename));
-                Reader fr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                BufferedReader br = new BufferedReader(fr)) {
-            return servConf.getProgramFactory().parseCompilationUnit(br);
+        CompilationUnit cu;
+        try {
+            final String source;
+            if (fileRepo != null) {
+                // open stream via FileRepo
+                source = readViaFileRepo(fileRepo, filename);
+            } else {
+                // fallback without FileRepo
+                source = Files.readString(Paths.get(filename), StandardCharsets.UTF_8);
+            }
+            if (GeneralSettings.reuseParsedSources) {
+                final JavaSourceCache cache = JavaSourceCache.getInstance();
+                final String digest = JavaSourceCache.digest(source);
+                cu = cache.get(digest);
+                if (cu == null) {
+                    cu = parse(source);
+                    cache.put(digest, source.length(), cu);
+                }
+            } else {
+                cu = parse(source);
+            }
         } catch (Throwable e) {
             // using throwable here since TokenMgrErrors are not Exceptions ...
             throw new ParseExceptionInFile(filename, e);
         }
+        cu.setDataLocation(new DataFileLocation(filename));
+        return cu;
+    }
+
+    private CompilationUnit parse(String source) throws IOException, ParserException {
+        return servConf.getProgramFactory()
+                .parseCompilationUnit(new BufferedReader(new StringReader(source)));
     }
 
     /**
-     * Helper method for parsing a single compilation unit directly from a file, in case no FileRepo
-     * is present.
+     * Parses a number of java files, without resolving any references.
      *
-     * @param filename the name of the file to read
-     * @return the parsed compilation unit
-     * @throws ParseExceptionInFile exceptions are wrapped into this to provide location information
+     * The files are independent of each other at this stage, so that they are lexed and parsed,
+     * and their comments are attached, in parallel.
+     *
+     * @param filenames the files to read
+     * @param fileRepo the FileRepo that provides the InputStreams, may be null
+     * @param maxThreads the maximal number of threads to use
+     * @return the parsed compilation units in the order of the files
+     * @throws ParseExceptionInFile if a file cannot be parsed; if several files cannot be parsed,
+     *         the exception of the first of them is thrown
      */
-    private CompilationUnit readWithoutFileRepo(String filename) throws ParseExceptionInFile {
-        try (Reader fr = new FileReader(filename, StandardCharsets.UTF_8);
-                BufferedReader br = new BufferedReader(fr)) {
-            return servConf.getProgramFactory().parseCompilationUnit(br);
-        } catch (Exception e) {
-            throw new ParseExceptionInFile(filename, e);
+    List<CompilationUnit> parseFiles(String[] filenames, @Nullable FileRepo fileRepo,
+            int maxThreads) throws ParseExceptionInFile {
+        final int threads = Math.min(filenames.length, maxThreads);
+        final List<CompilationUnit> result = new ArrayList<>(filenames.length);
+        if (threads <= 1) {
+            for (String filename : filenames) {
+                result.add(readFile(filename, fileRepo));
+            }
+            return result;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "Recoder2KeY parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<CompilationUnit>> parsed = new ArrayList<>(filenames.length);
+            for (String filename : filenames) {
+                parsed.add(executor.submit(() -> readFile(filename, fileRepo)));
+            }
+            for (int i = 0; i < filenames.length; i++) {
+                try {
+                    result.add(parsed.get(i).get());
+                } catch (ExecutionException e) {
+                    switch (e.getCause()) {
+                        case ParseExceptionInFile pe -> throw pe;
+                        case RuntimeException re -> throw re;
+                        case Error err -> throw err;
+                        default -> throw new ParseExceptionInFile(filenames[i], e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ParseExceptionInFile(filenames[i], e);
+                }
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -378,22 +476,12 @@ public class Recoder2KeY implements JavaReader {
     private List<recoder.java.CompilationUnit> recoderCompilationUnitsAsFiles(String[] cUnitStrings,
             FileRepo fileRepo) {
         List<recoder.java.CompilationUnit> cUnits = new ArrayList<>();
-        parseSpecialClasses(fileRepo);
         try {
-            for (String filename : cUnitStrings) {
-                final CompilationUnit cu;
-
-                if (fileRepo != null) {
-                    // open stream via FileRepo
-                    cu = readViaFileRepo(fileRepo, filename);
-                } else {
-                    // fallback without FileRepo
-                    cu = readWithoutFileRepo(filename);
-                }
-
-                cu.setDataLocation(new DataFileLocation(filename));
-                cUnits.add(cu);
-            }
+            // parse on up to one thread per processor
+            cUnits = parseFiles(cUnitStrings, fileRepo,
+                Runtime.getRuntime().availableProcessors());
+            // the sources decide which classes of the classpath are needed
+            parseSpecialClasses(fileRepo, cUnits);
 
             final ChangeHistory changeHistory = servConf.getChangeHistory();
             for (CompilationUnit cUnit : cUnits) {
@@ -499,6 +587,17 @@ public class Recoder2KeY implements JavaReader {
         this.bootClassPath = bootClassPath;
     }
 
+    /**
+     * Sets the files which may mention library classes by name besides the Java sources, e.g., the
+     * problem file. The class files of the classpath are converted only if the classes are
+     * referenced by the sources or by one of these files (or by another converted class file).
+     *
+     * @param referencingFiles the files, not null
+     */
+    public void setReferencingFiles(Collection<Path> referencingFiles) {
+        this.referencingFiles = referencingFiles;
+    }
+
     /**
      * get the list of names of classes that have been created dynamically due to lacking
      * definitions.
@@ -576,24 +675,27 @@ public class Recoder2KeY implements JavaReader {
      * <li>If "classPath" is set and contains at least one entry
      * <ol>
      * <li>read every <code>.java</code> file within the entries (directories or zip files)
-     * <li>read every <code>.class</code> file within the entries (directories or zip files)
+     * <li>read the <code>.class</code> files within the entries (directories or zip files) of the
+     * classes which are referenced, see {@link #readClassFiles}
      * </ol>
      * <li>else read a special collection of classes that is stored internally
      * </ol>
      *
      * @author mulbrich
      * @param fileRepo the FileRepo for obtaining InputStreams
+     * @param roots the parsed Java sources of the problem
      * @throws ParserException
      * @throws IOException
      */
-    private List<recoder.java.CompilationUnit> parseLibs(FileRepo fileRepo)
-            throws IOException, ParserException {
+    private List<recoder.java.CompilationUnit> parseLibs(FileRepo fileRepo,
+            Collection<CompilationUnit> roots) throws IOException, ParserException {
 
         ProgramFactory pf = servConf.getProgramFactory();
         List<recoder.java.CompilationUnit> rcuList = new LinkedList<>();
         List<FileCollection> sources = new ArrayList<>();
 
         parseInternalClasses(pf, rcuList, fileRepo);
+        final int internalClasses = rcuList.size();
 
         if (classPath != null) {
             for (Path cp : classPath) {
@@ -653,19 +755,25 @@ public class Recoder2KeY implements JavaReader {
 
         // -- read class files --
         ClassFileDeclarationManager manager = new ClassFileDeclarationManager(pf);
-        ByteCodeParser parser = new ByteCodeParser();
-        for (FileCollection fc : sources) {
-            FileCollection.Walker walker = fc.createWalker(".class");
-            while (walker.step()) {
-                currentDataLocation = walker.getCurrentDataLocation();
-                try (InputStream is = new BufferedInputStream(walker.openCurrent(fileRepo))) {
-                    ClassFile cf = parser.parseClassFile(is);
-                    manager.addClassFile(cf, currentDataLocation);
-                } catch (Exception ex) {
-                    throw new ConvertException(
-                        "Error while loading: " + walker.getCurrentDataLocation(), ex);
+        if (classPath != null && !classPath.isEmpty()) {
+            final Set<String> names = new HashSet<>();
+            for (CompilationUnit cu : rcuList.subList(internalClasses, rcuList.size())) {
+                collectNames(cu, names);
+            }
+            for (CompilationUnit cu : roots) {
+                collectNames(cu, names);
+            }
+            for (Path file : referencingFiles) {
+                if (Files.isRegularFile(file)) {
+                    collectNames(new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+                        names);
                 }
             }
+            final List<ClassFileIndex> indices = new ArrayList<>(classPath.size());
+            for (Path cp : classPath) {
+                indices.add(ClassFileIndex.of(cp));
+            }
+            readClassFiles(indices, names, manager, fileRepo);
         }
         rcuList.addAll(manager.getCompilationUnits());
 
@@ -678,6 +786,129 @@ public class Recoder2KeY implements JavaReader {
 
     }
 
+    /**
+     * Reads the class files of the classpath lazily: only the classes whose simple names occur in
+     * the sources, and the classes referenced by the class files read (as supertypes, or in the
+     * signatures of fields, methods and constructors), are converted. Other classes of the
+     * classpath are not materialized; references to them from specifications are handled like
+     * references to classes not on the classpath. If a class is contained in several entries of
+     * the classpath, the first one is taken.
+     *
+     * @param indices the indices of the entries of the classpath
+     * @param names the identifiers occurring in the sources
+     * @param manager the manager to add the class files to
+     * @param fileRepo the FileRepo for obtaining InputStreams, may be null
+     */
+    private static void readClassFiles(List<ClassFileIndex> indices, Set<String> names,
+            ClassFileDeclarationManager manager, @Nullable FileRepo fileRepo) {
+        final ByteCodeParser parser = new ByteCodeParser();
+        final Deque<String> pending = new ArrayDeque<>();
+        for (ClassFileIndex index : indices) {
+            for (String name : names) {
+                pending.addAll(index.getClassesNamed(name));
+            }
+        }
+
+        final Set<String> read = new HashSet<>();
+        while (!pending.isEmpty()) {
+            final String typeName = pending.pop();
+            for (ClassFileIndex index : indices) {
+                final String className = index.resolve(typeName);
+                if (className == null) {
+                    continue;
+                }
+                if (read.add(className)) {
+                    for (String classFile : index.getClassFiles(className)) {
+                        DataLocation location = null;
+                        try {
+                            location = index.getDataLocation(classFile);
+                            final ClassFile cf;
+                            try (InputStream is =
+                                new BufferedInputStream(index.open(classFile, fileRepo))) {
+                                cf = parser.parseClassFile(is);
+                            }
+                            manager.addClassFile(cf, location);
+                            collectReferencedTypes(cf, pending);
+                        } catch (Exception ex) {
+                            throw new ConvertException("Error while loading: "
+                                + (location != null ? location : index.getPath() + "/" + classFile),
+                                ex);
+                        }
+                    }
+                }
+                break;
+            }
+        }
+        LOGGER.debug("Read {} of {} classes of the classpath", read.size(),
+            indices.stream().mapToInt(index -> index.getClasses().size()).sum());
+    }
+
+    /*
+     * the names of the types a class file refers to in the declarations built from it
+     */
+    private static void collectReferencedTypes(ClassFile cf, Collection<String> result) {
+        if (cf.getSuperClassName() != null) {
+            result.add(cf.getSuperClassName());
+        }
+        if (cf.getInterfaceNames() != null) {
+            Collections.addAll(result, cf.getInterfaceNames());
+        }
+        if (cf.getInnerClassNames() != null) {
+            Collections.addAll(result, cf.getInnerClassNames());
+        }
+        for (FieldInfo field : cf.getFieldInfos()) {
+            result.add(field.getTypeName());
+        }
+        final List<MethodInfo> methods = new ArrayList<>(cf.getMethodInfos());
+        methods.addAll(cf.getConstructorInfos());
+        for (MethodInfo method : methods) {
+            if (method.getTypeName() != null) {
+                result.add(method.getTypeName());
+            }
+            Collections.addAll(result, method.getParameterTypeNames());
+            if (method.getExceptionsInfo() != null) {
+                Collections.addAll(result, method.getExceptionsInfo());
+            }
+        }
+    }
+
+    /*
+     * the identifiers of a compilation unit, including those within comments (specifications)
+     */
+    private static void collectNames(CompilationUnit cu, Set<String> result) {
+        final TreeWalker tw = new TreeWalker(cu);
+        while (tw.next()) {
+            final ProgramElement pe = tw.getProgramElement();
+            if (pe instanceof Identifier id) {
+                result.add(id.getText());
+            }
+            final ASTList<Comment> comments = pe.getComments();
+            if (comments != null) {
+                for (Comment comment : comments) {
+                    collectNames(comment.getText(), result);
+                }
+            }
+        }
+    }
+
+    /*
+     * the Java identifiers within a text
+     */
+    private static void collectNames(String text, Set<String> result) {
+        int i = 0;
+        while (i < text.length()) {
+            if (Character.isJavaIdentifierStart(text.charAt(i))) {
+                final int start = i;
+                do {
+                    i++;
+                } while (i < text.length() && Character.isJavaIdentifierPart(text.charAt(i)));
+                result.add(text.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+    }
+
     /*
      * removes code from a parsed compilation unit. This includes method bodies, initial
      * assignments, compile-time constants, static blocks.
@@ -730,7 +961,7 @@ public class Recoder2KeY implements JavaReader {
      */
     public void parseSpecialClasses() {
         try {
-            parseLibraryClasses0(null);
+            parseLibraryClasses0(null, List.of());
         } catch (Exception e) {
             reportError("An error occurred while parsing the libraries", e);
         }
@@ -745,14 +976,30 @@ public class Recoder2KeY implements JavaReader {
      * @param fileRepo the fileRepo which will store the files
      */
     public void parseSpecialClasses(FileRepo fileRepo) {
+        parseSpecialClasses(fileRepo, List.of());
+    }
+
+    /**
+     * makes sure that the special classes (library classes) have been parsed in.
+     *
+     * If not parsed yet, the special classes are read in and converted. This method throws only
+     * runtime exceptions for historical reasons.
+     *
+     * @param fileRepo the fileRepo which will store the files
+     * @param sources the parsed Java sources of the problem, which decide together with the
+     *        {@link #setReferencingFiles(Collection) referencing files} which class files of the
+     *        classpath are read
+     */
+    private void parseSpecialClasses(FileRepo fileRepo, Collection<CompilationUnit> sources) {
         try {
-            parseLibraryClasses0(fileRepo);
+            parseLibraryClasses0(fileRepo, sources);
         } catch (Exception e) {
             reportError("An error occurred while parsing the libraries", e);
         }
     }
 
-    private void parseLibraryClasses0(FileRepo fileRepo) throws IOException, ParserException {
+    private void parseLibraryClasses0(FileRepo fileRepo, Collection<CompilationUnit> sources)
+            throws IOException, ParserException {
         if (mapping.parsedSpecial()) {
             return;
         }
@@ -760,7 +1007,7 @@ public class Recoder2KeY implements JavaReader {
         // go to special mode -> used by the converter!
         setParsingLibs(true);
 
-        List<recoder.java.CompilationUnit> specialClasses = parseLibs(fileRepo);
+        List<recoder.java.CompilationUnit> specialClasses = parseLibs(fileRepo, sources);
 
         ChangeHistory changeHistory = servConf.getChangeHistory();
         for (CompilationUnit specialClass : specialClasses) {
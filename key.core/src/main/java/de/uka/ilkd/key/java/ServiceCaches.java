@@ -14,20 +14,25 @@ import de.uka.ilkd.key.proof.TermTacletAppIndex;
 import de.uka.ilkd.key.proof.TermTacletAppIndexCacheSet;
 import de.uka.ilkd.key.rule.metaconstruct.arith.Monomial;
 import de.uka.ilkd.key.rule.metaconstruct.arith.Polynomial;
+import de.uka.ilkd.key.settings.GeneralSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
 import de.uka.ilkd.key.strategy.IfInstantiationCachePool;
 import de.uka.ilkd.key.strategy.feature.AbstractBetaFeature.TermInfo;
 import de.uka.ilkd.key.strategy.feature.AppliedRuleAppsNameCache;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.ClausesGraph;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.Metavariable;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.TriggersSet;
+import de.uka.ilkd.key.util.CacheMetrics;
 
+import org.key_project.logic.Term;
 import org.key_project.logic.op.Operator;
 import org.key_project.logic.sort.Sort;
 import org.key_project.prover.proof.SessionCaches;
 import org.key_project.prover.rules.instantiation.caches.AssumesFormulaInstantiationCache;
 import org.key_project.prover.sequent.PosInOccurrence;
 import org.key_project.prover.strategy.costbased.RuleAppCost;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentClockCache;
+import org.key_project.util.collection.ConcurrentWeakIdentityMap;
 import org.key_project.util.collection.ImmutableSet;
 import org.key_project.util.collection.Pair;
 
@@ -67,20 +72,34 @@ import org.key_project.util.collection.Pair;
  * proofs.</li>
  * </ul>
  * </p>
+ * <p>
+ * The bounded caches are {@link ConcurrentClockCache}s, so they can be used by several threads
+ * and shared between proofs without external synchronization. Their limits are the default limits
+ * below scaled by {@link GeneralSettings#getCacheSizePercent()} at the time the instance is
+ * created. All of them are registered with {@link CacheMetrics}.
+ * </p>
  *
  * @author Martin Hentschel
  */
 public class ServiceCaches implements SessionCaches {
     /**
-     * The maximal number of index entries in {@link #getTermTacletAppIndexCache()}.
+     * The maximal number of index entries in {@link #getTermTacletAppIndexCache()} (before
+     * scaling by {@link GeneralSettings#getCacheSizePercent()}).
      */
     public static final int MAX_TERM_TACLET_APP_INDEX_ENTRIES = 5000;
 
+    /**
+     * The factor (in percent) by which the limits of the bounded caches are scaled. Must be
+     * initialized before the caches.
+     */
+    private final int cacheSizePercent = ProofIndependentSettings.DEFAULT_INSTANCE
+            .getGeneralSettings().getCacheSizePercent();
+
     /**
      * The cache used by {@link TermTacletAppIndexCacheSet} instances.
      */
-    private final Map<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
-        new LRUCache<>(MAX_TERM_TACLET_APP_INDEX_ENTRIES);
+    private final ConcurrentClockCache<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
+        new ConcurrentClockCache<>(limit(MAX_TERM_TACLET_APP_INDEX_ENTRIES));
 
     /*
      * Table of formulas which could be splitted using the beta rule This is the cache the method
@@ -88,55 +107,62 @@ public class ServiceCaches implements SessionCaches {
      *
      * keys: Term values: TermInfo
      */
-    private final LRUCache<JTerm, TermInfo> betaCandidates = new LRUCache<>(1000);
+    private final ConcurrentClockCache<JTerm, TermInfo> betaCandidates;
+
+    private final ConcurrentClockCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
+        new ConcurrentClockCache<>(limit(1000));
 
-    private final LRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
-        new LRUCache<>(1000);
+    private final ConcurrentClockCache<Operator, Integer> introductionTimeCache =
+        new ConcurrentClockCache<>(limit(10000));
 
-    private final LRUCache<Operator, Integer> introductionTimeCache =
-        new LRUCache<>(10000);
+    private final ConcurrentClockCache<Term, Monomial> monomialCache;
 
-    private final LRUCache<org.key_project.logic.Term, Monomial> monomialCache =
-        new LRUCache<>(2000);
+    private final ConcurrentClockCache<Term, Polynomial> polynomialCache;
 
-    private final LRUCache<org.key_project.logic.Term, Polynomial> polynomialCache =
-        new LRUCache<>(2000);
+    /**
+     * Monomials and polynomials of terms which are still alive, looked up by identity. These maps
+     * are not bounded; they are consulted before the bounded caches above, which catch equal
+     * terms that are not identical.
+     */
+    private final ConcurrentWeakIdentityMap<Term, Monomial> monomialsByTerm;
+
+    private final ConcurrentWeakIdentityMap<Term, Polynomial> polynomialsByTerm;
 
     /**
      * a <code>HashMap</code> from <code>Term</code> to <code>TriggersSet</code> uses to cache all
      * created TriggersSets
      */
-    private final Map<org.key_project.logic.Term, TriggersSet> triggerSetCache =
-        new LRUCache<>(1000);
+    private final ConcurrentClockCache<Term, TriggersSet> triggerSetCache;
 
     /**
      * Map from <code>Term</code>(allTerm) to <code>ClausesGraph</code>
      */
-    private final Map<org.key_project.logic.Term, ClausesGraph> graphCache = new LRUCache<>(1000);
+    private final ConcurrentClockCache<Term, ClausesGraph> graphCache;
 
     /**
      * Cache used by the TermFactory to avoid unnecessary creation of terms
      */
-    private final Map<JTerm, JTerm> termCache = new LRUCache<>(20000);
+    private final ConcurrentClockCache<JTerm, JTerm> termCache;
 
     /**
      * Cache used by TypeComparisonCondition
      */
-    private final Map<Sort, Map<Sort, Boolean>> disjointnessCache =
-        new WeakHashMap<>();
+    private final Map<Sort, Map<Sort, Boolean>> disjointnessCache;
 
     /**
      * Cache used by HandleArith for caching formatted terms
      */
-    private final LRUCache<JTerm, JTerm> formattedTermCache = new LRUCache<>(5000);
+    private final ConcurrentClockCache<JTerm, JTerm> formattedTermCache;
+
+    /** Formatted terms of terms which are still alive, looked up by identity */
+    private final ConcurrentWeakIdentityMap<JTerm, JTerm> formattedTermsByTerm;
 
     /**
      * Caches used bu HandleArith to cache proof results
      */
-    private final LRUCache<JTerm, JTerm> provedByArithFstCache = new LRUCache<>(5000);
+    private final ConcurrentClockCache<JTerm, JTerm> provedByArithFstCache;
 
-    private final LRUCache<Pair<JTerm, JTerm>, JTerm> provedByArithSndCache =
-        new LRUCache<>(5000);
+    private final ConcurrentClockCache<Pair<JTerm, JTerm>, JTerm> provedByArithSndCache;
 
     /** Cache used by the exhaustive macro */
     private final Map<Node, PosInOccurrence> exhaustiveMacroCache =
@@ -153,49 +179,155 @@ public class ServiceCaches implements SessionCaches {
     private final AppliedRuleAppsNameCache appliedRuleAppsNameCache =
         new AppliedRuleAppsNameCache();
 
-    /** Cache used by EqualityConstraint to speed up meta variable search */
-    private final LRUCache<org.key_project.logic.Term, ImmutableSet<Metavariable>> mvCache =
-        new LRUCache<>(2000);
+    /**
+     * Cache used by EqualityConstraint to speed up meta variable search. An entry is weighted by
+     * the number of metavariables it holds.
+     */
+    private final ConcurrentClockCache<Term, ImmutableSet<Metavariable>> mvCache;
 
+    /**
+     * Creates new empty caches.
+     */
+    public ServiceCaches() {
+        betaCandidates = new ConcurrentClockCache<>(limit(1000));
+        monomialCache = new ConcurrentClockCache<>(limit(2000));
+        polynomialCache = new ConcurrentClockCache<>(limit(2000));
+        monomialsByTerm = new ConcurrentWeakIdentityMap<>();
+        polynomialsByTerm = new ConcurrentWeakIdentityMap<>();
+        triggerSetCache = new ConcurrentClockCache<>(limit(1000));
+        graphCache = new ConcurrentClockCache<>(limit(1000));
+        termCache = new ConcurrentClockCache<>(limit(20000));
+        disjointnessCache = new WeakHashMap<>();
+        formattedTermCache = new ConcurrentClockCache<>(limit(5000));
+        formattedTermsByTerm = new ConcurrentWeakIdentityMap<>();
+        provedByArithFstCache = new ConcurrentClockCache<>(limit(5000));
+        provedByArithSndCache = new ConcurrentClockCache<>(limit(5000));
+        mvCache = new ConcurrentClockCache<>(limit(4000), (term, mvs) -> 1 + mvs.size());
+        registerSharedCaches();
+        registerOwnCaches();
+    }
+
+    /**
+     * Creates caches which share the proof independent caches (e.g., the caches of the
+     * {@link de.uka.ilkd.key.logic.TermFactory} and of the arithmetic and quantifier heuristics)
+     * with the given instance. All other caches are new and empty.
+     *
+     * @param shared the caches to share
+     */
+    private ServiceCaches(ServiceCaches shared) {
+        betaCandidates = shared.betaCandidates;
+        monomialCache = shared.monomialCache;
+        polynomialCache = shared.polynomialCache;
+        monomialsByTerm = shared.monomialsByTerm;
+        polynomialsByTerm = shared.polynomialsByTerm;
+        triggerSetCache = shared.triggerSetCache;
+        graphCache = shared.graphCache;
+        termCache = shared.termCache;
+        disjointnessCache = shared.disjointnessCache;
+        formattedTermCache = shared.formattedTermCache;
+        formattedTermsByTerm = shared.formattedTermsByTerm;
+        provedByArithFstCache = shared.provedByArithFstCache;
+        provedByArithSndCache = shared.provedByArithSndCache;
+        mvCache = shared.mvCache;
+        registerOwnCaches();
+    }
+
+    /**
+     * Registers the caches which may be shared with side proofs with {@link CacheMetrics}. The
+     * byte estimates account for the objects which are typically only retained by the cache.
+     */
+    private void registerSharedCaches() {
+        final CacheMetrics metrics = CacheMetrics.getInstance();
+        metrics.register("betaCandidates", betaCandidates, 32);
+        metrics.register("monomial", monomialCache, 64);
+        metrics.register("polynomial", polynomialCache, 96);
+        metrics.register("triggerSet", triggerSetCache, 512);
+        metrics.register("clausesGraph", graphCache, 256);
+        metrics.register("termFactory", termCache, 48);
+        metrics.register("formattedTerm", formattedTermCache, 48);
+        metrics.register("provedByArithFst", provedByArithFstCache, 0);
+        metrics.register("provedByArithSnd", provedByArithSndCache, 24);
+        metrics.register("metavariables", mvCache, 32);
+    }
+
+    /**
+     * Registers the proof specific caches with {@link CacheMetrics}.
+     */
+    private void registerOwnCaches() {
+        final CacheMetrics metrics = CacheMetrics.getInstance();
+        metrics.register("termTacletAppIndex", termTacletAppIndexCache, 1024);
+        metrics.register("ifThenElseMalus", ifThenElseMalusCache, 16);
+        metrics.register("introductionTime", introductionTimeCache, 16);
+    }
+
+    /**
+     * Creates the caches for a side proof of the proof using this instance. The caches whose
+     * entries only depend on terms are shared with this instance; the caches which depend on the
+     * proof (e.g., on its nodes or introduction times) are new. The shared caches are thread-safe,
+     * so side proofs may run in parallel to the main proof.
+     *
+     * @return the caches for the side proof
+     */
+    public ServiceCaches createSideProofCaches() {
+        return new ServiceCaches(this);
+    }
+
+    /**
+     * Scales the default limit of a cache by {@link #cacheSizePercent}.
+     *
+     * @param defaultLimit the limit of the cache for the default setting of 100 percent
+     * @return the limit to use
+     */
+    private long limit(int defaultLimit) {
+        return (long) defaultLimit * cacheSizePercent / 100;
+    }
 
     /**
      * Returns the cache used by {@link TermTacletAppIndexCacheSet} instances.
      *
      * @return The cache used by {@link TermTacletAppIndexCacheSet} instances.
      */
-    public final Map<CacheKey, TermTacletAppIndex> getTermTacletAppIndexCache() {
+    public final ConcurrentClockCache<CacheKey, TermTacletAppIndex> getTermTacletAppIndexCache() {
         return termTacletAppIndexCache;
     }
 
-    public final LRUCache<JTerm, TermInfo> getBetaCandidates() {
+    public final ConcurrentClockCache<JTerm, TermInfo> getBetaCandidates() {
         return betaCandidates;
     }
 
-    public final LRUCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
+    public final ConcurrentClockCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
         return ifThenElseMalusCache;
     }
 
-    public final LRUCache<Operator, Integer> getIntroductionTimeCache() {
+    public final ConcurrentClockCache<Operator, Integer> getIntroductionTimeCache() {
         return introductionTimeCache;
     }
 
-    public final LRUCache<org.key_project.logic.Term, Monomial> getMonomialCache() {
+    public final ConcurrentClockCache<Term, Monomial> getMonomialCache() {
         return monomialCache;
     }
 
-    public final LRUCache<org.key_project.logic.Term, Polynomial> getPolynomialCache() {
+    public final ConcurrentClockCache<Term, Polynomial> getPolynomialCache() {
         return polynomialCache;
     }
 
-    public final Map<org.key_project.logic.Term, TriggersSet> getTriggerSetCache() {
+    public final ConcurrentWeakIdentityMap<Term, Monomial> getMonomialsByTerm() {
+        return monomialsByTerm;
+    }
+
+    public final ConcurrentWeakIdentityMap<Term, Polynomial> getPolynomialsByTerm() {
+        return polynomialsByTerm;
+    }
+
+    public final ConcurrentClockCache<Term, TriggersSet> getTriggerSetCache() {
         return triggerSetCache;
     }
 
-    public final Map<org.key_project.logic.Term, ClausesGraph> getGraphCache() {
+    public final ConcurrentClockCache<Term, ClausesGraph> getGraphCache() {
         return graphCache;
     }
 
-    public final Map<JTerm, JTerm> getTermFactoryCache() {
+    public final ConcurrentClockCache<JTerm, JTerm> getTermFactoryCache() {
         return termCache;
     }
 
@@ -203,15 +335,19 @@ public class ServiceCaches implements SessionCaches {
         return disjointnessCache;
     }
 
-    public final LRUCache<JTerm, JTerm> getFormattedTermCache() {
+    public final ConcurrentClockCache<JTerm, JTerm> getFormattedTermCache() {
         return formattedTermCache;
     }
 
-    public final LRUCache<JTerm, JTerm> getProvedByArithFstCache() {
+    public final ConcurrentWeakIdentityMap<JTerm, JTerm> getFormattedTermsByTerm() {
+        return formattedTermsByTerm;
+    }
+
+    public final ConcurrentClockCache<JTerm, JTerm> getProvedByArithFstCache() {
         return provedByArithFstCache;
     }
 
-    public final LRUCache<Pair<JTerm, JTerm>, JTerm> getProvedByArithSndCache() {
+    public final ConcurrentClockCache<Pair<JTerm, JTerm>, JTerm> getProvedByArithSndCache() {
         return provedByArithSndCache;
     }
 
@@ -231,7 +367,7 @@ public class ServiceCaches implements SessionCaches {
         return appliedRuleAppsNameCache;
     }
 
-    public LRUCache<org.key_project.logic.Term, ImmutableSet<Metavariable>> getMVCache() {
+    public ConcurrentClockCache<Term, ImmutableSet<Metavariable>> getMVCache() {
         return mvCache;
     }
 
@@ -238,11 +238,24 @@ public class Services implements TermServices, LogicServices, ProofServices {
      * @return The created copy.
      */
     public Services copy(Profile profile, boolean shareCaches) {
+        return copy(profile, shareCaches ? caches : new ServiceCaches());
+    }
+
+    /**
+     * Creates a copy of this {@link Services} in which the {@link Profile} and the
+     * {@link ServiceCaches} are replaced. The copy does not belong to a {@link Proof} object and
+     * can hence be used for a new proof.
+     *
+     * @param profile The new {@link Profile} to use in the copy of this {@link Services}.
+     * @param newCaches The {@link ServiceCaches} to use in the copy, e.g., the result of
+     *        {@link ServiceCaches#createSideProofCaches()}.
+     * @return The created copy.
+     */
+    public Services copy(Profile profile, ServiceCaches newCaches) {
         Debug.assertTrue(
             !(getJavaInfo().getKeYProgModelInfo()
                     .getServConf() instanceof SchemaCrossReferenceServiceConfiguration),
             "services: tried to copy schema cross reference service config.");
-        ServiceCaches newCaches = shareCaches ? caches : new ServiceCaches();
         Services s = new Services(profile, getJavaInfo().getKeYProgModelInfo().getServConf(),
             getJavaInfo().getKeYProgModelInfo().rec2key().copy(), copyCounters(), newCaches);
         s.specRepos = specRepos;
@@ -18,6 +18,15 @@ public class ExtendedIdentifier extends Identifier {
         super(arg0);
     }
 
+    /**
+     * Copy constructor, keeps the comments and the positions of the prototype.
+     *
+     * @param proto the identifier to copy
+     */
+    protected ExtendedIdentifier(ExtendedIdentifier proto) {
+        super(proto);
+    }
+
     public void setText(String text) {
         if (text.charAt(0) == '#') {
             throw new IllegalArgumentException(
@@ -29,6 +38,6 @@ public class ExtendedIdentifier extends Identifier {
     }
 
     public ExtendedIdentifier deepClone() {
-        return new ExtendedIdentifier(id);
+        return new ExtendedIdentifier(this);
     }
 }
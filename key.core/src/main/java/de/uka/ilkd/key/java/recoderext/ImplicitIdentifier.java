@@ -20,6 +20,15 @@ public class ImplicitIdentifier extends Identifier {
         super(id);
     }
 
+    /**
+     * Copy constructor, keeps the comments and the positions of the prototype.
+     *
+     * @param proto the identifier to copy
+     */
+    protected ImplicitIdentifier(ImplicitIdentifier proto) {
+        super(proto);
+    }
+
     protected void setText(String text) {
         id = text.intern();
     }
@@ -31,7 +40,7 @@ public class ImplicitIdentifier extends Identifier {
      */
 
     public ImplicitIdentifier deepClone() {
-        return new ImplicitIdentifier(id);
+        return new ImplicitIdentifier(this);
     }
 
 }
@@ -16,6 +16,15 @@ public class ObjectTypeIdentifier extends Identifier {
         super(id);
     }
 
+    /**
+     * Copy constructor, keeps the comments and the positions of the prototype.
+     *
+     * @param proto the identifier to copy
+     */
+    protected ObjectTypeIdentifier(ObjectTypeIdentifier proto) {
+        super(proto);
+    }
+
     // protected void setText(String text) {
     // id = text.intern();
     // }
@@ -27,7 +36,7 @@ public class ObjectTypeIdentifier extends Identifier {
      */
 
     public ObjectTypeIdentifier deepClone() {
-        return new ObjectTypeIdentifier(id);
+        return new ObjectTypeIdentifier(this);
     }
 
 }
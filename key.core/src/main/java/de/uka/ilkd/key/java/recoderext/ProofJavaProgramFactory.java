@@ -69,9 +69,11 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
 
 
     /**
-     * For internal reuse and synchronization.
+     * The parsers for internal reuse. There is a parser per thread, so that several threads can
+     * parse at the same time.
      */
-    private static final ProofJavaParser parser = new ProofJavaParser(System.in);
+    private static final ThreadLocal<ProofJavaParser> PARSER =
+        ThreadLocal.withInitial(() -> new ProofJavaParser(Reader.nullReader()));
 
     private static final Position ZERO_POSITION = new Position(0, 0);
 
@@ -203,10 +205,9 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
     /**
      * Perform post work on the created element. Creates parent links and assigns comments.
      */
-    private static void postWork(ProgramElement programElem) {
+    private static void postWork(ProgramElement programElem, List<Comment> comments) {
         makeParentRolesValid(programElem);
 
-        List<Comment> comments = ProofJavaParser.getComments();
         int commentIndex = 0;
         int commentCount = comments.size();
         if (commentCount == 0) {
@@ -280,15 +281,14 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public CompilationUnit parseCompilationUnit(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                CompilationUnit res = ProofJavaParser.CompilationUnit();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            CompilationUnit res = parser.CompilationUnit();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -297,16 +297,14 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public TypeDeclaration parseTypeDeclaration(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                TypeDeclaration res = ProofJavaParser.TypeDeclaration();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            TypeDeclaration res = parser.TypeDeclaration();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -315,16 +313,14 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public FieldDeclaration parseFieldDeclaration(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                FieldDeclaration res = ProofJavaParser.FieldDeclaration();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            FieldDeclaration res = parser.FieldDeclaration();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -333,16 +329,14 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public MethodDeclaration parseMethodDeclaration(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                MethodDeclaration res = ProofJavaParser.MethodDeclaration();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            MethodDeclaration res = parser.MethodDeclaration();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -351,16 +345,14 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public MemberDeclaration parseMemberDeclaration(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                MemberDeclaration res = ProofJavaParser.ClassBodyDeclaration();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            MemberDeclaration res = parser.ClassBodyDeclaration();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -370,16 +362,14 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
     @Override
     public ParameterDeclaration parseParameterDeclaration(Reader in)
             throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                ParameterDeclaration res = ProofJavaParser.FormalParameter();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            ParameterDeclaration res = parser.FormalParameter();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -389,16 +379,14 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
     @Override
     public ConstructorDeclaration parseConstructorDeclaration(Reader in)
             throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                ConstructorDeclaration res = ProofJavaParser.ConstructorDeclaration();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            ConstructorDeclaration res = parser.ConstructorDeclaration();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -407,16 +395,14 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public TypeReference parseTypeReference(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                TypeReference res = ProofJavaParser.ResultType();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            TypeReference res = parser.ResultType();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -425,16 +411,14 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public Expression parseExpression(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                Expression res = ProofJavaParser.Expression();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            Expression res = parser.Expression();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -443,18 +427,16 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public ASTList<Statement> parseStatements(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                ASTList<Statement> res = ProofJavaParser.GeneralizedStatements();
-                for (Statement re : res) {
-                    postWork(re);
-                }
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            ASTList<Statement> res = parser.GeneralizedStatements();
+            for (Statement re : res) {
+                postWork(re, parser.getComments());
             }
-
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -463,16 +445,14 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public StatementBlock parseStatementBlock(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                StatementBlock res = ProofJavaParser.StartBlock();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = PARSER.get();
+        try {
+            parser.initialize(in);
+            StatementBlock res = parser.StartBlock();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -3,39 +3,96 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.java.visitor;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import de.uka.ilkd.key.java.JavaProgramElement;
+import de.uka.ilkd.key.java.NonTerminalProgramElement;
 import de.uka.ilkd.key.java.ProgramElement;
 import de.uka.ilkd.key.java.Services;
 
 import org.key_project.util.ExtList;
 
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Replaces the first occurrence (by identity) of a program element in a program.
+ * <p>
+ * Only the elements on the path from the root of the program to the replaced element are visited
+ * and recreated. All other subtrees are shared with the original program instead of being walked,
+ * such that the costs of a replacement depend on the depth of the replaced element and not on the
+ * size of the program.
+ */
 public class ProgramElementReplacer extends CreatingASTVisitor {
 
     private ProgramElement oldElement;
-    private ProgramElement newElement;
+    private @Nullable ProgramElement newElement;
     private boolean done;
 
+    /** the elements on the path from the root to the first occurrence of the old element */
+    private final Set<ProgramElement> path = Collections.newSetFromMap(new IdentityHashMap<>());
+
     public ProgramElementReplacer(JavaProgramElement program, Services services) {
         super(program, false, services);
     }
 
-    public ProgramElement replace(ProgramElement oldElement, ProgramElement newElement) {
+    /**
+     * Replaces the first occurrence of the given element.
+     *
+     * @param oldElement the element to replace
+     * @param newElement the replacement, or <code>null</code> to remove the element
+     * @return the resulting program, which is the original program if it does not contain the
+     *         element
+     */
+    public ProgramElement replace(ProgramElement oldElement,
+            @Nullable ProgramElement newElement) {
         this.oldElement = oldElement;
         this.newElement = newElement;
         done = false;
+        path.clear();
+        if (!findPath(root())) {
+            return root();
+        }
         stack.push(new ExtList());
         walk(root());
         ExtList el = stack.peek();
         return el.get(ProgramElement.class);
     }
 
-    protected void doAction(ProgramElement element) {
-        if (!done && element == oldElement) {
+    /**
+     * collects the elements on the path from the given element to the first occurrence of the old
+     * element
+     *
+     * @return true iff the old element occurs in the given element
+     */
+    private boolean findPath(ProgramElement element) {
+        if (element == oldElement) {
+            return true;
+        }
+        if (element instanceof NonTerminalProgramElement nt) {
+            for (int i = 0; i < nt.getChildCount(); i++) {
+                final ProgramElement child = nt.getChildAt(i);
+                if (child != null && findPath(child)) {
+                    path.add(element);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void walk(ProgramElement node) {
+        if (!done && node == oldElement) {
             done = true;
-            addChild(newElement);
+            addToTopOfStack(newElement);
             changed();
+        } else if (path.contains(node)) {
+            super.walk(node);
         } else {
-            super.doAction(element);
+            // subtrees not containing the old element are shared
+            addToTopOfStack(node);
         }
     }
 
@@ -4,15 +4,27 @@
 package de.uka.ilkd.key.logic;
 
 import de.uka.ilkd.key.java.JavaProgramElement;
+import de.uka.ilkd.key.java.JavaTools;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.java.SourceElement;
 import de.uka.ilkd.key.java.StatementBlock;
+import de.uka.ilkd.key.java.statement.CatchAllStatement;
+import de.uka.ilkd.key.java.statement.LabeledStatement;
+import de.uka.ilkd.key.java.statement.MethodFrame;
 import de.uka.ilkd.key.pp.PrettyPrinter;
 
 import org.key_project.logic.Program;
 import org.key_project.logic.SyntaxElement;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * A Java program occurring in a modality. The program is immutable, such that information derived
+ * from it, like its active statement and its innermost method frame, is computed on first request
+ * and then kept with the block.
+ */
 public final class JavaBlock implements Program {
     private static final Logger LOGGER = LoggerFactory.getLogger(JavaBlock.class);
 
@@ -30,6 +42,12 @@ public final class JavaBlock implements Program {
     private final JavaProgramElement prg;
     private int hashCode = -1;
 
+    /** the active statement, <code>null</code> if not yet computed */
+    private volatile @Nullable SourceElement activeStatement;
+    /** the innermost method frame, only valid if {@link #innermostMethodFrameComputed} is set */
+    private volatile @Nullable MethodFrame innermostMethodFrame;
+    private volatile boolean innermostMethodFrameComputed;
+
 
     /**
      * create a new JavaBlock
@@ -99,6 +117,48 @@ public final class JavaBlock implements Program {
         return prg;
     }
 
+    /**
+     * Returns the active statement of this block, i.e., the first statement which is neither a
+     * program prefix element nor a catch-all statement.
+     *
+     * @return the active statement
+     * @see JavaTools#getActiveStatement(JavaBlock)
+     */
+    public SourceElement getActiveStatement() {
+        SourceElement result = activeStatement;
+        if (result == null) {
+            assert prg != null;
+            result = prg.getFirstElement();
+            while ((result instanceof ProgramPrefix || result instanceof CatchAllStatement)
+                    && !(result instanceof StatementBlock sb && sb.isEmpty())) {
+                if (result instanceof LabeledStatement ls) {
+                    result = ls.getChildAt(1);
+                } else if (result instanceof CatchAllStatement cas) {
+                    result = cas.getBody();
+                } else {
+                    result = result.getFirstElement();
+                }
+            }
+            activeStatement = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the innermost method frame of this block.
+     *
+     * @param services the services
+     * @return the innermost method frame or <code>null</code> if the block contains none
+     * @see JavaTools#getInnermostMethodFrame(JavaBlock, Services)
+     */
+    public @Nullable MethodFrame getInnermostMethodFrame(Services services) {
+        if (!innermostMethodFrameComputed) {
+            innermostMethodFrame = JavaTools.getInnermostMethodFrame(prg, services);
+            innermostMethodFrameComputed = true;
+        }
+        return innermostMethodFrame;
+    }
+
     /** toString */
     public String toString() {
         PrettyPrinter printer = PrettyPrinter.purePrinter();
@@ -127,15 +127,10 @@ public final class TermFactory {
         // in the term or in one of its children because the meta information like PositionInfos
         // may be different.
         if (cache != null && !newTerm.containsJavaBlockRecursive()) {
-            JTerm term;
-            synchronized (cache) {
-                term = cache.get(newTerm);
-            }
+            JTerm term = cache.get(newTerm);
             if (term == null) {
                 term = newTerm.checked();
-                synchronized (cache) {
-                    cache.put(term, term);
-                }
+                cache.put(term, term);
             }
             return term;
         } else {
@@ -294,6 +294,20 @@ public abstract class ProgramSVSort extends SortImpl {
 
     protected abstract boolean canStandFor(ProgramElement check, Services services);
 
+    /**
+     * Checks whether a schema variable of this sort can stand for the given program element in
+     * some execution context. This is a necessary condition for
+     * {@link #canStandFor(ProgramElement, ExecutionContext, Services)}, which is used by the taclet
+     * index to select taclets before the execution context is known.
+     *
+     * @param check the program element
+     * @param services the services
+     * @return false if a schema variable of this sort cannot stand for the element
+     */
+    public boolean mayStandFor(ProgramElement check, Services services) {
+        return canStandFor(check, services);
+    }
+
 
     public ProgramSVSort createInstance(String parameter) {
         throw new UnsupportedOperationException();
@@ -0,0 +1,409 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.macros;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import de.uka.ilkd.key.control.UserInterfaceControl;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.mgt.ProofEnvironment;
+import de.uka.ilkd.key.proof.replay.CopyingProofReplayer;
+import de.uka.ilkd.key.rule.IBuiltInRuleApp;
+import de.uka.ilkd.key.settings.DefaultSMTSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.smt.SMTProblem;
+import de.uka.ilkd.key.smt.SMTRuleApp;
+import de.uka.ilkd.key.smt.SMTSolver;
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
+import de.uka.ilkd.key.smt.SolverLauncher;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.ProofStarter;
+import de.uka.ilkd.key.util.SideProofUtil;
+
+import org.key_project.prover.engine.ProverTaskListener;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.util.collection.ImmutableList;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tries to close goals by racing several provers against each other. Goals are either closed or
+ * left untouched.
+ * <p>
+ * For every goal, the attempts of the portfolio run concurrently on threads of their own: the
+ * automatic strategy with the settings of the proof and with some variations of them, each
+ * working on a side proof of the goal, and the installed SMT solvers. The first attempt which
+ * closes the goal is committed to the proof and all others are cancelled. The steps of a side
+ * proof are copied to the goal by a {@link CopyingProofReplayer}, the result of an SMT solver is
+ * committed as an {@link SMTRuleApp}. This uses idle cores to reduce the time needed for hard
+ * goals, in particular in batch runs.
+ */
+public class PortfolioMacro extends AbstractProofMacro {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PortfolioMacro.class);
+
+    /**
+     * One way of closing a goal. An attempt is started on a thread of its own and must stop when
+     * the thread is interrupted.
+     */
+    interface Attempt {
+
+        /**
+         * @return the name of the attempt
+         */
+        String name();
+
+        /**
+         * Tries to close the goal without modifying it.
+         *
+         * @param goal the goal
+         * @return the closure found, or <code>null</code> if the goal could not be closed
+         * @throws Exception if the attempt failed
+         */
+        @Nullable
+        Closure run(Goal goal) throws Exception;
+
+        /**
+         * Cancels the attempt if it does not react to the interruption of its thread alone.
+         */
+        default void cancel() {
+        }
+    }
+
+    /**
+     * A closure of a goal found by an {@link Attempt}.
+     */
+    interface Closure {
+
+        /**
+         * Applies the closure to the goal it was found for.
+         *
+         * @param goal the goal
+         * @throws Exception if the closure could not be applied
+         */
+        void commit(Goal goal) throws Exception;
+
+        /**
+         * Releases the resources of the closure, whether it has been committed or not.
+         */
+        default void dispose() {
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Portfolio Closing";
+    }
+
+    @Override
+    public String getScriptCommandName() {
+        return "portfolio";
+    }
+
+    @Override
+    public String getCategory() {
+        return null;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Tries to close the goals beneath the selected node by running the automatic "
+            + "strategy with several settings and the installed SMT solvers concurrently. "
+            + "The first closure found is kept, goals which cannot be closed are left untouched.";
+    }
+
+    @Override
+    public boolean canApplyTo(Proof proof, ImmutableList<Goal> goals,
+            PosInOccurrence posInOcc) {
+        return goals != null && !goals.isEmpty();
+    }
+
+    @Override
+    public ProofMacroFinishedInfo applyTo(UserInterfaceControl uic, Proof proof,
+            ImmutableList<Goal> goals, PosInOccurrence posInOcc, ProverTaskListener listener)
+            throws InterruptedException {
+        if (goals == null || goals.isEmpty()) {
+            return null;
+        }
+        final long start = System.currentTimeMillis();
+        final int nodes = proof.countNodes();
+        ImmutableList<Goal> ignoredOpenGoals = proof.openGoals();
+        for (Goal goal : goals) {
+            ignoredOpenGoals = ignoredOpenGoals.removeFirst(goal);
+        }
+        int closedGoals = 0;
+        for (Goal goal : goals) {
+            if (goal.node().isClosed()) {
+                continue;
+            }
+            final Closure closure = race(goal, createAttempts(proof));
+            if (closure == null) {
+                continue;
+            }
+            final Node node = goal.node();
+            try {
+                closure.commit(goal);
+            } catch (Exception e) {
+                LOGGER.warn("Could not commit the closure of goal {}", node.serialNr(), e);
+            } finally {
+                closure.dispose();
+            }
+            if (node.isClosed()) {
+                closedGoals++;
+            } else {
+                proof.pruneProof(node);
+            }
+        }
+        ImmutableList<Goal> resultingGoals = proof.openGoals();
+        for (Goal goal : ignoredOpenGoals) {
+            resultingGoals = resultingGoals.removeFirst(goal);
+        }
+        return new ProofMacroFinishedInfo(this, resultingGoals, proof,
+            System.currentTimeMillis() - start, proof.countNodes() - nodes, closedGoals);
+    }
+
+    /**
+     * Creates the attempts racing for a goal of the given proof.
+     *
+     * @param proof the proof
+     * @return the attempts
+     */
+    List<Attempt> createAttempts(Proof proof) {
+        final List<Attempt> result = new ArrayList<>();
+        final StrategyProperties current =
+            proof.getSettings().getStrategySettings().getActiveStrategyProperties();
+        result.add(new StrategyAttempt("current settings", current, proof));
+
+        final StrategyProperties instantiate = (StrategyProperties) current.clone();
+        instantiate.setProperty(StrategyProperties.QUANTIFIERS_OPTIONS_KEY,
+            StrategyProperties.QUANTIFIERS_INSTANTIATE);
+        instantiate.setProperty(StrategyProperties.NON_LIN_ARITH_OPTIONS_KEY,
+            StrategyProperties.NON_LIN_ARITH_COMPLETION);
+        result.add(new StrategyAttempt("full instantiation", instantiate, proof));
+
+        final StrategyProperties decision = (StrategyProperties) current.clone();
+        decision.setProperty(StrategyProperties.ARITH_DECISION_OPTIONS_KEY,
+            StrategyProperties.ARITH_DECISION_ON);
+        decision.setProperty(StrategyProperties.CONGRUENCE_CLOSURE_OPTIONS_KEY,
+            StrategyProperties.CONGRUENCE_CLOSURE_ON);
+        decision.setProperty(StrategyProperties.HEAP_SIMPLIFICATION_OPTIONS_KEY,
+            StrategyProperties.HEAP_SIMPLIFICATION_ON);
+        result.add(new StrategyAttempt("decision procedures", decision, proof));
+
+        final Collection<SolverType> solvers = installedSolvers();
+        if (!solvers.isEmpty()) {
+            result.add(new SMTAttempt(solvers));
+        }
+        return result;
+    }
+
+    private static Collection<SolverType> installedSolvers() {
+        final Collection<SolverType> result = new ArrayList<>();
+        final Collection<SolverType> experimental = SolverTypes.getExperimentalSolvers();
+        for (SolverType type : SolverTypes.getSolverTypes()) {
+            if (type != SolverTypes.Z3_CE_SOLVER && !experimental.contains(type)
+                    && type.isInstalled(false)) {
+                result.add(type);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs the attempts concurrently until the first one closes the goal and cancels the others.
+     *
+     * @param goal the goal
+     * @param attempts the attempts
+     * @return the first closure found, or <code>null</code> if no attempt closed the goal
+     * @throws InterruptedException if the thread was interrupted while waiting for the attempts
+     */
+    static @Nullable Closure race(Goal goal, List<Attempt> attempts)
+            throws InterruptedException {
+        // one thread per attempt: a race run in sequence would wait for the slowest attempt
+        final ExecutorService executor = Executors.newFixedThreadPool(attempts.size(), runnable -> {
+            final Thread thread = new Thread(runnable, "Portfolio");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final CompletionService<Closure> completion = new ExecutorCompletionService<>(executor);
+        final List<Future<Closure>> futures = new ArrayList<>();
+        for (Attempt attempt : attempts) {
+            futures.add(completion.submit(() -> attempt.run(goal)));
+        }
+        Closure winner = null;
+        try {
+            for (int i = 0; i < attempts.size() && winner == null; i++) {
+                final Future<Closure> future = completion.take();
+                final Attempt attempt = attempts.get(futures.indexOf(future));
+                try {
+                    winner = future.get();
+                    if (winner != null) {
+                        LOGGER.info("Goal {} closed by {}", goal.node().serialNr(),
+                            attempt.name());
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.warn("Portfolio attempt {} failed", attempt.name(), e.getCause());
+                }
+            }
+        } finally {
+            for (int i = 0; i < attempts.size(); i++) {
+                attempts.get(i).cancel();
+                futures.get(i).cancel(true);
+            }
+            executor.shutdown();
+            // wait for the cancelled attempts, so that the closures they found are disposed
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                LOGGER.debug("Waiting for cancelled portfolio attempts");
+            }
+            for (Future<Closure> future : futures) {
+                disposeLoser(future, winner);
+            }
+        }
+        return winner;
+    }
+
+    private static void disposeLoser(Future<Closure> future, @Nullable Closure winner) {
+        if (future.isCancelled() || !future.isDone()) {
+            return;
+        }
+        try {
+            final Closure closure = future.get();
+            if (closure != null && closure != winner) {
+                closure.dispose();
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            // the failure has been reported already or does not matter any more
+        }
+    }
+
+    /**
+     * Runs the automatic strategy on a side proof of the goal.
+     */
+    private static final class StrategyAttempt implements Attempt {
+        private final String name;
+        private final StrategyProperties properties;
+        private final ProofEnvironment environment;
+        private final int maxSteps;
+        private final long timeout;
+        private volatile boolean cancelled;
+
+        private StrategyAttempt(String name, StrategyProperties properties, Proof proof) {
+            this.name = name;
+            this.properties = properties;
+            // side proofs running in parallel need their own environments
+            this.environment = SideProofUtil.cloneProofEnvironmentWithOwnOneStepSimplifier(proof);
+            this.maxSteps = proof.getSettings().getStrategySettings().getMaxSteps();
+            this.timeout = proof.getSettings().getStrategySettings().getTimeout();
+        }
+
+        @Override
+        public String name() {
+            return "strategy with " + name;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public @Nullable Closure run(Goal goal) throws Exception {
+            final ProofStarter starter =
+                SideProofUtil.createSideProof(environment, goal.sequent(), "Portfolio: " + name);
+            final Proof sideProof = starter.getProof();
+            boolean closed = false;
+            try {
+                // new symbols of the side proof must not clash with those of the goal
+                sideProof.getServices().getNamespaces().add(goal.getLocalNamespaces());
+                starter.setStrategyProperties(properties);
+                starter.setMaxRuleApplications(maxSteps);
+                starter.setTimeout(timeout);
+                starter.start();
+                // the strategy clears the interruption, hence the flag
+                closed = sideProof.closed() && !cancelled;
+            } finally {
+                if (!closed) {
+                    sideProof.dispose();
+                }
+            }
+            if (!closed) {
+                return null;
+            }
+            return new Closure() {
+                @Override
+                public void commit(Goal target) throws Exception {
+                    new CopyingProofReplayer(sideProof, target.proof()).copy(sideProof.root(),
+                        target, Collections.emptySet());
+                }
+
+                @Override
+                public void dispose() {
+                    sideProof.dispose();
+                }
+            };
+        }
+    }
+
+    /**
+     * Runs the installed SMT solvers on the goal.
+     */
+    private static final class SMTAttempt implements Attempt {
+        private final Collection<SolverType> solvers;
+        private volatile @Nullable SolverLauncher launcher;
+
+        private SMTAttempt(Collection<SolverType> solvers) {
+            this.solvers = solvers;
+        }
+
+        @Override
+        public String name() {
+            return "SMT solvers";
+        }
+
+        @Override
+        public @Nullable Closure run(Goal goal) {
+            final Proof proof = goal.proof();
+            final DefaultSMTSettings settings = new DefaultSMTSettings(
+                proof.getSettings().getSMTSettings(),
+                ProofIndependentSettings.DEFAULT_INSTANCE.getSMTSettings(),
+                proof.getSettings().getNewSMTSettings(), proof);
+            final SMTProblem problem = new SMTProblem(goal);
+            final SolverLauncher solverLauncher = new SolverLauncher(settings);
+            launcher = solverLauncher;
+            if (Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            solverLauncher.launch(solvers, List.of(problem), proof.getServices());
+            for (SMTSolver solver : problem.getSolvers()) {
+                if (solver.getFinalResult().isValid() == ThreeValuedTruth.VALID) {
+                    final String solverName = solver.name();
+                    return target -> {
+                        final IBuiltInRuleApp app =
+                            SMTRuleApp.RULE.createApp(solverName).tryToInstantiate(target);
+                        target.apply(app);
+                    };
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void cancel() {
+            final SolverLauncher solverLauncher = launcher;
+            if (solverLauncher != null) {
+                solverLauncher.stop();
+            }
+        }
+    }
+}
@@ -92,6 +92,29 @@ public class KeyIO {
         return interpretExpression(ctx);
     }
 
+    /**
+     * Given many input strings, this function returns the terms if parsable. All expressions are
+     * parsed before the first one is interpreted in the namespaces of this object.
+     *
+     * @param exprs valid strings
+     * @return the valid terms, in the same order
+     * @throws BuildingException if an unrecoverable error during construction or parsing happened
+     */
+    public @NonNull List<JTerm> parseExpressions(@NonNull List<String> exprs) {
+        final List<CharStream> streams = new ArrayList<>(exprs.size());
+        for (String expr : exprs) {
+            streams.add(CharStreams.fromString(expr));
+        }
+        final List<BuildingIssue> issues = new ArrayList<>();
+        final List<JTerm> result = new ArrayList<>(exprs.size());
+        for (KeyAst.Term ctx : ParsingFacade.parseExpressions(streams)) {
+            result.add(interpretExpression(ctx));
+            issues.addAll(warnings);
+        }
+        warnings = issues;
+        return result;
+    }
+
     private JTerm interpretExpression(KeyAst.Term ctx) {
         ExpressionBuilder visitor = new ExpressionBuilder(services, nss);
         visitor.setAbbrevMap(abbrevMap);
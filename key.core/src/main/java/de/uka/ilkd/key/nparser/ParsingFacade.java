@@ -13,6 +13,8 @@ import java.nio.charset.Charset;
 import java.nio.charset.CodingErrorAction;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import de.uka.ilkd.key.nparser.builder.ChoiceFinder;
 import de.uka.ilkd.key.proof.io.RuleSource;
@@ -26,6 +28,7 @@ import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.TerminalNode;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +37,12 @@ import org.slf4j.LoggerFactory;
  * <p>
  * You should only use it if you need access to the parse trees instead of terms or taclet
  * structure.
+ * <p>
+ * All parse methods use the two-stage strategy recommended for ANTLR4: the input is first parsed
+ * with the faster SLL prediction mode, bailing out on the first syntax error, and only parsed again
+ * with full LL prediction and error reporting if this fails. The parsers are reused per thread;
+ * the DFA caches of the prediction are shared by all parsers anyway. The lexers are not reused, as
+ * the tokens of the parse trees refer to them, e.g., for the source name.
  *
  * @author Alexander Weigl
  * @version 1 (19.08.19)
@@ -42,6 +51,11 @@ import org.slf4j.LoggerFactory;
 public final class ParsingFacade {
     private static final Logger LOGGER = LoggerFactory.getLogger(ParsingFacade.class);
 
+    /**
+     * The parser of the current thread, which is not in use by a (reentrant) parse, or null.
+     */
+    private static final ThreadLocal<@Nullable KeYParser> PARSERS = new ThreadLocal<>();
+
     private ParsingFacade() {
     }
 
@@ -104,6 +118,63 @@ public final class ParsingFacade {
         return createParser(createLexer(stream));
     }
 
+    /**
+     * Parses the tokens of the given lexer by the given grammar rule, first with SLL prediction and
+     * then, if this fails, with LL prediction.
+     *
+     * @param lexer the lexer providing the input
+     * @param rule the grammar rule to apply
+     * @param lines the lines of the input for beautiful error messages, or null
+     * @param bail whether the LL stage bails out on the first syntax error as well, throwing a
+     *        {@link ParseCancellationException}
+     * @param <T> parse tree type
+     * @return the parse tree
+     * @throws de.uka.ilkd.key.util.parsing.SyntaxErrorReporter.ParserException if the input is
+     *         syntactically broken
+     */
+    private static <T extends ParserRuleContext> T parse(TokenSource lexer,
+            Function<KeYParser, T> rule, @Nullable Supplier<String[]> lines, boolean bail) {
+        final CommonTokenStream tokens = new CommonTokenStream(lexer);
+        KeYParser p = PARSERS.get();
+        if (p == null) {
+            p = new KeYParser(tokens);
+        } else {
+            PARSERS.remove();
+            p.setTokenStream(tokens);
+        }
+        try {
+            p.removeErrorListeners();
+            p.setErrorHandler(new BailErrorStrategy());
+            p.getInterpreter().setPredictionMode(PredictionMode.SLL);
+            try {
+                return rule.apply(p);
+            } catch (ParseCancellationException ex) {
+                LOGGER.debug("SLL was not enough for {}", tokens.getSourceName());
+            }
+            tokens.seek(0);
+            p.setTokenStream(tokens);
+            p.addErrorListener(p.getErrorReporter());
+            p.setErrorHandler(bail ? new BailErrorStrategy() : new DefaultErrorStrategy());
+            p.getInterpreter().setPredictionMode(PredictionMode.LL);
+            final T ctx = rule.apply(p);
+            if (lines == null) {
+                p.getErrorReporter().throwException();
+            } else {
+                p.getErrorReporter().throwException(lines);
+            }
+            return ctx;
+        } finally {
+            p.getErrorReporter().clear();
+            p.setTokenStream(null);
+            PARSERS.set(p);
+        }
+    }
+
+    private static <T extends ParserRuleContext> T parse(CharStream stream,
+            Function<KeYParser, T> rule) {
+        return parse(createLexer(stream), rule, null, false);
+    }
+
     public static KeYLexer createLexer(Path file) throws IOException {
         return createLexer(CharStreams.fromPath(file));
     }
@@ -145,48 +216,37 @@ public final class ParsingFacade {
     }
 
     public static KeyAst.File parseFile(CharStream stream) {
-        KeYParser p = createParser(stream);
-
-        p.getInterpreter().setPredictionMode(PredictionMode.SLL);
-        p.removeErrorListeners();
-        p.setErrorHandler(new BailErrorStrategy());
-        KeYParser.FileContext ctx;
-        try {
-            ctx = p.file();
-        } catch (ParseCancellationException ex) {
-            LOGGER.warn("SLL was not enough");
-            stream.seek(0);
-            p = createParser(stream);
-            p.setErrorHandler(new BailErrorStrategy());
-            ctx = p.file();
-            if (p.getErrorReporter().hasErrors()) {
-                throw ex;
-            }
-        }
-
-        p.getErrorReporter().throwException();
-        return new KeyAst.File(ctx);
+        // bail out on errors, the error messages of the exceptions are more helpful
+        return new KeyAst.File(parse(createLexer(stream), KeYParser::file, null, true));
     }
 
     public static KeyAst.Term parseExpression(CharStream stream) {
-        KeYParser p = createParser(stream);
-        KeYParser.TermContext term = p.termEOF().term();
-        p.getErrorReporter().throwException();
-        return new KeyAst.Term(term);
+        return new KeyAst.Term(parse(stream, KeYParser::termEOF).term());
+    }
+
+    /**
+     * Parses many expressions at once, e.g., the instantiations of a proof file.
+     *
+     * @param streams the expressions
+     * @return the parse trees of the expressions, in the same order
+     * @throws de.uka.ilkd.key.util.parsing.SyntaxErrorReporter.ParserException if an expression is
+     *         syntactically broken
+     */
+    public static List<KeyAst.Term> parseExpressions(List<? extends CharStream> streams) {
+        final List<KeyAst.Term> result = new ArrayList<>(streams.size());
+        for (CharStream stream : streams) {
+            result.add(parseExpression(stream));
+        }
+        return result;
     }
 
     public static KeyAst.Seq parseSequent(CharStream stream) {
-        KeYParser p = createParser(stream);
-        KeyAst.Seq seq = new KeyAst.Seq(p.seqEOF().seq());
-        p.getErrorReporter().throwException();
-        return seq;
+        return new KeyAst.Seq(parse(stream, KeYParser::seqEOF).seq());
     }
 
     public static KeyAst.ProofScript parseScript(PositionedString ps) {
-        var rp = createParser(createLexer(ps));
-        KeyAst.ProofScript ast = new KeyAst.ProofScript(rp.proofScript());
-        rp.getErrorReporter().throwException(ps.text.split("\n"));
-        return ast;
+        return new KeyAst.ProofScript(
+            parse(createLexer(ps), KeYParser::proofScript, () -> ps.text.split("\n"), false));
     }
 
     public static KeyAst.ProofScript parseScript(Path file) throws IOException {
@@ -194,10 +254,7 @@ public final class ParsingFacade {
     }
 
     public static KeyAst.ProofScript parseScript(CharStream stream) {
-        var rp = createParser(stream);
-        final var ctx = rp.proofScriptEOF().proofScript();
-        rp.getErrorReporter().throwException();
-        return new KeyAst.ProofScript(ctx);
+        return new KeyAst.ProofScript(parse(stream, KeYParser::proofScriptEOF).proofScript());
     }
 
     public static KeyAst.ProofScript parseScript(String text) {
@@ -244,10 +301,7 @@ public final class ParsingFacade {
     }
 
     public static KeyAst.Taclet parseTaclet(CharStream source) {
-        KeYParser p = createParser(source);
-        var term = p.taclet();
-        p.getErrorReporter().throwException();
-        return new KeyAst.Taclet(term);
+        return new KeyAst.Taclet(parse(source, KeYParser::taclet));
     }
 
     // region configuration
@@ -283,10 +337,7 @@ public final class ParsingFacade {
      * @throws BuildingException if the file is syntactical broken.
      */
     public static KeyAst.ConfigurationFile parseConfigurationFile(CharStream stream) {
-        KeYParser p = createParser(stream);
-        var ctx = p.cfile();
-        p.getErrorReporter().throwException();
-        return new KeyAst.ConfigurationFile(ctx);
+        return new KeyAst.ConfigurationFile(parse(stream, KeYParser::cfile));
     }
 
     /**
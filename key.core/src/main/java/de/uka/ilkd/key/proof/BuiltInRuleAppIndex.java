@@ -3,8 +3,12 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import de.uka.ilkd.key.rule.BuiltInRule;
 import de.uka.ilkd.key.rule.IBuiltInRuleApp;
+import de.uka.ilkd.key.rule.OneStepSimplifier;
 
 import org.key_project.logic.PosInTerm;
 import org.key_project.prover.sequent.*;
@@ -40,7 +44,7 @@ public class BuiltInRuleAppIndex {
         while (!rules.isEmpty()) {
             final BuiltInRule bir = rules.head();
             rules = rules.tail();
-            if (bir.isApplicable(goal, pos)) {
+            if (isApplicable(bir, goal, pos)) {
                 IBuiltInRuleApp app = bir.createApp(pos, goal.proof().getServices());
                 result = result.prepend(app);
             }
@@ -74,11 +78,12 @@ public class BuiltInRuleAppIndex {
             do {
                 final BuiltInRule builtInRule = rules.head();
                 rules = rules.tail();
-                if (builtInRule.isApplicable(goal, null)) {
+                if (isApplicable(builtInRule, goal, null)) {
                     IBuiltInRuleApp app = builtInRule.createApp(null, goal.proof().getServices());
                     listener.ruleAdded(app, null);
                 }
             } while (!rules.isEmpty());
+            prepareOneStepSimplifier(goal, goal.node().sequent());
             scanSimplificationRule(index.rules(), goal, false, listener);
             scanSimplificationRule(index.rules(), goal, true, listener);
         }
@@ -104,7 +109,7 @@ public class BuiltInRuleAppIndex {
             rules = rules.tail();
             if (rule.isApplicableOnSubTerms()) {
                 subrules = subrules.prepend(rule);
-            } else if (rule.isApplicable(goal, pos)) {
+            } else if (isApplicable(rule, goal, pos)) {
                 final IBuiltInRuleApp app = rule.createApp(pos, goal.proof().getServices());
                 listener.ruleAdded(app, pos);
             }
@@ -119,7 +124,7 @@ public class BuiltInRuleAppIndex {
         while (!it.isEmpty()) {
             final BuiltInRule rule = it.head();
             it = it.tail();
-            if (rule.isApplicable(goal, pos)) {
+            if (isApplicable(rule, goal, pos)) {
                 IBuiltInRuleApp app = rule.createApp(pos, goal.proof().getServices());
                 listener.ruleAdded(app, pos);
             }
@@ -129,6 +134,21 @@ public class BuiltInRuleAppIndex {
         }
     }
 
+    /**
+     * Checks whether a built-in rule is applicable and records the check in the rule profile of
+     * the proof, if any.
+     */
+    private static boolean isApplicable(BuiltInRule rule, Goal goal, PosInOccurrence pos) {
+        final RuleProfile profile = goal.proof().getRuleProfile();
+        if (profile == null) {
+            return rule.isApplicable(goal, pos);
+        }
+        final long time = System.nanoTime();
+        final boolean result = rule.isApplicable(goal, pos);
+        profile.matched(rule, result, System.nanoTime() - time);
+        return result;
+    }
+
     public void reportRuleApps(NewRuleListener l, Goal goal) {
         scanSimplificationRule(goal, l);
     }
@@ -141,6 +161,8 @@ public class BuiltInRuleAppIndex {
     public void sequentChanged(Goal goal,
             SequentChangeInfo sci,
             NewRuleListener listener) {
+        prepareOneStepSimplifier(goal, sci);
+
         scanAddedFormulas(goal, true, sci, listener);
         scanAddedFormulas(goal, false, sci, listener);
 
@@ -148,6 +170,54 @@ public class BuiltInRuleAppIndex {
         scanModifiedFormulas(goal, false, sci, listener);
     }
 
+    /**
+     * Lets the one step simplifier (if present) check all formulas of the sequent in parallel
+     * before they are scanned one after another.
+     */
+    private void prepareOneStepSimplifier(Goal goal, Sequent seq) {
+        final OneStepSimplifier oss = oneStepSimplifier();
+        if (oss != null) {
+            final List<PosInOccurrence> positions = new ArrayList<>(seq.size());
+            for (SequentFormula sf : seq.antecedent()) {
+                positions.add(new PosInOccurrence(sf, PosInTerm.getTopLevel(), true));
+            }
+            for (SequentFormula sf : seq.succedent()) {
+                positions.add(new PosInOccurrence(sf, PosInTerm.getTopLevel(), false));
+            }
+            oss.computeApplicability(goal, positions);
+        }
+    }
+
+    /**
+     * Lets the one step simplifier (if present) check the added and modified formulas in
+     * parallel before they are scanned one after another.
+     */
+    private void prepareOneStepSimplifier(Goal goal, SequentChangeInfo sci) {
+        final OneStepSimplifier oss = oneStepSimplifier();
+        if (oss != null) {
+            final List<PosInOccurrence> positions = new ArrayList<>();
+            for (boolean antec : new boolean[] { true, false }) {
+                for (SequentFormula sf : sci.addedFormulas(antec)) {
+                    positions.add(new PosInOccurrence(sf, PosInTerm.getTopLevel(), antec));
+                }
+                for (FormulaChangeInfo fci : sci.modifiedFormulas(antec)) {
+                    positions.add(
+                        new PosInOccurrence(fci.newFormula(), PosInTerm.getTopLevel(), antec));
+                }
+            }
+            oss.computeApplicability(goal, positions);
+        }
+    }
+
+    private OneStepSimplifier oneStepSimplifier() {
+        for (BuiltInRule rule : index.rules()) {
+            if (rule instanceof OneStepSimplifier oss) {
+                return oss;
+            }
+        }
+        return null;
+    }
+
     private void scanAddedFormulas(Goal goal, boolean antec,
             SequentChangeInfo sci,
             NewRuleListener listener) {
@@ -0,0 +1,91 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import de.uka.ilkd.key.settings.GeneralSettings;
+
+import org.key_project.prover.sequent.Sequent;
+
+/**
+ * Reduces the memory footprint of closed subtrees of a proof. Interior nodes of a closed subtree
+ * drop their sequent, which is replaced by a {@link SequentDelta} relative to the sequent of the
+ * parent node, and the user feedback data of their {@link NodeInfo}. Only the applied rule app,
+ * the name recorder, the renamings and the other data required to save or replay the proof are
+ * kept.
+ * <p>
+ * To bound the cost of rebuilding a sequent on demand (e.g., when the node is selected in the GUI
+ * or the proof is saved), every {@link #CHECKPOINT_INTERVAL}-th node on a path keeps its sequent.
+ * The root of the closed subtree and all leaves (i.e., the closed goals) also keep their sequents.
+ * <p>
+ * The root of a compacted subtree is marked. When an enclosing subtree is closed later, the
+ * compaction stops at the marked roots, which keep their sequents, so every node is visited and
+ * compacted once instead of on every closing of an enclosing subtree.
+ * <p>
+ * Compaction is enabled by {@link GeneralSettings#compactClosedSubtrees} and is triggered by
+ * {@link Proof#closeGoal(Goal)}.
+ */
+final class ClosedSubtreeCompactor {
+    /**
+     * The maximal number of sequents that have to be rebuilt when accessing the sequent of a
+     * compacted node.
+     */
+    static final int CHECKPOINT_INTERVAL = 32;
+
+    private ClosedSubtreeCompactor() {
+    }
+
+    /**
+     * Compacts the closed subtree below the given node. Closed subtrees which have been compacted
+     * before are skipped.
+     *
+     * @param subtreeRoot the root of a closed subtree
+     * @return the number of newly compacted nodes
+     */
+    static int compact(Node subtreeRoot) {
+        assert subtreeRoot.isClosed();
+        if (subtreeRoot.isCompactedSubtreeRoot()) {
+            return 0;
+        }
+        int compacted = 0;
+        final Deque<Entry> todo = new ArrayDeque<>();
+        pushChildren(todo, subtreeRoot, subtreeRoot.sequent(), 0);
+        while (!todo.isEmpty()) {
+            final Entry e = todo.pop();
+            final Node node = e.node;
+            if (node.leaf() || node.isCompactedSubtreeRoot()) {
+                continue;
+            }
+            final Sequent seq = node.sequent(e.parentSequent);
+            int distance = e.distance + 1;
+            if (distance >= CHECKPOINT_INTERVAL) {
+                if (node.isCompacted()) {
+                    node.setSequent(seq);
+                }
+                distance = 0;
+            } else if (!node.isCompacted()) {
+                node.compact(SequentDelta.create(e.parentSequent, seq));
+                compacted++;
+            }
+            pushChildren(todo, node, seq, distance);
+        }
+        subtreeRoot.markCompactedSubtreeRoot();
+        return compacted;
+    }
+
+    private static void pushChildren(Deque<Entry> todo, Node node, Sequent seq, int distance) {
+        for (Node child : node) {
+            todo.push(new Entry(child, seq, distance));
+        }
+    }
+
+    /**
+     * A node to visit together with the sequent of its parent and the distance of the parent to
+     * the nearest ancestor which keeps its sequent.
+     */
+    private record Entry(Node node, Sequent parentSequent, int distance) {
+    }
+}
@@ -657,6 +657,10 @@ public final class Goal implements ProofGoal<Goal> {
         adaptNamespacesNewGoals(goalList);
         final RuleAppInfo ruleAppInfo = journal.getRuleAppInfo(ruleApp);
         proof.fireRuleApplied(new ProofEvent(proof, ruleAppInfo, goalList));
+        final RuleProfile profile = proof.getRuleProfile();
+        if (profile != null) {
+            profile.applied(ruleApp.rule(), System.nanoTime() - time);
+        }
         return goalList;
     }
 
@@ -20,6 +20,7 @@ import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 /**
  * A multithreaded taclet index implementation. It executes method
@@ -47,25 +48,16 @@ final class MultiThreadedTacletIndex extends TacletIndex {
         super();
     }
 
-    private MultiThreadedTacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
-            ImmutableList<NoPosTacletApp> noFindList,
-            HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
-        super(rwList, antecList, succList, noFindList, partialInstantiatedRuleApps);
+    private MultiThreadedTacletIndex(MultiThreadedTacletIndex original) {
+        super(original);
     }
 
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings("unchecked")
     @Override
     public TacletIndex copy() {
-        return new MultiThreadedTacletIndex(
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) rwList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) antecList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(), noFindList,
-            (HashSet<NoPosTacletApp>) partialInstantiatedRuleApps.clone());
+        return new MultiThreadedTacletIndex(this);
     }
 
     /**
@@ -76,6 +68,7 @@ final class MultiThreadedTacletIndex extends TacletIndex {
             @NonNull ImmutableList<NoPosTacletApp> tacletApps,
             RuleFilter p_filter, PosInOccurrence pos, LogicServices services) {
         ImmutableList<NoPosTacletApp> result = ImmutableSLList.nil();
+        final RuleProfile profile = getRuleProfile(services);
 
         if (tacletApps.size() > 256) {
             NoPosTacletApp[] toMatch = tacletApps.toArray(NoPosTacletApp.class);
@@ -88,7 +81,8 @@ final class MultiThreadedTacletIndex extends TacletIndex {
             for (int lower = 0; lower < toMatch.length; lower += partitionSize) {
                 int upper = lower + partitionSize;
                 upper = Math.min(upper, toMatch.length);
-                forks.add(new TacletSetMatchTask(toMatch, lower, upper, pos, p_filter, services));
+                forks.add(new TacletSetMatchTask(toMatch, lower, upper, pos, p_filter, services,
+                    profile));
             }
 
             List<NoPosTacletApp> matchedRules = new LinkedList<>();
@@ -106,7 +100,7 @@ final class MultiThreadedTacletIndex extends TacletIndex {
                 if (!p_filter.filter(tacletApp.taclet())) {
                     continue;
                 }
-                final NoPosTacletApp newTacletApp = tacletApp.matchFind(pos, services);
+                final NoPosTacletApp newTacletApp = matchFind(tacletApp, pos, services, profile);
                 if (newTacletApp != null) {
                     result = result.prepend(newTacletApp);
                 }
@@ -126,6 +120,7 @@ final class MultiThreadedTacletIndex extends TacletIndex {
         private final LogicServices services;
         private final PosInOccurrence pos;
         private final RuleFilter ruleFilter;
+        private final @Nullable RuleProfile profile;
 
         /**
          * Creates a task which matches all taclets in {@code toMatch} from {@code lower} including
@@ -138,16 +133,18 @@ final class MultiThreadedTacletIndex extends TacletIndex {
          * @param pos the {@link PosInOccurrence} refering to the term to match
          * @param ruleFilter {@link RuleFilter} constraining the taclets to be matched
          * @param services the {@link Services}
+         * @param profile the rule profile recording the attempts, or <code>null</code>
          */
         public TacletSetMatchTask(NoPosTacletApp[] toMatch, int lower, int upper,
                 PosInOccurrence pos, RuleFilter ruleFilter,
-                LogicServices services) {
+                LogicServices services, @Nullable RuleProfile profile) {
             this.toMatch = toMatch;
             this.lower = lower;
             this.upper = upper;
             this.services = services;
             this.pos = pos;
             this.ruleFilter = ruleFilter;
+            this.profile = profile;
         }
 
         @Override
@@ -158,7 +155,8 @@ final class MultiThreadedTacletIndex extends TacletIndex {
                 if (!ruleFilter.filter(tacletApp.taclet())) {
                     continue;
                 }
-                final NoPosTacletApp newTacletApp = tacletApp.matchFind(pos, services);
+                final NoPosTacletApp newTacletApp =
+                    matchFind(tacletApp, pos, services, profile);
                 if (newTacletApp != null) {
                     result.add(newTacletApp);
                 }
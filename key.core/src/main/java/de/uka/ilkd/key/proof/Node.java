@@ -3,6 +3,7 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -19,6 +20,7 @@ import de.uka.ilkd.key.proof.calculus.JavaDLSequentKit;
 import de.uka.ilkd.key.proof.reference.ClosedBy;
 import de.uka.ilkd.key.rule.NoPosTacletApp;
 import de.uka.ilkd.key.rule.merge.MergeRule;
+import de.uka.ilkd.key.settings.GeneralSettings;
 
 import org.key_project.logic.op.Function;
 import org.key_project.prover.rules.RuleApp;
@@ -60,7 +62,16 @@ public class Node implements Iterable<Node> {
      */
     private BranchLocation branchLocation = null;
 
-    private Sequent seq = JavaDLSequentKit.getInstance().getEmptySequent();
+    private @Nullable Sequent seq = JavaDLSequentKit.getInstance().getEmptySequent();
+
+    /**
+     * If this node has been compacted by {@link ClosedSubtreeCompactor}, {@link #seq} is dropped
+     * and the sequent is rebuilt from the sequent of the parent node using this delta.
+     */
+    private @Nullable SequentDelta sequentDelta = null;
+
+    /** the last sequent rebuilt from {@link #sequentDelta} (may be reclaimed by the GC) */
+    private @Nullable SoftReference<Sequent> rebuiltSequent = null;
 
     private final ArrayList<Node> children = new ArrayList<>(1);
 
@@ -82,6 +93,12 @@ public class Node implements Iterable<Node> {
 
     private boolean closed = false;
 
+    /**
+     * whether this node is the root of a closed subtree compacted by
+     * {@link ClosedSubtreeCompactor}; reset when the node is reopened
+     */
+    private boolean compactedSubtreeRoot = false;
+
     /** contains non-logical content, used for user feedback */
     private NodeInfo nodeInfo;
 
@@ -159,11 +176,101 @@ public class Node implements Iterable<Node> {
      */
     public void setSequent(Sequent seq) {
         this.seq = seq;
+        this.sequentDelta = null;
+        this.rebuiltSequent = null;
     }
 
     /** returns the sequent of this node */
     public Sequent sequent() {
-        return seq;
+        final Sequent result = seq;
+        if (result != null) {
+            return result;
+        }
+        return rebuildSequent();
+    }
+
+    /**
+     * Rebuilds the dropped sequent of a compacted node from the sequent of its parent. The parent
+     * itself may be compacted, in which case the sequents are rebuilt up to the nearest ancestor
+     * that retained its sequent.
+     *
+     * @return the sequent of this node
+     */
+    private Sequent rebuildSequent() {
+        final SoftReference<Sequent> ref = rebuiltSequent;
+        Sequent result = ref == null ? null : ref.get();
+        if (result == null) {
+            final SequentDelta delta = sequentDelta;
+            if (delta == null || parent == null) {
+                // the node has been restored concurrently
+                return seq;
+            }
+            result = delta.apply(parent.sequent());
+            rebuiltSequent = new SoftReference<>(result);
+        }
+        return result;
+    }
+
+    /**
+     * Drops the sequent of this node and all information that can be recomputed on demand or that
+     * is only required for open branches.
+     *
+     * @param delta the delta from the parent's sequent to the sequent of this node
+     * @see ClosedSubtreeCompactor
+     */
+    void compact(SequentDelta delta) {
+        assert parent != null : "The root node cannot be compacted.";
+        sequentDelta = delta;
+        seq = null;
+        rebuiltSequent = null;
+        nodeInfo.compact();
+        if (GeneralSettings.noPruningClosed) {
+            // the strategy information is only restored when pruning
+            undoInfoForStrategyInfo.clear();
+        }
+    }
+
+    /**
+     * @return true iff the sequent of this node has been dropped and is rebuilt on demand
+     * @see ClosedSubtreeCompactor
+     */
+    public boolean isCompacted() {
+        return seq == null;
+    }
+
+    /**
+     * Marks this node as the root of a compacted closed subtree, which later compactions of
+     * enclosing subtrees skip.
+     *
+     * @see ClosedSubtreeCompactor
+     */
+    void markCompactedSubtreeRoot() {
+        compactedSubtreeRoot = true;
+    }
+
+    /**
+     * @return true iff the closed subtree below this node has been compacted
+     * @see ClosedSubtreeCompactor
+     */
+    boolean isCompactedSubtreeRoot() {
+        return compactedSubtreeRoot;
+    }
+
+    /**
+     * Returns the sequent of this node, computed from the given sequent of the parent node if this
+     * node is compacted. This avoids rebuilding the parent's sequent when traversing the tree
+     * top-down.
+     *
+     * @param parentSequent the sequent of the parent node
+     * @return the sequent of this node
+     */
+    Sequent sequent(Sequent parentSequent) {
+        final Sequent result = seq;
+        if (result != null) {
+            return result;
+        }
+        final SequentDelta delta = sequentDelta;
+        return delta == null ? sequent() : delta.apply(parentSequent);
     }
 
     /**
@@ -691,9 +798,11 @@ public class Node implements Iterable<Node> {
      */
     void reopen() {
         closed = false;
+        compactedSubtreeRoot = false;
         Node tmp = parent;
         while (tmp != null && tmp.isClosed()) {
             tmp.closed = false;
+            tmp.compactedSubtreeRoot = false;
             tmp = tmp.parent();
         }
         clearNameCache();
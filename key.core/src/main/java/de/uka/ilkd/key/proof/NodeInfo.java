@@ -419,6 +419,18 @@ public class NodeInfo {
         return notes;
     }
 
+    /**
+     * Drops all information that is only used for user feedback on the active branch or that is
+     * recomputed on demand. Called when the node is compacted as part of a closed subtree.
+     */
+    void compact() {
+        sequentChangeInfo = null;
+        determinedFstAndActiveStatement = false;
+        firstStatement = null;
+        firstStatementString = null;
+        activeStatement = null;
+    }
+
     public SequentChangeInfo getSequentChangeInfo() {
         return sequentChangeInfo;
     }
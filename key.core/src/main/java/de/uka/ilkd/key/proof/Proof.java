@@ -162,6 +162,11 @@ public class Proof implements ProofObject<Goal>, Named {
 
     private @Nullable Lookup userData;
 
+    /**
+     * The profile of the rules of this proof, or <code>null</code> if rules are not profiled.
+     */
+    private volatile @Nullable RuleProfile ruleProfile;
+
     /**
      * Whether closing the proof should emit a {@link ProofEvent}.
      */
@@ -192,6 +197,10 @@ public class Proof implements ProofObject<Goal>, Named {
         initConfig.getSettings().getStrategySettings().addPropertyChangeListener(settingsListener);
 
         pis = ProofIndependentSettings.DEFAULT_INSTANCE;
+
+        if (GeneralSettings.profileRules) {
+            ruleProfile = new RuleProfile();
+        }
     }
 
     /**
@@ -543,6 +552,9 @@ public class Proof implements ProofObject<Goal>, Named {
     public void closeGoal(Goal goalToClose) {
 
         Node closedSubtree = goalToClose.node().close();
+        if (GeneralSettings.compactClosedSubtrees) {
+            ClosedSubtreeCompactor.compact(closedSubtree);
+        }
 
         boolean b = false;
         Iterator<Node> it = closedSubtree.leavesIterator();
@@ -1113,6 +1125,27 @@ public class Proof implements ProofObject<Goal>, Named {
         return new Statistics(this);
     }
 
+    /**
+     * @return the profile of the rules of this proof, or <code>null</code> if the rules are not
+     *         profiled
+     * @see #startRuleProfile()
+     */
+    public @Nullable RuleProfile getRuleProfile() {
+        return ruleProfile;
+    }
+
+    /**
+     * Starts profiling the rules of this proof, unless they are already profiled.
+     *
+     * @return the profile of the rules
+     */
+    public synchronized RuleProfile startRuleProfile() {
+        if (ruleProfile == null) {
+            ruleProfile = new RuleProfile();
+        }
+        return ruleProfile;
+    }
+
     /**
      * toString
      */
@@ -0,0 +1,248 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.uka.ilkd.key.rule.BuiltInRule;
+
+import org.key_project.logic.Name;
+import org.key_project.prover.rules.Rule;
+import org.key_project.prover.rules.RuleSet;
+import org.key_project.prover.rules.Taclet;
+
+/**
+ * Records per rule of a proof how often and how expensively it has been matched, evaluated by the
+ * strategy and applied. For each taclet and built-in rule, identified by its name, the profile
+ * counts
+ * <ul>
+ * <li>the attempts to match the rule (i.e., to match the find part of a taclet or to check the
+ * applicability of a built-in rule) and the successful ones, and the time spent on them,</li>
+ * <li>the time spent on evaluating the features of the strategy for applications of the rule
+ * (computing the costs, instantiating and approving the applications),</li>
+ * <li>the number of applications of the rule and the time spent on executing them.</li>
+ * </ul>
+ * A profile is recorded if {@link de.uka.ilkd.key.settings.GeneralSettings#profileRules} is set
+ * when a proof is created, or after {@link Proof#startRuleProfile()} has been called. The profile
+ * can be written as CSV or JSON; the rules are sorted by the total time spent on them, so that the
+ * rules and rule sets making a proof slow come first.
+ * <p>
+ * The profile may be updated concurrently, e.g., by the parallel matching of taclets.
+ */
+public final class RuleProfile {
+
+    /** the header of the CSV format */
+    private static final String[] COLUMNS = { "rule", "kind", "rule sets", "match attempts",
+        "matches", "match time (ms)", "feature time (ms)", "applications",
+        "execution time (ms)", "total time (ms)" };
+
+    private final Map<Name, Counters> rules = new ConcurrentHashMap<>();
+
+    private Counters counters(Rule rule) {
+        final Counters c = rules.get(rule.name());
+        return c != null ? c : rules.computeIfAbsent(rule.name(), n -> new Counters(rule));
+    }
+
+    /**
+     * Records an attempt to match a rule.
+     *
+     * @param rule the rule
+     * @param success whether the rule matched, resp. the built-in rule is applicable
+     * @param nanos the time spent on the attempt in nanoseconds
+     */
+    public void matched(Rule rule, boolean success, long nanos) {
+        final Counters c = counters(rule);
+        c.matchAttempts.increment();
+        if (success) {
+            c.matches.increment();
+        }
+        c.matchTime.add(nanos);
+    }
+
+    /**
+     * Records the evaluation of the features of the strategy for an application of a rule.
+     *
+     * @param rule the rule
+     * @param nanos the time spent on the evaluation in nanoseconds
+     */
+    public void evaluated(Rule rule, long nanos) {
+        counters(rule).featureTime.add(nanos);
+    }
+
+    /**
+     * Records an application of a rule.
+     *
+     * @param rule the rule
+     * @param nanos the time spent on the application in nanoseconds
+     */
+    public void applied(Rule rule, long nanos) {
+        final Counters c = counters(rule);
+        c.applications.increment();
+        c.executionTime.add(nanos);
+    }
+
+    /**
+     * Computes the profile of all rules recorded so far.
+     *
+     * @return the profile of each rule, sorted by the total time spent on the rule, descending
+     */
+    public List<Entry> entries() {
+        final List<Entry> result = new ArrayList<>(rules.size());
+        for (Counters c : rules.values()) {
+            result.add(c.toEntry());
+        }
+        result.sort(Comparator.comparingLong(Entry::totalTime).reversed()
+                .thenComparing(Entry::rule));
+        return result;
+    }
+
+    /**
+     * Formats the profile as CSV with a header line and one line per rule.
+     *
+     * @param separator the column separator
+     * @return the profile
+     */
+    public String toCSV(String separator) {
+        final StringBuilder sb = new StringBuilder(String.join(separator, COLUMNS)).append('\n');
+        for (Entry e : entries()) {
+            sb.append(e.rule()).append(separator).append(e.kind()).append(separator)
+                    .append(String.join(" ", e.ruleSets())).append(separator)
+                    .append(e.matchAttempts()).append(separator).append(e.matches())
+                    .append(separator).append(millis(e.matchTime())).append(separator)
+                    .append(millis(e.featureTime())).append(separator).append(e.applications())
+                    .append(separator).append(millis(e.executionTime())).append(separator)
+                    .append(millis(e.totalTime())).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats the profile as a JSON array with one object per rule. Times are given in
+     * nanoseconds.
+     *
+     * @return the profile
+     */
+    public String toJSON() {
+        final StringBuilder sb = new StringBuilder("[");
+        String separator = "\n";
+        for (Entry e : entries()) {
+            sb.append(separator).append("  {\"rule\": ").append(quote(e.rule()))
+                    .append(", \"kind\": ").append(quote(e.kind())).append(", \"ruleSets\": [");
+            for (int i = 0; i < e.ruleSets().size(); i++) {
+                sb.append(i == 0 ? "" : ", ").append(quote(e.ruleSets().get(i)));
+            }
+            sb.append("], \"matchAttempts\": ").append(e.matchAttempts())
+                    .append(", \"matches\": ").append(e.matches())
+                    .append(", \"matchTime\": ").append(e.matchTime())
+                    .append(", \"featureTime\": ").append(e.featureTime())
+                    .append(", \"applications\": ").append(e.applications())
+                    .append(", \"executionTime\": ").append(e.executionTime()).append('}');
+            separator = ",\n";
+        }
+        return sb.append("\n]\n").toString();
+    }
+
+    /**
+     * Writes the profile to a file, as JSON if the name of the file ends with <code>.json</code>
+     * and as CSV separated by semicolons otherwise.
+     *
+     * @param file the file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        final String content =
+            file.getFileName().toString().endsWith(".json") ? toJSON() : toCSV(";");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    private static String quote(String s) {
+        final StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * The profile of one rule.
+     *
+     * @param rule the name of the rule
+     * @param kind "taclet", "built-in" or "other"
+     * @param ruleSets the names of the rule sets of a taclet, empty for other rules
+     * @param matchAttempts the number of attempts to match the rule
+     * @param matches the number of successful attempts
+     * @param matchTime the time spent on matching in nanoseconds
+     * @param featureTime the time spent on evaluating features in nanoseconds
+     * @param applications the number of applications
+     * @param executionTime the time spent on applying the rule in nanoseconds
+     */
+    public record Entry(String rule, String kind, List<String> ruleSets, long matchAttempts,
+            long matches, long matchTime, long featureTime, long applications,
+            long executionTime) {
+
+        /**
+         * @return the total time spent on the rule in nanoseconds
+         */
+        public long totalTime() {
+            return matchTime + featureTime + executionTime;
+        }
+    }
+
+    private static final class Counters {
+        private final String rule;
+        private final String kind;
+        private final List<String> ruleSets = new ArrayList<>();
+        private final LongAdder matchAttempts = new LongAdder();
+        private final LongAdder matches = new LongAdder();
+        private final LongAdder matchTime = new LongAdder();
+        private final LongAdder featureTime = new LongAdder();
+        private final LongAdder applications = new LongAdder();
+        private final LongAdder executionTime = new LongAdder();
+
+        private Counters(Rule rule) {
+            this.rule = rule.name().toString();
+            if (rule instanceof Taclet taclet) {
+                kind = "taclet";
+                for (RuleSet rs : taclet.getRuleSets()) {
+                    ruleSets.add(rs.name().toString());
+                }
+            } else if (rule instanceof BuiltInRule) {
+                kind = "built-in";
+            } else {
+                kind = "other";
+            }
+        }
+
+        private Entry toEntry() {
+            return new Entry(rule, kind, List.copyOf(ruleSets), matchAttempts.sum(),
+                matches.sum(), matchTime.sum(), featureTime.sum(), applications.sum(),
+                executionTime.sum());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import de.uka.ilkd.key.proof.calculus.JavaDLSequentKit;
+
+import org.key_project.prover.sequent.Semisequent;
+import org.key_project.prover.sequent.Sequent;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+/**
+ * A compact description of a node's sequent relative to the sequent of its parent node. It is used
+ * by {@link ClosedSubtreeCompactor} to drop the sequents of interior nodes of closed subtrees: the
+ * sequent can be rebuilt from the parent's sequent at any time via {@link #apply(Sequent)}.
+ * <p>
+ * Each semisequent is encoded as a sequence of operations. A non-negative value {@code start} is
+ * followed by a length {@code len} and copies the formulas {@code start..start+len-1} of the
+ * parent semisequent; a negative value {@code -(i+1)} inserts the i-th formula of the list of
+ * formulas introduced by the rule application. Formulas are compared by identity, so the rebuilt
+ * sequent contains exactly the {@link SequentFormula} objects of the original one, and position
+ * information (e.g. stored in {@link org.key_project.prover.sequent.PosInOccurrence}s) stays
+ * valid.
+ */
+final class SequentDelta {
+    /** marker for a semisequent that is identical to the one of the parent */
+    private static final int[] UNCHANGED = new int[0];
+
+    private final int[] antecOps;
+    private final SequentFormula[] antecAdded;
+    private final int[] succOps;
+    private final SequentFormula[] succAdded;
+
+    private SequentDelta(int[] antecOps, SequentFormula[] antecAdded, int[] succOps,
+            SequentFormula[] succAdded) {
+        this.antecOps = antecOps;
+        this.antecAdded = antecAdded;
+        this.succOps = succOps;
+        this.succAdded = succAdded;
+    }
+
+    /**
+     * Computes the delta between the sequent of a parent node and the sequent of one of its
+     * children.
+     *
+     * @param parent the sequent of the parent node
+     * @param child the sequent of the child node
+     * @return the delta such that {@code delta.apply(parent)} equals {@code child}
+     */
+    static SequentDelta create(Sequent parent, Sequent child) {
+        final List<SequentFormula> antecAdded = new ArrayList<>();
+        final List<SequentFormula> succAdded = new ArrayList<>();
+        final int[] antecOps = encode(parent.antecedent(), child.antecedent(), antecAdded);
+        final int[] succOps = encode(parent.succedent(), child.succedent(), succAdded);
+        return new SequentDelta(antecOps, antecAdded.toArray(new SequentFormula[0]), succOps,
+            succAdded.toArray(new SequentFormula[0]));
+    }
+
+    private static int[] encode(Semisequent parent, Semisequent child,
+            List<SequentFormula> added) {
+        if (parent == child || parent.asList() == child.asList()) {
+            return UNCHANGED;
+        }
+        final IdentityHashMap<SequentFormula, Integer> parentIdx =
+            new IdentityHashMap<>(2 * parent.size());
+        int i = 0;
+        for (SequentFormula sf : parent) {
+            parentIdx.putIfAbsent(sf, i++);
+        }
+
+        // at most two entries per formula of the child
+        final int[] ops = new int[2 * child.size()];
+        int len = 0;
+        int runStart = -1;
+        int runLen = 0;
+        for (SequentFormula sf : child) {
+            final Integer idx = parentIdx.get(sf);
+            if (idx != null && runStart >= 0 && idx == runStart + runLen) {
+                runLen++;
+                continue;
+            }
+            if (runStart >= 0) {
+                ops[len++] = runStart;
+                ops[len++] = runLen;
+                runStart = -1;
+            }
+            if (idx != null) {
+                runStart = idx;
+                runLen = 1;
+            } else {
+                added.add(sf);
+                ops[len++] = -added.size();
+            }
+        }
+        if (runStart >= 0) {
+            ops[len++] = runStart;
+            ops[len++] = runLen;
+        }
+        return Arrays.copyOf(ops, len);
+    }
+
+    /**
+     * Rebuilds the child sequent from the sequent of the parent node.
+     *
+     * @param parent the sequent of the parent node (as passed to {@link #create(Sequent, Sequent)})
+     * @return the sequent of the child node
+     */
+    Sequent apply(Sequent parent) {
+        if (antecOps == UNCHANGED && succOps == UNCHANGED) {
+            return parent;
+        }
+        return JavaDLSequentKit.createSequent(decode(parent.antecedent(), antecOps, antecAdded),
+            decode(parent.succedent(), succOps, succAdded));
+    }
+
+    private static ImmutableList<SequentFormula> decode(Semisequent parent, int[] ops,
+            SequentFormula[] added) {
+        final ImmutableList<SequentFormula> parentList = parent.asList();
+        if (ops == UNCHANGED) {
+            return parentList;
+        }
+        final SequentFormula[] parentFormulas = parentList.toArray(SequentFormula.class);
+
+        int lastOp = -1;
+        for (int k = 0; k < ops.length; k += ops[k] < 0 ? 1 : 2) {
+            lastOp = k;
+        }
+
+        // a trailing copy of the parent's suffix shares the list cells of the parent
+        int end = ops.length;
+        ImmutableList<SequentFormula> result = ImmutableSLList.nil();
+        if (lastOp >= 0 && ops[lastOp] >= 0
+                && ops[lastOp] + ops[lastOp + 1] == parentFormulas.length) {
+            result = parentList;
+            for (int k = 0; k < ops[lastOp]; k++) {
+                result = result.tail();
+            }
+            end = lastOp;
+        }
+
+        final List<SequentFormula> prefix = new ArrayList<>();
+        int k = 0;
+        while (k < end) {
+            final int op = ops[k];
+            if (op < 0) {
+                prefix.add(added[-op - 1]);
+                k++;
+            } else {
+                prefix.addAll(Arrays.asList(parentFormulas).subList(op, op + ops[k + 1]));
+                k += 2;
+            }
+        }
+        for (int j = prefix.size() - 1; j >= 0; j--) {
+            result = result.prepend(prefix.get(j));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SequentDelta[antec=" + Arrays.toString(antecOps) + ", succ="
+            + Arrays.toString(succOps) + "]";
+    }
+}
@@ -3,9 +3,6 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof;
 
-import java.util.HashMap;
-import java.util.HashSet;
-
 import de.uka.ilkd.key.rule.NoPosTacletApp;
 import de.uka.ilkd.key.rule.Taclet;
 
@@ -39,25 +36,16 @@ final class SingleThreadedTacletIndex extends TacletIndex {
         super(tacletSet);
     }
 
-    private SingleThreadedTacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
-            ImmutableList<NoPosTacletApp> noFindList,
-            HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
-        super(rwList, antecList, succList, noFindList, partialInstantiatedRuleApps);
+    private SingleThreadedTacletIndex(SingleThreadedTacletIndex original) {
+        super(original);
     }
 
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings("unchecked")
     @Override
     public TacletIndex copy() {
-        return new SingleThreadedTacletIndex(
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) rwList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) antecList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(), noFindList,
-            (HashSet<NoPosTacletApp>) partialInstantiatedRuleApps.clone());
+        return new SingleThreadedTacletIndex(this);
     }
 
     /**
@@ -68,12 +56,13 @@ final class SingleThreadedTacletIndex extends TacletIndex {
             @NonNull ImmutableList<NoPosTacletApp> tacletApps,
             RuleFilter p_filter, PosInOccurrence pos, LogicServices services) {
         ImmutableList<NoPosTacletApp> result = ImmutableSLList.nil();
+        final RuleProfile profile = getRuleProfile(services);
 
         for (final NoPosTacletApp tacletApp : tacletApps) {
             if (!p_filter.filter(tacletApp.taclet())) {
                 continue;
             }
-            final NoPosTacletApp newTacletApp = tacletApp.matchFind(pos, services);
+            final NoPosTacletApp newTacletApp = matchFind(tacletApp, pos, services, profile);
             if (newTacletApp != null) {
                 result = result.prepend(newTacletApp);
             }
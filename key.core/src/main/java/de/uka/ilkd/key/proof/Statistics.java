@@ -42,6 +42,12 @@ public class Statistics {
     public final int operationContractApps;
     public final int blockLoopContractApps;
     public final int loopInvApps;
+    public final int congruenceClosureApps;
+    /**
+     * the number of equations derived by congruence closure, each of which would otherwise have
+     * needed at least one rewriting step
+     */
+    public final int congruenceClosureEquations;
     public final long autoModeTimeInMillis;
     public final long timeInMillis;
     public final float timePerStepInMillis;
@@ -54,7 +60,8 @@ public class Statistics {
             int symbExApps,
             int quantifierInstantiations, int ossApps, int mergeRuleApps, int totalRuleApps,
             int smtSolverApps, int dependencyContractApps, int operationContractApps,
-            int blockLoopContractApps, int loopInvApps, long autoModeTimeInMillis,
+            int blockLoopContractApps, int loopInvApps, int congruenceClosureApps,
+            int congruenceClosureEquations, long autoModeTimeInMillis,
             long timeInMillis, float timePerStepInMillis) {
         this.nodes = nodes;
         this.branches = branches;
@@ -70,6 +77,8 @@ public class Statistics {
         this.operationContractApps = operationContractApps;
         this.blockLoopContractApps = blockLoopContractApps;
         this.loopInvApps = loopInvApps;
+        this.congruenceClosureApps = congruenceClosureApps;
+        this.congruenceClosureEquations = congruenceClosureEquations;
         this.autoModeTimeInMillis = autoModeTimeInMillis;
         this.timeInMillis = timeInMillis;
         this.timePerStepInMillis = timePerStepInMillis;
@@ -94,6 +103,8 @@ public class Statistics {
         int operationContractApps = 0;
         int blockLoopContractApps = 0;
         int loopInvApps = 0;
+        int congruenceClosureApps = 0;
+        int congruenceClosureEquations = 0;
         long autoModeTimeInMillis = 0;
         long timeInMillis = 0;
 
@@ -122,6 +133,8 @@ public class Statistics {
             operationContractApps = tmp.contr;
             blockLoopContractApps = tmp.block;
             loopInvApps = tmp.inv;
+            congruenceClosureApps = tmp.cc;
+            congruenceClosureEquations = tmp.ccEquations;
             autoModeTimeInMillis = startNode.proof().getAutoModeTime();
             timeInMillis = (System.currentTimeMillis() - startNode.proof().creationTime);
         }
@@ -140,6 +153,8 @@ public class Statistics {
         this.operationContractApps = operationContractApps;
         this.blockLoopContractApps = blockLoopContractApps;
         this.loopInvApps = loopInvApps;
+        this.congruenceClosureApps = congruenceClosureApps;
+        this.congruenceClosureEquations = congruenceClosureEquations;
         this.autoModeTimeInMillis = autoModeTimeInMillis;
         this.timeInMillis = timeInMillis;
         this.timePerStepInMillis = nodes <= 1 ? .0f : (autoModeTimeInMillis / (float) (nodes - 1));
@@ -172,6 +187,8 @@ public class Statistics {
         this.operationContractApps = tmp.contr;
         this.blockLoopContractApps = tmp.block;
         this.loopInvApps = tmp.inv;
+        this.congruenceClosureApps = tmp.cc;
+        this.congruenceClosureEquations = tmp.ccEquations;
         this.autoModeTimeInMillis = startNode.proof().getAutoModeTime();
         this.timeInMillis = (System.currentTimeMillis() - startNode.proof().creationTime);
         timePerStepInMillis = nodes <= 1 ? .0f : (autoModeTimeInMillis / (float) (nodes - 1));
@@ -188,7 +205,8 @@ public class Statistics {
             side.symbExApps,
             side.quantifierInstantiations, side.ossApps, side.mergeRuleApps, side.totalRuleApps,
             side.smtSolverApps, side.dependencyContractApps, side.operationContractApps,
-            side.blockLoopContractApps, side.loopInvApps, side.autoModeTimeInMillis,
+            side.blockLoopContractApps, side.loopInvApps, side.congruenceClosureApps,
+            side.congruenceClosureEquations, side.autoModeTimeInMillis,
             System.currentTimeMillis() - creationTime, side.timePerStepInMillis);
     }
 
@@ -251,6 +269,18 @@ public class Statistics {
             new Pair<>("Block/Loop Contract apps", String.valueOf(stat.blockLoopContractApps)));
         summaryList.add(new Pair<>("Loop invariant apps", String.valueOf(stat.loopInvApps)));
         summaryList.add(new Pair<>("Merge Rule apps", String.valueOf(stat.mergeRuleApps)));
+        if (stat.congruenceClosureApps > 0) {
+            summaryList.add(new Pair<>("Congruence closure apps",
+                String.valueOf(stat.congruenceClosureApps)));
+            // each derived equation replaces at least one rewriting step of average duration
+            final long savedTime =
+                (long) (stat.congruenceClosureEquations * stat.timePerStepInMillis);
+            summaryList.add(new Pair<>(
+                "Rewrites saved by congruence closure [tooltip: Equations derived by congruence "
+                    + "closure and the estimated time rewriting would have taken]",
+                stat.congruenceClosureEquations + " (~"
+                    + EnhancedStringBuffer.formatTime(savedTime) + ")"));
+        }
         summaryList.add(new Pair<>("Total rule apps",
             EnhancedStringBuffer.format(stat.totalRuleApps).toString()));
     }
@@ -300,6 +330,8 @@ public class Statistics {
         int contr = 0; // functional contract apps
         int block = 0; // block and loop contract apps
         int inv = 0; // loop invariants
+        int cc = 0; // congruence closure apps
+        int ccEquations = 0; // equations derived by congruence closure
 
         /**
          * Increment numbers of rule applications according to given node and (already collected)
@@ -334,6 +366,9 @@ public class Statistics {
                     inv++;
                 } else if (ruleApp instanceof MergeRuleBuiltInRuleApp) {
                     mergeApps++;
+                } else if (ruleApp instanceof CongruenceClosureBuiltInRuleApp ccApp) {
+                    cc++;
+                    ccEquations += ccApp.getDerivedEquations();
                 } else if (ruleApp instanceof TacletApp) {
                     inv += tmpLoopScopeInvTacletRuleApps(ruleApp);
                     quant += tmpQuantificationRuleApps(ruleApp);
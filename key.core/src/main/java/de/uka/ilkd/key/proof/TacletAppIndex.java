@@ -9,6 +9,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.proof.PrefixTermTacletAppIndexCacheImpl.CacheKey;
+import de.uka.ilkd.key.prover.impl.IndexUpdateEvent;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.util.Debug;
 
@@ -310,9 +311,18 @@ public class TacletAppIndex {
             // we are not up-to-date and have to rebuild everything (lazy)
             clearIndexes();
         } else {
+            final IndexUpdateEvent event = new IndexUpdateEvent();
+            event.begin();
             var time = System.nanoTime();
             updateIndices(sci);
             PERF_UPDATE.getAndAdd(System.nanoTime() - time);
+            if (event.shouldCommit()) {
+                event.added = sci.addedFormulas(true).size() + sci.addedFormulas(false).size();
+                event.removed =
+                    sci.removedFormulas(true).size() + sci.removedFormulas(false).size();
+                event.modified = sci.modifiedFormulas().size();
+                event.commit();
+            }
         }
     }
 
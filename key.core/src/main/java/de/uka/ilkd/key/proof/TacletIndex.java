@@ -11,6 +11,7 @@ import de.uka.ilkd.key.logic.JTerm;
 import de.uka.ilkd.key.logic.ProgramPrefix;
 import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.logic.sort.GenericSort;
+import de.uka.ilkd.key.logic.sort.ProgramSVSort;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.rule.inst.SVInstantiations;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.Metavariable;
@@ -24,6 +25,7 @@ import org.key_project.logic.op.sv.SchemaVariable;
 import org.key_project.prover.indexing.RuleIndex;
 import org.key_project.prover.proof.rulefilter.RuleFilter;
 import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.util.collection.CopyOnWriteOverlayMap;
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
@@ -37,20 +39,42 @@ import org.jspecify.annotations.Nullable;
  * information, the NoPosTacletApps) at one node. It is a persistent implementation. Taclets can be
  * added because the Taclets allow to introduce new rules during runtime. It offers selective get
  * methods for different kinds of rules.
+ * <p>
+ * The index maps are {@link CopyOnWriteOverlayMap}s: {@link #copy()} (called for every new goal
+ * on a split) shares the maps of the original index and only copies the taclets added or removed
+ * locally, e.g. by an {@code \addrules} section.
+ * <p>
+ * Taclets whose find term contains a Java block are indexed by the class of the first statement of
+ * the block. If the first statement is a program schema variable, e.g., {@code #forloop}, they are
+ * indexed by the sort of the schema variable and only selected for Java blocks whose active
+ * statement the schema variable may stand for.
  */
 public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
 
     private static final Object DEFAULT_SV_KEY = new Object();
     private static final Object DEFAULT_PROGSV_KEY = new Object();
 
+    /**
+     * the key of taclets whose Java block starts with a (non-list) program schema variable of the
+     * given sort
+     */
+    private record ProgramSVKey(ProgramSVSort sort) {
+    }
+
     /** contains rewrite Taclets */
-    protected HashMap<Object, ImmutableList<NoPosTacletApp>> rwList = new LinkedHashMap<>();
+    protected CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> rwList =
+        new CopyOnWriteOverlayMap<>();
 
     /** contains antecedent Taclets */
-    protected HashMap<Object, ImmutableList<NoPosTacletApp>> antecList = new LinkedHashMap<>();
+    protected CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> antecList =
+        new CopyOnWriteOverlayMap<>();
 
     /** contains succedent Taclets */
-    protected HashMap<Object, ImmutableList<NoPosTacletApp>> succList = new LinkedHashMap<>();
+    protected CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> succList =
+        new CopyOnWriteOverlayMap<>();
+
+    /** the sorts of all {@link ProgramSVKey}s in the index maps */
+    private ImmutableSet<ProgramSVSort> programSVSorts = DefaultImmutableSet.nil();
 
     /** contains NoFind-Taclets */
     protected ImmutableList<NoPosTacletApp> noFindList = ImmutableSLList.nil();
@@ -58,7 +82,13 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
     /**
      * keeps track of no pos taclet apps with partial instantiations
      */
-    protected HashSet<NoPosTacletApp> partialInstantiatedRuleApps = new LinkedHashSet<>();
+    private LinkedHashSet<NoPosTacletApp> partialInstantiatedRuleApps = new LinkedHashSet<>();
+
+    /**
+     * true iff {@link #partialInstantiatedRuleApps} is shared with a copy of this index and has to
+     * be copied before it is modified
+     */
+    private boolean partialInstantiatedRuleAppsShared = false;
 
 
     /** constructs empty rule index */
@@ -69,23 +99,24 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
      * creates a new TacletIndex with the given Taclets as initial contents.
      */
     TacletIndex(Iterable<Taclet> tacletSet) {
-        rwList = new LinkedHashMap<>();
-        antecList = new LinkedHashMap<>();
-        succList = new LinkedHashMap<>();
-        noFindList = ImmutableSLList.nil();
         addTaclets(toNoPosTacletApp(tacletSet));
     }
 
-    protected TacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
-            ImmutableList<NoPosTacletApp> noFindList,
-            HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
-        this.rwList = rwList;
-        this.antecList = antecList;
-        this.succList = succList;
-        this.noFindList = noFindList;
-        this.partialInstantiatedRuleApps = partialInstantiatedRuleApps;
+    /**
+     * creates a copy of the given index. The index maps are shared with the original index until
+     * one of both indices is modified.
+     *
+     * @param original the index to copy
+     */
+    protected TacletIndex(TacletIndex original) {
+        this.rwList = original.rwList.copy();
+        this.antecList = original.antecList.copy();
+        this.succList = original.succList.copy();
+        this.noFindList = original.noFindList;
+        this.programSVSorts = original.programSVSorts;
+        this.partialInstantiatedRuleApps = original.partialInstantiatedRuleApps;
+        this.partialInstantiatedRuleAppsShared = true;
+        original.partialInstantiatedRuleAppsShared = true;
     }
 
 
@@ -108,7 +139,9 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
         } else {
             final JavaProgramElement prg = indexTerm.javaBlock().program();
             indexObj = ((StatementBlock) prg).getStatementAt(0);
-            if (!(indexObj instanceof SchemaVariable)) {
+            if (indexObj instanceof ProgramSV sv && !sv.isListSV()) {
+                return new ProgramSVKey((ProgramSVSort) sv.sort());
+            } else if (!(indexObj instanceof SchemaVariable)) {
                 indexObj = indexObj.getClass();
             }
         }
@@ -133,8 +166,11 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
 
 
     private void insertToMap(NoPosTacletApp tacletApp,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+            CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> map) {
         Object indexObj = getIndexObj((FindTaclet) tacletApp.taclet());
+        if (indexObj instanceof ProgramSVKey key) {
+            programSVSorts = programSVSorts.add(key.sort());
+        }
         ImmutableList<NoPosTacletApp> opList = map.get(indexObj);
         opList = Objects.requireNonNullElseGet(opList,
             ImmutableSLList::<NoPosTacletApp>nil).prepend(tacletApp);
@@ -143,7 +179,7 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
 
 
     private void removeFromMap(NoPosTacletApp tacletApp,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+            CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> map) {
         Object op = getIndexObj((FindTaclet) tacletApp.taclet());
         ImmutableList<NoPosTacletApp> opList = map.get(op);
         if (opList != null) {
@@ -205,7 +241,7 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
         }
 
         if (tacletApp.instantiations() != SVInstantiations.EMPTY_SVINSTANTIATIONS) {
-            partialInstantiatedRuleApps.add(tacletApp);
+            modifiablePartialInstantiatedRuleApps().add(tacletApp);
         }
     }
 
@@ -229,8 +265,22 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
 
         if (tacletApp.instantiations() != SVInstantiations.EMPTY_SVINSTANTIATIONS) {
             // Debug.assertTrue(partialInstantiatedRuleApps.contains(tacletApp));
-            partialInstantiatedRuleApps.remove(tacletApp);
+            if (partialInstantiatedRuleApps.contains(tacletApp)) {
+                modifiablePartialInstantiatedRuleApps().remove(tacletApp);
+            }
+        }
+    }
+
+    /**
+     * @return the set of partially instantiated rule apps, copied first if it is shared with
+     *         another index
+     */
+    private LinkedHashSet<NoPosTacletApp> modifiablePartialInstantiatedRuleApps() {
+        if (partialInstantiatedRuleAppsShared) {
+            partialInstantiatedRuleApps = new LinkedHashSet<>(partialInstantiatedRuleApps);
+            partialInstantiatedRuleAppsShared = false;
         }
+        return partialInstantiatedRuleApps;
     }
 
     /**
@@ -252,17 +302,9 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
     @Override
     public @NonNull Set<NoPosTacletApp> allNoPosTacletApps() {
         Set<NoPosTacletApp> result = new LinkedHashSet<>();
-        for (ImmutableList<NoPosTacletApp> tacletApps : rwList.values()) {
-            tacletApps.forEach(result::add);
-        }
-
-        for (ImmutableList<NoPosTacletApp> tacletApps : antecList.values()) {
-            tacletApps.forEach(result::add);
-        }
-
-        for (ImmutableList<NoPosTacletApp> tacletApps : succList.values()) {
-            tacletApps.forEach(result::add);
-        }
+        rwList.forEach((key, tacletApps) -> tacletApps.forEach(result::add));
+        antecList.forEach((key, tacletApps) -> tacletApps.forEach(result::add));
+        succList.forEach((key, tacletApps) -> tacletApps.forEach(result::add));
 
         noFindList.forEach(result::add);
 
@@ -290,6 +332,36 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
             @NonNull ImmutableList<NoPosTacletApp> tacletApps, final RuleFilter p_filter,
             final PosInOccurrence pos, final LogicServices services);
 
+    /**
+     * @return the rule profile of the proof of the given services, or <code>null</code> if its
+     *         rules are not profiled
+     */
+    protected static @Nullable RuleProfile getRuleProfile(LogicServices services) {
+        final Proof proof = services instanceof Services s ? s.getProof() : null;
+        return proof == null ? null : proof.getRuleProfile();
+    }
+
+    /**
+     * Matches the find part of a taclet at the given position and records the attempt in the given
+     * rule profile.
+     *
+     * @param tacletApp the taclet to match
+     * @param pos the position to match, <code>null</code> for taclets without find part
+     * @param services the services
+     * @param profile the rule profile, or <code>null</code> if rules are not profiled
+     * @return the matched taclet app, or <code>null</code> if the taclet does not match
+     */
+    protected static @Nullable NoPosTacletApp matchFind(NoPosTacletApp tacletApp,
+            PosInOccurrence pos, LogicServices services, @Nullable RuleProfile profile) {
+        if (profile == null) {
+            return tacletApp.matchFind(pos, services);
+        }
+        final long time = System.nanoTime();
+        final NoPosTacletApp result = tacletApp.matchFind(pos, services);
+        profile.matched(tacletApp.taclet(), result != null, System.nanoTime() - time);
+        return result;
+    }
+
     /**
      * returns a selection from the given map with NoPosTacletApps relevant for the given program
      * element. Occurring prefix elements are tracked and taclet applications for them are added.
@@ -300,7 +372,7 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
      *        prefix elements
      */
     private ImmutableList<NoPosTacletApp> getJavaTacletList(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map, ProgramElement pe,
+            CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> map, ProgramElement pe,
             PrefixOccurrences prefixOccurrences) {
         ImmutableList<NoPosTacletApp> res = ImmutableSLList.nil();
         if (pe instanceof ProgramPrefix nt) {
@@ -317,10 +389,55 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
         return merge(res, prefixOccurrences.getList(map));
     }
 
+    /**
+     * returns the NoPosTacletApps from the given map whose Java block starts with a program schema
+     * variable that may stand for the first statement of the given block or one of its active
+     * statements
+     *
+     * @param map the map to select the NoPosTacletApps from
+     * @param sb the Java block of the term
+     * @param services the services, or <code>null</code> if the taclets cannot be selected by the
+     *        sorts of their schema variables
+     */
+    private ImmutableList<NoPosTacletApp> getProgramSVTacletList(
+            CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> map, StatementBlock sb,
+            @Nullable Services services) {
+        ImmutableList<NoPosTacletApp> res = ImmutableSLList.nil();
+        for (ProgramSVSort sort : programSVSorts) {
+            final ImmutableList<NoPosTacletApp> apps = map.get(new ProgramSVKey(sort));
+            if (apps != null && (services == null
+                    || mayStandForActiveStatement(sort, sb.getStatementAt(0), services))) {
+                res = merge(res, apps);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * checks whether a program schema variable of the given sort may stand for the given program
+     * element or, if it is a prefix element, for one of the elements on the path to its active
+     * statement (in the same way as {@link #getJavaTacletList} descends)
+     */
+    private static boolean mayStandForActiveStatement(ProgramSVSort sort, ProgramElement pe,
+            Services services) {
+        while (!sort.mayStandFor(pe, services)) {
+            if (!(pe instanceof ProgramPrefix nt)) {
+                return false;
+            }
+            final int next = PrefixOccurrences.nextChild(pe);
+            if (next < 0 || next >= nt.getChildCount()) {
+                return false;
+            }
+            pe = nt.getChildAt(next);
+        }
+        return true;
+    }
+
     @SuppressWarnings("deprecation")
     private ImmutableList<NoPosTacletApp> getListHelp(
-            final HashMap<Object, ImmutableList<NoPosTacletApp>> map, final JTerm term,
-            final boolean ignoreUpdates, final PrefixOccurrences prefixOccurrences) {
+            final CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> map,
+            final JTerm term, final boolean ignoreUpdates,
+            final PrefixOccurrences prefixOccurrences, final @Nullable Services services) {
 
         ImmutableList<NoPosTacletApp> res = ImmutableSLList.nil();
         final Operator op = term.op();
@@ -332,6 +449,7 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
             prefixOccurrences.reset();
             final StatementBlock sb = (StatementBlock) term.javaBlock().program();
             res = getJavaTacletList(map, sb.getStatementAt(0), prefixOccurrences);
+            res = merge(res, getProgramSVTacletList(map, sb, services));
         }
 
         if (!term.javaBlock().isEmpty() || op instanceof ProgramVariable) {
@@ -353,7 +471,7 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
             final JTerm target = UpdateApplication.getTarget(term);
             if (!(target.op() instanceof UpdateApplication)) {
                 final ImmutableList<NoPosTacletApp> targetIndexed =
-                    getListHelp(map, target, false, prefixOccurrences);
+                    getListHelp(map, target, false, prefixOccurrences, services);
                 return merge(res, targetIndexed);// otherwise only duplicates are added
             }
         }
@@ -392,17 +510,22 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
      * the top operator of its value, if no java block is involved on top level of the value and no
      * update is on top level (2) contains keys with the class of its top Java operator of its
      * value's java block, if a java block is involved on the top level (3) contains keys with the
-     * special 'operators' PROGSVOP and DEFAULTSVOP if the top Java operator or top operator (resp.)
-     * of the value is a program (or variable, resp.) schema variable. (4) contains keys with the
-     * sort of the value if this is an other schema variable. If updates are on top level, they are
-     * ignored; and indexing starts on the first level beneath updates.
+     * sort of a program schema variable if the top Java operator of the value is such a schema
+     * variable (3) contains keys with the special 'operators' PROGSVOP and DEFAULTSVOP if the top
+     * Java operator or top operator (resp.) of the value is a program list (or variable, resp.)
+     * schema variable. (4) contains keys with the sort of the value if this is an other schema
+     * variable. If updates are on top level, they are ignored; and indexing starts on the first
+     * level beneath updates.
      *
      * @param map the map from where to select the taclets
      * @param term the term that is used to find the selection
+     * @param services the services
      */
     private ImmutableList<NoPosTacletApp> getList(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map, JTerm term, boolean ignoreUpdates) {
-        return getListHelp(map, term, ignoreUpdates, new PrefixOccurrences());
+            CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> map, JTerm term,
+            boolean ignoreUpdates, LogicServices services) {
+        return getListHelp(map, term, ignoreUpdates, new PrefixOccurrences(),
+            services instanceof Services s ? s : null);
     }
 
     /**
@@ -441,15 +564,18 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
     }
 
     private ImmutableList<NoPosTacletApp> getTopLevelTaclets(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> findTaclets, RuleFilter filter,
+            CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> findTaclets,
+            RuleFilter filter,
             PosInOccurrence pos, LogicServices services) {
 
         assert pos.isTopLevel();
 
         final ImmutableList<NoPosTacletApp> rwTaclets =
-            getFindTaclet(getList(rwList, (JTerm) pos.subTerm(), true), filter, pos, services);
+            getFindTaclet(getList(rwList, (JTerm) pos.subTerm(), true, services), filter, pos,
+                services);
         final ImmutableList<NoPosTacletApp> seqTaclets =
-            getFindTaclet(getList(findTaclets, (JTerm) pos.subTerm(), true), filter, pos, services);
+            getFindTaclet(getList(findTaclets, (JTerm) pos.subTerm(), true, services), filter,
+                pos, services);
         return !rwTaclets.isEmpty() ? rwTaclets.prependReverse(seqTaclets)
                 : seqTaclets.prependReverse(rwTaclets);
     }
@@ -467,7 +593,8 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
     @Override
     public ImmutableList<NoPosTacletApp> getRewriteTaclet(PosInOccurrence pos, RuleFilter filter,
             LogicServices services) {
-        return matchTaclets(getList(rwList, (JTerm) pos.subTerm(), false), filter, pos, services);
+        return matchTaclets(getList(rwList, (JTerm) pos.subTerm(), false, services), filter, pos,
+            services);
     }
 
 
@@ -595,16 +722,34 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
             for (int i = 0; i < PREFIXTYPES; i++) {
                 if (prefixClasses[i].isInstance(pe)) {
                     occurred[i] = true;
-                    if (pe instanceof MethodFrame) {
-                        return (((MethodFrame) pe).getProgramVariable() == null) ? 1 : 2;
-                    } else {
-                        return nextChild[i];
-                    }
+                    return nextChild(i, pe);
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @param pe a program element
+         * @return the number of the next possible prefix element of the given element, or -1 if
+         *         it is not a prefix element
+         */
+        static int nextChild(ProgramElement pe) {
+            for (int i = 0; i < PREFIXTYPES; i++) {
+                if (prefixClasses[i].isInstance(pe)) {
+                    return nextChild(i, pe);
                 }
             }
             return -1;
         }
 
+        private static int nextChild(int i, ProgramElement pe) {
+            if (pe instanceof MethodFrame) {
+                return (((MethodFrame) pe).getProgramVariable() == null) ? 1 : 2;
+            } else {
+                return nextChild[i];
+            }
+        }
+
         /**
          * creates a selection of the given NoPosTacletApp map that comply with the occurred prefix
          * elements
@@ -612,7 +757,7 @@ public abstract class TacletIndex implements RuleIndex<NoPosTacletApp> {
          * @param map a map to select from
          */
         public ImmutableList<NoPosTacletApp> getList(
-                HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+                CopyOnWriteOverlayMap<Object, ImmutableList<NoPosTacletApp>> map) {
             ImmutableList<NoPosTacletApp> result = ImmutableSLList.nil();
             for (int i = 0; i < PREFIXTYPES; i++) {
                 if (occurred[i]) {
@@ -11,6 +11,7 @@ import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.io.RuleSourceFactory;
 import de.uka.ilkd.key.proof.mgt.AxiomJustification;
 import de.uka.ilkd.key.proof.mgt.RuleJustification;
+import de.uka.ilkd.key.prover.impl.CostAwareGoalChooserFactory;
 import de.uka.ilkd.key.prover.impl.DefaultGoalChooserFactory;
 import de.uka.ilkd.key.prover.impl.DepthFirstGoalChooserFactory;
 import de.uka.ilkd.key.rule.BuiltInRule;
@@ -71,7 +72,8 @@ public abstract class AbstractProfile implements Profile {
     protected ImmutableSet<GoalChooserFactory<Proof, Goal>> computeSupportedGoalChooserBuilder() {
         return DefaultImmutableSet.<GoalChooserFactory<Proof, Goal>>nil()
                 .add(new DefaultGoalChooserFactory())
-                .add(new DepthFirstGoalChooserFactory());
+                .add(new DepthFirstGoalChooserFactory())
+                .add(new CostAwareGoalChooserFactory());
     }
 
     /**
@@ -140,7 +140,10 @@ public class JavaProfile extends AbstractProfile {
                 .prepend(QueryExpand.INSTANCE).prepend(MergeRule.INSTANCE)
                 .prepend(LoopApplyHeadRule.INSTANCE).prepend(JmlAssertRule.ASSERT_INSTANCE)
                 .prepend(JmlAssertRule.ASSUME_INSTANCE)
-                .prepend(SetStatementRule.INSTANCE)
+                .prepend(SetStatementRule.INSTANCE).prepend(LinearArithmeticRule.INSTANCE)
+                .prepend(CongruenceClosureRule.INSTANCE)
+                .prepend(UpdateNormalizationRule.INSTANCE)
+                .prepend(HeapSimplificationRule.INSTANCE)
                 .prepend(ObserverToUpdateRule.INSTANCE);
 
         // contract insertion rule, ATTENTION: ProofMgt relies on the fact
@@ -21,6 +21,7 @@ import de.uka.ilkd.key.logic.NamespaceSet;
 import de.uka.ilkd.key.logic.label.OriginTermLabelFactory;
 import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.logic.sort.GenericSort;
+import de.uka.ilkd.key.nparser.KeyAst;
 import de.uka.ilkd.key.parser.schemajava.SchemaJavaParser;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.JavaModel;
@@ -62,6 +63,11 @@ public final class ProblemInitializer {
     private final Services services;
     private final ProgressMonitor progMon;
     private final Set<EnvInput> alreadyParsed = new LinkedHashSet<>();
+    /**
+     * The rule files of the taclet base parsed in advance while the taclet base is read, keyed by
+     * the external forms of their URLs, see {@link TacletBaseIndex}.
+     */
+    private Map<String, KeyAst.File> parsedRuleFiles = Map.of();
     private final ProblemInitializerListener listener;
     /**
      * the FileRepo responsible for consistency between source code and proofs
@@ -149,6 +155,19 @@ public final class ProblemInitializer {
         }
     }
 
+    /**
+     * Creates the input for an included rule file, using its parse tree if it has been parsed in
+     * advance.
+     */
+    private KeYFile createKeYFile(String name, RuleSource source, Profile profile) {
+        final KeYFile result = new KeYFile(name, source, progMon, profile, fileRepo);
+        final KeyAst.File ctx = parsedRuleFiles.get(source.getExternalForm());
+        if (ctx != null) {
+            result.setParseContext(ctx);
+        }
+        return result;
+    }
+
     /**
      * Helper for readIncludes().
      */
@@ -165,8 +184,7 @@ public final class ProblemInitializer {
         reportStatus("Read LDT Includes", in.getIncludes().size());
         for (String name : in.getLDTIncludes()) {
 
-            keyFile[i] =
-                new KeYFile(name, in.get(name), progMon, initConfig.getProfile(), fileRepo);
+            keyFile[i] = createKeYFile(name, in.get(name), initConfig.getProfile());
             i++;
             setProgress(i);
         }
@@ -195,8 +213,7 @@ public final class ProblemInitializer {
         reportStatus("Read Includes", in.getIncludes().size());
         int i = 0;
         for (String fileName : in.getIncludes()) {
-            KeYFile keyFile =
-                new KeYFile(fileName, in.get(fileName), progMon, envInput.getProfile(), fileRepo);
+            KeYFile keyFile = createKeYFile(fileName, in.get(fileName), envInput.getProfile());
             readEnvInput(keyFile, initConfig);
             setProgress(++i);
         }
@@ -255,6 +272,12 @@ public final class ProblemInitializer {
         // create Recoder2KeY, set classpath
         final Recoder2KeY r2k = new Recoder2KeY(initConfig.getServices(), initConfig.namespaces());
         r2k.setClassPath(bootClassPath, classPath);
+        // library classes may be referenced from the problem, not only from the sources
+        final List<Path> referencingFiles = new ArrayList<>(includes.getFiles());
+        if (envInput.getInitialFile() != null) {
+            referencingFiles.add(envInput.getInitialFile());
+        }
+        r2k.setReferencingFiles(referencingFiles);
 
         // read Java (at least the library classes)
         if (javaPath != null) {
@@ -442,7 +465,17 @@ public final class ProblemInitializer {
                 if (tacletBase != null) {
                     KeYFile tacletBaseFile = new KeYFile("taclet base",
                         profile.getStandardRules().getTacletBase(), progMon, profile);
-                    readEnvInput(tacletBaseFile, currentBaseConfig);
+                    parsedRuleFiles = TacletBaseIndex.parseIncludeClosure(tacletBase);
+                    try {
+                        final KeyAst.File ctx =
+                            parsedRuleFiles.get(tacletBase.getExternalForm());
+                        if (ctx != null) {
+                            tacletBaseFile.setParseContext(ctx);
+                        }
+                        readEnvInput(tacletBaseFile, currentBaseConfig);
+                    } finally {
+                        parsedRuleFiles = Map.of();
+                    }
                 }
                 // remove traces of the generic sorts within the base configuration
                 cleanupNamespaces(currentBaseConfig);
@@ -713,6 +713,10 @@ public class IntermediateProofReplayer {
         ourApp = ruleApps.iterator().next();
         if (ourApp instanceof OneStepSimplifierRuleApp) {
             ((OneStepSimplifierRuleApp) ourApp).restrictAssumeInsts(builtinIfInsts);
+        } else if ((ourApp instanceof LinearArithmeticBuiltInRuleApp
+                || ourApp instanceof CongruenceClosureBuiltInRuleApp
+                || ourApp instanceof HeapSimplificationBuiltInRuleApp) && builtinIfInsts != null) {
+            ourApp = ourApp.setAssumesInsts(builtinIfInsts);
         }
         builtinIfInsts = null;
         return ourApp;
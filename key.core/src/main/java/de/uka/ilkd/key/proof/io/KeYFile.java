@@ -168,6 +168,16 @@ public class KeYFile implements EnvInput {
         return input;
     }
 
+    /**
+     * Sets the parse tree of this file, e.g., if the file has been parsed in advance, see
+     * {@link TacletBaseIndex}.
+     *
+     * @param ctx the parse tree of the contents of the file
+     */
+    public void setParseContext(KeyAst.File ctx) {
+        fileCtx = ctx;
+    }
+
     protected KeyAst.File getParseContext() {
         if (fileCtx == null) {
             try {
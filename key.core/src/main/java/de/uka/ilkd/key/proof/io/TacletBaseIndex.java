@@ -0,0 +1,174 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.uka.ilkd.key.nparser.KeyAst;
+import de.uka.ilkd.key.nparser.ParsingFacade;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.util.KeYResourceManager;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Access to the index of the built-in taclet base, which is generated by the build (task
+ * <code>generateTacletBaseIndex</code> of <code>key.core</code>). For a built-in rule file, e.g.,
+ * <code>standardRules.key</code>, the resource <code>standardRules.key.index</code> lists all rule
+ * files included by it, directly or transitively, together with the SHA-256 digests of their
+ * contents.
+ * <p>
+ * Without the index, the included files only become known one after another while the taclet
+ * base is read. With the index, all rule files are parsed in parallel before the taclet base is
+ * read, see {@link #parseIncludeClosure(RuleSource)}. The parse trees do not depend on the chosen
+ * taclet options, such that the index is used for every choice of options.
+ * <p>
+ * The index is not used if the rule files are loaded from another directory (option
+ * <code>--tacletDir</code>, see {@link RuleSourceFactory#STD_TACLET_DIR_PROP_KEY}), if the profile
+ * uses a taclet base without index, or if the contents of a rule file do not match the index. In
+ * these cases, the rule files are parsed on demand as before.
+ *
+ * @see de.uka.ilkd.key.proof.init.ProblemInitializer
+ */
+public final class TacletBaseIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TacletBaseIndex.class);
+
+    /** the suffix of the index of a rule file */
+    public static final String SUFFIX = ".index";
+
+    private static final String PATH_TO_RULES = "rules/";
+
+    private TacletBaseIndex() {
+    }
+
+    /**
+     * Parses the given taclet base and all rule files included by it in parallel, if an index
+     * for the taclet base is available.
+     *
+     * @param tacletBase the taclet base of a profile
+     * @return the parse trees of the rule files, keyed by the external form of their URLs, or an
+     *         empty map if no (valid) index is available
+     */
+    public static Map<String, KeyAst.File> parseIncludeClosure(RuleSource tacletBase) {
+        final List<Entry> files = getIncludeClosure(tacletBase);
+        if (files.isEmpty()) {
+            return Map.of();
+        }
+        final long start = System.currentTimeMillis();
+        final Map<String, KeyAst.File> result = new ConcurrentHashMap<>();
+        try {
+            files.parallelStream().forEach(
+                entry -> result.put(entry.url().toExternalForm(), entry.parse()));
+        } catch (RuntimeException e) {
+            // the files are parsed again on demand and errors are reported then
+            LOGGER.info("Taclet base index of {} not used", tacletBase, e);
+            return Map.of();
+        }
+        LOGGER.debug("Parsing {} rule files of the taclet base took {} ms", files.size(),
+            System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Returns the rule files listed in the index of the given taclet base.
+     *
+     * @param tacletBase the taclet base of a profile
+     * @return the rule files, including the taclet base itself, or an empty list if the index is
+     *         not applicable
+     */
+    static List<Entry> getIncludeClosure(RuleSource tacletBase) {
+        if (System.getProperty(RuleSourceFactory.STD_TACLET_DIR_PROP_KEY) != null
+                || !(tacletBase instanceof UrlRuleSource source)) {
+            return List.of();
+        }
+        final String path = source.url().getPath();
+        final String name = path.substring(path.lastIndexOf('/') + 1);
+        final URL builtIn = getBuiltInRuleFile(name);
+        final URL index = getBuiltInRuleFile(name + SUFFIX);
+        if (builtIn == null || index == null
+                || !builtIn.toExternalForm().equals(source.getExternalForm())) {
+            return List.of();
+        }
+
+        final List<Entry> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int sep = line.lastIndexOf(' ');
+                if (line.isBlank() || sep < 0) {
+                    continue;
+                }
+                final URL file = getBuiltInRuleFile(line.substring(0, sep));
+                if (file == null) {
+                    LOGGER.info("Taclet base index {} is outdated", index);
+                    return List.of();
+                }
+                result.add(new Entry(file, line.substring(sep + 1)));
+            }
+        } catch (IOException e) {
+            LOGGER.info("Taclet base index {} cannot be read", index, e);
+            return List.of();
+        }
+        return result;
+    }
+
+    private static @Nullable URL getBuiltInRuleFile(String name) {
+        return KeYResourceManager.getManager().getResourceFile(Proof.class, PATH_TO_RULES + name);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of()
+                    .formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A rule file listed in an index.
+     *
+     * @param url the location of the rule file
+     * @param digest the expected SHA-256 digest of the contents of the rule file
+     */
+    record Entry(URL url, String digest) {
+        /**
+         * Parses the rule file.
+         *
+         * @return the parse tree
+         * @throws IllegalStateException if the rule file cannot be read or its contents do not
+         *         match the index
+         */
+        KeyAst.File parse() {
+            final byte[] content;
+            try (InputStream is = url.openStream()) {
+                content = is.readAllBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            if (!sha256(content).equals(digest)) {
+                throw new IllegalStateException("Outdated taclet base index: " + url);
+            }
+            return ParsingFacade.parseFile(CharStreams
+                    .fromString(new String(content, StandardCharsets.UTF_8), url.toString()));
+        }
+    }
+}
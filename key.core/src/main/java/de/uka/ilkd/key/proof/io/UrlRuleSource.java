@@ -6,6 +6,7 @@ package de.uka.ilkd.key.proof.io;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -36,14 +37,8 @@ public class UrlRuleSource extends RuleSource {
     }
 
     private long countBytesByReadingStream() {
-        try {
-            final InputStream input = url.openStream();
-            long localNumberOfBytes = 0;
-            for (int readValue = input.read(); readValue != -1; localNumberOfBytes++, readValue =
-                input.read()) {
-            }
-            input.close();
-            return localNumberOfBytes;
+        try (InputStream input = url.openStream()) {
+            return input.transferTo(OutputStream.nullOutputStream());
         } catch (final IOException exception) {
             throw new RuntimeException(exception);
         }
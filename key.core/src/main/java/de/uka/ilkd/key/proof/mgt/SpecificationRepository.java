@@ -6,6 +6,7 @@ package de.uka.ilkd.key.proof.mgt;
 import java.net.URI;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.UnaryOperator;
 
 import de.uka.ilkd.key.java.JavaInfo;
@@ -81,6 +82,12 @@ public final class SpecificationRepository {
         new LinkedHashMap<>();
     private final Map<KeYJavaType, ImmutableSet<ClassInvariant>> invs = new LinkedHashMap<>();
     private final Map<KeYJavaType, ImmutableSet<ClassAxiom>> axioms = new LinkedHashMap<>();
+    /**
+     * The (conjoined) represents axioms registered in {@link #axioms}, indexed by their type and
+     * target, see {@link #getRepresentsAxiom(KeYJavaType, ClassAxiom)}.
+     */
+    private final Map<Pair<KeYJavaType, IObserverFunction>, RepresentsAxiom> representsAxioms =
+        new LinkedHashMap<>();
     private final Map<KeYJavaType, ImmutableSet<InitiallyClause>> initiallyClauses =
         new LinkedHashMap<>();
     private final Map<ProofOblInput, ImmutableSet<Proof>> proofs = new LinkedHashMap<>();
@@ -118,7 +125,28 @@ public final class SpecificationRepository {
      * </p>
      */
     private final Map<KeYJavaType, ImmutableSet<ClassAxiom>> allClassAxiomsCache =
-        new LinkedHashMap<>();
+        new ConcurrentHashMap<>();
+
+    /**
+     * Caches the result of {@link #getModelMethodAxioms()}, which depends on all operation
+     * contracts of model methods. Reset whenever a contract is registered or unregistered.
+     */
+    private volatile @Nullable ImmutableSet<ClassAxiom> modelMethodAxiomsCache;
+
+    /**
+     * Caches the canonical forms of program methods in subtypes of their container types, see
+     * {@link #getCanonicalFormForKJT(IObserverFunction, KeYJavaType)}. The canonical forms only
+     * depend on the type hierarchy, which does not change once the Java model has been read.
+     */
+    private final Map<Pair<KeYJavaType, IObserverFunction>, IObserverFunction> canonicalForms =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Caches the result of {@link #getOverridingTargets(KeYJavaType, IObserverFunction)}, which
+     * only depends on the type hierarchy as well.
+     */
+    private final Map<Pair<KeYJavaType, IObserverFunction>, ImmutableSet<Pair<KeYJavaType, IObserverFunction>>> overridingTargets =
+        new ConcurrentHashMap<>();
 
     private final Services services;
     private final TermBuilder tb;
@@ -229,7 +257,19 @@ public final class SpecificationRepository {
             assert pm.getContainerType().equals(kjt);
             return pm;
         }
+        final Pair<KeYJavaType, IObserverFunction> key = new Pair<>(kjt, pm);
+        IObserverFunction result = canonicalForms.get(key);
+        if (result == null) {
+            result = findCanonicalFormForKJT(pm, kjt);
+            if (result != null) {
+                canonicalForms.put(key, result);
+            }
+        }
+        return result;
+    }
 
+    private @Nullable IProgramMethod findCanonicalFormForKJT(IProgramMethod pm,
+            KeYJavaType kjt) {
         // search through all locally available methods
         final String name = pm.getMethodDeclaration().getName();
         final int numParams = pm.getParameterDeclarationCount();
@@ -250,7 +290,7 @@ public final class SpecificationRepository {
         // not found (happens for private methods of superclasses)
         // -> search through superclasses
         for (KeYJavaType sup : services.getJavaInfo().getAllSupertypes(kjt).removeAll(kjt)) {
-            final IProgramMethod result = (IProgramMethod) getCanonicalFormForKJT(obs, sup);
+            final IProgramMethod result = (IProgramMethod) getCanonicalFormForKJT(pm, sup);
             if (result != null) {
                 return result;
             }
@@ -283,6 +323,17 @@ public final class SpecificationRepository {
 
     public ImmutableSet<Pair<KeYJavaType, IObserverFunction>> getOverridingTargets(KeYJavaType kjt,
             IObserverFunction target) {
+        final Pair<KeYJavaType, IObserverFunction> key = new Pair<>(kjt, target);
+        ImmutableSet<Pair<KeYJavaType, IObserverFunction>> result = overridingTargets.get(key);
+        if (result == null) {
+            result = computeOverridingTargets(kjt, target);
+            overridingTargets.put(key, result);
+        }
+        return result;
+    }
+
+    private ImmutableSet<Pair<KeYJavaType, IObserverFunction>> computeOverridingTargets(
+            KeYJavaType kjt, IObserverFunction target) {
         if (target instanceof IProgramMethod) {
             return getOverridingMethods(kjt, (IProgramMethod) target);
         } else {
@@ -343,17 +394,36 @@ public final class SpecificationRepository {
     }
 
     private RepresentsAxiom getRepresentsAxiom(KeYJavaType kjt, ClassAxiom ax) {
-        if (!(ax instanceof RepresentsAxiom) || axioms.get(kjt) == null) {
+        if (!(ax instanceof RepresentsAxiom)) {
             return null;
         }
-        RepresentsAxiom result = null;
-        for (ClassAxiom ca : axioms.get(kjt)) {
-            if (ca instanceof RepresentsAxiom && (ca.getTarget().equals(ax.getTarget()))) {
-                assert result == null : "More than one represents clause for " + ax.getTarget();
-                result = (RepresentsAxiom) ca;
+        return representsAxioms.get(new Pair<>(kjt, ax.getTarget()));
+    }
+
+    /**
+     * Registers a represents axiom, replacing the old represents axiom for the same target.
+     */
+    private void putRepresentsAxiom(KeYJavaType kjt, ImmutableSet<ClassAxiom> currentAxioms,
+            @Nullable RepresentsAxiom oldRep, RepresentsAxiom newRep) {
+        axioms.put(kjt,
+            (oldRep == null ? currentAxioms : currentAxioms.remove(oldRep)).add(newRep));
+        representsAxioms.put(new Pair<>(kjt, newRep.getTarget()), newRep);
+    }
+
+    /**
+     * Rebuilds {@link #representsAxioms} from {@link #axioms}.
+     */
+    private void indexRepresentsAxioms() {
+        representsAxioms.clear();
+        for (Entry<KeYJavaType, ImmutableSet<ClassAxiom>> e : axioms.entrySet()) {
+            for (ClassAxiom ax : e.getValue()) {
+                if (ax instanceof RepresentsAxiom rep) {
+                    final RepresentsAxiom old =
+                        representsAxioms.put(new Pair<>(e.getKey(), rep.getTarget()), rep);
+                    assert old == null : "More than one represents clause for " + rep.getTarget();
+                }
             }
         }
-        return result;
     }
 
     private Contract prepareContract(Contract contract) {
@@ -449,6 +519,7 @@ public final class SpecificationRepository {
             registerWdCheck((WellDefinednessCheck) contract);
         }
         contractsByName.put(contract.getName(), contract);
+        modelMethodAxiomsCache = null;
         final ImmutableSet<IObserverFunction> oldTargets = getContractTargets(targetKJT);
         final ImmutableSet<IObserverFunction> newTargets = oldTargets.add(targetMethod);
         contractTargets.put(targetKJT, newTargets);
@@ -481,6 +552,7 @@ public final class SpecificationRepository {
             unregisterWdCheck((WellDefinednessCheck) contract);
         }
         contractsByName.remove(contract.getName());
+        modelMethodAxiomsCache = null;
     }
 
     /**
@@ -723,12 +795,14 @@ public final class SpecificationRepository {
         mapValueSets(wdChecks, op, services);
         mapValueSets(invs, op, services);
         mapValueSets(axioms, op, services);
+        indexRepresentsAxioms();
         mapValueSets(initiallyClauses, op, services);
         mapValues(loopInvs, op, services);
         mapValueSets(blockContracts, op, services);
         mapValueSets(loopContracts, op, services);
         mapValueSets(mergeContracts, op, services);
         mapValueSets(allClassAxiomsCache, op, services);
+        modelMethodAxiomsCache = null;
     }
 
     /**
@@ -1148,12 +1222,26 @@ public final class SpecificationRepository {
             if (enclosingKJT != null) {
                 result = result.union(getClassAxioms(enclosingKJT));
             }
-            allClassAxiomsCache.put(selfKjt, result);
+            // concurrent readers must agree on the instances, see allClassAxiomsCache
+            final ImmutableSet<ClassAxiom> cached =
+                allClassAxiomsCache.putIfAbsent(selfKjt, result);
+            if (cached != null) {
+                result = cached;
+            }
         }
         return result;
     }
 
     private ImmutableSet<ClassAxiom> getModelMethodAxioms() {
+        ImmutableSet<ClassAxiom> result = modelMethodAxiomsCache;
+        if (result == null) {
+            result = computeModelMethodAxioms();
+            modelMethodAxiomsCache = result;
+        }
+        return result;
+    }
+
+    private ImmutableSet<ClassAxiom> computeModelMethodAxioms() {
         ImmutableSet<ClassAxiom> result = DefaultImmutableSet.nil();
         for (KeYJavaType kjt : services.getJavaInfo().getAllKeYJavaTypes()) {
             for (IProgramMethod pm : services.getJavaInfo().getAllProgramMethods(kjt)) {
@@ -1256,9 +1344,9 @@ public final class SpecificationRepository {
             RepresentsAxiom oldRep = getRepresentsAxiom(kjt, ax);
             if (oldRep != null) {
                 final RepresentsAxiom newRep = oldRep.conjoin((RepresentsAxiom) ax, tb);
-                axioms.put(kjt, currentAxioms.remove(oldRep).add(newRep));
+                putRepresentsAxiom(kjt, currentAxioms, oldRep, newRep);
             } else {
-                axioms.put(kjt, currentAxioms.add(ax));
+                putRepresentsAxiom(kjt, currentAxioms, null, (RepresentsAxiom) ax);
             }
             // inherit represents clauses to subclasses and conjoin together
             if (VisibilityModifier.allowsInheritance(ax.getVisibility())) {
@@ -1271,10 +1359,10 @@ public final class SpecificationRepository {
                     }
                     oldRep = getRepresentsAxiom(sub, subAx);
                     if (oldRep == null) {
-                        axioms.put(sub, currentAxioms.add(subAx));
+                        putRepresentsAxiom(sub, currentAxioms, null, subAx);
                     } else {
                         final RepresentsAxiom newSubRep = oldRep.conjoin(subAx, tb);
-                        axioms.put(sub, currentAxioms.remove(oldRep).add(newSubRep));
+                        putRepresentsAxiom(sub, currentAxioms, oldRep, newSubRep);
                     }
                 }
             }
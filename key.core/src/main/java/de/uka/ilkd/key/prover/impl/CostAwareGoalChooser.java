@@ -0,0 +1,181 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.op.Quantifier;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.strategy.QueueRuleApplicationManager;
+
+import org.key_project.logic.Term;
+import org.key_project.prover.sequent.Sequent;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.prover.strategy.RuleApplicationManager;
+import org.key_project.prover.strategy.costbased.NumberRuleAppCost;
+import org.key_project.prover.strategy.costbased.RuleAppCost;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A goal chooser which prefers goals that are likely to be closed quickly and defers expensive
+ * ones. Each goal is rated by
+ * <ul>
+ * <li>the cost of the next rule application in the queue of the goal, as computed by the
+ * strategy,</li>
+ * <li>the size of its sequent, i.e., the number of formulas and of their subterms,</li>
+ * <li>the number of quantifiers in the sequent, and</li>
+ * <li>whether the sequent still contains a modality, i.e., whether the symbolic execution of a
+ * program is pending (cf.
+ * {@link de.uka.ilkd.key.strategy.feature.SeqContainsExecutableCodeFeature}),</li>
+ * </ul>
+ * and the automatic goal with the lowest rating is chosen next. The ratings of the sequents are
+ * cached per goal and recomputed only if the sequent of the goal changes. As the formulas of a
+ * sequent are immutable and shared between the sequents of a branch, their ratings are cached
+ * as well, so only the formulas changed by a rule application are rated again. The cost of the
+ * next rule application is cached by the rule application manager anyway.
+ * <p>
+ * Goals without applicable rule applications are chosen first, as the prover drops them from the
+ * list of goals without applying a rule.
+ */
+public class CostAwareGoalChooser extends DefaultGoalChooser {
+
+    /** the penalty for each formula of a sequent */
+    private static final long FORMULA_PENALTY = 10;
+
+    /** the penalty for each subterm of a sequent */
+    private static final long TERM_PENALTY = 1;
+
+    /** the penalty for each quantifier of a sequent */
+    private static final long QUANTIFIER_PENALTY = 100;
+
+    /** the penalty for a sequent containing a modality */
+    private static final long MODALITY_PENALTY = 5000;
+
+    /** the ratings of the sequents of the goals, keyed by the goal */
+    private final Map<Goal, SequentRating> ratings = new WeakHashMap<>();
+
+    /** the ratings of the formulas of the sequents, shared between all goals */
+    private final Map<SequentFormula, FormulaRating> formulaRatings = new WeakHashMap<>();
+
+    @Override
+    public @Nullable Goal getNextGoal() {
+        Goal result = null;
+        long minimum = Long.MAX_VALUE;
+        for (Goal goal : selectedList) {
+            if (!goal.isAutomatic()) {
+                continue;
+            }
+            final long rating = rate(goal);
+            if (result == null || rating < minimum) {
+                result = goal;
+                minimum = rating;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void removeGoal(Goal goal) {
+        ratings.remove(goal);
+        super.removeGoal(goal);
+    }
+
+    /**
+     * Rates a goal, the lower the rating the earlier the goal is chosen.
+     *
+     * @param goal the goal
+     * @return the rating of the goal
+     */
+    protected long rate(Goal goal) {
+        final RuleApplicationManager<Goal> manager = goal.getRuleAppManager();
+        final long cost;
+        if (manager instanceof QueueRuleApplicationManager queue) {
+            final RuleAppCost next = queue.peekNextCost();
+            if (next == null) {
+                return Long.MIN_VALUE;
+            }
+            cost = next instanceof NumberRuleAppCost number ? number.getValue() : Long.MAX_VALUE;
+        } else {
+            if (manager.peekNext() == null) {
+                return Long.MIN_VALUE;
+            }
+            cost = 0;
+        }
+        return saturatedAdd(cost, rateSequent(goal));
+    }
+
+    private long rateSequent(Goal goal) {
+        final Sequent sequent = goal.sequent();
+        SequentRating rating = ratings.get(goal);
+        if (rating == null || rating.sequent() != sequent) {
+            rating = new SequentRating(sequent, rate(sequent));
+            ratings.put(goal, rating);
+        }
+        return rating.rating();
+    }
+
+    /**
+     * Rates a sequent, the larger and the more complex the sequent the higher the rating.
+     *
+     * @param sequent the sequent
+     * @return the rating of the sequent
+     */
+    protected long rate(Sequent sequent) {
+        long rating = 0;
+        boolean modality = false;
+        for (SequentFormula sf : sequent) {
+            FormulaRating formula = formulaRatings.get(sf);
+            if (formula == null) {
+                formula = rate(sf);
+                formulaRatings.put(sf, formula);
+            }
+            rating += formula.rating();
+            modality = modality || formula.modality();
+        }
+        return modality ? rating + MODALITY_PENALTY : rating;
+    }
+
+    private static FormulaRating rate(SequentFormula sf) {
+        final Term formula = sf.formula();
+        return new FormulaRating(FORMULA_PENALTY + rate(formula, new IdentityHashMap<>()),
+            formula instanceof JTerm term && term.containsJavaBlockRecursive());
+    }
+
+    /**
+     * Rates a term by its number of subterms and quantifiers. Subterms shared within the term are
+     * rated once and looked up in the given map afterwards.
+     */
+    private static long rate(Term term, Map<Term, Long> rated) {
+        final Long known = rated.get(term);
+        if (known != null) {
+            return known;
+        }
+        long rating = term.op() instanceof Quantifier ? TERM_PENALTY + QUANTIFIER_PENALTY
+                : TERM_PENALTY;
+        for (Term sub : term.subs()) {
+            rating += rate(sub, rated);
+        }
+        rated.put(term, rating);
+        return rating;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        final long sum = a + b;
+        // overflow iff both summands have the same sign and the sum has another
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return sum;
+    }
+
+    private record SequentRating(Sequent sequent, long rating) {
+    }
+
+    private record FormulaRating(long rating, boolean modality) {
+    }
+}
@@ -0,0 +1,32 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event emitted when the taclet application index of a goal is updated
+ * incrementally after a change of its sequent (see
+ * {@link de.uka.ilkd.key.proof.TacletAppIndex#sequentChanged}). By default only updates taking at
+ * least one millisecond are recorded.
+ */
+@Name("de.uka.ilkd.key.IndexUpdate")
+@Label("Index Update")
+@Category({ "KeY", "Proof Search" })
+@Description("Incremental update of the taclet application index of a goal")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class IndexUpdateEvent extends Event {
+    /** the number of formulas added to the sequent */
+    @Label("Added Formulas")
+    public int added;
+
+    /** the number of formulas removed from the sequent */
+    @Label("Removed Formulas")
+    public int removed;
+
+    /** the number of formulas of the sequent which have been modified */
+    @Label("Modified Formulas")
+    public int modified;
+}
@@ -0,0 +1,159 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.util.CacheMetrics;
+
+import org.key_project.prover.engine.ProverTaskListener;
+import org.key_project.prover.engine.TaskFinishedInfo;
+import org.key_project.prover.engine.TaskStartedInfo;
+import org.key_project.prover.engine.TaskStartedInfo.TaskKind;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically logs a line of metrics of a running proof search, so that long automatic runs can
+ * be observed while they are running: the number of rule applications and their rate since the
+ * last line, the number of open goals of the current proof, the used heap, and the hit rates of
+ * the caches registered with {@link CacheMetrics} since the last line.
+ * <p>
+ * The rule applications are counted by listening to the progress of strategy and macro tasks, so
+ * an instance has to be notified of the tasks like any other {@link ProverTaskListener}. The
+ * metrics are sampled from a daemon thread between {@link #start(long)} and {@link #stop()}.
+ * <p>
+ * The events of the proof search which can be recorded with Java Flight Recorder (e.g.,
+ * {@link org.key_project.prover.engine.impl.RuleAppliedEvent}) provide the same information in
+ * more detail.
+ */
+public final class ProofSearchMetrics implements ProverTaskListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProofSearchMetrics.class);
+
+    private static final long MB = 1024 * 1024;
+
+    /** supplies the proof whose open goals are reported */
+    private final Supplier<@Nullable Proof> proof;
+
+    /** the number of rule applications of all tasks so far */
+    private final AtomicLong steps = new AtomicLong();
+
+    /** the progress of the current task already added to {@link #steps} */
+    private volatile int position;
+
+    /** whether the progress of the current task is counted */
+    private volatile boolean counting;
+
+    private @Nullable ScheduledExecutorService executor;
+
+    /** the state at the time of the last report, only accessed by the reporting thread */
+    private long lastSteps;
+    private long lastTime = System.nanoTime();
+    private final Map<String, long[]> lastLookups = new HashMap<>();
+
+    /**
+     * @param proof supplies the proof whose open goals are reported, may supply
+     *        <code>null</code>
+     */
+    public ProofSearchMetrics(Supplier<@Nullable Proof> proof) {
+        this.proof = proof;
+    }
+
+    /**
+     * Starts logging the metrics periodically. Has no effect if the metrics are already logged.
+     *
+     * @param intervalMillis the time between two lines in milliseconds
+     */
+    public synchronized void start(long intervalMillis) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "ProofSearchMetrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> LOGGER.info("{}", report()), intervalMillis,
+            intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops logging the metrics.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public void taskStarted(TaskStartedInfo info) {
+        counting = info.kind() == TaskKind.Strategy || info.kind() == TaskKind.Macro;
+        position = 0;
+    }
+
+    @Override
+    public void taskProgress(int position) {
+        if (counting && position > this.position) {
+            steps.addAndGet(position - this.position);
+            this.position = position;
+        }
+    }
+
+    @Override
+    public void taskFinished(TaskFinishedInfo info) {
+        counting = false;
+    }
+
+    /**
+     * Computes the metrics since the last call.
+     *
+     * @return the line describing the metrics
+     */
+    synchronized String report() {
+        final long now = System.nanoTime();
+        final long currentSteps = steps.get();
+        final double seconds = Math.max(now - lastTime, 1) / 1e9;
+        final StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+            "Proof search: %d steps (+%d, %.1f/s)", currentSteps, currentSteps - lastSteps,
+            (currentSteps - lastSteps) / seconds));
+        lastSteps = currentSteps;
+        lastTime = now;
+
+        final Proof current = proof.get();
+        if (current != null && !current.isDisposed()) {
+            sb.append(", ").append(current.openGoals().size()).append(" open goals");
+        }
+
+        final Runtime runtime = Runtime.getRuntime();
+        sb.append(String.format(Locale.ROOT, ", heap %d/%d MB",
+            (runtime.totalMemory() - runtime.freeMemory()) / MB, runtime.maxMemory() / MB));
+
+        String separator = ", cache hit rates: ";
+        for (CacheMetrics.Statistics s : CacheMetrics.getInstance().snapshot()) {
+            final long[] last = lastLookups.put(s.name(), new long[] { s.hits(), s.misses() });
+            final long hits = s.hits() - (last == null ? 0 : last[0]);
+            final long misses = s.misses() - (last == null ? 0 : last[1]);
+            // skip caches without lookups since the last line, or whose statistics were reset
+            if (hits < 0 || misses < 0 || hits + misses == 0) {
+                continue;
+            }
+            sb.append(separator).append(String.format(Locale.ROOT, "%s %.2f", s.name(),
+                (double) hits / (hits + misses)));
+            separator = ", ";
+        }
+        return sb.toString();
+    }
+}
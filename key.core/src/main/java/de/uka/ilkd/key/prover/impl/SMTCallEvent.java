@@ -0,0 +1,32 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import de.uka.ilkd.key.smt.SMTSolverResult;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event emitted for every run of an external SMT solver (see
+ * {@link de.uka.ilkd.key.smt.SMTSolverImplementation}). The duration of the event covers the
+ * translation of the problem and the execution of the solver process.
+ */
+@Name("de.uka.ilkd.key.SMTCall")
+@Label("SMT Call")
+@Category({ "KeY", "SMT" })
+@Description("Translation of a goal and run of an external SMT solver")
+@StackTrace(false)
+public final class SMTCallEvent extends Event {
+    /** the name of the solver */
+    @Label("Solver")
+    public String solver;
+
+    /** the result of the solver, i.e., the name of a {@link SMTSolverResult.ThreeValuedTruth} */
+    @Label("Result")
+    public String result;
+
+    /** the reason why the solver has been stopped early, e.g., timeout */
+    @Label("Interruption")
+    public String interruption;
+}
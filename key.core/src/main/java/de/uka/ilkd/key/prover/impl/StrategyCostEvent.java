@@ -0,0 +1,28 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event emitted when the strategy has computed the cost of a rule
+ * application (see {@link de.uka.ilkd.key.strategy.JavaCardDLStrategy#computeCost}). Costs are
+ * computed for every new rule application of a goal, so by default only computations taking at
+ * least one millisecond are recorded; the threshold can be lowered in the recording settings.
+ */
+@Name("de.uka.ilkd.key.StrategyCost")
+@Label("Strategy Cost Computed")
+@Category({ "KeY", "Proof Search" })
+@Description("Computation of the cost of a rule application by the strategy")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class StrategyCostEvent extends Event {
+    /** the name of the rule */
+    @Label("Rule")
+    public String rule;
+
+    /** the computed cost, {@link Long#MAX_VALUE} if the rule application is discarded */
+    @Label("Cost")
+    public long cost;
+}
@@ -0,0 +1,240 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.*;
+
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.op.AbstractTermTransformer;
+import de.uka.ilkd.key.logic.op.Equality;
+import de.uka.ilkd.key.logic.op.Junctor;
+import de.uka.ilkd.key.logic.op.Transformer;
+import de.uka.ilkd.key.logic.op.UpdateApplication;
+
+import org.key_project.logic.Term;
+import org.key_project.logic.op.Modality;
+import org.key_project.logic.op.Operator;
+
+/**
+ * An E-graph deciding whether a set of ground literals is contradictory in the theory of equality
+ * with uninterpreted functions, using the congruence closure algorithm of Nelson and Oppen.
+ * <p>
+ * Every subterm is represented by a node; nodes are partitioned into equivalence classes by a
+ * union-find structure, and a signature table (operator and classes of the arguments) detects
+ * applications which become congruent when two classes are merged. Formulas are nodes as well: a
+ * positive literal is merged with <code>true</code>, a negative one with <code>false</code>, and
+ * equalities and equivalences merge their sides. The literals are contradictory if
+ * <code>true</code> and <code>false</code> end up in the same class or if both sides of a negated
+ * equation do.
+ * <p>
+ * Terms binding variables, containing programs or evaluating their subterms in another state, like
+ * update applications <code>{u}t</code>, are treated as opaque constants, i.e., the closure does
+ * not look into them.
+ */
+final class CongruenceClosure {
+
+    /** the maximal number of nodes; adding literals fails once it is exceeded */
+    private final int maxNodes;
+
+    private final Map<Term, Integer> ids = new HashMap<>();
+    /** the operators of the nodes */
+    private final List<Operator> ops = new ArrayList<>();
+    /** the argument nodes of the nodes, empty for opaque constants */
+    private final List<int[]> args = new ArrayList<>();
+    /** the union-find parents of the nodes */
+    private int[] parent = new int[64];
+    /** for each class representative, the applications having an argument in the class */
+    private final Map<Integer, List<Integer>> uses = new HashMap<>();
+    private final Map<Signature, Integer> signatures = new HashMap<>();
+    /** pairs of nodes which are required to be different */
+    private final List<int[]> disequalities = new ArrayList<>();
+
+    private final int trueNode;
+    private final int falseNode;
+    private int merges = 0;
+
+    /**
+     * @param maxNodes the maximal number of nodes
+     * @param tt the term <code>true</code>
+     * @param ff the term <code>false</code>
+     */
+    CongruenceClosure(int maxNodes, Term tt, Term ff) {
+        this.maxNodes = maxNodes;
+        this.trueNode = node(tt);
+        this.falseNode = node(ff);
+    }
+
+    /**
+     * Adds a top-level formula of a sequent and computes the closure.
+     *
+     * @param formula the formula
+     * @param antec whether the formula is in the antecedent
+     * @return <code>false</code> if the maximal number of nodes has been exceeded; the closure is
+     *         incomplete in this case
+     */
+    boolean addLiteral(Term formula, boolean antec) {
+        boolean positive = antec;
+        while (formula.op() == Junctor.NOT) {
+            formula = formula.sub(0);
+            positive = !positive;
+        }
+        final Operator op = formula.op();
+        if (op == Equality.EQUALS || op == Equality.EQV) {
+            final int left = node(formula.sub(0));
+            final int right = node(formula.sub(1));
+            if (positive) {
+                merge(left, right);
+            } else {
+                disequalities.add(new int[] { left, right });
+            }
+        } else {
+            merge(node(formula), positive ? trueNode : falseNode);
+        }
+        return ops.size() <= maxNodes;
+    }
+
+    /**
+     * @return whether the added literals are contradictory
+     */
+    boolean isContradictory() {
+        if (find(trueNode) == find(falseNode)) {
+            return true;
+        }
+        for (int[] d : disequalities) {
+            if (find(d[0]) == find(d[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of merged classes, i.e., of equations derived by the closure
+     */
+    int merges() {
+        return merges;
+    }
+
+    private int node(Term term) {
+        final Integer known = ids.get(term);
+        if (known != null) {
+            return known;
+        }
+        final int[] children;
+        if (isOpaque(term)) {
+            children = new int[0];
+        } else {
+            children = new int[term.arity()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = node(term.sub(i));
+            }
+        }
+        final int id = ops.size();
+        ops.add(term.op());
+        args.add(children);
+        if (id == parent.length) {
+            parent = Arrays.copyOf(parent, 2 * id);
+        }
+        parent[id] = id;
+        ids.put(term, id);
+        if (isOpaque(term)) {
+            return id;
+        }
+
+        for (int child : children) {
+            uses.computeIfAbsent(find(child), k -> new ArrayList<>()).add(id);
+        }
+        final Integer congruent = signatures.putIfAbsent(signature(id), id);
+        if (congruent != null) {
+            merge(id, congruent);
+        }
+        return id;
+    }
+
+    /**
+     * Terms binding variables and terms whose subterms are evaluated in another state than the
+     * term itself (update applications, modalities, transformers) are opaque: congruence must not
+     * be applied to their subterms.
+     */
+    private static boolean isOpaque(Term term) {
+        final Operator op = term.op();
+        return !term.boundVars().isEmpty() || op instanceof UpdateApplication
+                || op instanceof Modality || op instanceof Transformer
+                || op instanceof AbstractTermTransformer
+                || !((JTerm) term).javaBlock().isEmpty();
+    }
+
+    private int find(int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private Signature signature(int node) {
+        final int[] children = args.get(node);
+        final int[] classes = new int[children.length];
+        for (int i = 0; i < children.length; i++) {
+            classes[i] = find(children[i]);
+        }
+        return new Signature(ops.get(node), classes);
+    }
+
+    private void merge(int a, int b) {
+        final Deque<int[]> pending = new ArrayDeque<>();
+        pending.add(new int[] { a, b });
+        while (!pending.isEmpty()) {
+            final int[] next = pending.poll();
+            int ra = find(next[0]);
+            int rb = find(next[1]);
+            if (ra == rb) {
+                continue;
+            }
+            List<Integer> usesA = uses.getOrDefault(ra, List.of());
+            List<Integer> usesB = uses.getOrDefault(rb, List.of());
+            if (usesA.size() > usesB.size()) {
+                final int r = ra;
+                ra = rb;
+                rb = r;
+                final List<Integer> u = usesA;
+                usesA = usesB;
+                usesB = u;
+            }
+            // ra (with fewer uses) is merged into rb
+            for (int use : usesA) {
+                signatures.remove(signature(use), use);
+            }
+            parent[ra] = rb;
+            merges++;
+            uses.remove(ra);
+            if (!usesA.isEmpty()) {
+                final List<Integer> merged = uses.computeIfAbsent(rb, k -> new ArrayList<>());
+                for (int use : usesA) {
+                    final Integer congruent = signatures.putIfAbsent(signature(use), use);
+                    if (congruent != null) {
+                        pending.add(new int[] { use, congruent });
+                    }
+                    merged.add(use);
+                }
+            }
+        }
+    }
+
+    /**
+     * An operator applied to equivalence classes.
+     */
+    private record Signature(Operator op, int[] classes) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Signature other && op.equals(other.op)
+                    && Arrays.equals(classes, other.classes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * op.hashCode() + Arrays.hashCode(classes);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.Objects;
+
+import de.uka.ilkd.key.proof.Goal;
+
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.util.collection.ImmutableList;
+
+/**
+ * The rule application for {@link CongruenceClosureRule}. It is complete once the formulas which
+ * together with the focus are contradictory have been determined; these are stored as the
+ * assumptions of the application.
+ */
+public class CongruenceClosureBuiltInRuleApp extends AbstractBuiltInRuleApp {
+
+    private final boolean complete;
+
+    /**
+     * The number of equations derived by the congruence closure when the application was applied,
+     * or -1 if it has not been applied yet
+     */
+    private int derivedEquations = -1;
+
+    /**
+     * @param rule the rule being applied
+     * @param occurrence the position at which the rule is applied
+     */
+    public CongruenceClosureBuiltInRuleApp(BuiltInRule rule, PosInOccurrence occurrence) {
+        this(rule, occurrence, null, false);
+    }
+
+    private CongruenceClosureBuiltInRuleApp(BuiltInRule rule, PosInOccurrence occurrence,
+            ImmutableList<PosInOccurrence> ifInsts, boolean complete) {
+        super(rule, Objects.requireNonNull(occurrence, "rule application needs a position"),
+            ifInsts);
+        if (!(rule instanceof CongruenceClosureRule)) {
+            throw new IllegalArgumentException(String.format(
+                "can only create an application for CongruenceClosureRule, not for %s", rule));
+        }
+        this.complete = complete;
+    }
+
+    @Override
+    public CongruenceClosureBuiltInRuleApp replacePos(PosInOccurrence newPos) {
+        return new CongruenceClosureBuiltInRuleApp(rule(), newPos, ifInsts, complete);
+    }
+
+    /**
+     * Sets the formulas contradicting the focus. As the strategy passes empty assumptions to
+     * applications it has not instantiated yet, an application without assumptions remains
+     * incomplete.
+     */
+    @Override
+    public CongruenceClosureBuiltInRuleApp setAssumesInsts(
+            ImmutableList<PosInOccurrence> ifInsts) {
+        return new CongruenceClosureBuiltInRuleApp(rule(), pio, ifInsts,
+            ifInsts != null && !ifInsts.isEmpty());
+    }
+
+    /**
+     * Searches the sequent for formulas contradicting the focus.
+     *
+     * @param goal the goal
+     * @return a complete application if a contradiction has been found, this application otherwise
+     */
+    @Override
+    public CongruenceClosureBuiltInRuleApp tryToInstantiate(Goal goal) {
+        if (complete) {
+            return this;
+        }
+        final ImmutableList<PosInOccurrence> assumptions =
+            CongruenceClosureRule.INSTANCE.findAssumptions(goal, pio);
+        return assumptions == null ? this
+                : new CongruenceClosureBuiltInRuleApp(rule(), pio, assumptions, true);
+    }
+
+    @Override
+    public boolean complete() {
+        return complete;
+    }
+
+    /**
+     * Returns the number of equations the congruence closure derived when this application was
+     * applied. Each of them would otherwise have needed at least one rewriting step.
+     *
+     * @return the number of derived equations, or 0 if the application has not been applied
+     */
+    public int getDerivedEquations() {
+        return Math.max(derivedEquations, 0);
+    }
+
+    void setDerivedEquations(int derivedEquations) {
+        this.derivedEquations = derivedEquations;
+    }
+}
@@ -0,0 +1,188 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.TermBuilder;
+import de.uka.ilkd.key.logic.TermServices;
+import de.uka.ilkd.key.logic.label.TermLabelManager;
+import de.uka.ilkd.key.logic.op.Equality;
+import de.uka.ilkd.key.logic.op.Junctor;
+import de.uka.ilkd.key.proof.Goal;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.PosInTerm;
+import org.key_project.logic.Term;
+import org.key_project.prover.rules.RuleAbortException;
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Closes a goal whose top-level formulas are contradictory in the theory of equality with
+ * uninterpreted functions, e.g., <code>a = b, f(a) = c ==> f(b) = c</code>.
+ * <p>
+ * The equations, equivalences and literals of the sequent are collected in a
+ * {@link CongruenceClosure}, which derives all consequences of the equations in one step instead
+ * of rewriting with <code>applyEq</code> one occurrence at a time. The formulas needed for the
+ * contradiction are recorded as assumptions of the rule application, which makes the step
+ * replayable. The number of equations derived by the closure is kept in the rule application and
+ * reported in the proof statistics.
+ * <p>
+ * The rule only closes goals; if no contradiction is found, it is not applicable. Whether the
+ * strategy uses it is controlled by
+ * {@link de.uka.ilkd.key.strategy.StrategyProperties#CONGRUENCE_CLOSURE_OPTIONS_KEY}.
+ */
+public final class CongruenceClosureRule implements BuiltInRule {
+
+    /**
+     * The instance
+     */
+    public static final CongruenceClosureRule INSTANCE = new CongruenceClosureRule();
+
+    /**
+     * The name of this rule
+     */
+    private static final Name NAME = new Name("Congruence Closure");
+
+    /**
+     * The maximal number of distinct subterms of the sequent which are considered
+     */
+    private static final int MAX_NODES = 20000;
+
+    /**
+     * The maximal number of formulas for which the assumptions are reduced to the needed ones
+     */
+    private static final int MAX_MINIMIZE = 64;
+
+    private CongruenceClosureRule() {
+    }
+
+    @Override
+    public boolean isApplicable(Goal goal, PosInOccurrence pio) {
+        if (pio == null || !pio.isTopLevel()) {
+            return false;
+        }
+        Term formula = pio.subTerm();
+        while (formula.op() == Junctor.NOT) {
+            formula = formula.sub(0);
+        }
+        return formula.op() == Equality.EQUALS || formula.op() == Equality.EQV;
+    }
+
+    @Override
+    public boolean isApplicableOnSubTerms() {
+        return false;
+    }
+
+    @Override
+    public CongruenceClosureBuiltInRuleApp createApp(PosInOccurrence pos,
+            TermServices services) {
+        return new CongruenceClosureBuiltInRuleApp(this, pos);
+    }
+
+    @Override
+    public @NonNull ImmutableList<Goal> apply(Goal goal, RuleApp ruleApp)
+            throws RuleAbortException {
+        if (!(ruleApp instanceof CongruenceClosureBuiltInRuleApp app)) {
+            throw new IllegalArgumentException("can only apply CongruenceClosureBuiltInRuleApp");
+        }
+        final List<PosInOccurrence> formulas = new ArrayList<>();
+        formulas.add(app.posInOccurrence());
+        for (PosInOccurrence pio : app.assumesInsts()) {
+            formulas.add(pio);
+        }
+        final CongruenceClosure closure = close(formulas, goal.proof().getServices());
+        if (closure == null) {
+            throw new RuleAbortException("The formulas could not be shown to be contradictory.");
+        }
+        app.setDerivedEquations(closure.merges());
+        return ImmutableSLList.nil();
+    }
+
+    /**
+     * Searches the sequent of the goal for formulas which together with the given focus are
+     * contradictory.
+     *
+     * @param goal the goal
+     * @param focus the position of the focus formula
+     * @return the positions of the other formulas needed for the contradiction, or
+     *         <code>null</code> if no contradiction has been found
+     */
+    @Nullable
+    ImmutableList<PosInOccurrence> findAssumptions(Goal goal, PosInOccurrence focus) {
+        final Services services = goal.proof().getServices();
+        final List<PosInOccurrence> formulas = new ArrayList<>();
+        formulas.add(focus);
+        collectCandidates(goal, focus, true, formulas);
+        collectCandidates(goal, focus, false, formulas);
+        if (close(formulas, services) == null) {
+            return null;
+        }
+        if (formulas.size() <= MAX_MINIMIZE) {
+            // drop the formulas which are not needed, keeping the focus
+            for (int i = formulas.size() - 1; i > 0; i--) {
+                final PosInOccurrence removed = formulas.remove(i);
+                if (close(formulas, services) == null) {
+                    formulas.add(i, removed);
+                }
+            }
+        }
+        return ImmutableList.fromList(formulas.subList(1, formulas.size()));
+    }
+
+    private static void collectCandidates(Goal goal, PosInOccurrence focus, boolean antec,
+            List<PosInOccurrence> formulas) {
+        final var semisequent =
+            antec ? goal.sequent().antecedent() : goal.sequent().succedent();
+        for (SequentFormula sf : semisequent) {
+            if (antec != focus.isInAntec() || sf != focus.sequentFormula()) {
+                formulas.add(new PosInOccurrence(sf, PosInTerm.getTopLevel(), antec));
+            }
+        }
+    }
+
+    /**
+     * Computes the congruence closure of the given formulas.
+     *
+     * @return the closure if the formulas are contradictory, <code>null</code> otherwise
+     */
+    private static @Nullable CongruenceClosure close(List<PosInOccurrence> formulas,
+            Services services) {
+        final TermBuilder tb = services.getTermBuilder();
+        final CongruenceClosure closure = new CongruenceClosure(MAX_NODES, tb.tt(), tb.ff());
+        for (PosInOccurrence pio : formulas) {
+            final Term formula =
+                TermLabelManager.removeIrrelevantLabels((JTerm) pio.subTerm(), services);
+            if (!closure.addLiteral(formula, pio.isInAntec())) {
+                return null;
+            }
+        }
+        return closure.isContradictory() ? closure : null;
+    }
+
+    @Override
+    public Name name() {
+        return NAME;
+    }
+
+    @Override
+    public String displayName() {
+        return NAME.toString();
+    }
+
+    @Override
+    public String toString() {
+        return NAME.toString();
+    }
+}
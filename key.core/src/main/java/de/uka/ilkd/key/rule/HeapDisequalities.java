@@ -0,0 +1,137 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.op.Equality;
+import de.uka.ilkd.key.logic.op.Junctor;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.util.properties.Properties.Property;
+
+import org.key_project.logic.PosInTerm;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.Sequent;
+import org.key_project.prover.sequent.SequentFormula;
+
+import org.jspecify.annotations.Nullable;
+
+import static de.uka.ilkd.key.logic.equality.TermLabelsProperty.TERM_LABELS_PROPERTY;
+
+/**
+ * The disequalities <code>a != b</code> which hold in a sequent because it contains the formula
+ * <code>!(a = b)</code> in the antecedent or <code>a = b</code> in the succedent, indexed by both
+ * sides. Each disequality is mapped to the position of the formula proving it. Like the comparison
+ * of locations in {@link HeapSimplificationRule}, the terms are compared modulo term labels.
+ * <p>
+ * The disequalities of the current sequent of a goal are kept as strategy info of the goal, so they
+ * are collected once per sequent and not for every heap term which is simplified.
+ */
+final class HeapDisequalities {
+
+    /** the strategy info under which the disequalities of the last sequent of a goal are stored */
+    private static final Property<LastDisequalities> LAST_DISEQUALITIES =
+        new Property<>(LastDisequalities.class, "disequalities of the last sequent");
+
+    /** for each term, the terms known to be distinct from it with the proving formula */
+    private final Map<Key, Map<Key, PosInOccurrence>> distinct = new HashMap<>();
+
+    /**
+     * Collects the disequalities proven by the given formulas.
+     *
+     * @param formulas the positions of top level formulas
+     */
+    HeapDisequalities(Iterable<PosInOccurrence> formulas) {
+        for (PosInOccurrence pio : formulas) {
+            add(pio);
+        }
+    }
+
+    /**
+     * Returns the disequalities of the current sequent of a goal.
+     *
+     * @param goal the goal
+     * @return the disequalities
+     */
+    static HeapDisequalities of(Goal goal) {
+        LastDisequalities last = goal.getStrategyInfo(LAST_DISEQUALITIES);
+        if (last == null) {
+            last = new LastDisequalities();
+            goal.addStrategyInfo(LAST_DISEQUALITIES, last,
+                strategyInfos -> strategyInfos.remove(LAST_DISEQUALITIES));
+        }
+        final Sequent seq = goal.sequent();
+        final Entry entry = last.entry;
+        if (entry != null && entry.sequent == seq) {
+            return entry.disequalities;
+        }
+        final HeapDisequalities result = new HeapDisequalities(List.of());
+        for (SequentFormula sf : seq.antecedent()) {
+            result.add(new PosInOccurrence(sf, PosInTerm.getTopLevel(), true));
+        }
+        for (SequentFormula sf : seq.succedent()) {
+            result.add(new PosInOccurrence(sf, PosInTerm.getTopLevel(), false));
+        }
+        last.entry = new Entry(seq, result);
+        return result;
+    }
+
+    private void add(PosInOccurrence pio) {
+        JTerm formula = (JTerm) pio.subTerm();
+        if (pio.isInAntec()) {
+            if (formula.op() != Junctor.NOT) {
+                return;
+            }
+            formula = formula.sub(0);
+        }
+        if (formula.op() == Equality.EQUALS) {
+            put(formula.sub(0), formula.sub(1), pio);
+            put(formula.sub(1), formula.sub(0), pio);
+        }
+    }
+
+    private void put(JTerm a, JTerm b, PosInOccurrence pio) {
+        distinct.computeIfAbsent(new Key(a), k -> new HashMap<>()).putIfAbsent(new Key(b), pio);
+    }
+
+    /**
+     * @return the position of a formula proving <code>a != b</code>, or <code>null</code> if there
+     *         is none
+     */
+    @Nullable
+    PosInOccurrence proof(JTerm a, JTerm b) {
+        final Map<Key, PosInOccurrence> known = distinct.get(new Key(a));
+        return known == null ? null : known.get(new Key(b));
+    }
+
+    /**
+     * A term as key of the disequalities, equal to the terms which only differ in their labels.
+     */
+    private record Key(JTerm term) {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other
+                    && TERM_LABELS_PROPERTY.equalsModThisProperty(term, other.term);
+        }
+
+        @Override
+        public int hashCode() {
+            return TERM_LABELS_PROPERTY.hashCodeModThisProperty(term);
+        }
+    }
+
+    private record Entry(Sequent sequent, HeapDisequalities disequalities) {
+    }
+
+    /**
+     * The disequalities of the sequent last queried on a branch. The object is shared by all goals
+     * created by splitting the goal it was attached to.
+     */
+    private static final class LastDisequalities {
+        private volatile @Nullable Entry entry;
+    }
+}
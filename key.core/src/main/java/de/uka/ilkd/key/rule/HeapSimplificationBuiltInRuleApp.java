@@ -0,0 +1,79 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.Objects;
+
+import de.uka.ilkd.key.proof.Goal;
+
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.util.collection.ImmutableList;
+
+/**
+ * The rule application for {@link HeapSimplificationRule}. It is complete once the disequalities
+ * needed to resolve the heap have been determined; the formulas proving them are stored as the
+ * assumptions of the application.
+ */
+public class HeapSimplificationBuiltInRuleApp extends AbstractBuiltInRuleApp {
+
+    private final boolean complete;
+
+    /**
+     * @param rule the rule being applied
+     * @param occurrence the position at which the rule is applied
+     */
+    public HeapSimplificationBuiltInRuleApp(BuiltInRule rule, PosInOccurrence occurrence) {
+        this(rule, occurrence, null, false);
+    }
+
+    private HeapSimplificationBuiltInRuleApp(BuiltInRule rule, PosInOccurrence occurrence,
+            ImmutableList<PosInOccurrence> ifInsts, boolean complete) {
+        super(rule, Objects.requireNonNull(occurrence, "rule application needs a position"),
+            ifInsts);
+        if (!(rule instanceof HeapSimplificationRule)) {
+            throw new IllegalArgumentException(String.format(
+                "can only create an application for HeapSimplificationRule, not for %s", rule));
+        }
+        this.complete = complete;
+    }
+
+    @Override
+    public HeapSimplificationBuiltInRuleApp replacePos(PosInOccurrence newPos) {
+        return new HeapSimplificationBuiltInRuleApp(rule(), newPos, ifInsts, complete);
+    }
+
+    /**
+     * Sets the formulas proving the needed disequalities. As the strategy passes empty assumptions
+     * to applications it has not instantiated yet, an application without assumptions remains
+     * incomplete; {@link #tryToInstantiate(Goal)} determines whether any are needed.
+     */
+    @Override
+    public HeapSimplificationBuiltInRuleApp setAssumesInsts(
+            ImmutableList<PosInOccurrence> ifInsts) {
+        return new HeapSimplificationBuiltInRuleApp(rule(), pio, ifInsts,
+            ifInsts != null && !ifInsts.isEmpty());
+    }
+
+    /**
+     * Determines the disequalities of the sequent needed to resolve the heap.
+     *
+     * @param goal the goal
+     * @return a complete application if the heap can be simplified, this application otherwise
+     */
+    @Override
+    public HeapSimplificationBuiltInRuleApp tryToInstantiate(Goal goal) {
+        if (complete) {
+            return this;
+        }
+        final ImmutableList<PosInOccurrence> assumptions =
+            HeapSimplificationRule.INSTANCE.findAssumptions(goal, pio);
+        return assumptions == null ? this
+                : new HeapSimplificationBuiltInRuleApp(rule(), pio, assumptions, true);
+    }
+
+    @Override
+    public boolean complete() {
+        return complete;
+    }
+}
@@ -0,0 +1,273 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.ldt.HeapLDT;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.TermServices;
+import de.uka.ilkd.key.logic.op.UpdateApplication;
+import de.uka.ilkd.key.proof.Goal;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.PosInTerm;
+import org.key_project.logic.op.Function;
+import org.key_project.logic.op.Modality;
+import org.key_project.logic.op.Operator;
+import org.key_project.logic.sort.Sort;
+import org.key_project.prover.rules.RuleAbortException;
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableList;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import static de.uka.ilkd.key.logic.equality.TermLabelsProperty.TERM_LABELS_PROPERTY;
+
+/**
+ * Simplifies a heap read <code>select(h, o, f)</code> over a chain of <code>store</code> and
+ * <code>create</code> terms in a single step. This has the same effect as repeatedly applying
+ * <code>selectOfStore</code> and <code>selectOfCreate</code> (see <code>heapRules.key</code>) and
+ * simplifying the resulting conditionals, but without one rule application and one alias check
+ * per layer of the heap.
+ * <p>
+ * Starting with the outermost layer, every store to a location which is known to differ from
+ * <code>(o, f)</code> is skipped, until either a store to <code>(o, f)</code> itself is found,
+ * whose value is the result, or a layer is reached for which this is unknown, at which the
+ * simplified read stops. Two locations differ if their fields are built from different unique
+ * symbols (like distinct field constants or <code>arr</code> applied to different numbers) or if a
+ * disequality of the objects or fields is stated by the sequent. The disequalities of a sequent are
+ * collected once per goal (see {@link HeapDisequalities}); the formulas used are recorded as
+ * assumptions of the rule application, which makes the step replayable. Disequalities are only
+ * used for heap terms in the state of the sequent, i.e., not below updates or modalities.
+ * <p>
+ * Whether the strategy uses the rule is controlled by
+ * {@link de.uka.ilkd.key.strategy.StrategyProperties#HEAP_SIMPLIFICATION_OPTIONS_KEY}.
+ */
+public final class HeapSimplificationRule implements BuiltInRule {
+
+    /**
+     * The instance
+     */
+    public static final HeapSimplificationRule INSTANCE = new HeapSimplificationRule();
+
+    /**
+     * The name of this rule
+     */
+    private static final Name NAME = new Name("Heap Simplification");
+
+    private enum Comparison {
+        EQUAL, DISTINCT, UNKNOWN
+    }
+
+    private HeapSimplificationRule() {
+    }
+
+    @Override
+    public boolean isApplicable(Goal goal, PosInOccurrence pio) {
+        if (pio == null) {
+            return false;
+        }
+        final JTerm term = (JTerm) pio.subTerm();
+        final HeapLDT heapLDT = goal.proof().getServices().getTypeConverter().getHeapLDT();
+        if (!heapLDT.isSelectOp(term.op())) {
+            return false;
+        }
+        final Operator heapOp = term.sub(0).op();
+        if (heapOp != heapLDT.getStore() && heapOp != heapLDT.getCreate()) {
+            return false;
+        }
+        return findAssumptions(goal, pio) != null;
+    }
+
+    @Override
+    public boolean isApplicableOnSubTerms() {
+        return true;
+    }
+
+    @Override
+    public HeapSimplificationBuiltInRuleApp createApp(PosInOccurrence pos,
+            TermServices services) {
+        return new HeapSimplificationBuiltInRuleApp(this, pos);
+    }
+
+    @Override
+    public @NonNull ImmutableList<Goal> apply(Goal goal, RuleApp ruleApp)
+            throws RuleAbortException {
+        if (!(ruleApp instanceof HeapSimplificationBuiltInRuleApp app)) {
+            throw new IllegalArgumentException("can only apply HeapSimplificationBuiltInRuleApp");
+        }
+        final PosInOccurrence pio = app.posInOccurrence();
+        final Services services = goal.getOverlayServices();
+        final HeapDisequalities disequalities =
+            inSequentState(pio) ? new HeapDisequalities(app.assumesInsts()) : null;
+        final JTerm simplified =
+            simplify((JTerm) pio.subTerm(), disequalities, new LinkedHashSet<>(), services);
+        if (simplified == null) {
+            throw new RuleAbortException("The heap could not be simplified.");
+        }
+        final JTerm formula = services.getTermBuilder().replace(
+            (JTerm) pio.sequentFormula().formula(), pio.posInTerm(), simplified);
+
+        final ImmutableList<Goal> result = goal.split(1);
+        result.head().changeFormula(new SequentFormula(formula), pio);
+        return result;
+    }
+
+    /**
+     * Determines the formulas of the sequent needed to simplify the heap read at the given
+     * position.
+     *
+     * @param goal the goal
+     * @param pio the position of the heap read
+     * @return the positions of the formulas proving the needed disequalities, or
+     *         <code>null</code> if the heap read cannot be simplified
+     */
+    @Nullable
+    ImmutableList<PosInOccurrence> findAssumptions(Goal goal, PosInOccurrence pio) {
+        final HeapDisequalities disequalities =
+            inSequentState(pio) ? HeapDisequalities.of(goal) : null;
+        final Set<PosInOccurrence> used = new LinkedHashSet<>();
+        final Services services = goal.proof().getServices();
+        if (simplify((JTerm) pio.subTerm(), disequalities, used, services) == null) {
+            return null;
+        }
+        return ImmutableList.fromList(used);
+    }
+
+    /**
+     * @return whether the subterm at the given position is evaluated in the state of the sequent
+     */
+    private static boolean inSequentState(PosInOccurrence pio) {
+        final PosInTerm pit = pio.posInTerm();
+        JTerm term = (JTerm) pio.sequentFormula().formula();
+        for (int i = 0; i < pit.depth(); i++) {
+            final int index = pit.getIndexAt(i);
+            if (term.op() instanceof Modality || term.op() == UpdateApplication.UPDATE_APPLICATION
+                    && index == UpdateApplication.targetPos()) {
+                return false;
+            }
+            term = term.sub(index);
+        }
+        return true;
+    }
+
+    /**
+     * Resolves the layers of the heap of a heap read.
+     *
+     * @param select the heap read
+     * @param disequalities the known disequalities, or <code>null</code> if none may be used
+     * @param used the set to which the positions of the used disequalities are added
+     * @param services the services
+     * @return the simplified term, or <code>null</code> if no layer could be resolved
+     */
+    private static @Nullable JTerm simplify(JTerm select,
+            @Nullable HeapDisequalities disequalities, Set<PosInOccurrence> used,
+            Services services) {
+        final HeapLDT heapLDT = services.getTypeConverter().getHeapLDT();
+        final Sort sort = heapLDT.getSortOfSelect(select.op());
+        if (sort == null) {
+            return null;
+        }
+        final JTerm obj = select.sub(1);
+        final JTerm field = select.sub(2);
+        final Operator number = services.getTypeConverter().getIntegerLDT().getNumberSymbol();
+        final boolean permissions = heapLDT.getPermissionHeap() != null;
+
+        JTerm heap = select.sub(0);
+        boolean resolved = false;
+        while (true) {
+            final Operator op = heap.op();
+            if (op == heapLDT.getStore()) {
+                // stores to the created field have no effect, see selectOfStore
+                if (heap.sub(2).op() != heapLDT.getCreated()) {
+                    final Comparison fields =
+                        compare(heap.sub(2), field, number, disequalities, used);
+                    final Comparison objects =
+                        fields == Comparison.DISTINCT ? Comparison.UNKNOWN
+                                : compare(heap.sub(1), obj, number, disequalities, used);
+                    if (fields == Comparison.EQUAL && objects == Comparison.EQUAL) {
+                        final JTerm value = heap.sub(3);
+                        return value.sort().extendsTrans(sort) ? value
+                                : services.getTermBuilder().cast(sort, value);
+                    } else if (fields != Comparison.DISTINCT
+                            && objects != Comparison.DISTINCT) {
+                        break;
+                    }
+                }
+            } else if (op == heapLDT.getCreate()) {
+                // without permissions, creating an object only affects its created field
+                final boolean otherField = !permissions && isUnique(field.op())
+                        && field.op() != heapLDT.getCreated();
+                if (!otherField && compare(heap.sub(1), obj, number, disequalities,
+                    used) != Comparison.DISTINCT) {
+                    break;
+                }
+            } else {
+                break;
+            }
+            heap = heap.sub(0);
+            resolved = true;
+        }
+        return resolved ? services.getTermBuilder().select(sort, heap, obj, field) : null;
+    }
+
+    /**
+     * Compares two terms, using the uniqueness of function symbols and the known disequalities.
+     * Term labels do not affect the value of a term and are ignored.
+     */
+    private static Comparison compare(JTerm a, JTerm b, Operator number,
+            @Nullable HeapDisequalities disequalities, Set<PosInOccurrence> used) {
+        if (TERM_LABELS_PROPERTY.equalsModThisProperty(a, b)) {
+            return Comparison.EQUAL;
+        }
+        if (isUnique(a.op()) && isUnique(b.op())) {
+            if (a.op() != b.op()) {
+                return Comparison.DISTINCT;
+            }
+            // unique symbols are injective
+            for (int i = 0; i < a.arity(); i++) {
+                if (compare(a.sub(i), b.sub(i), number, disequalities,
+                    used) == Comparison.DISTINCT) {
+                    return Comparison.DISTINCT;
+                }
+            }
+            return Comparison.UNKNOWN;
+        }
+        if (a.op() == number && b.op() == number) {
+            // integer literals are in normal form, so their values differ
+            return Comparison.DISTINCT;
+        }
+        final PosInOccurrence proof = disequalities == null ? null : disequalities.proof(a, b);
+        if (proof != null) {
+            used.add(proof);
+            return Comparison.DISTINCT;
+        }
+        return Comparison.UNKNOWN;
+    }
+
+    private static boolean isUnique(Operator op) {
+        return op instanceof Function f && f.isUnique();
+    }
+
+    @Override
+    public Name name() {
+        return NAME;
+    }
+
+    @Override
+    public String displayName() {
+        return NAME.toString();
+    }
+
+    @Override
+    public String toString() {
+        return NAME.toString();
+    }
+}
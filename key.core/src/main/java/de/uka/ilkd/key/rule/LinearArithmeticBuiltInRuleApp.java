@@ -0,0 +1,79 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.Objects;
+
+import de.uka.ilkd.key.proof.Goal;
+
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.util.collection.ImmutableList;
+
+/**
+ * The rule application for {@link LinearArithmeticRule}. It is complete once the formulas which
+ * together with the focus are contradictory have been determined; these are stored as the
+ * assumptions of the application.
+ */
+public class LinearArithmeticBuiltInRuleApp extends AbstractBuiltInRuleApp {
+
+    private final boolean complete;
+
+    /**
+     * @param rule the rule being applied
+     * @param occurrence the position at which the rule is applied
+     */
+    public LinearArithmeticBuiltInRuleApp(BuiltInRule rule, PosInOccurrence occurrence) {
+        this(rule, occurrence, null, false);
+    }
+
+    private LinearArithmeticBuiltInRuleApp(BuiltInRule rule, PosInOccurrence occurrence,
+            ImmutableList<PosInOccurrence> ifInsts, boolean complete) {
+        super(rule, Objects.requireNonNull(occurrence, "rule application needs a position"),
+            ifInsts);
+        if (!(rule instanceof LinearArithmeticRule)) {
+            throw new IllegalArgumentException(String.format(
+                "can only create an application for LinearArithmeticRule, not for %s", rule));
+        }
+        this.complete = complete;
+    }
+
+    @Override
+    public LinearArithmeticBuiltInRuleApp replacePos(PosInOccurrence newPos) {
+        return new LinearArithmeticBuiltInRuleApp(rule(), newPos, ifInsts, complete);
+    }
+
+    /**
+     * Sets the formulas contradicting the focus. As the strategy passes empty assumptions to
+     * applications it has not instantiated yet, an application without assumptions remains
+     * incomplete.
+     */
+    @Override
+    public LinearArithmeticBuiltInRuleApp setAssumesInsts(
+            ImmutableList<PosInOccurrence> ifInsts) {
+        return new LinearArithmeticBuiltInRuleApp(rule(), pio, ifInsts,
+            ifInsts != null && !ifInsts.isEmpty());
+    }
+
+    /**
+     * Searches the sequent for formulas contradicting the focus.
+     *
+     * @param goal the goal
+     * @return a complete application if a contradiction has been found, this application otherwise
+     */
+    @Override
+    public LinearArithmeticBuiltInRuleApp tryToInstantiate(Goal goal) {
+        if (complete) {
+            return this;
+        }
+        final ImmutableList<PosInOccurrence> assumptions =
+            LinearArithmeticRule.INSTANCE.findAssumptions(goal, pio);
+        return assumptions == null ? this
+                : new LinearArithmeticBuiltInRuleApp(rule(), pio, assumptions, true);
+    }
+
+    @Override
+    public boolean complete() {
+        return complete;
+    }
+}
@@ -0,0 +1,322 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.ldt.IntegerLDT;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.TermServices;
+import de.uka.ilkd.key.logic.label.TermLabelManager;
+import de.uka.ilkd.key.logic.op.AbstractTermTransformer;
+import de.uka.ilkd.key.logic.op.Equality;
+import de.uka.ilkd.key.logic.op.Junctor;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.metaconstruct.arith.FourierMotzkin;
+import de.uka.ilkd.key.rule.metaconstruct.arith.FourierMotzkin.Inequation;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.PosInTerm;
+import org.key_project.logic.Term;
+import org.key_project.logic.op.Operator;
+import org.key_project.prover.rules.RuleAbortException;
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Closes a goal whose integer (in)equations are contradictory in linear arithmetic.
+ * <p>
+ * The top-level literals of the sequent of the forms <code>s &lt;= t</code>,
+ * <code>s &gt;= t</code>, <code>s &lt; t</code>, <code>s &gt; t</code> (positive or negated) and
+ * <code>s = t</code> (positive, for integers) are translated into linear inequations; all subterms
+ * which are not built from numerals, addition, subtraction, negation and multiplication with a
+ * numeral are treated as variables. The inequations are then refuted by
+ * {@link FourierMotzkin} elimination. The formulas needed for the refutation are recorded as
+ * assumptions of the rule application, which makes the step replayable.
+ * <p>
+ * The rule only closes goals; if no contradiction is found, it is not applicable. Whether the
+ * strategy uses it is controlled by
+ * {@link de.uka.ilkd.key.strategy.StrategyProperties#ARITH_DECISION_OPTIONS_KEY}.
+ */
+public final class LinearArithmeticRule implements BuiltInRule {
+
+    /**
+     * The instance
+     */
+    public static final LinearArithmeticRule INSTANCE = new LinearArithmeticRule();
+
+    /**
+     * The name of this rule
+     */
+    private static final Name NAME = new Name("Linear Arithmetic");
+
+    /**
+     * The maximal number of distinct non-arithmetic subterms which are considered
+     */
+    private static final int MAX_ATOMS = 200;
+
+    /**
+     * The maximal number of inequations during elimination
+     */
+    private static final int MAX_INEQUATIONS = 2000;
+
+    private LinearArithmeticRule() {
+    }
+
+    @Override
+    public boolean isApplicable(Goal goal, PosInOccurrence pio) {
+        if (pio == null || !pio.isTopLevel()) {
+            return false;
+        }
+        final IntegerLDT intLDT = goal.proof().getServices().getTypeConverter().getIntegerLDT();
+        Term formula = pio.subTerm();
+        boolean positive = pio.isInAntec();
+        while (formula.op() == Junctor.NOT) {
+            formula = formula.sub(0);
+            positive = !positive;
+        }
+        final Operator op = formula.op();
+        if (op == Equality.EQUALS) {
+            return positive && formula.sub(0).sort() == intLDT.targetSort();
+        }
+        return op == intLDT.getLessOrEquals() || op == intLDT.getGreaterOrEquals()
+                || op == intLDT.getLessThan() || op == intLDT.getGreaterThan();
+    }
+
+    @Override
+    public boolean isApplicableOnSubTerms() {
+        return false;
+    }
+
+    @Override
+    public LinearArithmeticBuiltInRuleApp createApp(PosInOccurrence pos,
+            TermServices services) {
+        return new LinearArithmeticBuiltInRuleApp(this, pos);
+    }
+
+    @Override
+    public @NonNull ImmutableList<Goal> apply(Goal goal, RuleApp ruleApp)
+            throws RuleAbortException {
+        if (!(ruleApp instanceof LinearArithmeticBuiltInRuleApp app)) {
+            throw new IllegalArgumentException("can only apply LinearArithmeticBuiltInRuleApp");
+        }
+        final List<PosInOccurrence> formulas = new ArrayList<>();
+        formulas.add(app.posInOccurrence());
+        for (PosInOccurrence pio : app.assumesInsts()) {
+            formulas.add(pio);
+        }
+        if (refute(formulas, goal.proof().getServices()) == null) {
+            throw new RuleAbortException(
+                "The arithmetic formulas could not be shown to be contradictory.");
+        }
+        return ImmutableSLList.nil();
+    }
+
+    /**
+     * Searches the sequent of the goal for formulas which together with the given focus are
+     * contradictory.
+     *
+     * @param goal the goal
+     * @param focus the position of the focus formula
+     * @return the positions of the other formulas needed for the contradiction, or
+     *         <code>null</code> if no contradiction has been found
+     */
+    @Nullable
+    ImmutableList<PosInOccurrence> findAssumptions(Goal goal, PosInOccurrence focus) {
+        final List<PosInOccurrence> formulas = new ArrayList<>();
+        formulas.add(focus);
+        collectCandidates(goal, focus, true, formulas);
+        collectCandidates(goal, focus, false, formulas);
+        final BitSet core = refute(formulas, goal.proof().getServices());
+        if (core == null) {
+            return null;
+        }
+        ImmutableList<PosInOccurrence> result = ImmutableSLList.nil();
+        for (int i = core.length() - 1; i > 0; i = core.previousSetBit(i - 1)) {
+            result = result.prepend(formulas.get(i));
+        }
+        return result;
+    }
+
+    private void collectCandidates(Goal goal, PosInOccurrence focus, boolean antec,
+            List<PosInOccurrence> formulas) {
+        final var semisequent =
+            antec ? goal.sequent().antecedent() : goal.sequent().succedent();
+        for (SequentFormula sf : semisequent) {
+            if (antec == focus.isInAntec() && sf == focus.sequentFormula()) {
+                continue;
+            }
+            final PosInOccurrence pio = new PosInOccurrence(sf, PosInTerm.getTopLevel(), antec);
+            if (isApplicable(goal, pio)) {
+                formulas.add(pio);
+            }
+        }
+    }
+
+    /**
+     * Translates the given formulas into inequations and tries to refute them.
+     *
+     * @return the indices of the formulas used in the refutation, or <code>null</code>
+     */
+    private static @Nullable BitSet refute(List<PosInOccurrence> formulas, Services services) {
+        final Translator translator = new Translator(services);
+        final List<Inequation> inequations = new ArrayList<>();
+        for (int i = 0; i < formulas.size(); i++) {
+            final PosInOccurrence pio = formulas.get(i);
+            translator.translate(pio.subTerm(), pio.isInAntec(), i, inequations);
+        }
+        if (inequations.isEmpty()) {
+            return null;
+        }
+        return new FourierMotzkin(MAX_INEQUATIONS).refute(inequations);
+    }
+
+    @Override
+    public Name name() {
+        return NAME;
+    }
+
+    @Override
+    public String displayName() {
+        return NAME.toString();
+    }
+
+    @Override
+    public String toString() {
+        return NAME.toString();
+    }
+
+    /**
+     * Translates literals into linear inequations, numbering the non-arithmetic subterms.
+     */
+    private static final class Translator {
+        private final Services services;
+        private final IntegerLDT intLDT;
+        private final Map<Term, Integer> atoms = new HashMap<>();
+
+        Translator(Services services) {
+            this.services = services;
+            this.intLDT = services.getTypeConverter().getIntegerLDT();
+        }
+
+        /**
+         * Adds the inequations equivalent to the given literal, if it is supported.
+         *
+         * @param formula the formula
+         * @param antec whether the formula is in the antecedent
+         * @param origin the number identifying the formula
+         * @param result the list the inequations are added to
+         */
+        void translate(Term formula, boolean antec, int origin, List<Inequation> result) {
+            boolean positive = antec;
+            while (formula.op() == Junctor.NOT) {
+                formula = formula.sub(0);
+                positive = !positive;
+            }
+            final Operator op = formula.op();
+            final Term left;
+            final Term right;
+            final BigInteger offset;
+            if (op == Equality.EQUALS) {
+                if (!positive || formula.sub(0).sort() != intLDT.targetSort()) {
+                    return;
+                }
+                // s = t iff s - t <= 0 and t - s <= 0
+                add(formula.sub(0), formula.sub(1), BigInteger.ZERO, origin, result);
+                add(formula.sub(1), formula.sub(0), BigInteger.ZERO, origin, result);
+                return;
+            } else if (op == intLDT.getLessOrEquals() || op == intLDT.getGreaterThan()) {
+                // s <= t, !(s > t) iff s - t <= 0; s > t, !(s <= t) iff t - s + 1 <= 0
+                final boolean leq = (op == intLDT.getLessOrEquals()) == positive;
+                left = leq ? formula.sub(0) : formula.sub(1);
+                right = leq ? formula.sub(1) : formula.sub(0);
+                offset = leq ? BigInteger.ZERO : BigInteger.ONE;
+            } else if (op == intLDT.getGreaterOrEquals() || op == intLDT.getLessThan()) {
+                // s >= t, !(s < t) iff t - s <= 0; s < t, !(s >= t) iff s - t + 1 <= 0
+                final boolean geq = (op == intLDT.getGreaterOrEquals()) == positive;
+                left = geq ? formula.sub(1) : formula.sub(0);
+                right = geq ? formula.sub(0) : formula.sub(1);
+                offset = geq ? BigInteger.ZERO : BigInteger.ONE;
+            } else {
+                return;
+            }
+            add(left, right, offset, origin, result);
+        }
+
+        /**
+         * Adds <code>left - right + offset <= 0</code>.
+         */
+        private void add(Term left, Term right, BigInteger offset, int origin,
+                List<Inequation> result) {
+            final Map<Integer, BigInteger> coefficients = new HashMap<>();
+            final BigInteger[] constant = { offset };
+            if (linearize(left, BigInteger.ONE, coefficients, constant)
+                    && linearize(right, BigInteger.ONE.negate(), coefficients, constant)) {
+                result.add(new Inequation(coefficients, constant[0], origin));
+            }
+        }
+
+        /**
+         * Adds <code>factor * term</code> to the given linear combination.
+         *
+         * @return <code>false</code> if the term contains too many different atoms
+         */
+        private boolean linearize(Term term, BigInteger factor,
+                Map<Integer, BigInteger> coefficients, BigInteger[] constant) {
+            final Operator op = term.op();
+            if (op == intLDT.getAdd()) {
+                return linearize(term.sub(0), factor, coefficients, constant)
+                        && linearize(term.sub(1), factor, coefficients, constant);
+            } else if (op == intLDT.getSub()) {
+                return linearize(term.sub(0), factor, coefficients, constant)
+                        && linearize(term.sub(1), factor.negate(), coefficients, constant);
+            } else if (op == intLDT.getNeg()) {
+                return linearize(term.sub(0), factor.negate(), coefficients, constant);
+            } else if (op == intLDT.getNumberSymbol()) {
+                constant[0] = constant[0].add(factor.multiply(toBigInteger(term)));
+                return true;
+            } else if (op == intLDT.getMul()) {
+                if (term.sub(0).op() == intLDT.getNumberSymbol()) {
+                    return linearize(term.sub(1), factor.multiply(toBigInteger(term.sub(0))),
+                        coefficients, constant);
+                } else if (term.sub(1).op() == intLDT.getNumberSymbol()) {
+                    return linearize(term.sub(0), factor.multiply(toBigInteger(term.sub(1))),
+                        coefficients, constant);
+                }
+            }
+            final Integer atom = atom(term);
+            if (atom == null) {
+                return false;
+            }
+            coefficients.merge(atom, factor, BigInteger::add);
+            return true;
+        }
+
+        private BigInteger toBigInteger(Term numeral) {
+            return new BigInteger(AbstractTermTransformer.convertToDecimalString(numeral,
+                services));
+        }
+
+        private @Nullable Integer atom(Term term) {
+            final Term key = TermLabelManager.removeIrrelevantLabels((JTerm) term, services);
+            Integer index = atoms.get(key);
+            if (index == null) {
+                if (atoms.size() >= MAX_ATOMS) {
+                    return null;
+                }
+                index = atoms.size();
+                atoms.put(key, index);
+            }
+            return index;
+        }
+    }
+}
@@ -9,6 +9,10 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.JTerm;
@@ -30,6 +34,7 @@ import de.uka.ilkd.key.proof.calculus.JavaDLSequentKit;
 import de.uka.ilkd.key.rule.inst.SVInstantiations;
 import de.uka.ilkd.key.settings.ProofSettings;
 import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.CacheMetrics;
 import de.uka.ilkd.key.util.MiscTools;
 
 import org.key_project.logic.Name;
@@ -37,12 +42,13 @@ import org.key_project.logic.PosInTerm;
 import org.key_project.logic.Term;
 import org.key_project.prover.proof.rulefilter.TacletFilter;
 import org.key_project.prover.rules.ApplicationRestriction;
+import org.key_project.prover.rules.RuleAbortException;
 import org.key_project.prover.rules.RuleApp;
 import org.key_project.prover.rules.RuleSet;
 import org.key_project.prover.rules.instantiation.AssumesFormulaInstDirect;
 import org.key_project.prover.rules.instantiation.AssumesFormulaInstantiation;
 import org.key_project.prover.sequent.*;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentClockCache;
 import org.key_project.util.collection.ImmutableArray;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
@@ -66,6 +72,12 @@ public final class OneStepSimplifier implements BuiltInRule {
     private static final int APPLICABILITY_CACHE_SIZE = 1000;
     private static final int DEFAULT_CACHE_SIZE = 10000;
 
+    /**
+     * The minimal number of formulas for which {@link #computeApplicability(Goal, List)} uses
+     * several threads.
+     */
+    private static final int MIN_PARALLEL_FORMULAS = 4;
+
     /**
      * Represents a list of rule applications performed in one OSS step.
      */
@@ -85,14 +97,20 @@ public final class OneStepSimplifier implements BuiltInRule {
             .append("update_apply").append("update_join").append("elimQuantifier");
 
     private static final boolean[] bottomUp = { false, false, true, true, true, false };
-    private final Map<SequentFormula, Boolean> applicabilityCache =
-        new LRUCache<>(APPLICABILITY_CACHE_SIZE);
+    private final ConcurrentClockCache<SequentFormula, Boolean> applicabilityCache =
+        new ConcurrentClockCache<>(APPLICABILITY_CACHE_SIZE);
 
+    /** the proof the indices were built for, guarded by {@code this} */
     private Proof lastProof;
+    /** guarded by {@code this} */
     private ImmutableList<NoPosTacletApp> appsTakenOver;
-    private TacletIndex[] indices;
-    private Map<JTerm, JTerm>[] notSimplifiableCaches;
-    private boolean active;
+    /**
+     * The current taclet indices, {@code null} if they are shut down. Simplifications read this
+     * field once and then work on the snapshot, so they do not need to synchronize with
+     * {@link #refresh(Proof)}.
+     */
+    private volatile Indices indices;
+    private volatile boolean active;
 
     // -------------------------------------------------------------------------
     // constructors
@@ -103,6 +121,8 @@ public final class OneStepSimplifier implements BuiltInRule {
                                  // parallelization. This is required thanks to the internal state
                                  // of this rule.
         assert bottomUp.length == ruleSets.size();
+        CacheMetrics.getInstance().register("oneStepSimplifier.applicability", applicabilityCache,
+            16);
     }
 
 
@@ -185,22 +205,28 @@ public final class OneStepSimplifier implements BuiltInRule {
      * initialise the taclet indices.
      */
     @SuppressWarnings("unchecked")
-    private void initIndices(Proof proof) {
+    private synchronized void initIndices(Proof proof) {
         if (proof != lastProof) {
             shutdownIndices();
             lastProof = proof;
             appsTakenOver = ImmutableSLList.nil();
-            indices = new TacletIndex[ruleSets.size()];
-            notSimplifiableCaches = (Map<JTerm, JTerm>[]) new LRUCache[indices.length];
+            final TacletIndex[] tacletIndices = new TacletIndex[ruleSets.size()];
+            final Map<JTerm, JTerm>[] notSimplifiableCaches =
+                (Map<JTerm, JTerm>[]) new ConcurrentClockCache[tacletIndices.length];
             int i = 0;
             ImmutableList<String> done = ImmutableSLList.nil();
             for (String ruleSet : ruleSets) {
                 ImmutableList<Taclet> taclets = tacletsForRuleSet(proof, ruleSet, done);
-                indices[i] = TacletIndexKit.getKit().createTacletIndex(taclets);
-                notSimplifiableCaches[i] = new LRUCache<>(DEFAULT_CACHE_SIZE);
+                tacletIndices[i] = TacletIndexKit.getKit().createTacletIndex(taclets);
+                final ConcurrentClockCache<JTerm, JTerm> cache =
+                    new ConcurrentClockCache<>(DEFAULT_CACHE_SIZE);
+                // the values are the keys, so only the cache structures are retained
+                CacheMetrics.getInstance().register("oneStepSimplifier.notSimplifiable", cache, 0);
+                notSimplifiableCaches[i] = cache;
                 i++;
                 done = done.prepend(ruleSet);
             }
+            indices = new Indices(proof, tacletIndices, notSimplifiableCaches);
         }
     }
 
@@ -225,7 +251,6 @@ public final class OneStepSimplifier implements BuiltInRule {
             lastProof = null;
             appsTakenOver = null;
             indices = null;
-            notSimplifiableCaches = null;
         }
     }
 
@@ -243,12 +268,11 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifyPos(Goal goal,
+    private SequentFormula simplifyPos(Indices idx, Goal goal, Services services,
             PosInOccurrence pos,
             int indexNr, Protocol protocol) {
-        var services = goal.getOverlayServices();
         final ImmutableList<NoPosTacletApp> apps =
-            indices[indexNr].getRewriteTaclet(pos, TacletFilter.TRUE, services);
+            idx.taclets()[indexNr].getRewriteTaclet(pos, TacletFilter.TRUE, services);
         for (TacletApp app : apps) {
             app = app.setPosInOccurrence(pos, services);
             if (app == null) {
@@ -279,12 +303,12 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifySub(Goal goal,
+    private SequentFormula simplifySub(Indices idx, Goal goal, Services services,
             PosInOccurrence pos,
             int indexNr, Protocol protocol) {
         for (int i = 0, n = pos.subTerm().arity(); i < n; i++) {
             SequentFormula result =
-                simplifyPosOrSub(goal, pos.down(i), indexNr, protocol);
+                simplifyPosOrSub(idx, goal, services, pos.down(i), indexNr, protocol);
             if (result != null) {
                 return result;
             }
@@ -299,29 +323,30 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifyPosOrSub(Goal goal,
+    private SequentFormula simplifyPosOrSub(Indices idx, Goal goal, Services services,
             PosInOccurrence pos,
             int indexNr, Protocol protocol) {
         final JTerm term = (JTerm) pos.subTerm();
-        if (notSimplifiableCaches[indexNr].get(term) != null) {
+        final Map<JTerm, JTerm> notSimplifiableCache = idx.notSimplifiableCaches()[indexNr];
+        if (notSimplifiableCache.get(term) != null) {
             return null;
         }
 
         SequentFormula result;
         if (bottomUp[indexNr]) {
-            result = simplifySub(goal, pos, indexNr, protocol);
+            result = simplifySub(idx, goal, services, pos, indexNr, protocol);
             if (result == null) {
-                result = simplifyPos(goal, pos, indexNr, protocol);
+                result = simplifyPos(idx, goal, services, pos, indexNr, protocol);
             }
         } else {
-            result = simplifyPos(goal, pos, indexNr, protocol);
+            result = simplifyPos(idx, goal, services, pos, indexNr, protocol);
             if (result == null) {
-                result = simplifySub(goal, pos, indexNr, protocol);
+                result = simplifySub(idx, goal, services, pos, indexNr, protocol);
             }
         }
 
         if (result == null) {
-            notSimplifiableCaches[indexNr].put(term, term);
+            notSimplifiableCache.put(term, term);
         }
 
         return result;
@@ -333,19 +358,18 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private JTerm replaceKnownHelper(
+    private JTerm replaceKnownHelper(Indices idx,
             Map<TermReplacementKey, PosInOccurrence> map, JTerm in,
             boolean inAntecedent,
             /* out */ List<PosInOccurrence> ifInsts,
             Protocol protocol,
-            Goal goal, RuleApp ruleApp) {
-        var services = goal.getOverlayServices();
+            Goal goal, Services services, RuleApp ruleApp) {
         final PosInOccurrence pos =
             map.get(new TermReplacementKey(in));
         if (pos != null) {
             ifInsts.add(pos);
             if (protocol != null) {
-                protocol.add(makeReplaceKnownTacletApp(in, inAntecedent, pos));
+                protocol.add(makeReplaceKnownTacletApp(idx.proof(), in, inAntecedent, pos));
             }
             JTerm result =
                 pos.isInAntec() ? services.getTermBuilder().tt() : services.getTermBuilder().ff();
@@ -365,8 +389,8 @@ public final class OneStepSimplifier implements BuiltInRule {
             JTerm[] subs = new JTerm[in.arity()];
             boolean changed = false;
             for (int i = 0; i < subs.length; i++) {
-                subs[i] = replaceKnownHelper(map, in.sub(i), inAntecedent, ifInsts, protocol,
-                    goal, ruleApp);
+                subs[i] = replaceKnownHelper(idx, map, in.sub(i), inAntecedent, ifInsts, protocol,
+                    goal, services, ruleApp);
                 if (subs[i] != in.sub(i)) {
                     changed = true;
                 }
@@ -386,18 +410,18 @@ public final class OneStepSimplifier implements BuiltInRule {
      * (hardcoded here). The context formulas available for replace-known are passed in as
      * "context". The positions of the actually used context formulas are passed out as "ifInsts".
      */
-    private SequentFormula replaceKnown(
+    private SequentFormula replaceKnown(Indices idx,
             SequentFormula cf, boolean inAntecedent,
             Map<TermReplacementKey, PosInOccurrence> context,
             /* out */ List<PosInOccurrence> ifInsts,
-            Protocol protocol, Goal goal,
+            Protocol protocol, Goal goal, Services services,
             RuleApp ruleApp) {
         if (context == null) {
             return null;
         }
         final JTerm formula = (JTerm) cf.formula();
-        final JTerm simplifiedFormula = replaceKnownHelper(context, formula, inAntecedent, ifInsts,
-            protocol, goal, ruleApp);
+        final JTerm simplifiedFormula = replaceKnownHelper(idx, context, formula, inAntecedent,
+            ifInsts, protocol, goal, services, ruleApp);
         if (simplifiedFormula.equals(formula)) {
             return null;
         } else {
@@ -405,21 +429,21 @@ public final class OneStepSimplifier implements BuiltInRule {
         }
     }
 
-    private RuleApp makeReplaceKnownTacletApp(JTerm formula,
+    private static RuleApp makeReplaceKnownTacletApp(Proof proof, JTerm formula,
             boolean inAntecedent,
             PosInOccurrence pio) {
         FindTaclet taclet;
         if (pio.isInAntec()) {
-            taclet = (FindTaclet) lastProof.getInitConfig()
+            taclet = (FindTaclet) proof.getInitConfig()
                     .lookupActiveTaclet(new Name("replace_known_left"));
         } else {
-            taclet = (FindTaclet) lastProof.getInitConfig()
+            taclet = (FindTaclet) proof.getInitConfig()
                     .lookupActiveTaclet(new Name("replace_known_right"));
         }
 
         SVInstantiations svi = SVInstantiations.EMPTY_SVINSTANTIATIONS;
         FormulaSV sv = SchemaVariableFactory.createFormulaSV(new Name("b"));
-        svi.add(sv, (JTerm) pio.sequentFormula().formula(), lastProof.getServices());
+        svi.add(sv, (JTerm) pio.sequentFormula().formula(), proof.getServices());
 
         PosInOccurrence applicatinPIO =
             new PosInOccurrence(new SequentFormula(formula), PosInTerm.getTopLevel(), // TODO: This
@@ -432,7 +456,7 @@ public final class OneStepSimplifier implements BuiltInRule {
         ImmutableList<AssumesFormulaInstantiation> ifInst = ImmutableSLList.nil();
         ifInst = ifInst.append(new AssumesFormulaInstDirect(pio.sequentFormula()));
         TacletApp ta = PosTacletApp.createPosTacletApp(taclet, svi, ifInst, applicatinPIO,
-            lastProof.getServices());
+            proof.getServices());
         return ta;
     }
 
@@ -442,23 +466,23 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifyConstrainedFormula(
+    private SequentFormula simplifyConstrainedFormula(Indices idx,
             SequentFormula cf,
             boolean inAntecedent,
             Map<TermReplacementKey, PosInOccurrence> context,
             /* out */ List<PosInOccurrence> ifInsts,
-            Protocol protocol, Goal goal,
+            Protocol protocol, Goal goal, Services services,
             RuleApp ruleApp) {
-        SequentFormula result =
-            replaceKnown(cf, inAntecedent, context, ifInsts, protocol, goal, ruleApp);
+        SequentFormula result = replaceKnown(idx, cf, inAntecedent, context, ifInsts, protocol,
+            goal, services, ruleApp);
         if (result != null) {
             return result;
         }
 
-        for (int i = 0; i < indices.length; i++) {
+        for (int i = 0; i < idx.taclets().length; i++) {
             PosInOccurrence pos =
                 new PosInOccurrence(cf, PosInTerm.getTopLevel(), inAntecedent);
-            result = simplifyPosOrSub(goal, pos, i, protocol);
+            result = simplifyPosOrSub(idx, goal, services, pos, i, protocol);
             if (result != null) {
                 return result;
             }
@@ -473,9 +497,10 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private Instantiation computeInstantiation(PosInOccurrence ossPIO,
+    private Instantiation computeInstantiation(Indices idx, PosInOccurrence ossPIO,
             Sequent seq, Protocol protocol, Goal goal,
             RuleApp ruleApp) {
+        final Services services = goal.getOverlayServices();
         // collect context formulas (potential if-insts for replace-known)
         final Map<TermReplacementKey, PosInOccurrence> context =
             new LinkedHashMap<>();
@@ -499,8 +524,8 @@ public final class OneStepSimplifier implements BuiltInRule {
         ImmutableList<SequentFormula> list = ImmutableSLList.nil();
         SequentFormula simplifiedCf = cf;
         while (true) {
-            simplifiedCf = simplifyConstrainedFormula(simplifiedCf, ossPIO.isInAntec(),
-                context, ifInsts, protocol, goal, ruleApp);
+            simplifiedCf = simplifyConstrainedFormula(idx, simplifiedCf, ossPIO.isInAntec(),
+                context, ifInsts, protocol, goal, services, ruleApp);
             if (simplifiedCf != null && !list.contains(simplifiedCf)) {
                 list = list.prepend(simplifiedCf);
             } else {
@@ -518,19 +543,20 @@ public final class OneStepSimplifier implements BuiltInRule {
 
 
     /**
-     * Tells whether the passed formula can be simplified
+     * Tells whether the passed formula can be simplified. Without replace-known, the result only
+     * depends on the formula, so it is cached.
      */
-    private synchronized boolean applicableTo(Services services,
+    private boolean applicableTo(Indices idx,
             SequentFormula cf,
-            boolean inAntecedent, Goal goal, RuleApp ruleApp) {
+            boolean inAntecedent, Goal goal, Services services) {
         final Boolean b = applicabilityCache.get(cf);
         if (b != null) {
             return b;
         } else {
             // try one simplification step without replace-known
             final SequentFormula simplifiedCf =
-                simplifyConstrainedFormula(cf,
-                    inAntecedent, null, null, null, goal, ruleApp);
+                simplifyConstrainedFormula(idx, cf,
+                    inAntecedent, null, null, null, goal, services, null);
             final boolean result = simplifiedCf != null && !simplifiedCf.equals(cf);
             applicabilityCache.put(cf, result);
             return result;
@@ -593,14 +619,79 @@ public final class OneStepSimplifier implements BuiltInRule {
             return false;
         }
 
+        final Indices idx = indices;
+        if (idx == null) {
+            return false;
+        }
+
         // applicable to the formula?
-        return applicableTo(goal.proof().getServices(), pio.sequentFormula(),
+        return applicableTo(idx, pio.sequentFormula(),
             pio.isInAntec(), goal,
-            null);
+            goal.getOverlayServices());
+    }
+
+    /**
+     * Determines for the given top level formulas whether they can be simplified. The formulas
+     * whose result is not yet cached are checked in parallel using the common fork-join pool,
+     * and the results are cached, so that the subsequent calls of
+     * {@link #isApplicable(Goal, PosInOccurrence)} for these formulas are cheap.
+     * <p>
+     * Only this applicability check runs in parallel. The simplification of a formula when the
+     * rule is applied, including replace-known, still runs on the calling thread, as it depends
+     * on the other formulas of the sequent.
+     * <p>
+     * Whether a formula can be simplified only depends on the formula itself, so the results are
+     * the same as if the formulas were checked one after another. Each task instantiates the
+     * taclets with its own namespaces, so no symbols are added to the goal while the taclets are
+     * tried. The tasks share the goal, which is safe as the goal is only read: the rewrite of a
+     * taclet reads the proof, node, sequent and namespaces of the goal to build the result and
+     * its term labels (the term label refactorings of a rewrite do not change the goal, unlike
+     * those of a rule application), and the calling thread does not modify the goal while it
+     * waits for the tasks.
+     *
+     * @param goal the goal whose sequent contains the formulas
+     * @param positions top level positions in the sequent of the goal
+     */
+    public void computeApplicability(Goal goal, List<PosInOccurrence> positions) {
+        final Indices idx = indices;
+        if (!active || idx == null || positions.size() < MIN_PARALLEL_FORMULAS) {
+            return;
+        }
+        final Services proofServices = goal.proof().getServices();
+        final List<Callable<Boolean>> tasks = new ArrayList<>(positions.size());
+        for (PosInOccurrence pos : positions) {
+            final SequentFormula cf = pos.sequentFormula();
+            if (pos.isTopLevel() && !applicabilityCache.containsKey(cf)) {
+                final Services services =
+                    proofServices.getOverlay(goal.getLocalNamespaces().copyWithParent());
+                tasks.add(() -> applicableTo(idx, cf, pos.isInAntec(), goal, services));
+            }
+        }
+        if (tasks.size() < MIN_PARALLEL_FORMULAS) {
+            return;
+        }
+        try {
+            for (Future<Boolean> result : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // nothing is cached for the failing formula; the problem is reported when
+            // isApplicable checks it again
+        }
+    }
+
+    /**
+     * @return the cached result of {@link #isApplicable(Goal, PosInOccurrence)} for the given
+     *         formula, or <code>null</code> if the formula has not been checked yet
+     */
+    Boolean cachedApplicability(SequentFormula cf) {
+        return applicabilityCache.get(cf);
     }
 
     @Override
-    public synchronized @NonNull ImmutableList<Goal> apply(Goal goal, RuleApp ruleApp) {
+    public @NonNull ImmutableList<Goal> apply(Goal goal, RuleApp ruleApp) {
 
         assert ruleApp instanceof OneStepSimplifierRuleApp
                 : "The rule app must be suitable for OSS";
@@ -608,6 +699,12 @@ public final class OneStepSimplifier implements BuiltInRule {
         final PosInOccurrence pos = ruleApp.posInOccurrence();
         assert pos != null && pos.isTopLevel();
 
+        // read once, as the indices may be shut down concurrently
+        final Indices idx = indices;
+        if (idx == null) {
+            throw new RuleAbortException("The one step simplifier is not active.");
+        }
+
         Protocol protocol = new Protocol();
 
         Sequent seq = goal.sequent();
@@ -639,7 +736,7 @@ public final class OneStepSimplifier implements BuiltInRule {
         }
         // get instantiation
         final Instantiation inst =
-            computeInstantiation(pos, seq, protocol, goal, ruleApp);
+            computeInstantiation(idx, pos, seq, protocol, goal, ruleApp);
 
         ((OneStepSimplifierRuleApp) ruleApp).setProtocol(protocol);
 
@@ -681,8 +778,10 @@ public final class OneStepSimplifier implements BuiltInRule {
     public Set<NoPosTacletApp> getCapturedTaclets() {
         Set<NoPosTacletApp> result = new LinkedHashSet<>();
         synchronized (this) {
-            for (TacletIndex index : indices) {
-                result.addAll(index.allNoPosTacletApps());
+            if (indices != null) {
+                for (TacletIndex index : indices.taclets()) {
+                    result.addAll(index.allNoPosTacletApps());
+                }
             }
         }
         return result;
@@ -693,6 +792,19 @@ public final class OneStepSimplifier implements BuiltInRule {
     // inner classes
     // -------------------------------------------------------------------------
 
+    /**
+     * The taclet indices of the rule sets together with the caches of terms which cannot be
+     * simplified by them. The indices are not modified after creation and the caches are
+     * thread-safe, so an instance can be used by several threads at once.
+     *
+     * @param proof the proof the indices were built for
+     * @param taclets the taclet index of each rule set in {@link #ruleSets}
+     * @param notSimplifiableCaches for each rule set, the terms which cannot be simplified
+     */
+    private record Indices(Proof proof, TacletIndex[] taclets,
+            Map<JTerm, JTerm>[] notSimplifiableCaches) {
+    }
+
     private static final class Instantiation {
         private final SequentFormula cf;
         private final int numAppliedRules;
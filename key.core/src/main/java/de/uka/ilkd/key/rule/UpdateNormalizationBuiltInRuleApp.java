@@ -0,0 +1,49 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.Objects;
+
+import de.uka.ilkd.key.proof.Goal;
+
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.util.collection.ImmutableList;
+
+/**
+ * The rule application for {@link UpdateNormalizationRule}
+ */
+public class UpdateNormalizationBuiltInRuleApp extends AbstractBuiltInRuleApp {
+    /**
+     * @param rule the rule being applied
+     * @param occurrence the position at which the rule is applied
+     */
+    public UpdateNormalizationBuiltInRuleApp(BuiltInRule rule,
+            PosInOccurrence occurrence) {
+        super(rule, Objects.requireNonNull(occurrence, "rule application needs a position"), null);
+        if (!(rule instanceof UpdateNormalizationRule)) {
+            throw new IllegalArgumentException(String.format(
+                "can only create an application for UpdateNormalizationRule, not for %s", rule));
+        }
+    }
+
+    @Override
+    public UpdateNormalizationBuiltInRuleApp replacePos(PosInOccurrence newPos) {
+        return new UpdateNormalizationBuiltInRuleApp(rule(), newPos);
+    }
+
+    @Override
+    public IBuiltInRuleApp setAssumesInsts(
+            ImmutableList<PosInOccurrence> ifInsts) {
+        // XXX: This is overridden in all subclasses to allow making ifInsts final
+        // when all usages of setIfInsts are corrected to use the result.
+        // Then a new instance has to be returned here.
+        setMutable(ifInsts);
+        return this;
+    }
+
+    @Override
+    public AbstractBuiltInRuleApp tryToInstantiate(Goal goal) {
+        return this;
+    }
+}
@@ -0,0 +1,147 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.TermServices;
+import de.uka.ilkd.key.logic.op.ElementaryUpdate;
+import de.uka.ilkd.key.logic.op.LocationVariable;
+import de.uka.ilkd.key.logic.op.UpdateApplication;
+import de.uka.ilkd.key.logic.op.UpdateJunctor;
+import de.uka.ilkd.key.proof.Goal;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.op.Modality;
+import org.key_project.logic.op.QuantifiableVariable;
+import org.key_project.prover.rules.RuleAbortException;
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableList;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Normalizes an update application <code>{u}t</code> in a single step, using an
+ * {@link UpdateNormalizer}. The result is the same as that of exhaustively applying the rules for
+ * sequential, parallel and effectless updates and for applying updates on rigid terms (see
+ * <code>updateRules.key</code>), but the number of steps no longer grows with the number of
+ * elementary updates.
+ * <p>
+ * The rule is applicable to update applications which are not yet normalized, i.e., whose update is
+ * not a parallel composition of assignments to distinct program variables or whose target the
+ * update can still be pushed into. The result is computed deterministically from the focus term,
+ * so the proof step is replayed from its position alone. Whether the strategy uses the rule is
+ * controlled by
+ * {@link de.uka.ilkd.key.strategy.StrategyProperties#UPDATE_NORMALIZATION_OPTIONS_KEY}.
+ */
+public final class UpdateNormalizationRule implements BuiltInRule {
+
+    /**
+     * The instance
+     */
+    public static final UpdateNormalizationRule INSTANCE = new UpdateNormalizationRule();
+
+    /**
+     * The name of this rule
+     */
+    private static final Name NAME = new Name("Update Normalization");
+
+    private UpdateNormalizationRule() {
+    }
+
+    @Override
+    public boolean isApplicable(Goal goal, PosInOccurrence pio) {
+        if (pio == null) {
+            return false;
+        }
+        final JTerm term = (JTerm) pio.subTerm();
+        return term.op() == UpdateApplication.UPDATE_APPLICATION && !isNormalized(term);
+    }
+
+    /**
+     * Checks cheaply whether an update application is in normal form, apart from assignments which
+     * have no effect on the target.
+     */
+    private static boolean isNormalized(JTerm term) {
+        final JTerm update = UpdateApplication.getUpdate(term);
+        if (!isFlat(update, new HashSet<>())) {
+            return false;
+        }
+        final JTerm target = UpdateApplication.getTarget(term);
+        final var op = target.op();
+        if (op instanceof LocationVariable || op == UpdateApplication.UPDATE_APPLICATION) {
+            return false;
+        }
+        if (!op.isRigid() || op instanceof Modality || !target.javaBlock().isEmpty()) {
+            return true;
+        }
+        // binders capturing variables of the update stop the normalization as well
+        for (QuantifiableVariable var : target.boundVars()) {
+            if (update.freeVars().contains(var)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the update is a parallel composition of assignments to distinct variables
+     */
+    private static boolean isFlat(JTerm update, Set<LocationVariable> assigned) {
+        if (update.op() instanceof ElementaryUpdate eu) {
+            return eu.lhs() instanceof LocationVariable lhs && assigned.add(lhs);
+        } else if (update.op() == UpdateJunctor.PARALLEL_UPDATE) {
+            return isFlat(update.sub(0), assigned) && isFlat(update.sub(1), assigned);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isApplicableOnSubTerms() {
+        return true;
+    }
+
+    @Override
+    public IBuiltInRuleApp createApp(PosInOccurrence pos, TermServices services) {
+        return new UpdateNormalizationBuiltInRuleApp(this, pos);
+    }
+
+    @Override
+    public @NonNull ImmutableList<Goal> apply(Goal goal, RuleApp ruleApp)
+            throws RuleAbortException {
+        final PosInOccurrence pio = ruleApp.posInOccurrence();
+        final Services services = goal.getOverlayServices();
+        final JTerm term = (JTerm) pio.subTerm();
+        final JTerm normalized = new UpdateNormalizer(services).normalize(term);
+        if (normalized == term) {
+            throw new RuleAbortException("The update application is already normalized.");
+        }
+        final JTerm formula = services.getTermBuilder().replace(
+            (JTerm) pio.sequentFormula().formula(), pio.posInTerm(), normalized);
+
+        final ImmutableList<Goal> result = goal.split(1);
+        result.head().changeFormula(new SequentFormula(formula), pio);
+        return result;
+    }
+
+    @Override
+    public Name name() {
+        return NAME;
+    }
+
+    @Override
+    public String displayName() {
+        return NAME.toString();
+    }
+
+    @Override
+    public String toString() {
+        return NAME.toString();
+    }
+}
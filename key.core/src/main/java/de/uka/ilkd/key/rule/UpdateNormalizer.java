@@ -0,0 +1,223 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.*;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.TermBuilder;
+import de.uka.ilkd.key.logic.op.*;
+import de.uka.ilkd.key.proof.TermProgramVariableCollector;
+
+import org.key_project.logic.op.Modality;
+import org.key_project.logic.op.QuantifiableVariable;
+import org.key_project.util.collection.ImmutableArray;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Normalizes update applications in one pass, which has the same effect as exhaustively applying
+ * the rules of <code>updateRules.key</code>.
+ * <p>
+ * An update is evaluated into a map from program variables to values: parallel updates are merged
+ * (the right-most assignment to a variable wins). An update application <code>{u1}u2</code>
+ * consists of the assignments of <code>u2</code> only, whose values are evaluated under the map of
+ * <code>u1</code>, as <code>{u1}(x := t)</code> equals <code>x := {u1}t</code>. The map is then
+ * pushed into the target: program variables are replaced by their values, rigid operators are
+ * rebuilt from their updated arguments and nested update applications are composed with the map.
+ * Where the map cannot be pushed further (modalities and other non-rigid operators, or binders
+ * capturing variables of the values), it is turned back into a parallel update which only
+ * contains the assignments to variables occurring in the target.
+ * <p>
+ * The maps are hash-indexed by the assigned variable, so each elementary update is looked up in
+ * constant time instead of being moved past its neighbours by one rule application each. Results
+ * of applying a map to a subterm are memoized per map, which keeps shared subterms shared.
+ */
+final class UpdateNormalizer {
+
+    private final Services services;
+    private final TermBuilder tb;
+
+    /**
+     * @param services the services
+     */
+    UpdateNormalizer(Services services) {
+        this.services = services;
+        this.tb = services.getTermBuilder();
+    }
+
+    /**
+     * Normalizes an update application.
+     *
+     * @param term the term, usually an update application
+     * @return the normalized term, which is <code>term</code> itself if it cannot be simplified
+     */
+    JTerm normalize(JTerm term) {
+        if (term.op() != UpdateApplication.UPDATE_APPLICATION) {
+            return term;
+        }
+        final UpdateMap map = evaluate(UpdateApplication.getUpdate(term), UpdateMap.EMPTY);
+        if (map == null) {
+            return term;
+        }
+        final JTerm result = apply(map, UpdateApplication.getTarget(term));
+        return result.equals(term) ? term : result;
+    }
+
+    /**
+     * Evaluates an update in the state described by a map.
+     *
+     * @param update the update
+     * @param context the map describing the state in which the values are evaluated
+     * @return the assignments of the update, or <code>null</code> if the update is not built from
+     *         elementary updates on program variables
+     */
+    private @Nullable UpdateMap evaluate(JTerm update, UpdateMap context) {
+        final var op = update.op();
+        if (op == UpdateJunctor.SKIP) {
+            return UpdateMap.EMPTY;
+        } else if (op instanceof ElementaryUpdate eu
+                && eu.lhs() instanceof LocationVariable lhs) {
+            final UpdateMap result = new UpdateMap();
+            result.put(lhs, apply(context, update.sub(0)));
+            return result;
+        } else if (op == UpdateJunctor.PARALLEL_UPDATE) {
+            final UpdateMap first = evaluate(update.sub(0), context);
+            final UpdateMap second = first == null ? null : evaluate(update.sub(1), context);
+            return second == null ? null : first.override(second);
+        } else if (op == UpdateApplication.UPDATE_APPLICATION) {
+            // {u1}u2 only assigns the variables of u2, with values evaluated after u1
+            final UpdateMap first = evaluate(update.sub(0), context);
+            return first == null ? null : evaluate(update.sub(1), context.override(first));
+        }
+        return null;
+    }
+
+    /**
+     * Applies the assignments of a map to a term.
+     */
+    private JTerm apply(UpdateMap map, JTerm term) {
+        if (map.isEmpty()) {
+            return term;
+        }
+        final JTerm cached = map.applied.get(term);
+        if (cached != null) {
+            return cached;
+        }
+        final JTerm result = doApply(map, term);
+        map.applied.put(term, result);
+        return result;
+    }
+
+    private JTerm doApply(UpdateMap map, JTerm term) {
+        final var op = term.op();
+        if (op instanceof LocationVariable pv) {
+            final JTerm value = map.values.get(pv);
+            return value == null ? term : value;
+        } else if (op == UpdateApplication.UPDATE_APPLICATION) {
+            final UpdateMap inner = evaluate(UpdateApplication.getUpdate(term), map);
+            if (inner == null) {
+                return keep(map, term);
+            }
+            return apply(map.override(inner), UpdateApplication.getTarget(term));
+        } else if (!op.isRigid() || op instanceof Modality || !term.javaBlock().isEmpty()
+                || captures(term.boundVars(), map)) {
+            return keep(map, term);
+        }
+
+        boolean changed = false;
+        final JTerm[] subs = new JTerm[term.arity()];
+        for (int i = 0; i < subs.length; i++) {
+            subs[i] = apply(map, term.sub(i));
+            changed |= subs[i] != term.sub(i);
+        }
+        if (!changed) {
+            return term;
+        }
+        return services.getTermFactory().createTerm(op, subs, term.boundVars(),
+            term.getLabels());
+    }
+
+    private static boolean captures(ImmutableArray<QuantifiableVariable> boundVars,
+            UpdateMap map) {
+        for (QuantifiableVariable var : boundVars) {
+            if (map.freeVars().contains(var)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the map as an update to the term, omitting assignments to variables which do not
+     * occur in the term.
+     */
+    private JTerm keep(UpdateMap map, JTerm term) {
+        final TermProgramVariableCollector collector = services.getFactory().create(services);
+        term.execPostOrder(collector);
+        final Set<LocationVariable> relevant = collector.result();
+        final List<JTerm> elementaries = new ArrayList<>();
+        for (Map.Entry<LocationVariable, JTerm> e : map.values.entrySet()) {
+            if (relevant.contains(e.getKey())) {
+                elementaries.add(tb.elementary(e.getKey(), e.getValue()));
+            }
+        }
+        if (elementaries.isEmpty()) {
+            return term;
+        }
+        return tb.apply(tb.parallel(elementaries.toArray(new JTerm[0])), term);
+    }
+
+    /**
+     * The assignments of an update, indexed by the assigned variable.
+     */
+    private static final class UpdateMap {
+        static final UpdateMap EMPTY = new UpdateMap();
+
+        /** the values assigned to the variables, in the order of the first assignment */
+        final LinkedHashMap<LocationVariable, JTerm> values = new LinkedHashMap<>();
+        /** the results of applying this map to terms */
+        final Map<JTerm, JTerm> applied = new HashMap<>();
+        private @Nullable Set<QuantifiableVariable> freeVars;
+
+        boolean isEmpty() {
+            return values.isEmpty();
+        }
+
+        void put(LocationVariable lhs, JTerm value) {
+            values.put(lhs, value);
+        }
+
+        /**
+         * @return a map with the assignments of this map, overridden by those of the given one
+         */
+        UpdateMap override(UpdateMap other) {
+            if (other.isEmpty()) {
+                return this;
+            } else if (isEmpty()) {
+                return other;
+            }
+            final UpdateMap result = new UpdateMap();
+            result.values.putAll(values);
+            result.values.putAll(other.values);
+            return result;
+        }
+
+        /**
+         * @return the logic variables occurring free in the values
+         */
+        Set<QuantifiableVariable> freeVars() {
+            if (freeVars == null) {
+                freeVars = new HashSet<>();
+                for (JTerm value : values.values()) {
+                    for (QuantifiableVariable var : value.freeVars()) {
+                        freeVars.add(var);
+                    }
+                }
+            }
+            return freeVars;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule.metaconstruct.arith;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Decides the unsatisfiability of a conjunction of linear inequations over the integers by
+ * Fourier-Motzkin variable elimination.
+ * <p>
+ * Every inequation has the form <code>a1*x1 + ... + an*xn + c <= 0</code>. Inequations are
+ * tightened after each step: the coefficients are divided by their greatest common divisor and the
+ * constant is rounded up, which is sound for integer variables. The procedure is therefore sound,
+ * but not complete over the integers (it is complete over the rationals). Each inequation
+ * remembers the input inequations it has been derived from, so a refutation yields the subset of
+ * the input which is already contradictory.
+ * <p>
+ * As Fourier-Motzkin elimination may create exponentially many inequations, the procedure gives up
+ * once the number of inequations exceeds a given limit.
+ */
+public final class FourierMotzkin {
+
+    /** the maximal number of inequations kept after an elimination step */
+    private final int maxInequations;
+
+    /**
+     * @param maxInequations the maximal number of inequations kept after an elimination step;
+     *        if exceeded, {@link #refute(Collection)} gives up
+     */
+    public FourierMotzkin(int maxInequations) {
+        this.maxInequations = maxInequations;
+    }
+
+    /**
+     * Tries to derive a contradiction from the given inequations.
+     *
+     * @param inequations the inequations, which are understood as conjunction
+     * @return the origins of the input inequations which have been used to derive a contradiction,
+     *         or <code>null</code> if no contradiction could be derived
+     */
+    public @Nullable BitSet refute(Collection<Inequation> inequations) {
+        Map<SortedMap<Integer, BigInteger>, Inequation> current = new LinkedHashMap<>();
+        for (Inequation inequation : inequations) {
+            final Inequation tightened = inequation.tighten();
+            if (tightened.isContradiction()) {
+                return tightened.origins;
+            }
+            if (!tightened.isTrivial()) {
+                addTighter(current, tightened);
+            }
+        }
+
+        while (!current.isEmpty()) {
+            final int variable = chooseVariable(current.values());
+            final List<Inequation> lower = new ArrayList<>();
+            final List<Inequation> upper = new ArrayList<>();
+            final Map<SortedMap<Integer, BigInteger>, Inequation> next = new LinkedHashMap<>();
+            for (Inequation inequation : current.values()) {
+                final BigInteger c = inequation.coefficients.get(variable);
+                if (c == null) {
+                    next.put(inequation.coefficients, inequation);
+                } else if (c.signum() > 0) {
+                    upper.add(inequation);
+                } else {
+                    lower.add(inequation);
+                }
+            }
+            for (Inequation up : upper) {
+                for (Inequation low : lower) {
+                    final Inequation combined = combine(up, low, variable).tighten();
+                    if (combined.isContradiction()) {
+                        return combined.origins;
+                    }
+                    if (!combined.isTrivial()) {
+                        addTighter(next, combined);
+                        if (next.size() > maxInequations) {
+                            return null;
+                        }
+                    }
+                }
+            }
+            current = next;
+        }
+        return null;
+    }
+
+    /**
+     * Chooses the variable whose elimination creates the fewest new inequations.
+     */
+    private static int chooseVariable(Collection<Inequation> inequations) {
+        final Map<Integer, long[]> occurrences = new TreeMap<>();
+        for (Inequation inequation : inequations) {
+            for (Map.Entry<Integer, BigInteger> e : inequation.coefficients.entrySet()) {
+                final long[] count = occurrences.computeIfAbsent(e.getKey(), k -> new long[2]);
+                count[e.getValue().signum() > 0 ? 0 : 1]++;
+            }
+        }
+        int best = -1;
+        long bestCost = Long.MAX_VALUE;
+        for (Map.Entry<Integer, long[]> e : occurrences.entrySet()) {
+            final long[] count = e.getValue();
+            final long cost = count[0] * count[1] - count[0] - count[1];
+            if (cost < bestCost) {
+                best = e.getKey();
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Adds <code>m*up + n*low</code> with positive <code>m, n</code> chosen such that
+     * <code>variable</code> cancels out.
+     */
+    private static Inequation combine(Inequation up, Inequation low, int variable) {
+        final BigInteger upFactor = low.coefficients.get(variable).negate();
+        final BigInteger lowFactor = up.coefficients.get(variable);
+        final SortedMap<Integer, BigInteger> coefficients = new TreeMap<>();
+        for (Map.Entry<Integer, BigInteger> e : up.coefficients.entrySet()) {
+            coefficients.put(e.getKey(), e.getValue().multiply(upFactor));
+        }
+        for (Map.Entry<Integer, BigInteger> e : low.coefficients.entrySet()) {
+            final BigInteger c = e.getValue().multiply(lowFactor);
+            coefficients.merge(e.getKey(), c, BigInteger::add);
+        }
+        coefficients.values().removeIf(c -> c.signum() == 0);
+        final BitSet origins = (BitSet) up.origins.clone();
+        origins.or(low.origins);
+        return new Inequation(coefficients,
+            up.constant.multiply(upFactor).add(low.constant.multiply(lowFactor)), origins);
+    }
+
+    /**
+     * Adds the inequation unless there already is one with the same coefficients which is at least
+     * as tight (preferring the one derived from fewer inputs).
+     */
+    private static void addTighter(Map<SortedMap<Integer, BigInteger>, Inequation> inequations,
+            Inequation inequation) {
+        inequations.merge(inequation.coefficients, inequation, (old, neu) -> {
+            final int cmp = neu.constant.compareTo(old.constant);
+            if (cmp > 0
+                    || cmp == 0 && neu.origins.cardinality() < old.origins.cardinality()) {
+                return neu;
+            }
+            return old;
+        });
+    }
+
+    /**
+     * An inequation <code>a1*x1 + ... + an*xn + c <= 0</code> over integer variables, which are
+     * identified by their index.
+     */
+    public static final class Inequation {
+        /** the non-zero coefficients, indexed by variable */
+        private final SortedMap<Integer, BigInteger> coefficients;
+        private final BigInteger constant;
+        /** the input inequations this one has been derived from */
+        private final BitSet origins;
+
+        /**
+         * Creates an input inequation.
+         *
+         * @param coefficients the coefficients of the variables
+         * @param constant the constant part
+         * @param origin the number identifying the input this inequation stems from
+         */
+        public Inequation(Map<Integer, BigInteger> coefficients, BigInteger constant,
+                int origin) {
+            this(new TreeMap<>(coefficients), constant, new BitSet());
+            this.coefficients.values().removeIf(c -> c.signum() == 0);
+            this.origins.set(origin);
+        }
+
+        private Inequation(SortedMap<Integer, BigInteger> coefficients, BigInteger constant,
+                BitSet origins) {
+            this.coefficients = coefficients;
+            this.constant = constant;
+            this.origins = origins;
+        }
+
+        private boolean isContradiction() {
+            return coefficients.isEmpty() && constant.signum() > 0;
+        }
+
+        private boolean isTrivial() {
+            return coefficients.isEmpty() && constant.signum() <= 0;
+        }
+
+        /**
+         * Divides the coefficients by their gcd and rounds the constant up accordingly.
+         */
+        private Inequation tighten() {
+            BigInteger gcd = BigInteger.ZERO;
+            for (BigInteger c : coefficients.values()) {
+                gcd = gcd.gcd(c);
+            }
+            if (gcd.signum() == 0 || gcd.equals(BigInteger.ONE)) {
+                return this;
+            }
+            final SortedMap<Integer, BigInteger> divided = new TreeMap<>();
+            for (Map.Entry<Integer, BigInteger> e : coefficients.entrySet()) {
+                divided.put(e.getKey(), e.getValue().divide(gcd));
+            }
+            final BigInteger[] qr = constant.divideAndRemainder(gcd);
+            final BigInteger ceil = qr[1].signum() > 0 ? qr[0].add(BigInteger.ONE) : qr[0];
+            return new Inequation(divided, ceil, origins);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder();
+            for (Map.Entry<Integer, BigInteger> e : coefficients.entrySet()) {
+                sb.append(e.getValue()).append("*x").append(e.getKey()).append(" + ");
+            }
+            return sb.append(constant).append(" <= 0").toString();
+        }
+    }
+}
@@ -6,6 +6,7 @@ package de.uka.ilkd.key.rule.metaconstruct.arith;
 import java.math.BigInteger;
 import java.util.Iterator;
 
+import de.uka.ilkd.key.java.ServiceCaches;
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.ldt.IntegerLDT;
 import de.uka.ilkd.key.logic.JTerm;
@@ -16,7 +17,7 @@ import de.uka.ilkd.key.util.Debug;
 
 import org.key_project.logic.Term;
 import org.key_project.logic.op.Operator;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentClockCache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
@@ -36,20 +37,24 @@ public class Monomial {
     public static final Monomial ONE = new Monomial(ImmutableSLList.nil(), BigInteger.ONE);
 
     public static Monomial create(Term monoTerm, Services services) {
-        final LRUCache<Term, Monomial> monomialCache = services.getCaches().getMonomialCache();
-        monoTerm = TermLabelManager.removeIrrelevantLabels((JTerm) monoTerm,
-            services);
-        Monomial res;
-
-        synchronized (monomialCache) {
-            res = monomialCache.get(monoTerm);
+        final ServiceCaches caches = services.getCaches();
+        Monomial res = caches.getMonomialsByTerm().get(monoTerm);
+        if (res != null) {
+            return res;
         }
 
+        final ConcurrentClockCache<Term, Monomial> monomialCache = caches.getMonomialCache();
+        final Term withoutLabels = TermLabelManager.removeIrrelevantLabels((JTerm) monoTerm,
+            services);
+        res = monomialCache.get(withoutLabels);
+
         if (res == null) {
-            res = createHelp(monoTerm, services);
-            synchronized (monomialCache) {
-                monomialCache.put(monoTerm, res);
-            }
+            res = createHelp(withoutLabels, services);
+            monomialCache.put(withoutLabels, res);
+        }
+        // atoms are their own parts; keeping them would prevent the entry from being collected
+        if (!res.parts.contains(monoTerm)) {
+            caches.getMonomialsByTerm().put(monoTerm, res);
         }
         return res;
     }
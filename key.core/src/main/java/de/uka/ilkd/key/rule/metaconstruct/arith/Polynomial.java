@@ -6,6 +6,7 @@ package de.uka.ilkd.key.rule.metaconstruct.arith;
 import java.math.BigInteger;
 import java.util.Iterator;
 
+import de.uka.ilkd.key.java.ServiceCaches;
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.java.TypeConverter;
 import de.uka.ilkd.key.ldt.IntegerLDT;
@@ -15,7 +16,7 @@ import de.uka.ilkd.key.logic.op.AbstractTermTransformer;
 
 import org.key_project.logic.Term;
 import org.key_project.logic.op.Operator;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentClockCache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
@@ -49,20 +50,25 @@ public class Polynomial {
     }
 
     public static Polynomial create(Term polyTerm, Services services) {
-        final LRUCache<Term, Polynomial> cache = services.getCaches().getPolynomialCache();
-        polyTerm = TermLabelManager.removeIrrelevantLabels((JTerm) polyTerm,
+        final ServiceCaches caches = services.getCaches();
+        Polynomial res = caches.getPolynomialsByTerm().get(polyTerm);
+        if (res != null) {
+            return res;
+        }
+
+        final ConcurrentClockCache<Term, Polynomial> cache = caches.getPolynomialCache();
+        final Term withoutLabels = TermLabelManager.removeIrrelevantLabels((JTerm) polyTerm,
             services);
 
-        Polynomial res;
-        synchronized (cache) {
-            res = cache.get(polyTerm);
-        }
+        res = cache.get(withoutLabels);
 
         if (res == null) {
-            res = createHelp(polyTerm, services);
-            synchronized (cache) {
-                cache.put(polyTerm, res);
-            }
+            res = createHelp(withoutLabels, services);
+            cache.put(withoutLabels, res);
+        }
+        // atoms are their own parts; keeping them would prevent the entry from being collected
+        if (!res.containsPart(polyTerm)) {
+            caches.getPolynomialsByTerm().put(polyTerm, res);
         }
         return res;
     }
@@ -349,4 +355,17 @@ public class Polynomial {
     public ImmutableList<Monomial> getParts() {
         return parts;
     }
+
+    /**
+     * @return <code>true</code> if <code>t</code> is a part of one of the monomials of this
+     *         polynomial
+     */
+    private boolean containsPart(Term t) {
+        for (Monomial part : parts) {
+            if (part.getParts().contains(t)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -20,6 +20,29 @@ public class GeneralSettings extends AbstractSettings {
      */
     public static boolean noPruningClosed = true;
 
+    /**
+     * If this option is set, the interior nodes of closed subtrees drop their sequents and the
+     * information only needed for user feedback. The sequents are rebuilt on demand from the
+     * nearest ancestor which kept its sequent. This reduces the memory consumption of large proofs
+     * at the cost of slower access to the sequents of closed nodes. Disabled by default.
+     */
+    public static boolean compactClosedSubtrees = false;
+
+    /**
+     * If this option is set, every new proof records a {@link de.uka.ilkd.key.proof.RuleProfile}
+     * of the time spent on matching, evaluating and applying each rule. Disabled by default.
+     */
+    public static boolean profileRules = false;
+
+    /**
+     * If this option is set, the compilation units parsed from Java source files are kept in the
+     * {@link de.uka.ilkd.key.java.JavaSourceCache} and reused when a problem is loaded again, so
+     * that only the edited source files are parsed on a reload. Every parsed compilation unit is
+     * copied once, and the cached units are retained after the problems are disposed until the
+     * cache is cleared. Disabled by default.
+     */
+    public static boolean reuseParsedSources = false;
+
     /**
      * If this option is set, the (Disk)FileRepo does not delete its temporary directories (can be
      * used for debugging).
@@ -48,6 +71,14 @@ public class GeneralSettings extends AbstractSettings {
      */
     private static final String ENSURE_SOURCE_CONSISTENCY = "EnsureSourceConsistency";
 
+    /**
+     * The key for storing the scaling factor of the service cache limits in settings
+     */
+    public static final String CACHE_SIZE_PERCENT = "CacheSizePercent";
+
+    /** Default value for {@link #getCacheSizePercent()} */
+    public static final int CACHE_SIZE_PERCENT_DEFAULT = 100;
+
     /** Default value for {@link #getJmlEnabledKeys()} */
     public static final Set<String> JML_ENABLED_KEYS_DEFAULT = Set.of("key");
 
@@ -84,6 +115,13 @@ public class GeneralSettings extends AbstractSettings {
      */
     private boolean ensureSourceConsistency = true;
 
+    /**
+     * The limits of the caches of {@link de.uka.ilkd.key.java.ServiceCaches} are scaled by this
+     * factor (in percent). The limits are measured in entry weights, which approximate the memory
+     * consumed by an entry.
+     */
+    private int cacheSizePercent = CACHE_SIZE_PERCENT_DEFAULT;
+
     GeneralSettings() {
         // addSettingsListener(AutoSaver.settingsListener);
     }
@@ -122,6 +160,13 @@ public class GeneralSettings extends AbstractSettings {
         return ensureSourceConsistency;
     }
 
+    /**
+     * @return the factor (in percent) by which the limits of the service caches are scaled
+     */
+    public int getCacheSizePercent() {
+        return cacheSizePercent;
+    }
+
     // setter
     public void setTacletFilter(boolean b) {
         var old = tacletFilter;
@@ -165,6 +210,18 @@ public class GeneralSettings extends AbstractSettings {
         firePropertyChange(ENSURE_SOURCE_CONSISTENCY, old, ensureSourceConsistency);
     }
 
+    /**
+     * Sets the factor (in percent) by which the limits of the service caches are scaled. The new
+     * value affects only caches created afterwards, i.e., caches of proofs loaded later.
+     *
+     * @param percent the new factor, negative values are treated as 0
+     */
+    public void setCacheSizePercent(int percent) {
+        var old = cacheSizePercent;
+        cacheSizePercent = Math.max(0, percent);
+        firePropertyChange(CACHE_SIZE_PERCENT, old, cacheSizePercent);
+    }
+
     /**
      * gets a Properties object and has to perform the necessary steps in order to change this
      * object in a way that it represents the stored settings
@@ -208,6 +265,15 @@ public class GeneralSettings extends AbstractSettings {
             setEnsureSourceConsistency(Boolean.parseBoolean(val));
         }
 
+        val = props.getProperty(prefix + CACHE_SIZE_PERCENT);
+        if (val != null) {
+            try {
+                setCacheSizePercent(Integer.parseInt(val));
+            } catch (NumberFormatException e) {
+                setCacheSizePercent(CACHE_SIZE_PERCENT_DEFAULT);
+            }
+        }
+
         {
             String sysProp = System.getProperty(KEY_JML_ENABLED_KEYS);
             if (sysProp != null) {
@@ -241,6 +307,7 @@ public class GeneralSettings extends AbstractSettings {
         props.setProperty(prefix + AUTO_SAVE, String.valueOf(autoSave));
         props.setProperty(prefix + ENSURE_SOURCE_CONSISTENCY,
             String.valueOf(ensureSourceConsistency));
+        props.setProperty(prefix + CACHE_SIZE_PERCENT, String.valueOf(cacheSizePercent));
         props.setProperty(KEY_JML_ENABLED_KEYS, String.join(",", jmlEnabledKeys));
     }
 
@@ -259,6 +326,7 @@ public class GeneralSettings extends AbstractSettings {
             setAutoSave(0);
         }
         setEnsureSourceConsistency(props.getBool(ENSURE_SOURCE_CONSISTENCY));
+        setCacheSizePercent(props.getInt(CACHE_SIZE_PERCENT, CACHE_SIZE_PERCENT_DEFAULT));
 
         var sysProp = System.getProperty(KEY_JML_ENABLED_KEYS);
         if (sysProp != null) {
@@ -277,6 +345,7 @@ public class GeneralSettings extends AbstractSettings {
         props.set(USE_JML_KEY, useJML);
         props.set(AUTO_SAVE, autoSave);
         props.set(ENSURE_SOURCE_CONSISTENCY, ensureSourceConsistency);
+        props.set(CACHE_SIZE_PERCENT, cacheSizePercent);
         props.set(KEY_JML_ENABLED_KEYS, jmlEnabledKeys.stream().toList());
     }
 }
@@ -12,6 +12,7 @@ import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.mgt.SpecificationRepository;
+import de.uka.ilkd.key.prover.impl.SMTCallEvent;
 import de.uka.ilkd.key.smt.communication.AbstractSolverSocket;
 import de.uka.ilkd.key.smt.communication.ExternalProcessLauncher;
 import de.uka.ilkd.key.smt.communication.SolverCommunication;
@@ -247,7 +248,22 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
 
     @Override
     public void run() {
+        final SMTCallEvent event = new SMTCallEvent();
+        event.begin();
+        try {
+            runSolver();
+        } finally {
+            if (event.shouldCommit()) {
+                final SMTSolverResult result = solverCommunication.getFinalResult();
+                event.solver = name();
+                event.result = result == null ? null : result.isValid().name();
+                event.interruption = reasonOfInterruption.name();
+                event.commit();
+            }
+        }
+    }
 
+    private void runSolver() {
         // Firstly: Set the state to running and inform the listener.
         setSolverState(SolverState.Running);
         listener.processStarted(this, problem);
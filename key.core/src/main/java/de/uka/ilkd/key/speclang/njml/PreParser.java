@@ -6,13 +6,16 @@ package de.uka.ilkd.key.speclang.njml;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import de.uka.ilkd.key.java.Position;
 import de.uka.ilkd.key.parser.Location;
 import de.uka.ilkd.key.settings.ProofIndependentSettings;
 import de.uka.ilkd.key.speclang.PositionedString;
 import de.uka.ilkd.key.speclang.jml.pretranslation.TextualJMLConstruct;
+import de.uka.ilkd.key.util.CacheMetrics;
 
+import org.key_project.util.ConcurrentClockCache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
@@ -21,6 +24,28 @@ import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
 public class PreParser {
+    /** the maximal total length of the comments of the cached parse trees in characters */
+    private static final long MAX_COMMENT_LENGTH = 4L * 1024 * 1024;
+
+    /** the estimated memory retained by a parse tree (incl. its tokens) per character */
+    private static final int BYTES_PER_CHARACTER = 64;
+
+    /**
+     * The parse trees of the JML comments parsed before, keyed by their text and location and by
+     * the enabled JML keys, which decide which comments are lexed as JML (see
+     * {@link JmlMarkerDecision}). The same comments are parsed by the
+     * {@link de.uka.ilkd.key.java.recoderext.JMLTransformer} and again by the
+     * {@link de.uka.ilkd.key.speclang.jml.JMLSpecExtractor}, and by every reload of the problem.
+     * The parse trees are not modified afterwards; the textual constructs are created anew from
+     * them on each request, as they are modified by their users.
+     */
+    private static final ConcurrentClockCache<ParseKey, ParserRuleContext> PARSE_TREES =
+        new ConcurrentClockCache<>(MAX_COMMENT_LENGTH, (key, ctx) -> key.text().length() + 1);
+
+    static {
+        CacheMetrics.getInstance().register("jmlParseTrees", PARSE_TREES, BYTES_PER_CHARACTER);
+    }
+
     /** warnings */
     private ImmutableList<PositionedString> warnings = ImmutableSLList.nil();
 
@@ -40,6 +65,37 @@ public class PreParser {
         JmlParser p = JmlFacade.createParser(lexer);
         JmlParser.Classlevel_commentsContext ctx = p.classlevel_comments();
         p.getErrorReporter().throwException();
+        return translate(ctx);
+    }
+
+    /**
+     * Parses a JML comment, or takes its parse tree from the cache if the same text has been parsed
+     * at the same location with the same enabled JML keys before. Comments with syntax errors are
+     * not cached.
+     */
+    private static ParserRuleContext parse(PositionedString positionedString, boolean classLevel) {
+        final Set<String> enabledKeys = Set.copyOf(
+            ProofIndependentSettings.DEFAULT_INSTANCE.getGeneralSettings().getJmlEnabledKeys());
+        final ParseKey key = new ParseKey(positionedString.text, positionedString.getLocation(),
+            classLevel, enabledKeys);
+        ParserRuleContext ctx = PARSE_TREES.get(key);
+        if (ctx == null) {
+            JmlParser p = JmlFacade.createParser(JmlFacade.createLexer(positionedString));
+            ctx = classLevel ? p.classlevel_comments() : p.methodlevel_comment();
+            p.getErrorReporter().throwException();
+            PARSE_TREES.putIfAbsent(key, ctx);
+        }
+        return ctx;
+    }
+
+    /**
+     * Removes all parse trees from the cache.
+     */
+    public static void clearCache() {
+        PARSE_TREES.clear();
+    }
+
+    private ImmutableList<TextualJMLConstruct> translate(ParserRuleContext ctx) {
         jmlCheck(ctx);
         TextualTranslator translator = new TextualTranslator(
             ProofIndependentSettings.DEFAULT_INSTANCE.getTermLabelSettings().getUseOriginLabels());
@@ -70,7 +126,7 @@ public class PreParser {
      * parse tree.
      */
     public ImmutableList<TextualJMLConstruct> parseMethodLevel(PositionedString positionedString) {
-        return parseMethodLevel(JmlFacade.createLexer(positionedString));
+        return translate(parse(positionedString, false));
     }
 
     /**
@@ -82,11 +138,7 @@ public class PreParser {
         JmlParser p = JmlFacade.createParser(lexer);
         JmlParser.Methodlevel_commentContext ctx = p.methodlevel_comment();
         p.getErrorReporter().throwException();
-        jmlCheck(ctx);
-        TextualTranslator translator = new TextualTranslator(
-            ProofIndependentSettings.DEFAULT_INSTANCE.getTermLabelSettings().getUseOriginLabels());
-        ctx.accept(translator);
-        return translator.constructs;
+        return translate(ctx);
     }
 
     /**
@@ -102,8 +154,7 @@ public class PreParser {
      * Parse and interpret class level comments.
      */
     private ImmutableList<TextualJMLConstruct> parseClassLevel(PositionedString positionedString) {
-        JmlLexer lexer = JmlFacade.createLexer(positionedString);
-        return parseClassLevel(lexer);
+        return translate(parse(positionedString, true));
     }
 
     /**
@@ -125,4 +176,8 @@ public class PreParser {
     public void clearWarnings() {
         warnings = ImmutableSLList.nil();
     }
+
+    private record ParseKey(String text, Location location, boolean classLevel,
+            Set<String> enabledKeys) {
+    }
 }
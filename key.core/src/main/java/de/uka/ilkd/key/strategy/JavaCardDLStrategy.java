@@ -19,6 +19,12 @@ import de.uka.ilkd.key.logic.op.Quantifier;
 import de.uka.ilkd.key.logic.op.SortDependingFunction;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.RuleProfile;
+import de.uka.ilkd.key.prover.impl.StrategyCostEvent;
+import de.uka.ilkd.key.rule.CongruenceClosureRule;
+import de.uka.ilkd.key.rule.HeapSimplificationRule;
+import de.uka.ilkd.key.rule.LinearArithmeticRule;
+import de.uka.ilkd.key.rule.UpdateNormalizationRule;
 import de.uka.ilkd.key.rule.UseDependencyContractRule;
 import de.uka.ilkd.key.strategy.feature.*;
 import de.uka.ilkd.key.strategy.feature.findprefix.FindPrefixRestrictionFeature;
@@ -46,6 +52,7 @@ import org.key_project.prover.proof.rulefilter.SetRuleFilter;
 import org.key_project.prover.rules.RuleApp;
 import org.key_project.prover.sequent.PosInOccurrence;
 import org.key_project.prover.strategy.costbased.MutableState;
+import org.key_project.prover.strategy.costbased.NumberRuleAppCost;
 import org.key_project.prover.strategy.costbased.RuleAppCost;
 import org.key_project.prover.strategy.costbased.TopRuleAppCost;
 import org.key_project.prover.strategy.costbased.feature.*;
@@ -211,13 +218,52 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
             mergeRuleF = mergeRuleFeature(inftyConst());
         }
 
+        final Feature linearArithmeticF;
+        final String arithDecisionProperty =
+            strategyProperties.getProperty(StrategyProperties.ARITH_DECISION_OPTIONS_KEY);
+        if (arithDecisionProperty.equals(StrategyProperties.ARITH_DECISION_ON)) {
+            linearArithmeticF = linearArithmeticFeature(longConst(-3000));
+        } else {
+            linearArithmeticF = linearArithmeticFeature(inftyConst());
+        }
+
+        final Feature congruenceClosureF;
+        final String congruenceClosureProperty =
+            strategyProperties.getProperty(StrategyProperties.CONGRUENCE_CLOSURE_OPTIONS_KEY);
+        if (congruenceClosureProperty.equals(StrategyProperties.CONGRUENCE_CLOSURE_ON)) {
+            congruenceClosureF = congruenceClosureFeature(longConst(-5500));
+        } else {
+            congruenceClosureF = congruenceClosureFeature(inftyConst());
+        }
+
+        final Feature updateNormalizationF;
+        final String updateNormalizationProperty =
+            strategyProperties.getProperty(StrategyProperties.UPDATE_NORMALIZATION_OPTIONS_KEY);
+        if (updateNormalizationProperty.equals(StrategyProperties.UPDATE_NORMALIZATION_ON)) {
+            // before the one step simplifier, which would otherwise simplify updates stepwise
+            updateNormalizationF = updateNormalizationFeature(longConst(-11500));
+        } else {
+            updateNormalizationF = updateNormalizationFeature(inftyConst());
+        }
+
+        final Feature heapSimplificationF;
+        final String heapSimplificationProperty =
+            strategyProperties.getProperty(StrategyProperties.HEAP_SIMPLIFICATION_OPTIONS_KEY);
+        if (heapSimplificationProperty.equals(StrategyProperties.HEAP_SIMPLIFICATION_ON)) {
+            // before pullOutSelect and the select taclets resolving one store at a time
+            heapSimplificationF = heapSimplificationFeature(longConst(-6000));
+        } else {
+            heapSimplificationF = heapSimplificationFeature(inftyConst());
+        }
+
         // final Feature smtF = smtFeature(inftyConst());
 
         return SumFeature.createSum(AutomatedRuleFeature.getInstance(),
             NonDuplicateAppFeature.INSTANCE,
             // splitF,
             // strengthenConstraints,
-            AgeFeature.INSTANCE, oneStepSimplificationF, mergeRuleF,
+            AgeFeature.INSTANCE, oneStepSimplificationF, mergeRuleF, linearArithmeticF,
+            congruenceClosureF, updateNormalizationF, heapSimplificationF,
             // smtF,
             methodSpecF, queryF, depSpecF, loopInvF, blockFeature, loopBlockFeature,
             loopBlockApplyHeadFeature, ifMatchedF, dispatcher);
@@ -229,6 +275,30 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
         return ConditionalFeature.createConditional(filter, cost);
     }
 
+    private Feature linearArithmeticFeature(Feature cost) {
+        SetRuleFilter filter = new SetRuleFilter();
+        filter.addRuleToSet(LinearArithmeticRule.INSTANCE);
+        return ConditionalFeature.createConditional(filter, cost);
+    }
+
+    private Feature congruenceClosureFeature(Feature cost) {
+        SetRuleFilter filter = new SetRuleFilter();
+        filter.addRuleToSet(CongruenceClosureRule.INSTANCE);
+        return ConditionalFeature.createConditional(filter, cost);
+    }
+
+    private Feature heapSimplificationFeature(Feature cost) {
+        SetRuleFilter filter = new SetRuleFilter();
+        filter.addRuleToSet(HeapSimplificationRule.INSTANCE);
+        return ConditionalFeature.createConditional(filter, cost);
+    }
+
+    private Feature updateNormalizationFeature(Feature cost) {
+        SetRuleFilter filter = new SetRuleFilter();
+        filter.addRuleToSet(UpdateNormalizationRule.INSTANCE);
+        return ConditionalFeature.createConditional(filter, cost);
+    }
+
     // //////////////////////////////////////////////////////////////////////////
     // //////////////////////////////////////////////////////////////////////////
     //
@@ -2089,11 +2159,23 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
             PosInOccurrence pio,
             Goal goal,
             MutableState mState) {
+        final StrategyCostEvent event = new StrategyCostEvent();
+        event.begin();
         var time = System.nanoTime();
+        RuleAppCost cost = null;
         try {
-            return costComputationF.computeCost(app, pio, goal, mState);
+            cost = costComputationF.computeCost(app, pio, goal, mState);
+            return cost;
         } finally {
-            PERF_COMPUTE.addAndGet(System.nanoTime() - time);
+            final long duration = System.nanoTime() - time;
+            PERF_COMPUTE.addAndGet(duration);
+            recordFeatureTime(app, goal, duration);
+            if (event.shouldCommit()) {
+                event.rule = app.rule().name().toString();
+                event.cost = cost instanceof NumberRuleAppCost number ? number.getValue()
+                        : Long.MAX_VALUE;
+                event.commit();
+            }
         }
     }
 
@@ -2114,7 +2196,9 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
             return !(approvalF.computeCost(app, pio, goal,
                 new MutableState()) == TopRuleAppCost.INSTANCE);
         } finally {
-            PERF_APPROVE.addAndGet(System.nanoTime() - time);
+            final long duration = System.nanoTime() - time;
+            PERF_APPROVE.addAndGet(duration);
+            recordFeatureTime(app, goal, duration);
         }
     }
 
@@ -2126,7 +2210,20 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
         try {
             return instantiationF.computeCost(app, pio, goal, mState);
         } finally {
-            PERF_INSTANTIATE.addAndGet(System.nanoTime() - time);
+            final long duration = System.nanoTime() - time;
+            PERF_INSTANTIATE.addAndGet(duration);
+            recordFeatureTime(app, goal, duration);
+        }
+    }
+
+    /**
+     * Records the time spent on evaluating features for a rule application in the rule profile of
+     * the proof, if any.
+     */
+    private static void recordFeatureTime(RuleApp app, ProofGoal<?> goal, long nanos) {
+        final RuleProfile profile = ((Goal) goal).proof().getRuleProfile();
+        if (profile != null) {
+            profile.evaluated(app.rule(), nanos);
         }
     }
 
@@ -209,6 +209,34 @@ public class JavaCardDLStrategyFactory implements StrategyFactory {
         + "Such counterexamples turn up as trivially unprovable goals.<br>"
         + "It is also able to prove many more valid goals involving<br>"
         + "(in)equations, but will in general not terminate on such goals." + "</html>";
+    public static final String TOOL_TIP_ARITH_DECISION_ON = "<html>"
+        + "Closes goals whose linear (in)equations over integers<br>"
+        + "are contradictory in a single step, using a decision<br>"
+        + "procedure instead of rewriting with arithmetic rules." + "</html>";
+    public static final String TOOL_TIP_ARITH_DECISION_OFF = "<html>"
+        + "Contradictory linear (in)equations are only detected<br>"
+        + "by the arithmetic rules selected above." + "</html>";
+    public static final String TOOL_TIP_CONGRUENCE_CLOSURE_ON = "<html>"
+        + "Closes goals which follow from the equations of the<br>"
+        + "sequent by congruence (e.g., <tt>a = b ==> f(a) = f(b)</tt>)<br>"
+        + "in a single step, instead of rewriting with equations." + "</html>";
+    public static final String TOOL_TIP_CONGRUENCE_CLOSURE_OFF = "<html>"
+        + "Equations are only used by rewriting with the<br>"
+        + "equality rules." + "</html>";
+    public static final String TOOL_TIP_UPDATE_NORMALIZATION_ON = "<html>"
+        + "Simplifies and applies updates in a single step per<br>"
+        + "update application, which pays off for long<br>"
+        + "sequences of assignments." + "</html>";
+    public static final String TOOL_TIP_UPDATE_NORMALIZATION_OFF = "<html>"
+        + "Updates are simplified and applied by one rule<br>"
+        + "application per step." + "</html>";
+    public static final String TOOL_TIP_HEAP_SIMPLIFICATION_ON = "<html>"
+        + "Resolves reads from heaps built by long chains<br>"
+        + "of stores in a single step, using the<br>"
+        + "disequalities stated by the sequent." + "</html>";
+    public static final String TOOL_TIP_HEAP_SIMPLIFICATION_OFF = "<html>"
+        + "Reads from heaps are resolved by one rule<br>"
+        + "application per store." + "</html>";
     public static final String TOOL_TIP_QUANTIFIER_NONE =
         "<html>" + "Do not instantiate quantified formulas automatically" + "</html>";
     public static final String TOOL_TIP_QUANTIFIER_NO_SPLITS = "<html>"
@@ -393,6 +421,42 @@ public class JavaCardDLStrategyFactory implements StrategyFactory {
                 "Model Search", TOOL_TIP_ARITHMETIC_MODEL_SEARCH));
     }
 
+    private static OneOfStrategyPropertyDefinition getArithmeticDecisionProcedure() {
+        return new OneOfStrategyPropertyDefinition(StrategyProperties.ARITH_DECISION_OPTIONS_KEY,
+            "Linear arithmetic decision",
+            new StrategyPropertyValueDefinition(StrategyProperties.ARITH_DECISION_ON, "On",
+                TOOL_TIP_ARITH_DECISION_ON),
+            new StrategyPropertyValueDefinition(StrategyProperties.ARITH_DECISION_OFF, "Off",
+                TOOL_TIP_ARITH_DECISION_OFF));
+    }
+
+    private static OneOfStrategyPropertyDefinition getCongruenceClosure() {
+        return new OneOfStrategyPropertyDefinition(
+            StrategyProperties.CONGRUENCE_CLOSURE_OPTIONS_KEY, "Congruence closure",
+            new StrategyPropertyValueDefinition(StrategyProperties.CONGRUENCE_CLOSURE_ON, "On",
+                TOOL_TIP_CONGRUENCE_CLOSURE_ON),
+            new StrategyPropertyValueDefinition(StrategyProperties.CONGRUENCE_CLOSURE_OFF, "Off",
+                TOOL_TIP_CONGRUENCE_CLOSURE_OFF));
+    }
+
+    private static OneOfStrategyPropertyDefinition getUpdateNormalization() {
+        return new OneOfStrategyPropertyDefinition(
+            StrategyProperties.UPDATE_NORMALIZATION_OPTIONS_KEY, "Update normalization",
+            new StrategyPropertyValueDefinition(StrategyProperties.UPDATE_NORMALIZATION_ON, "On",
+                TOOL_TIP_UPDATE_NORMALIZATION_ON),
+            new StrategyPropertyValueDefinition(StrategyProperties.UPDATE_NORMALIZATION_OFF,
+                "Off", TOOL_TIP_UPDATE_NORMALIZATION_OFF));
+    }
+
+    private static OneOfStrategyPropertyDefinition getHeapSimplification() {
+        return new OneOfStrategyPropertyDefinition(
+            StrategyProperties.HEAP_SIMPLIFICATION_OPTIONS_KEY, "Heap simplification",
+            new StrategyPropertyValueDefinition(StrategyProperties.HEAP_SIMPLIFICATION_ON, "On",
+                TOOL_TIP_HEAP_SIMPLIFICATION_ON),
+            new StrategyPropertyValueDefinition(StrategyProperties.HEAP_SIMPLIFICATION_OFF,
+                "Off", TOOL_TIP_HEAP_SIMPLIFICATION_OFF));
+    }
+
     private static OneOfStrategyPropertyDefinition getQuantifierTreatment() {
         return new OneOfStrategyPropertyDefinition(StrategyProperties.QUANTIFIERS_OPTIONS_KEY,
             "Quantifier treatment", 2,
@@ -468,6 +532,7 @@ public class JavaCardDLStrategyFactory implements StrategyFactory {
         // Properties
         final OneOfStrategyPropertyDefinition stopAt = getStopAt();
         final OneOfStrategyPropertyDefinition ossUsage = getOssUsage();
+        final OneOfStrategyPropertyDefinition updateNormalization = getUpdateNormalization();
         final OneOfStrategyPropertyDefinition proofSplitting = getProofSplitting();
         final OneOfStrategyPropertyDefinition loopTreatment = getLoopTreatment();
         final OneOfStrategyPropertyDefinition blockTreatment = getBlockTreatment();
@@ -476,15 +541,20 @@ public class JavaCardDLStrategyFactory implements StrategyFactory {
             getMergePointStatementTreatment();
         final OneOfStrategyPropertyDefinition dependencyContracts = getDependencyContracts();
         final OneOfStrategyPropertyDefinition queryTreatment = getQueryTreatment();
+        final OneOfStrategyPropertyDefinition heapSimplification = getHeapSimplification();
         final OneOfStrategyPropertyDefinition arithmeticTreatment = getArithmeticTreatment();
+        final OneOfStrategyPropertyDefinition arithmeticDecision =
+            getArithmeticDecisionProcedure();
+        final OneOfStrategyPropertyDefinition congruenceClosure = getCongruenceClosure();
         final OneOfStrategyPropertyDefinition quantifierTreatment = getQuantifierTreatment();
         final OneOfStrategyPropertyDefinition classAxiom = getClassAxiom();
         final OneOfStrategyPropertyDefinition autoInduction = getAutoInduction();
         final OneOfStrategyPropertyDefinition userOptions = getUserOptions();
         // Model
-        return new StrategySettingsDefinition("Java DL Options", stopAt, ossUsage, proofSplitting,
-            loopTreatment, blockTreatment, methodTreatment, mergePointStatementTreatment,
-            dependencyContracts, queryTreatment, arithmeticTreatment, quantifierTreatment,
+        return new StrategySettingsDefinition("Java DL Options", stopAt, ossUsage,
+            updateNormalization, proofSplitting, loopTreatment, blockTreatment, methodTreatment,
+            mergePointStatementTreatment, dependencyContracts, queryTreatment, heapSimplification,
+            arithmeticTreatment, arithmeticDecision, congruenceClosure, quantifierTreatment,
             classAxiom, autoInduction, userOptions);
     }
 }
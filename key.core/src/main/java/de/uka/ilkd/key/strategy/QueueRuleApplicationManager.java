@@ -65,6 +65,11 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
      */
     private @Nullable RuleApp nextRuleApp = null;
 
+    /**
+     * The cost of {@link #nextRuleApp}.
+     */
+    private @Nullable RuleAppCost nextRuleAppCost = null;
+
     private long nextRuleTime;
 
     @Override
@@ -263,8 +268,17 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
         return res;
     }
 
+    /**
+     * @return the cost of the rule app returned by {@link #peekNext()}, or <code>null</code> if
+     *         there is no applicable rule app
+     */
+    public @Nullable RuleAppCost peekNextCost() {
+        return peekNext() == null ? null : nextRuleAppCost;
+    }
+
     private void clearNextRuleApp() {
         nextRuleApp = null;
+        nextRuleAppCost = null;
     }
 
     /**
@@ -368,6 +382,7 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
                  * be created from it at the beginning of next round.
                  */
                 previousMinimum = minRuleAppContainer;
+                nextRuleAppCost = minRuleAppContainer.getCost();
             }
         }
         /*
@@ -72,6 +72,23 @@ public final class StrategyProperties extends Properties {
     public static final String NON_LIN_ARITH_DEF_OPS = "NON_LIN_ARITH_DEF_OPS";
     public static final String NON_LIN_ARITH_COMPLETION = "NON_LIN_ARITH_COMPLETION";
 
+    public static final String ARITH_DECISION_OPTIONS_KEY = "ARITH_DECISION_OPTIONS_KEY";
+    public static final String ARITH_DECISION_ON = "ARITH_DECISION_ON";
+    public static final String ARITH_DECISION_OFF = "ARITH_DECISION_OFF";
+
+    public static final String CONGRUENCE_CLOSURE_OPTIONS_KEY = "CONGRUENCE_CLOSURE_OPTIONS_KEY";
+    public static final String CONGRUENCE_CLOSURE_ON = "CONGRUENCE_CLOSURE_ON";
+    public static final String CONGRUENCE_CLOSURE_OFF = "CONGRUENCE_CLOSURE_OFF";
+
+    public static final String UPDATE_NORMALIZATION_OPTIONS_KEY =
+        "UPDATE_NORMALIZATION_OPTIONS_KEY";
+    public static final String UPDATE_NORMALIZATION_ON = "UPDATE_NORMALIZATION_ON";
+    public static final String UPDATE_NORMALIZATION_OFF = "UPDATE_NORMALIZATION_OFF";
+
+    public static final String HEAP_SIMPLIFICATION_OPTIONS_KEY = "HEAP_SIMPLIFICATION_OPTIONS_KEY";
+    public static final String HEAP_SIMPLIFICATION_ON = "HEAP_SIMPLIFICATION_ON";
+    public static final String HEAP_SIMPLIFICATION_OFF = "HEAP_SIMPLIFICATION_OFF";
+
     public static final String OSS_OPTIONS_KEY = "OSS_OPTIONS_KEY";
     public static final String OSS_ON = "OSS_ON";
     public static final String OSS_OFF = "OSS_OFF";
@@ -172,7 +189,11 @@ public final class StrategyProperties extends Properties {
         MPS_SKIP, MPS_NONE, DEP_OPTIONS_KEY, DEP_ON, DEP_OFF, QUERY_OPTIONS_KEY, QUERY_ON,
         QUERY_RESTRICTED, QUERY_OFF, QUERYAXIOM_OPTIONS_KEY, QUERYAXIOM_ON, QUERYAXIOM_OFF,
         NON_LIN_ARITH_OPTIONS_KEY, NON_LIN_ARITH_NONE, NON_LIN_ARITH_DEF_OPS,
-        NON_LIN_ARITH_COMPLETION, OSS_OPTIONS_KEY, OSS_ON, OSS_OFF, QUANTIFIERS_OPTIONS_KEY,
+        NON_LIN_ARITH_COMPLETION, ARITH_DECISION_OPTIONS_KEY, ARITH_DECISION_ON,
+        ARITH_DECISION_OFF, CONGRUENCE_CLOSURE_OPTIONS_KEY, CONGRUENCE_CLOSURE_ON,
+        CONGRUENCE_CLOSURE_OFF, UPDATE_NORMALIZATION_OPTIONS_KEY, UPDATE_NORMALIZATION_ON,
+        UPDATE_NORMALIZATION_OFF, HEAP_SIMPLIFICATION_OPTIONS_KEY, HEAP_SIMPLIFICATION_ON,
+        HEAP_SIMPLIFICATION_OFF, OSS_OPTIONS_KEY, OSS_ON, OSS_OFF, QUANTIFIERS_OPTIONS_KEY,
         QUANTIFIERS_NONE, QUANTIFIERS_NON_SPLITTING, QUANTIFIERS_NON_SPLITTING_WITH_PROGS,
         QUANTIFIERS_INSTANTIATE, VBT_PHASE, VBT_SYM_EX, VBT_QUAN_INST, VBT_MODEL_GEN,
         CLASS_AXIOM_OFF, CLASS_AXIOM_DELAYED, CLASS_AXIOM_FREE, AUTO_INDUCTION_OPTIONS_KEY,
@@ -199,6 +220,10 @@ public final class StrategyProperties extends Properties {
         DEFAULT_MAP.setProperty(QUERY_OPTIONS_KEY, QUERY_OFF);
         DEFAULT_MAP.setProperty(QUERYAXIOM_OPTIONS_KEY, QUERYAXIOM_ON);
         DEFAULT_MAP.setProperty(NON_LIN_ARITH_OPTIONS_KEY, NON_LIN_ARITH_NONE);
+        DEFAULT_MAP.setProperty(ARITH_DECISION_OPTIONS_KEY, ARITH_DECISION_OFF);
+        DEFAULT_MAP.setProperty(CONGRUENCE_CLOSURE_OPTIONS_KEY, CONGRUENCE_CLOSURE_OFF);
+        DEFAULT_MAP.setProperty(UPDATE_NORMALIZATION_OPTIONS_KEY, UPDATE_NORMALIZATION_OFF);
+        DEFAULT_MAP.setProperty(HEAP_SIMPLIFICATION_OPTIONS_KEY, HEAP_SIMPLIFICATION_OFF);
         DEFAULT_MAP.setProperty(QUANTIFIERS_OPTIONS_KEY, QUANTIFIERS_NON_SPLITTING_WITH_PROGS);
         for (int i = 1; i <= USER_TACLETS_NUM; ++i) {
             DEFAULT_MAP.setProperty(userTacletsOptionsKey(i), USER_TACLETS_OFF);
@@ -224,6 +249,10 @@ public final class StrategyProperties extends Properties {
         put(QUERY_OPTIONS_KEY, DEFAULT_MAP.get(QUERY_OPTIONS_KEY));
         put(QUERYAXIOM_OPTIONS_KEY, DEFAULT_MAP.get(QUERYAXIOM_OPTIONS_KEY));
         put(NON_LIN_ARITH_OPTIONS_KEY, DEFAULT_MAP.get(NON_LIN_ARITH_OPTIONS_KEY));
+        put(ARITH_DECISION_OPTIONS_KEY, DEFAULT_MAP.get(ARITH_DECISION_OPTIONS_KEY));
+        put(CONGRUENCE_CLOSURE_OPTIONS_KEY, DEFAULT_MAP.get(CONGRUENCE_CLOSURE_OPTIONS_KEY));
+        put(UPDATE_NORMALIZATION_OPTIONS_KEY, DEFAULT_MAP.get(UPDATE_NORMALIZATION_OPTIONS_KEY));
+        put(HEAP_SIMPLIFICATION_OPTIONS_KEY, DEFAULT_MAP.get(HEAP_SIMPLIFICATION_OPTIONS_KEY));
         put(OSS_OPTIONS_KEY, DEFAULT_MAP.get(OSS_OPTIONS_KEY));
         put(QUANTIFIERS_OPTIONS_KEY, DEFAULT_MAP.get(QUANTIFIERS_OPTIONS_KEY));
         for (int i = 1; i <= USER_TACLETS_NUM; ++i) {
@@ -256,6 +285,13 @@ public final class StrategyProperties extends Properties {
         sp.put(QUERY_OPTIONS_KEY, readSingleOption(p, QUERY_OPTIONS_KEY));
         sp.put(QUERYAXIOM_OPTIONS_KEY, readSingleOption(p, QUERYAXIOM_OPTIONS_KEY));
         sp.put(NON_LIN_ARITH_OPTIONS_KEY, readSingleOption(p, NON_LIN_ARITH_OPTIONS_KEY));
+        sp.put(ARITH_DECISION_OPTIONS_KEY, readSingleOption(p, ARITH_DECISION_OPTIONS_KEY));
+        sp.put(CONGRUENCE_CLOSURE_OPTIONS_KEY,
+            readSingleOption(p, CONGRUENCE_CLOSURE_OPTIONS_KEY));
+        sp.put(UPDATE_NORMALIZATION_OPTIONS_KEY,
+            readSingleOption(p, UPDATE_NORMALIZATION_OPTIONS_KEY));
+        sp.put(HEAP_SIMPLIFICATION_OPTIONS_KEY,
+            readSingleOption(p, HEAP_SIMPLIFICATION_OPTIONS_KEY));
         sp.put(OSS_OPTIONS_KEY, readSingleOption(p, OSS_OPTIONS_KEY));
         sp.put(QUANTIFIERS_OPTIONS_KEY, readSingleOption(p, QUANTIFIERS_OPTIONS_KEY));
         for (int i = 1; i <= USER_TACLETS_NUM; ++i) {
@@ -414,6 +450,13 @@ public final class StrategyProperties extends Properties {
         p.put(STRATEGY_PROPERTY + QUERY_OPTIONS_KEY, get(QUERY_OPTIONS_KEY));
         p.put(STRATEGY_PROPERTY + QUERYAXIOM_OPTIONS_KEY, get(QUERYAXIOM_OPTIONS_KEY));
         p.put(STRATEGY_PROPERTY + NON_LIN_ARITH_OPTIONS_KEY, get(NON_LIN_ARITH_OPTIONS_KEY));
+        p.put(STRATEGY_PROPERTY + ARITH_DECISION_OPTIONS_KEY, get(ARITH_DECISION_OPTIONS_KEY));
+        p.put(STRATEGY_PROPERTY + CONGRUENCE_CLOSURE_OPTIONS_KEY,
+            get(CONGRUENCE_CLOSURE_OPTIONS_KEY));
+        p.put(STRATEGY_PROPERTY + UPDATE_NORMALIZATION_OPTIONS_KEY,
+            get(UPDATE_NORMALIZATION_OPTIONS_KEY));
+        p.put(STRATEGY_PROPERTY + HEAP_SIMPLIFICATION_OPTIONS_KEY,
+            get(HEAP_SIMPLIFICATION_OPTIONS_KEY));
         p.put(STRATEGY_PROPERTY + OSS_OPTIONS_KEY, get(OSS_OPTIONS_KEY));
         p.put(STRATEGY_PROPERTY + QUANTIFIERS_OPTIONS_KEY, get(QUANTIFIERS_OPTIONS_KEY));
         for (int i = 1; i <= USER_TACLETS_NUM; ++i) {
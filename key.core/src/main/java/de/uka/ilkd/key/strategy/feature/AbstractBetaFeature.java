@@ -38,10 +38,7 @@ public abstract class AbstractBetaFeature implements Feature {
      * @param caches TODO
      */
     private static TermInfo termInfo(JTerm p_t, ServiceCaches caches) {
-        TermInfo ti;
-        synchronized (caches.getBetaCandidates()) {
-            ti = caches.getBetaCandidates().get(p_t);
-        }
+        TermInfo ti = caches.getBetaCandidates().get(p_t);
 
         if (ti == null) {
             ti = new TermInfo();
@@ -62,9 +59,7 @@ public abstract class AbstractBetaFeature implements Feature {
 
             ti.candidate = candidateHelp(p_t, ti);
 
-            synchronized (caches.getBetaCandidates()) {
-                caches.getBetaCandidates().put(p_t, ti);
-            }
+            caches.getBetaCandidates().put(p_t, ti);
         }
 
         return ti;
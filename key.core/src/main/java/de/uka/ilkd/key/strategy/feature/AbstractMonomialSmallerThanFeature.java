@@ -14,7 +14,7 @@ import org.key_project.logic.op.Function;
 import org.key_project.logic.op.Operator;
 import org.key_project.prover.rules.RuleApp;
 import org.key_project.prover.rules.RuleSet;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentClockCache;
 import org.key_project.util.collection.ImmutableList;
 
 public abstract class AbstractMonomialSmallerThanFeature extends SmallerThanFeature {
@@ -34,19 +34,13 @@ public abstract class AbstractMonomialSmallerThanFeature extends SmallerThanFeat
             return -1;
         }
 
-        final LRUCache<Operator, Integer> introductionTimeCache =
+        final ConcurrentClockCache<Operator, Integer> introductionTimeCache =
             goal.proof().getServices().getCaches().getIntroductionTimeCache();
-        Integer res;
-
-        synchronized (introductionTimeCache) {
-            res = introductionTimeCache.get(op);
-        }
+        Integer res = introductionTimeCache.get(op);
 
         if (res == null) {
             res = introductionTimeHelp(op, goal);
-            synchronized (introductionTimeCache) {
-                introductionTimeCache.put(op, res);
-            }
+            introductionTimeCache.put(op, res);
         }
 
         return res;
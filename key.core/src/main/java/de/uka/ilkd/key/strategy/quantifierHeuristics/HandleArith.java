@@ -13,7 +13,7 @@ import de.uka.ilkd.key.rule.metaconstruct.arith.Polynomial;
 
 import org.key_project.logic.op.Function;
 import org.key_project.logic.op.Operator;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentClockCache;
 import org.key_project.util.collection.Pair;
 
 import static de.uka.ilkd.key.logic.equality.IrrelevantTermLabelsProperty.IRRELEVANT_TERM_LABELS_PROPERTY;
@@ -36,12 +36,9 @@ public class HandleArith {
      *         <code>problem</code> if it cann't be proved.
      */
     public static JTerm provedByArith(JTerm problem, Services services) {
-        final LRUCache<JTerm, JTerm> provedByArithCache =
+        final ConcurrentClockCache<JTerm, JTerm> provedByArithCache =
             services.getCaches().getProvedByArithFstCache();
-        JTerm result;
-        synchronized (provedByArithCache) {
-            result = provedByArithCache.get(problem);
-        }
+        JTerm result = provedByArithCache.get(problem);
         if (result != null) {
             return result;
         }
@@ -75,11 +72,10 @@ public class HandleArith {
 
 
 
-    private static void putInTermCache(final LRUCache<JTerm, JTerm> provedByArithCache,
-            final JTerm key, final JTerm value) {
-        synchronized (provedByArithCache) {
-            provedByArithCache.put(key, value);
-        }
+    private static void putInTermCache(
+            final ConcurrentClockCache<JTerm, JTerm> provedByArithCache, final JTerm key,
+            final JTerm value) {
+        provedByArithCache.put(key, value);
     }
 
     /**
@@ -128,12 +124,9 @@ public class HandleArith {
      */
     public static JTerm provedByArith(JTerm problem, JTerm axiom, Services services) {
         final Pair<JTerm, JTerm> key = new Pair<>(problem, axiom);
-        final LRUCache<Pair<JTerm, JTerm>, JTerm> provedByArithCache =
+        final ConcurrentClockCache<Pair<JTerm, JTerm>, JTerm> provedByArithCache =
             services.getCaches().getProvedByArithSndCache();
-        JTerm result;
-        synchronized (provedByArithCache) {
-            result = provedByArithCache.get(key);
-        }
+        JTerm result = provedByArithCache.get(key);
         if (result != null) {
             return result;
         }
@@ -148,9 +141,7 @@ public class HandleArith {
         final JTerm falseT = tb.ff();
 
         if (cd.op() == Junctor.FALSE || ab.op() == Junctor.FALSE) {
-            synchronized (provedByArithCache) {
-                provedByArithCache.put(key, problem);
-            }
+            provedByArithCache.put(key, problem);
             return problem;
         }
         Function addfun = integerLDT.getAdd();
@@ -158,9 +149,7 @@ public class HandleArith {
             tb.geq(tb.func(addfun, cd.sub(0), ab.sub(1)), tb.func(addfun, ab.sub(0), cd.sub(1)));
         JTerm res = provedByArith(arithTerm, services);
         if (res.op() == Junctor.TRUE) {
-            synchronized (provedByArithCache) {
-                provedByArithCache.put(key, trueT);
-            }
+            provedByArithCache.put(key, trueT);
             return trueT;
         }
         JTerm t0 = formatArithTerm(tb.not(problem), tb, integerLDT, caches);
@@ -168,14 +157,10 @@ public class HandleArith {
             tb.geq(tb.func(addfun, t0.sub(0), ab.sub(1)), tb.func(addfun, ab.sub(0), t0.sub(1)));
         res = provedByArith(arithTerm, services);
         if (res.op() == Junctor.TRUE) {
-            synchronized (provedByArithCache) {
-                provedByArithCache.put(key, falseT);
-            }
+            provedByArithCache.put(key, falseT);
             return falseT;
         }
-        synchronized (provedByArithCache) {
-            provedByArithCache.put(key, problem);
-        }
+        provedByArithCache.put(key, problem);
         return problem;
     }
 
@@ -189,12 +174,15 @@ public class HandleArith {
      */
     private static JTerm formatArithTerm(final JTerm problem, TermBuilder tb, IntegerLDT ig,
             ServiceCaches caches) {
-        final LRUCache<JTerm, JTerm> formattedTermCache = caches.getFormattedTermCache();
-        JTerm pro;
-        synchronized (formattedTermCache) {
-            pro = formattedTermCache.get(problem);
+        JTerm pro = caches.getFormattedTermsByTerm().get(problem);
+        if (pro != null) {
+            return pro;
         }
+        final ConcurrentClockCache<JTerm, JTerm> formattedTermCache =
+            caches.getFormattedTermCache();
+        pro = formattedTermCache.get(problem);
         if (pro != null) {
+            rememberFormattedTerm(caches, problem, pro);
             return pro;
         }
 
@@ -227,7 +215,19 @@ public class HandleArith {
         }
 
         putInTermCache(formattedTermCache, problem, pro);
+        rememberFormattedTerm(caches, problem, pro);
         return pro;
     }
 
+    /**
+     * Remembers the formatted term of <code>problem</code> by identity, unless it is
+     * <code>problem</code> itself, which would prevent the entry from being collected.
+     */
+    private static void rememberFormattedTerm(ServiceCaches caches, JTerm problem,
+            JTerm formatted) {
+        if (formatted != problem) {
+            caches.getFormattedTermsByTerm().put(problem, formatted);
+        }
+    }
+
 }
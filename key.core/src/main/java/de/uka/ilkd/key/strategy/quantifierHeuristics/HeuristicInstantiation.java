@@ -33,7 +33,7 @@ public class HeuristicInstantiation implements TermGenerator<Goal> {
 
         final Term qf = pos.sequentFormula().formula();
         final Instantiation ia =
-            Instantiation.create(qf, goal.sequent(), goal.proof().getServices());
+            Instantiation.create(qf, goal, goal.proof().getServices());
         final QuantifiableVariable var = qf.varsBoundHere(0).last();
         assert var != null;
         return new HIIterator(ia.getSubstitution().iterator(), var, goal.proof().getServices());
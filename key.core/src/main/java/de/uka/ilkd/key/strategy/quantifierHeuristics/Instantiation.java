@@ -3,6 +3,8 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy.quantifierHeuristics;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -12,6 +14,8 @@ import de.uka.ilkd.key.logic.JTerm;
 import de.uka.ilkd.key.logic.TermServices;
 import de.uka.ilkd.key.logic.op.Quantifier;
 import de.uka.ilkd.key.logic.op.SortDependingFunction;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.util.properties.Properties.Property;
 
 import org.key_project.logic.Term;
 import org.key_project.logic.op.QuantifiableVariable;
@@ -20,6 +24,7 @@ import org.key_project.prover.sequent.SequentFormula;
 import org.key_project.prover.strategy.costbased.NumberRuleAppCost;
 import org.key_project.prover.strategy.costbased.RuleAppCost;
 import org.key_project.prover.strategy.costbased.TopRuleAppCost;
+import org.key_project.util.ConcurrentClockCache;
 import org.key_project.util.collection.DefaultImmutableMap;
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableList;
@@ -27,18 +32,41 @@ import org.key_project.util.collection.ImmutableMap;
 import org.key_project.util.collection.ImmutableSLList;
 import org.key_project.util.collection.ImmutableSet;
 
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The instances of the first universal variable of a quantified formula which are found by
+ * E-matching the triggers of the formula against the formulas of a sequent, together with their
+ * estimated costs.
+ * <p>
+ * The instantiations are computed incrementally along a branch of the proof: every goal keeps the
+ * last instantiation of each quantified formula as strategy info, which is shared with the goals
+ * created by splitting. When the sequent has changed, only the formulas which have not been
+ * matched before are matched against the triggers; the matches of all other formulas are taken
+ * over. The costs of the instances are taken over as well if the literals assumed by the cost
+ * prediction are unchanged.
+ */
 class Instantiation {
 
+    /** the strategy info under which the instantiations of a branch are stored */
+    private static final Property<BranchInstantiations> BRANCH_INSTANTIATIONS =
+        new Property<>(BranchInstantiations.class, "quantifier instantiations of the branch");
+
+    /** the maximal number of quantified formulas whose instantiations are kept per branch */
+    private static final int MAX_FORMULAS_PER_BRANCH = 64;
 
     /** universally quantifiable variable bound in<code>allTerm</code> */
     private final QuantifiableVariable firstVar;
 
     private final Term matrix;
 
+    /** the sequent this instantiation has been computed for */
+    private final Sequent sequent;
+
     /**
      * Literals occurring in the sequent at hand. This is used for branch prediction
      */
-    private ImmutableSet<JTerm> assumedLiterals = DefaultImmutableSet.nil();
+    private final ImmutableSet<JTerm> assumedLiterals;
 
     /** HashMap from instance(<code>Term</code>) to cost <code>Long</code> */
     private final Map<Term, Long> instancesWithCosts = new LinkedHashMap<>();
@@ -46,52 +74,138 @@ class Instantiation {
     /** the <code>TriggersSet</code> of this <code>allTerm</code> */
     private final TriggersSet triggersSet;
 
-    private Instantiation(Term allterm, Sequent seq, Services services) {
-        firstVar = allterm.varsBoundHere(0).get(0);
-        matrix = TriggerUtils.discardQuantifiers(allterm);
-        /* Terms bound in every formula on <code>goal</code> */
-        triggersSet = TriggersSet.create((JTerm) allterm, services);
+    /**
+     * the uni-triggers of <code>triggersSet</code>, including the elements of multi-triggers,
+     * mapped to their position in the arrays of <code>matchesByFormula</code>
+     */
+    private final Map<Trigger, Integer> uniTriggers;
+
+    /**
+     * the substitutions found by matching each uni-trigger against a formula of the sequent
+     */
+    private final Map<Term, ImmutableSet<Substitution>[]> matchesByFormula;
+
+    /** the costs of all substitutions found for the sequent */
+    private final Map<Substitution, Long> substitutionCosts = new HashMap<>();
+
+    private Instantiation(Term allterm, Sequent seq, @Nullable Instantiation previous,
+            Services services) {
+        if (previous == null) {
+            firstVar = allterm.varsBoundHere(0).get(0);
+            matrix = TriggerUtils.discardQuantifiers(allterm);
+            /* Terms bound in every formula on <code>goal</code> */
+            triggersSet = TriggersSet.create((JTerm) allterm, services);
+            uniTriggers = collectUniTriggers(triggersSet);
+        } else {
+            firstVar = previous.firstVar;
+            matrix = previous.matrix;
+            triggersSet = previous.triggersSet;
+            uniTriggers = previous.uniTriggers;
+        }
+        sequent = seq;
         assumedLiterals = initAssertLiterals(seq, services);
-        addInstances(sequentToTerms(seq), services);
+        matchesByFormula = matchFormulas(seq, previous, services);
+        addInstances(previous != null && previous.assumedLiterals.equals(assumedLiterals)
+                ? previous.substitutionCosts
+                : Map.of(),
+            services);
     }
 
-    private static Term lastQuantifiedFormula = null;
-    private static Sequent lastSequent = null;
-    private static Instantiation lastResult = null;
+    /**
+     * Returns the instantiation of a quantified formula for the current sequent of a goal. The
+     * instantiation is derived incrementally from the last one computed on the branch of the goal.
+     *
+     * @param qf the quantified formula
+     * @param goal the goal
+     * @param services the services
+     * @return the instantiation
+     */
+    static Instantiation create(Term qf, Goal goal, Services services) {
+        final Sequent seq = goal.sequent();
+        final Map<Term, Instantiation> instantiations = getBranchInstantiations(goal);
+        final Instantiation previous = instantiations.get(qf);
+        if (previous != null && previous.sequent == seq) {
+            return previous;
+        }
+        final Instantiation result = new Instantiation(qf, seq, previous, services);
+        instantiations.put(qf, result);
+        return result;
+    }
 
-    static Instantiation create(Term qf, Sequent seq, Services services) {
-        synchronized (Instantiation.class) {
-            if (qf == lastQuantifiedFormula && seq == lastSequent) {
-                return lastResult;
-            }
+    private static Map<Term, Instantiation> getBranchInstantiations(Goal goal) {
+        BranchInstantiations result = goal.getStrategyInfo(BRANCH_INSTANTIATIONS);
+        if (result == null) {
+            result = new BranchInstantiations();
+            goal.addStrategyInfo(BRANCH_INSTANTIATIONS, result,
+                strategyInfos -> strategyInfos.remove(BRANCH_INSTANTIATIONS));
         }
-        final Instantiation result = new Instantiation(qf, seq, services);
-        synchronized (Instantiation.class) {
-            lastQuantifiedFormula = qf;
-            lastSequent = seq;
-            lastResult = result;
+        return result.instantiations;
+    }
+
+    private static Map<Trigger, Integer> collectUniTriggers(TriggersSet triggersSet) {
+        final Map<Trigger, Integer> result = new LinkedHashMap<>();
+        for (final Trigger t : triggersSet.getAllTriggers()) {
+            if (t instanceof MultiTrigger mt) {
+                for (final Trigger element : mt.getElements()) {
+                    result.putIfAbsent(element, result.size());
+                }
+            } else {
+                result.putIfAbsent(t, result.size());
+            }
         }
         return result;
     }
 
-    private static ImmutableSet<Term> sequentToTerms(Sequent seq) {
-        ImmutableList<Term> res = ImmutableSLList.nil();
+    /**
+     * Matches the uni-triggers against the formulas of <code>seq</code>. Formulas which have
+     * already been matched for <code>previous</code> are not matched again.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Term, ImmutableSet<Substitution>[]> matchFormulas(Sequent seq,
+            @Nullable Instantiation previous, Services services) {
+        final Map<Term, ImmutableSet<Substitution>[]> result = new LinkedHashMap<>();
         for (final SequentFormula cf : seq) {
-            res = res.prepend(cf.formula());
+            final Term formula = cf.formula();
+            if (result.containsKey(formula)) {
+                continue;
+            }
+            ImmutableSet<Substitution>[] matches =
+                previous == null ? null : previous.matchesByFormula.get(formula);
+            if (matches == null) {
+                matches = new ImmutableSet[uniTriggers.size()];
+                for (final Map.Entry<Trigger, Integer> t : uniTriggers.entrySet()) {
+                    matches[t.getValue()] =
+                        ((UniTrigger) t.getKey()).getSubstitutionsFromTerm(formula, services);
+                }
+            }
+            result.put(formula, matches);
         }
-        return DefaultImmutableSet.fromImmutableList(res);
+        return result;
     }
 
     /**
-     * @param terms on which trigger are doning matching search every <code>Substitution</code> s by
-     *        matching <code>triggers</code> from <code>triggersSet</code> to <code>terms</code>
-     *        compute their cost and store the pair of instance (Term) and cost(Long) in
-     *        <code>instancesCostCache</code>
+     * Computes every <code>Substitution</code> s by combining the matches of the triggers from
+     * <code>triggersSet</code>, computes their cost and stores the pair of instance (Term) and
+     * cost(Long) in <code>instancesWithCosts</code>
+     *
+     * @param knownCosts costs of substitutions which are still valid
+     * @param services the services
      */
-    private void addInstances(ImmutableSet<Term> terms, Services services) {
+    @SuppressWarnings("unchecked")
+    private void addInstances(Map<Substitution, Long> knownCosts, Services services) {
+        final ImmutableSet<Substitution>[] matches = new ImmutableSet[uniTriggers.size()];
+        Arrays.fill(matches, DefaultImmutableSet.<Substitution>nil());
+        for (final ImmutableSet<Substitution>[] formulaMatches : matchesByFormula.values()) {
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = matches[i].union(formulaMatches[i]);
+            }
+        }
         for (final Trigger t : triggersSet.getAllTriggers()) {
-            for (final Substitution sub : t.getSubstitutionsFromTerms(terms, services)) {
-                addInstance(sub, services);
+            final ImmutableSet<Substitution> subs = t instanceof MultiTrigger mt
+                    ? mt.getSubstitutionsFromElements(e -> matches[uniTriggers.get(e)])
+                    : matches[uniTriggers.get(t)];
+            for (final Substitution sub : subs) {
+                addInstance(sub, knownCosts, services);
             }
         }
         // if ( instancesWithCosts.isEmpty () )
@@ -118,9 +232,20 @@ class Instantiation {
     }
 
     private void addInstance(Substitution sub, Services services) {
-        final long cost =
-            PredictCostProver.computerInstanceCost(sub, (JTerm) getMatrix(),
-                assumedLiterals, services);
+        addInstance(sub, Map.of(), services);
+    }
+
+    private void addInstance(Substitution sub, Map<Substitution, Long> knownCosts,
+            Services services) {
+        Long cost = substitutionCosts.get(sub);
+        if (cost == null) {
+            cost = knownCosts.get(sub);
+            if (cost == null) {
+                cost = PredictCostProver.computerInstanceCost(sub, (JTerm) getMatrix(),
+                    assumedLiterals, services);
+            }
+            substitutionCosts.put(sub, cost);
+        }
         if (cost != -1) {
             addInstance(sub, cost);
         }
@@ -172,8 +297,8 @@ class Instantiation {
     /**
      * Try to find the cost of an instance(inst) according its quantified formula and current goal.
      */
-    static RuleAppCost computeCost(Term inst, Term form, Sequent seq, Services services) {
-        return create(form, seq, services).computeCostHelp(inst);
+    static RuleAppCost computeCost(Term inst, Term form, Goal goal, Services services) {
+        return create(form, goal, services).computeCostHelp(inst);
     }
 
     private RuleAppCost computeCostHelp(Term inst) {
@@ -207,4 +332,13 @@ class Instantiation {
         return matrix;
     }
 
+    /**
+     * The last instantiations of the quantified formulas on a branch. The object is shared by all
+     * goals created by splitting the goal it was attached to.
+     */
+    private static final class BranchInstantiations {
+        private final Map<Term, Instantiation> instantiations =
+            new ConcurrentClockCache<>(MAX_FORMULAS_PER_BRANCH);
+    }
+
 }
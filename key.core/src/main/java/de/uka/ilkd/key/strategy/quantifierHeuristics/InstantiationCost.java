@@ -43,7 +43,7 @@ public class InstantiationCost implements Feature {
         final Term formula = pos.sequentFormula().formula();
         final var instance = varInst.toTerm(app, pos, (de.uka.ilkd.key.proof.Goal) goal, mState);
 
-        return Instantiation.computeCost(instance, formula, goal.sequent(),
+        return Instantiation.computeCost(instance, formula, (de.uka.ilkd.key.proof.Goal) goal,
             (Services) goal.proof().getServices());
     }
 }
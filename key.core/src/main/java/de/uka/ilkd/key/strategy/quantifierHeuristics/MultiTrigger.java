@@ -4,6 +4,7 @@
 package de.uka.ilkd.key.strategy.quantifierHeuristics;
 
 import java.util.Iterator;
+import java.util.function.Function;
 
 import de.uka.ilkd.key.java.Services;
 
@@ -34,10 +35,24 @@ class MultiTrigger implements Trigger {
     @Override
     public ImmutableSet<Substitution> getSubstitutionsFromTerms(ImmutableSet<Term> targetTerms,
             Services services) {
+        return getSubstitutionsFromElements(
+            t -> t.getSubstitutionsFromTerms(targetTerms, services));
+    }
+
+    /**
+     * Combines the substitutions found for the elements of this multi-trigger to substitutions for
+     * all universal variables of the clause.
+     *
+     * @param elementSubstitutions yields the substitutions found for an element of this
+     *        multi-trigger
+     * @return the total substitutions
+     */
+    ImmutableSet<Substitution> getSubstitutionsFromElements(
+            Function<Trigger, ImmutableSet<Substitution>> elementSubstitutions) {
         ImmutableList<Substitution> res = ImmutableSLList.nil();
 
         ImmutableSet<Substitution> mulsubs =
-            setMultiSubstitution(triggers.iterator(), targetTerms, services);
+            setMultiSubstitution(triggers.iterator(), elementSubstitutions);
 
         for (Substitution sub : mulsubs) {
             if (sub.isTotalOn(qvs)) {
@@ -50,11 +65,11 @@ class MultiTrigger implements Trigger {
 
     /** help function for getMultiSubstitution */
     private ImmutableSet<Substitution> setMultiSubstitution(Iterator<? extends Trigger> ts,
-            ImmutableSet<Term> terms, Services services) {
+            Function<Trigger, ImmutableSet<Substitution>> elementSubstitutions) {
         ImmutableList<Substitution> res = ImmutableSLList.nil();
         if (ts.hasNext()) {
-            ImmutableSet<Substitution> subi = ts.next().getSubstitutionsFromTerms(terms, services);
-            ImmutableSet<Substitution> nextSubs = setMultiSubstitution(ts, terms, services);
+            ImmutableSet<Substitution> subi = elementSubstitutions.apply(ts.next());
+            ImmutableSet<Substitution> nextSubs = setMultiSubstitution(ts, elementSubstitutions);
             if (nextSubs.isEmpty()) {
                 return subi;
             } else if (subi.isEmpty()) {
@@ -118,4 +133,11 @@ class MultiTrigger implements Trigger {
         return clause;
     }
 
+    /**
+     * @return the uni-triggers this multi-trigger consists of
+     */
+    ImmutableSet<Trigger> getElements() {
+        return triggers;
+    }
+
 }
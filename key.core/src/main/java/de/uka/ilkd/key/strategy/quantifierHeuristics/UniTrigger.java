@@ -10,7 +10,7 @@ import de.uka.ilkd.key.logic.op.Quantifier;
 
 import org.key_project.logic.Term;
 import org.key_project.logic.op.QuantifiableVariable;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentClockCache;
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableMap;
@@ -28,8 +28,8 @@ class UniTrigger implements Trigger {
     private final boolean onlyUnify;
     private final boolean isElementOfMultitrigger;
 
-    private final LRUCache<Term, ImmutableSet<Substitution>> matchResults =
-        new LRUCache<>(1000);
+    private final ConcurrentClockCache<Term, ImmutableSet<Substitution>> matchResults =
+        new ConcurrentClockCache<>(1000);
 
     UniTrigger(Term trigger, ImmutableSet<QuantifiableVariable> uqvs, boolean isUnify,
             boolean isElementOfMultitrigger, TriggersSet triggerSetThisBelongsTo) {
@@ -50,7 +50,12 @@ class UniTrigger implements Trigger {
         return allsubs;
     }
 
-    private ImmutableSet<Substitution> getSubstitutionsFromTerm(Term t, Services services) {
+    /**
+     * @param t the term to match against
+     * @param services the services
+     * @return all substitutions found by matching this trigger against {@code t} and its subterms
+     */
+    ImmutableSet<Substitution> getSubstitutionsFromTerm(Term t, Services services) {
         ImmutableSet<Substitution> res = matchResults.get(t);
         if (res == null) {
             res = getSubstitutionsFromTermHelp(t, services);
@@ -0,0 +1,220 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.key_project.util.ConcurrentClockCache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Central registry of the bounded caches of KeY (e.g., the caches of
+ * {@link de.uka.ilkd.key.java.ServiceCaches}). For each cache name it reports the number of
+ * entries, the hit rate, the number of evictions and an estimate of the retained memory, summed up
+ * over all live cache instances of that name (usually one per proof).
+ * <p>
+ * Caches are only weakly referenced, so registering a cache does not prevent it from being
+ * garbage collected together with its proof. The statistics can be inspected via JMX after
+ * {@link #registerMBean()} has been called, and are written to the statistics file in automatic
+ * mode.
+ * <p>
+ * The retained memory is a rough estimate: the cache structures are accounted for by
+ * {@link #ENTRY_OVERHEAD_BYTES} per entry, the keys and values by the number of bytes per weight
+ * unit given at registration. Objects shared with other data structures (e.g., terms) are not
+ * counted.
+ */
+public final class CacheMetrics implements CacheMetricsMBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheMetrics.class);
+
+    /** the name under which the registry is exported via JMX */
+    public static final String OBJECT_NAME = "de.uka.ilkd.key:type=CacheMetrics";
+
+    /**
+     * The estimated memory used by the cache itself for one entry: the nodes of the hash map and
+     * of the cache, and the slot in the eviction queue.
+     */
+    public static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private static final CacheMetrics INSTANCE = new CacheMetrics();
+
+    /** the registered caches, guarded by the monitor of this list */
+    private final List<Registration> registrations = new ArrayList<>();
+
+    private boolean mbeanRegistered = false;
+
+    private CacheMetrics() {
+    }
+
+    /**
+     * @return the registry
+     */
+    public static CacheMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a cache.
+     *
+     * @param name the name of the cache; caches of the same name are reported together
+     * @param cache the cache
+     * @param bytesPerWeight the estimated memory in bytes retained by the keys and values of the
+     *        cache per weight unit (i.e., per entry for caches without weigher)
+     */
+    public void register(String name, ConcurrentClockCache<?, ?> cache, int bytesPerWeight) {
+        synchronized (registrations) {
+            registrations.removeIf(r -> r.cache.get() == null);
+            registrations.add(new Registration(name, new WeakReference<>(cache), bytesPerWeight));
+        }
+    }
+
+    /**
+     * Computes the current statistics.
+     *
+     * @return the statistics of all live caches summed up per name, sorted by name
+     */
+    public List<Statistics> snapshot() {
+        final Map<String, Statistics> result = new TreeMap<>();
+        synchronized (registrations) {
+            final Iterator<Registration> it = registrations.iterator();
+            while (it.hasNext()) {
+                final Registration r = it.next();
+                final ConcurrentClockCache<?, ?> cache = r.cache.get();
+                if (cache == null) {
+                    it.remove();
+                    continue;
+                }
+                final long weight = cache.weight();
+                final long size = cache.size();
+                final Statistics s = new Statistics(r.name, 1, size, weight, cache.maxWeight(),
+                    cache.hitCount(), cache.missCount(), cache.evictionCount(),
+                    size * ENTRY_OVERHEAD_BYTES + weight * r.bytesPerWeight);
+                result.merge(r.name, s, Statistics::add);
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    /**
+     * Registers this registry with the platform MBean server. Calling this method more than once
+     * has no effect.
+     */
+    public synchronized void registerMBean() {
+        if (mbeanRegistered) {
+            return;
+        }
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+            mbeanRegistered = true;
+        } catch (JMException e) {
+            LOGGER.warn("Could not register cache metrics for JMX", e);
+        }
+    }
+
+    /**
+     * Formats the current statistics as CSV, one line per cache name.
+     *
+     * @param separator the column separator
+     * @return the statistics, each line starting with "cache"
+     */
+    public String toCSV(String separator) {
+        final StringBuilder sb = new StringBuilder();
+        for (Statistics s : snapshot()) {
+            sb.append("cache").append(separator).append(s.name())
+                    .append(separator).append(s.size())
+                    .append(separator).append(String.format(Locale.ROOT, "%.3f", s.hitRate()))
+                    .append(separator).append(s.evictions())
+                    .append(separator).append(s.estimatedBytes()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String[] getCacheNames() {
+        return snapshot().stream().map(Statistics::name).toArray(String[]::new);
+    }
+
+    @Override
+    public String getReport() {
+        final StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+            "%-32s %5s %9s %9s %8s %10s %12s%n", "cache", "inst", "size", "limit", "hit rate",
+            "evictions", "est. bytes"));
+        for (Statistics s : snapshot()) {
+            sb.append(String.format(Locale.ROOT, "%-32s %5d %9d %9d %8.3f %10d %12d%n", s.name(),
+                s.instances(), s.size(), s.maxWeight(), s.hitRate(), s.evictions(),
+                s.estimatedBytes()));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public long getTotalEstimatedBytes() {
+        return snapshot().stream().mapToLong(Statistics::estimatedBytes).sum();
+    }
+
+    @Override
+    public double getHitRate(String cacheName) {
+        for (Statistics s : snapshot()) {
+            if (s.name().equals(cacheName)) {
+                return s.hitRate();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void resetStatistics() {
+        synchronized (registrations) {
+            for (Registration r : registrations) {
+                final ConcurrentClockCache<?, ?> cache = r.cache.get();
+                if (cache != null) {
+                    cache.resetStatistics();
+                }
+            }
+        }
+    }
+
+    private record Registration(String name, WeakReference<ConcurrentClockCache<?, ?>> cache,
+            int bytesPerWeight) {
+    }
+
+    /**
+     * The statistics of all live caches of one name.
+     *
+     * @param name the name of the caches
+     * @param instances the number of cache instances
+     * @param size the total number of entries
+     * @param weight the total weight of the entries
+     * @param maxWeight the total limit of the weight
+     * @param hits the number of successful lookups
+     * @param misses the number of unsuccessful lookups
+     * @param evictions the number of entries removed because a cache was full
+     * @param estimatedBytes the estimated retained memory in bytes
+     */
+    public record Statistics(String name, int instances, long size, long weight, long maxWeight,
+            long hits, long misses, long evictions, long estimatedBytes) {
+
+        /**
+         * @return the ratio of successful lookups, or -1 if there have not been any lookups
+         */
+        public double hitRate() {
+            final long lookups = hits + misses;
+            return lookups == 0 ? -1 : (double) hits / lookups;
+        }
+
+        private Statistics add(Statistics other) {
+            return new Statistics(name, instances + other.instances, size + other.size,
+                weight + other.weight, maxWeight + other.maxWeight, hits + other.hits,
+                misses + other.misses, evictions + other.evictions,
+                estimatedBytes + other.estimatedBytes);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.util;
+
+/**
+ * This interface exports the statistics of the caches registered with {@link CacheMetrics} to
+ * management tools such as "jconsole". It allows to observe the sizes, hit rates and estimated
+ * memory consumption of the caches while KeY is running.
+ */
+public interface CacheMetricsMBean {
+
+    /**
+     * get the names of all registered caches which are still alive
+     *
+     * @return the sorted names of the caches
+     */
+    String[] getCacheNames();
+
+    /**
+     * get a human-readable table with one line per cache name
+     *
+     * @return the statistics of all caches
+     */
+    String getReport();
+
+    /**
+     * get the sum of the estimated retained bytes of all caches
+     *
+     * @return the estimated number of bytes
+     */
+    long getTotalEstimatedBytes();
+
+    /**
+     * get the hit rate of the caches with the given name
+     *
+     * @param cacheName the name of the cache
+     * @return the hit rate between 0 and 1, or -1 if the cache has not been accessed yet
+     */
+    double getHitRate(String cacheName);
+
+    /**
+     * reset the hit, miss and eviction counters of all caches
+     */
+    void resetStatistics();
+}
@@ -0,0 +1,452 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import de.uka.ilkd.key.java.recoderext.URLDataLocation;
+import de.uka.ilkd.key.proof.io.consistency.FileRepo;
+
+import org.key_project.util.ConcurrentClockCache;
+
+import org.jspecify.annotations.Nullable;
+import recoder.io.DataFileLocation;
+import recoder.io.DataLocation;
+
+/**
+ * An index of the class files of a classpath entry, i.e., of a directory or of a zip/jar file. It
+ * allows to look up the class files of a class by name without reading or parsing any of them, so
+ * that only the library classes actually referenced need to be converted.
+ * <p>
+ * The class files are grouped by their top level class: the group of a class <code>a.b.C</code>
+ * contains <code>a/b/C.class</code> and the class files of all its nested, local and anonymous
+ * classes (<code>a/b/C$D.class</code>, ...).
+ * <p>
+ * The index of a zip file is built from its central directory, which is read via a memory mapped
+ * buffer, and the class files are read directly from the archive. Indices of zip files are cached
+ * across problem loads and rebuilt only if the size or the modification time of the file changes;
+ * the cache is registered with {@link CacheMetrics} as <code>classFileIndices</code>.
+ */
+public final class ClassFileIndex {
+
+    /** the maximal total number of class files of the cached indices */
+    private static final long MAX_CLASS_FILES = 1L << 20;
+
+    /** the estimated memory used by the index per class file */
+    private static final int BYTES_PER_CLASS_FILE = 160;
+
+    private static final ConcurrentClockCache<Path, ClassFileIndex> ZIP_INDICES =
+        new ConcurrentClockCache<>(MAX_CLASS_FILES,
+            (path, index) -> Math.max(1, index.classFiles.size()));
+
+    static {
+        CacheMetrics.getInstance().register("classFileIndices", ZIP_INDICES,
+            BYTES_PER_CLASS_FILE);
+    }
+
+    private static final String CLASS_EXTENSION = ".class";
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int END_LENGTH = 22;
+    private static final int LOCAL_HEADER_LENGTH = 30;
+    private static final int CENTRAL_HEADER_LENGTH = 46;
+    private static final int STORED = ZipEntry.STORED;
+    private static final int DEFLATED = ZipEntry.DEFLATED;
+    private static final long MAX_UNSIGNED_INT = 0xFFFFFFFFL;
+    private static final int MAX_UNSIGNED_SHORT = 0xFFFF;
+
+    /** the directory or zip file */
+    private final Path path;
+
+    /** whether {@link #path} is a zip file */
+    private final boolean zip;
+
+    /** the modification time of the zip file when the index was built */
+    private final @Nullable FileTime lastModified;
+
+    /** the size of the zip file when the index was built */
+    private final long size;
+
+    /** the class files (path relative to the root) of each top level class */
+    private final Map<String, List<String>> classFiles = new HashMap<>();
+
+    /** the top level classes of each simple name */
+    private final Map<String, List<String>> classesBySimpleName = new HashMap<>();
+
+    /**
+     * The location of each class file within the zip file, empty for directories and for zip
+     * files which cannot be read directly.
+     */
+    private final Map<String, ZipLocation> zipLocations = new HashMap<>();
+
+    private ClassFileIndex(Path path, boolean zip, @Nullable FileTime lastModified, long size) {
+        this.path = path;
+        this.zip = zip;
+        this.lastModified = lastModified;
+        this.size = size;
+    }
+
+    /**
+     * Returns the index of a classpath entry. The index of a zip file is taken from the cache if
+     * the file has not changed since.
+     *
+     * @param entry a directory or a zip/jar file
+     * @return the index of the class files within the entry
+     * @throws IOException if the entry cannot be read
+     */
+    public static ClassFileIndex of(Path entry) throws IOException {
+        final Path path = entry.toAbsolutePath().normalize();
+        if (Files.isDirectory(path)) {
+            return indexDirectory(path);
+        }
+        final BasicFileAttributes attributes =
+            Files.readAttributes(path, BasicFileAttributes.class);
+        final ClassFileIndex cached = ZIP_INDICES.get(path);
+        if (cached != null && attributes.lastModifiedTime().equals(cached.lastModified)
+                && attributes.size() == cached.size) {
+            return cached;
+        }
+        final ClassFileIndex index =
+            indexZip(path, attributes.lastModifiedTime(), attributes.size());
+        ZIP_INDICES.put(path, index);
+        return index;
+    }
+
+    /**
+     * Removes all indices from the cache.
+     */
+    public static void clearCache() {
+        ZIP_INDICES.clear();
+    }
+
+    private static ClassFileIndex indexDirectory(Path directory) throws IOException {
+        final ClassFileIndex result = new ClassFileIndex(directory, false, null, 0);
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(CLASS_EXTENSION)
+                        && Files.isRegularFile(file)) {
+                    result.add(directory.relativize(file).toString().replace('\\', '/'));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static ClassFileIndex indexZip(Path zipFile, FileTime lastModified, long size)
+            throws IOException {
+        final ClassFileIndex result = new ClassFileIndex(zipFile, true, lastModified, size);
+        try (FileChannel channel = FileChannel.open(zipFile, StandardOpenOption.READ)) {
+            if (!result.readCentralDirectory(channel)) {
+                // e.g. ZIP64 archives, fall back to the zip file implementation of the JDK
+                result.classFiles.clear();
+                result.classesBySimpleName.clear();
+                result.zipLocations.clear();
+                try (ZipFile zf = new ZipFile(zipFile.toFile())) {
+                    final Enumeration<? extends ZipEntry> entries = zf.entries();
+                    while (entries.hasMoreElements()) {
+                        final ZipEntry entry = entries.nextElement();
+                        if (!entry.isDirectory() && entry.getName().endsWith(CLASS_EXTENSION)) {
+                            result.add(entry.getName());
+                        }
+                    }
+                }
+            }
+        } catch (ZipException e) {
+            throw new IOException("can't open " + zipFile + ": " + e.getMessage(), e);
+        }
+        return result;
+    }
+
+    /**
+     * Reads the central directory of a zip file via a memory mapped buffer.
+     *
+     * @param channel the channel of the zip file
+     * @return false if the archive uses features which are not supported (ZIP64)
+     * @throws IOException if the file cannot be read or is no zip file
+     */
+    private boolean readCentralDirectory(FileChannel channel) throws IOException {
+        final long fileSize = channel.size();
+        final long tailStart = Math.max(0, fileSize - END_LENGTH - MAX_UNSIGNED_SHORT);
+        final MappedByteBuffer tail =
+            channel.map(FileChannel.MapMode.READ_ONLY, tailStart, fileSize - tailStart);
+        tail.order(ByteOrder.LITTLE_ENDIAN);
+
+        int end = tail.limit() - END_LENGTH;
+        while (end >= 0 && tail.getInt(end) != END_SIGNATURE) {
+            end--;
+        }
+        if (end < 0) {
+            throw new ZipException("zip END header not found");
+        }
+        final int entries = Short.toUnsignedInt(tail.getShort(end + 10));
+        final long directorySize = Integer.toUnsignedLong(tail.getInt(end + 12));
+        final long directoryOffset = Integer.toUnsignedLong(tail.getInt(end + 16));
+        if (entries == MAX_UNSIGNED_SHORT || directorySize == MAX_UNSIGNED_INT
+                || directoryOffset == MAX_UNSIGNED_INT
+                || directoryOffset + directorySize > fileSize) {
+            return false;
+        }
+
+        final MappedByteBuffer directory =
+            channel.map(FileChannel.MapMode.READ_ONLY, directoryOffset, directorySize);
+        directory.order(ByteOrder.LITTLE_ENDIAN);
+        int pos = 0;
+        for (int i = 0; i < entries; i++) {
+            if (pos + CENTRAL_HEADER_LENGTH > directory.limit()
+                    || directory.getInt(pos) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("invalid zip central directory");
+            }
+            final int method = Short.toUnsignedInt(directory.getShort(pos + 10));
+            final long compressedSize = Integer.toUnsignedLong(directory.getInt(pos + 20));
+            final long uncompressedSize = Integer.toUnsignedLong(directory.getInt(pos + 24));
+            final int nameLength = Short.toUnsignedInt(directory.getShort(pos + 28));
+            final int extraLength = Short.toUnsignedInt(directory.getShort(pos + 30));
+            final int commentLength = Short.toUnsignedInt(directory.getShort(pos + 32));
+            final long headerOffset = Integer.toUnsignedLong(directory.getInt(pos + 42));
+            final byte[] name = new byte[nameLength];
+            directory.get(pos + CENTRAL_HEADER_LENGTH, name);
+            final String entryName = new String(name, StandardCharsets.UTF_8);
+
+            if (entryName.endsWith(CLASS_EXTENSION)) {
+                if (compressedSize == MAX_UNSIGNED_INT || uncompressedSize == MAX_UNSIGNED_INT
+                        || headerOffset == MAX_UNSIGNED_INT) {
+                    return false;
+                }
+                add(entryName);
+                if ((method == STORED || method == DEFLATED)
+                        && uncompressedSize <= Integer.MAX_VALUE) {
+                    zipLocations.put(entryName, new ZipLocation(headerOffset, method,
+                        compressedSize, (int) uncompressedSize));
+                }
+            }
+            pos += CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+        }
+        return true;
+    }
+
+    private void add(String classFile) {
+        final String name =
+            classFile.substring(0, classFile.length() - CLASS_EXTENSION.length()).replace('/', '.');
+        final int lastDot = name.lastIndexOf('.');
+        final int dollar = name.indexOf('$', lastDot + 1);
+        final String topLevel = dollar > lastDot + 1 ? name.substring(0, dollar) : name;
+        final List<String> files = classFiles.computeIfAbsent(topLevel, k -> new ArrayList<>(1));
+        if (files.isEmpty()) {
+            classesBySimpleName.computeIfAbsent(topLevel.substring(lastDot + 1),
+                k -> new ArrayList<>(1)).add(topLevel);
+        }
+        files.add(classFile);
+    }
+
+    /**
+     * @return the directory or zip file indexed
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the fully qualified names of all top level classes of the index
+     */
+    public Set<String> getClasses() {
+        return Collections.unmodifiableSet(classFiles.keySet());
+    }
+
+    /**
+     * Looks up the top level classes with a simple name.
+     *
+     * @param simpleName the name of a class without package
+     * @return the fully qualified names of the top level classes of that name, possibly empty
+     */
+    public List<String> getClassesNamed(String simpleName) {
+        return classesBySimpleName.getOrDefault(simpleName, List.of());
+    }
+
+    /**
+     * Looks up the top level class to which a type name refers.
+     *
+     * @param typeName the fully qualified name of a class, of a nested class (separated by
+     *        <code>.</code> or <code>$</code>), or of an array type of one of them
+     * @return the fully qualified name of the top level class in this index, or <code>null</code>
+     *         if the index does not contain the type
+     */
+    public @Nullable String resolve(String typeName) {
+        String name = typeName;
+        while (name.endsWith("[]")) {
+            name = name.substring(0, name.length() - 2);
+        }
+        final int dollar = name.indexOf('$', name.lastIndexOf('.') + 1);
+        if (dollar > 0) {
+            name = name.substring(0, dollar);
+        }
+        while (!classFiles.containsKey(name)) {
+            final int lastDot = name.lastIndexOf('.');
+            if (lastDot < 0) {
+                return null;
+            }
+            name = name.substring(0, lastDot);
+        }
+        return name;
+    }
+
+    /**
+     * @param topLevelClass the fully qualified name of a top level class of this index
+     * @return the class files of the class and of its nested classes, relative to the root of the
+     *         classpath entry and separated by <code>/</code>
+     */
+    public List<String> getClassFiles(String topLevelClass) {
+        return Collections.unmodifiableList(classFiles.getOrDefault(topLevelClass, List.of()));
+    }
+
+    /**
+     * Describes the location of a class file, to be stored in the declarations created from it.
+     *
+     * @param classFile a class file of this index
+     * @return the location of the class file
+     * @throws IOException if the location cannot be expressed as URL
+     */
+    public DataLocation getDataLocation(String classFile) throws IOException {
+        if (zip) {
+            // as ZipFileCollection, do not keep a reference to the archive
+            return new URLDataLocation(MiscTools.getZipEntryURI(path, classFile).toURL());
+        }
+        return new DataFileLocation(path.resolve(classFile).toFile());
+    }
+
+    /**
+     * Opens a class file for reading. It is in the user's obligation to close the stream.
+     *
+     * @param classFile a class file of this index
+     * @param fileRepo the FileRepo to store a copy of the class file, may be null
+     * @return the contents of the class file
+     * @throws IOException if the class file cannot be read
+     */
+    public InputStream open(String classFile, @Nullable FileRepo fileRepo) throws IOException {
+        if (!zip) {
+            final Path file = path.resolve(classFile);
+            return fileRepo != null ? fileRepo.getInputStream(file) : Files.newInputStream(file);
+        }
+        if (fileRepo != null) {
+            return fileRepo.getInputStream(MiscTools.getZipEntryURI(path, classFile).toURL());
+        }
+        final ZipLocation location = zipLocations.get(classFile);
+        if (location == null) {
+            return openViaZipFile(classFile);
+        }
+        return new ByteArrayInputStream(read(location));
+    }
+
+    private byte[] read(ZipLocation location) throws IOException {
+        final byte[] data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(LOCAL_HEADER_LENGTH)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, location.headerOffset());
+            if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+                throw new ZipException("invalid zip local header in " + path);
+            }
+            final long dataOffset = location.headerOffset() + LOCAL_HEADER_LENGTH
+                + Short.toUnsignedInt(header.getShort(26))
+                + Short.toUnsignedInt(header.getShort(28));
+            if (location.compressedSize() > Integer.MAX_VALUE) {
+                throw new ZipException("class file too large in " + path);
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) location.compressedSize());
+            readFully(channel, buffer, dataOffset);
+            data = buffer.array();
+        }
+        if (location.method() == STORED) {
+            return data;
+        }
+
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data);
+            final byte[] result = new byte[location.uncompressedSize()];
+            int length = 0;
+            while (length < result.length && !inflater.finished()) {
+                final int n = inflater.inflate(result, length, result.length - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ZipException("truncated zip entry in " + path);
+                }
+                length += n;
+            }
+            return length == result.length ? result : Arrays.copyOf(result, length);
+        } catch (DataFormatException e) {
+            throw new ZipException("invalid zip entry in " + path + ": " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            final int n = channel.read(buffer, pos);
+            if (n < 0) {
+                throw new ZipException("unexpected end of zip file");
+            }
+            pos += n;
+        }
+    }
+
+    private InputStream openViaZipFile(String classFile) throws IOException {
+        final ZipFile zipFile = new ZipFile(path.toFile());
+        final ZipEntry entry = zipFile.getEntry(classFile);
+        if (entry == null) {
+            zipFile.close();
+            throw new ZipException(classFile + " not found in " + path);
+        }
+        return new FilterInputStream(zipFile.getInputStream(entry)) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    zipFile.close();
+                }
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "ClassFileIndex[" + path + ", " + classFiles.size() + " classes]";
+    }
+
+    /**
+     * The location of a class file within a zip file, as given by the central directory.
+     *
+     * @param headerOffset the offset of the local header of the entry
+     * @param method the compression method
+     * @param compressedSize the size of the compressed data
+     * @param uncompressedSize the size of the class file
+     */
+    private record ZipLocation(long headerOffset, int method, long compressedSize,
+            int uncompressedSize) {
+    }
+}
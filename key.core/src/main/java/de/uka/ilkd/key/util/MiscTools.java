@@ -761,8 +761,21 @@ public final class MiscTools {
      * @throws IOException if an I/O error occurs
      */
     public static URI getZipEntryURI(ZipFile zipFile, String entryName) throws IOException {
+        return getZipEntryURI(Paths.get(zipFile.getName()), entryName);
+    }
+
+    /**
+     * Creates a URI pointing to an entry of a zip file, see
+     * {@link #getZipEntryURI(ZipFile, String)}.
+     *
+     * @param zipFile the path of the zip file
+     * @param entryName the entry path relative to the root of the zip
+     * @return a zip/jar URI to the entry inside the zip
+     * @throws IOException if an I/O error occurs
+     */
+    public static URI getZipEntryURI(Path zipFile, String entryName) throws IOException {
 
-        Path zipPath = Paths.get(zipFile.getName()).toAbsolutePath().normalize();
+        Path zipPath = zipFile.toAbsolutePath().normalize();
 
         // TODO: Delete these lines when migrating to newer Java version!
         // These lines are needed since there is a bug in Java (up to Java 9 b80)
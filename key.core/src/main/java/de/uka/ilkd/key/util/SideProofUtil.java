@@ -5,6 +5,7 @@ package de.uka.ilkd.key.util;
 
 import java.util.HashMap;
 
+import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.init.InitConfig;
 import de.uka.ilkd.key.proof.init.JavaProfile;
@@ -51,7 +52,10 @@ public final class SideProofUtil {
         // Create new profile which has separate OneStepSimplifier instance
         JavaProfile profile = new JavaProfile();
         // Create new InitConfig
-        final InitConfig initConfig = new InitConfig(source.getServices().copy(profile, false));
+        // Share the proof independent caches; they are thread-safe
+        final Services sourceServices = source.getServices();
+        final InitConfig initConfig = new InitConfig(
+            sourceServices.copy(profile, sourceServices.getCaches().createSideProofCaches()));
         // Set modified taclet options in which runtime exceptions are banned.
         ImmutableSet<Choice> choices = sourceInitConfig.getActivatedChoices();
         for (Choice enabled : enableChoices) {
@@ -6,7 +6,6 @@ package de.uka.ilkd.key.util.parsing;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -93,10 +92,17 @@ public class SyntaxErrorReporter extends BaseErrorListener {
      */
     public void throwException() {
         if (hasErrors()) {
-            throw new ParserException("", errors);
+            throw new ParserException("", List.copyOf(errors));
         }
     }
 
+    /**
+     * Forgets the discovered syntax errors, e.g., before the parser is reused for another input.
+     */
+    public void clear() {
+        errors.clear();
+    }
+
 
     /**
      * Throws an exception if an error has occured, like {@link #throwException()}, but with an
@@ -109,7 +115,7 @@ public class SyntaxErrorReporter extends BaseErrorListener {
         if (hasErrors()) {
             String msg = errors.stream().map(it -> it.getBeatifulErrorMessage(lines))
                     .collect(Collectors.joining("\n--- \n"));
-            throw new ParserException(msg, Collections.unmodifiableList(errors));
+            throw new ParserException(msg, List.copyOf(errors));
         }
     }
 
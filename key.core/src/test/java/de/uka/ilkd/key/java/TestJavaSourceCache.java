@@ -0,0 +1,95 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.settings.GeneralSettings;
+import de.uka.ilkd.key.speclang.Contract;
+import de.uka.ilkd.key.util.CacheMetrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavaSourceCache {
+
+    private static final String SOURCE = """
+            public class Cached {
+                // a comment
+                /*@ public normal_behavior
+                  @ ensures \\result == %d;
+                  @*/
+                public int m() { return %<d; }
+            }
+            """;
+
+    @Test
+    public void testReload() throws Exception {
+        final Path dir = Files.createTempDirectory("javaSourceCache");
+        final Path file = dir.resolve("Cached.java");
+        GeneralSettings.reuseParsedSources = true;
+        try {
+            Files.writeString(file, SOURCE.formatted(1));
+            final Set<String> first = contracts(dir);
+            assertTrue(first.stream().anyMatch(c -> c.contains("result_m = 1")), first::toString);
+
+            final long hits = hits();
+            assertEquals(first, contracts(dir), "the copied unit yields the same contracts");
+            assertTrue(hits() > hits, "the unchanged file is not parsed again");
+
+            Files.writeString(file, SOURCE.formatted(2));
+            final Set<String> changed = contracts(dir);
+            assertTrue(changed.stream().anyMatch(c -> c.contains("result_m = 2")),
+                changed::toString);
+        } finally {
+            GeneralSettings.reuseParsedSources = false;
+            JavaSourceCache.getInstance().clear();
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        assertFalse(GeneralSettings.reuseParsedSources);
+        final Path dir = Files.createTempDirectory("javaSourceCache");
+        final Path file = dir.resolve("Cached.java");
+        try {
+            Files.writeString(file, SOURCE.formatted(3));
+            final long hits = hits();
+            contracts(dir);
+            contracts(dir);
+            assertEquals(hits, hits(), "the cache is not used");
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    private static Set<String> contracts(Path dir) throws Exception {
+        final KeYEnvironment<?> env = KeYEnvironment.load(dir, null, null, null);
+        try {
+            final Set<String> result = new TreeSet<>();
+            for (Contract c : env.getSpecificationRepository().getAllContracts()) {
+                if (c.getKJT().getName().equals("Cached")) {
+                    result.add(c.getPlainText(env.getServices()));
+                }
+            }
+            return result;
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private static long hits() {
+        return CacheMetrics.getInstance().snapshot().stream()
+                .filter(s -> s.name().equals("javaSources"))
+                .mapToLong(CacheMetrics.Statistics::hits).sum();
+    }
+}
@@ -0,0 +1,62 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java;
+
+import de.uka.ilkd.key.java.declaration.LocalVariableDeclaration;
+import de.uka.ilkd.key.java.statement.MethodFrame;
+import de.uka.ilkd.key.logic.JavaBlock;
+import de.uka.ilkd.key.logic.NamespaceSet;
+import de.uka.ilkd.key.rule.TacletForTests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJavaTools {
+
+    private Services services;
+    private Recoder2KeY c2k;
+
+    @BeforeEach
+    public void setUp() {
+        JavaInfo ji = TacletForTests.javaInfo();
+        services = TacletForTests.services();
+        c2k = new Recoder2KeY(services, ji.getKeYProgModelInfo().getServConf(), ji.rec2key(),
+            new NamespaceSet(), services.getTypeConverter());
+    }
+
+    @Test
+    public void testActiveStatement() {
+        final JavaBlock jb = c2k.readBlock(
+            "{ l: { try { int a = 1; a++; } catch (Exception e) {} } int b = 2; }",
+            c2k.createEmptyContext());
+        final SourceElement active = JavaTools.getActiveStatement(jb);
+        assertInstanceOf(LocalVariableDeclaration.class, active);
+        assertEquals("a", ((LocalVariableDeclaration) active).getVariables().get(0)
+                .getProgramVariable().name().toString());
+        assertSame(active, jb.getActiveStatement());
+
+        final JavaBlock empty = JavaBlock.createJavaBlock(new StatementBlock());
+        assertSame(empty.program(), JavaTools.getActiveStatement(empty));
+    }
+
+    @Test
+    public void testInnermostMethodFrame() {
+        final JavaBlock jb = c2k.readBlock(
+            "{ method-frame(source=hashCode()@java.lang.Object) { int a = 1; a++; } }",
+            c2k.createEmptyContext());
+        final MethodFrame frame = JavaTools.getInnermostMethodFrame(jb, services);
+        assertNotNull(frame);
+        assertSame(frame, JavaTools.getInnermostMethodFrame(jb, services));
+        assertSame(frame.getExecutionContext(),
+            JavaTools.getInnermostExecutionContext(jb, services));
+        assertInstanceOf(LocalVariableDeclaration.class, jb.getActiveStatement());
+
+        final JavaBlock noFrame =
+            c2k.readBlock("{ int a = 1; a++; }", c2k.createEmptyContext());
+        assertNull(JavaTools.getInnermostMethodFrame(noFrame, services));
+        assertNull(JavaTools.getInnermostExecutionContext(noFrame, services));
+    }
+}
@@ -8,6 +8,9 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 import de.uka.ilkd.key.java.abstraction.PrimitiveType;
 import de.uka.ilkd.key.java.expression.Operator;
@@ -25,9 +28,12 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import recoder.io.DataFileLocation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestRecoder2KeY {
     private static final Logger LOGGER = LoggerFactory.getLogger(TestRecoder2KeY.class);
@@ -153,6 +159,43 @@ public class TestRecoder2KeY {
     }
 
 
+    @Test
+    public void testParseFilesInParallel() throws Exception {
+        final Path dir = Files.createTempDirectory("parallelParsing");
+        try {
+            final String[] files = new String[16];
+            for (int i = 0; i < files.length; i++) {
+                final Path file = dir.resolve("P" + i + ".java");
+                Files.writeString(file, "package p;\n// comment " + i + "\nclass P" + i
+                    + " {\n  /*@ ensures \\result == " + i + "; @*/\n  int m() { return " + i
+                    + "; }\n}\n");
+                files[i] = file.toString();
+            }
+            final List<recoder.java.CompilationUnit> sequential = c2k.parseFiles(files, null, 1);
+            final List<recoder.java.CompilationUnit> parallel = c2k.parseFiles(files, null, 4);
+            assertEquals(files.length, parallel.size());
+            for (int i = 0; i < files.length; i++) {
+                assertEquals(sequential.get(i).toSource(), parallel.get(i).toSource());
+                assertEquals(files[i],
+                    ((DataFileLocation) parallel.get(i).getDataLocation()).getFile().getPath());
+                assertTrue(parallel.get(i).toSource().contains("ensures \\result == " + i));
+            }
+
+            Files.writeString(Path.of(files[3]), "class {");
+            Files.writeString(Path.of(files[9]), "class {");
+            final ParseExceptionInFile e =
+                assertThrows(ParseExceptionInFile.class, () -> c2k.parseFiles(files, null, 4));
+            assertEquals(files[3], e.getFilename());
+        } finally {
+            try (var stream = Files.list(dir)) {
+                for (Path file : stream.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
     /**
      * test compares the pretty print results from recoder and KeY modulo blanks and line feeds.
      * Input is the Recoder2KeY.java file. Not working: RECODER does not recognize imports
@@ -0,0 +1,156 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java.visitor;
+
+import de.uka.ilkd.key.java.*;
+import de.uka.ilkd.key.java.statement.EmptyStatement;
+import de.uka.ilkd.key.java.statement.Try;
+import de.uka.ilkd.key.logic.JavaBlock;
+import de.uka.ilkd.key.logic.NamespaceSet;
+import de.uka.ilkd.key.rule.TacletForTests;
+
+import org.key_project.util.ExtList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestProgramElementReplacer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestProgramElementReplacer.class);
+
+    private Services services;
+    private Recoder2KeY c2k;
+
+    @BeforeEach
+    public void setUp() {
+        JavaInfo ji = TacletForTests.javaInfo();
+        services = TacletForTests.services();
+        c2k = new Recoder2KeY(services, ji.getKeYProgModelInfo().getServConf(), ji.rec2key(),
+            new NamespaceSet(), services.getTypeConverter());
+    }
+
+    private StatementBlock readBlock(String block) {
+        return (StatementBlock) c2k.readBlock(block, c2k.createEmptyContext()).program();
+    }
+
+    /**
+     * replaces the element by walking the whole program, as done before the replacer only visited
+     * the path to the element
+     */
+    private ProgramElement replaceByFullWalk(StatementBlock program, ProgramElement oldElement,
+            ProgramElement newElement) {
+        return new CreatingASTVisitor(program, false, services) {
+            private boolean done = false;
+
+            ProgramElement go() {
+                stack.push(new ExtList());
+                walk(root());
+                return stack.peek().get(ProgramElement.class);
+            }
+
+            @Override
+            protected void doAction(ProgramElement node) {
+                if (!done && node == oldElement) {
+                    done = true;
+                    stack.pop();
+                    addToTopOfStack(newElement);
+                    changed();
+                } else {
+                    super.doAction(node);
+                }
+            }
+        }.go();
+    }
+
+    @Test
+    public void testReplaceSharesUnchangedSubtrees() {
+        final StatementBlock program = readBlock(
+            "{ int a = 1; try { int b = 2; { b++; a++; } } finally { a--; } a = a + 1; }");
+        final Try tryStmt = (Try) program.getStatementAt(1);
+        final StatementBlock inner = (StatementBlock) tryStmt.getBody().getStatementAt(1);
+        final ProgramElement increment = inner.getStatementAt(0);
+        final EmptyStatement empty = new EmptyStatement();
+
+        final StatementBlock result = (StatementBlock) new ProgramElementReplacer(program,
+            services).replace(increment, empty);
+        assertEquals(replaceByFullWalk(program, increment, empty), result);
+
+        // only the path to the replaced element is recreated
+        assertNotSame(program, result);
+        assertSame(program.getStatementAt(0), result.getStatementAt(0));
+        assertSame(program.getStatementAt(2), result.getStatementAt(2));
+        final Try newTry = (Try) result.getStatementAt(1);
+        assertNotSame(tryStmt, newTry);
+        assertSame(tryStmt.getBranchAt(0), newTry.getBranchAt(0));
+        assertSame(tryStmt.getBody().getStatementAt(0), newTry.getBody().getStatementAt(0));
+        final StatementBlock newInner = (StatementBlock) newTry.getBody().getStatementAt(1);
+        assertSame(empty, newInner.getStatementAt(0));
+        assertSame(inner.getStatementAt(1), newInner.getStatementAt(1));
+    }
+
+    @Test
+    public void testRemoveAndNotFound() {
+        final StatementBlock program = readBlock("{ int a = 1; { a++; a--; } a = 3; }");
+        final StatementBlock inner = (StatementBlock) program.getStatementAt(1);
+
+        final StatementBlock removed = (StatementBlock) new ProgramElementReplacer(program,
+            services).replace(inner.getStatementAt(0), null);
+        assertEquals(1, ((StatementBlock) removed.getStatementAt(1)).getStatementCount());
+        assertSame(inner.getStatementAt(1),
+            ((StatementBlock) removed.getStatementAt(1)).getStatementAt(0));
+
+        assertSame(program, new ProgramElementReplacer(program, services)
+                .replace(new EmptyStatement(), new EmptyStatement()));
+
+        final JavaBlock jb = JavaBlock.createJavaBlock(program);
+        final JavaBlock withoutActive = JavaTools.removeActiveStatement(jb, services);
+        assertEquals(2, ((StatementBlock) withoutActive.program()).getStatementCount());
+        assertSame(program.getStatementAt(1),
+            ((StatementBlock) withoutActive.program()).getStatementAt(0));
+    }
+
+    /**
+     * Compares the replacement of statements in a large method body with the walk over the whole
+     * program.
+     */
+    @Test
+    @Tag("performance")
+    public void benchmarkReplaceInLargeProgram() {
+        final StringBuilder sb = new StringBuilder("{ int a = 0;");
+        for (int i = 0; i < 200; i++) {
+            sb.append(" if (a > ").append(i).append(") { a = a + ").append(i)
+                    .append("; } else { a--; }");
+        }
+        sb.append(" { a++; } }");
+        final StatementBlock program = readBlock(sb.toString());
+        final ProgramElement last =
+            ((StatementBlock) program.getStatementAt(program.getStatementCount() - 1))
+                    .getStatementAt(0);
+        final EmptyStatement empty = new EmptyStatement();
+        final int runs = 500;
+
+        // replace the last and the active statement of the program
+        for (ProgramElement element : new ProgramElement[] { last, program.getStatementAt(0) }) {
+            long start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                replaceByFullWalk(program, element, empty);
+            }
+            final long fullWalk = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                new ProgramElementReplacer(program, services).replace(element, empty);
+            }
+            final long pathOnly = System.nanoTime() - start;
+
+            LOGGER.info("{} replacements of {}: full walk {} ms, path only {} ms", runs, element,
+                fullWalk / 1_000_000, pathOnly / 1_000_000);
+            assertTrue(pathOnly < fullWalk);
+        }
+    }
+}
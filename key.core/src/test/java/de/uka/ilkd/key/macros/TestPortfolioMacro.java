@@ -0,0 +1,139 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.macros;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPortfolioMacro {
+
+    private static final Path DIRECTORY =
+        HelperClassForTests.TESTCASE_DIRECTORY.resolve("congruenceClosure");
+
+    @Test
+    public void testCloseGoal() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("congruence.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final ProofMacroFinishedInfo info =
+                new PortfolioMacro().applyTo(null, proof, proof.openGoals(), null, null);
+            assertTrue(proof.closed(), "the steps of the side proof are copied");
+            assertTrue(info.getGoals().isEmpty());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testLeaveUnprovableGoalUntouched() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("open.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            new PortfolioMacro().applyTo(null, proof, proof.openGoals(), null, null);
+            assertEquals(1, proof.countNodes());
+            assertEquals(1, proof.openGoals().size());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testDecisionProceduresLeaveInvalidGoalsOpen() throws Exception {
+        final Path[] problems = { DIRECTORY.resolve("update.key"),
+            HelperClassForTests.TESTCASE_DIRECTORY.resolve("heapSimplification")
+                    .resolve("labeledOpen.key") };
+        for (Path problem : problems) {
+            KeYEnvironment<?> env = KeYEnvironment.load(problem, null, null, null);
+            try {
+                final Proof proof = env.getLoadedProof();
+                final PortfolioMacro.Attempt decision = new PortfolioMacro().createAttempts(proof)
+                        .stream().filter(a -> a.name().endsWith("decision procedures"))
+                        .findFirst().orElseThrow();
+                assertNull(decision.run(proof.openGoals().head()), problem + " is not valid");
+            } finally {
+                env.dispose();
+            }
+        }
+    }
+
+    @Test
+    public void testFirstClosureWins() throws Exception {
+        final AtomicBoolean slowInterrupted = new AtomicBoolean();
+        final AtomicBoolean slowCancelled = new AtomicBoolean();
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        final PortfolioMacro.Closure fast = goal -> {
+        };
+        final PortfolioMacro.Attempt slow = new PortfolioMacro.Attempt() {
+            @Override
+            public String name() {
+                return "slow";
+            }
+
+            @Override
+            public PortfolioMacro.Closure run(Goal goal) {
+                slowStarted.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    slowInterrupted.set(true);
+                }
+                return null;
+            }
+
+            @Override
+            public void cancel() {
+                slowCancelled.set(true);
+            }
+        };
+        final PortfolioMacro.Attempt failing = new PortfolioMacro.Attempt() {
+            @Override
+            public String name() {
+                return "failing";
+            }
+
+            @Override
+            public PortfolioMacro.Closure run(Goal goal) {
+                throw new IllegalStateException("attempt failed");
+            }
+        };
+        final PortfolioMacro.Attempt winning = new PortfolioMacro.Attempt() {
+            @Override
+            public String name() {
+                return "winning";
+            }
+
+            @Override
+            public PortfolioMacro.Closure run(Goal goal) throws InterruptedException {
+                slowStarted.await();
+                return fast;
+            }
+        };
+
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("open.key"), null, null, null);
+        try {
+            final Goal goal = env.getLoadedProof().openGoals().head();
+            final long start = System.currentTimeMillis();
+            assertSame(fast, PortfolioMacro.race(goal, List.of(slow, failing, winning)));
+            assertTrue(System.currentTimeMillis() - start < 30_000);
+            assertTrue(slowCancelled.get());
+            assertTrue(slowInterrupted.get());
+        } finally {
+            env.dispose();
+        }
+    }
+}
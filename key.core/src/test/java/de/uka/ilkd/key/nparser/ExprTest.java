@@ -5,20 +5,22 @@ package de.uka.ilkd.key.nparser;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.List;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.JTerm;
 import de.uka.ilkd.key.proof.init.JavaProfile;
 import de.uka.ilkd.key.util.parsing.BuildingException;
+import de.uka.ilkd.key.util.parsing.SyntaxErrorReporter;
 
 import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Alexander Weigl
@@ -70,4 +72,17 @@ public class ExprTest {
         assertEquals(e, a);
     }
 
+    @Test
+    void parseExpressions() throws IOException {
+        var io = getIo();
+        var terms = io.parseExpressions(List.of("aa + bb", "aa < bb & bb < cc", "x"));
+        assertEquals(List.of(io.parseExpression("aa + bb"), io.parseExpression("aa < bb & bb < cc"),
+            io.parseExpression("x")), terms);
+
+        var e = assertThrows(SyntaxErrorReporter.ParserException.class,
+            () -> io.parseExpressions(List.of("aa + bb", "aa + + ) bb")));
+        assertEquals(1, e.getLocation().getPosition().line());
+        // the parser of this thread is reused after a syntax error
+        assertEquals(terms.get(0), io.parseExpression("aa + bb"));
+    }
 }
@@ -0,0 +1,218 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.TermFactory;
+import de.uka.ilkd.key.logic.op.Equality;
+import de.uka.ilkd.key.logic.op.LogicVariable;
+import de.uka.ilkd.key.logic.sort.SortImpl;
+import de.uka.ilkd.key.proof.calculus.JavaDLSequentKit;
+import de.uka.ilkd.key.proof.init.AbstractProfile;
+import de.uka.ilkd.key.proof.init.InitConfig;
+import de.uka.ilkd.key.rule.TacletForTests;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.sort.Sort;
+import org.key_project.prover.sequent.Sequent;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ClosedSubtreeCompactor} and {@link SequentDelta}.
+ */
+public class TestClosedSubtreeCompactor {
+    private static final int DEPTH = 100;
+
+    private Proof proof;
+    private Sort sort;
+    private int nextVar = 0;
+
+    /** the nodes of the main branch, in order */
+    private final List<Node> branch = new ArrayList<>();
+    /** the original sequents of all nodes */
+    private final List<Sequent> sequents = new ArrayList<>();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        sort = new SortImpl(new Name("s"));
+        proof = new Proof("TestClosedSubtreeCompactor",
+            new InitConfig(new Services(AbstractProfile.getDefaultProfile())));
+
+        Sequent seq = JavaDLSequentKit.createSequent(
+            ImmutableSLList.<SequentFormula>nil().prepend(newFormula(), newFormula(), newFormula()),
+            ImmutableSLList.singleton(newFormula()));
+        Node root = newNode(seq, null);
+        proof.setRoot(root);
+        branch.add(root);
+
+        Node current = root;
+        for (int i = 1; i < DEPTH; i++) {
+            switch (i % 4) {
+            case 0 -> seq = seq.replaceFormula(1, newFormula()).sequent();
+            case 1 -> seq = seq.addFormula(newFormula(), false, true).sequent();
+            case 2 -> seq = seq.replaceFormula(seq.size(), newFormula()).sequent();
+            default -> seq = seq.addFormula(newFormula(), true, false).sequent();
+            }
+            if (i % 10 == 0) {
+                // a side branch which is closed immediately
+                Node side = newNode(seq.addFormula(newFormula(), true, true).sequent(), current);
+                current.add(side);
+            }
+            Node next = newNode(seq, current);
+            current.add(next);
+            branch.add(next);
+            current = next;
+        }
+    }
+
+    private SequentFormula newFormula() {
+        TermFactory tf = TacletForTests.services().getTermFactory();
+        LogicVariable v = new LogicVariable(new Name("v" + nextVar++), sort);
+        JTerm t = tf.createTerm(Equality.EQUALS, tf.createTerm(v), tf.createTerm(v));
+        return new SequentFormula(t);
+    }
+
+    private Node newNode(Sequent seq, Node parent) {
+        Node node = parent == null ? new Node(proof, seq) : new Node(proof, seq, parent);
+        nodes.add(node);
+        sequents.add(seq);
+        return node;
+    }
+
+    private void closeAll() {
+        for (Node node : nodes) {
+            if (node.leaf()) {
+                node.close();
+            }
+        }
+    }
+
+    private static void assertSameFormulas(Sequent expected, Sequent actual) {
+        assertEquals(expected.antecedent().size(), actual.antecedent().size());
+        assertEquals(expected.succedent().size(), actual.succedent().size());
+        Iterator<SequentFormula> it = actual.iterator();
+        for (SequentFormula sf : expected) {
+            assertSame(sf, it.next());
+        }
+    }
+
+    @Test
+    public void testDeltaRoundTrip() {
+        for (Node node : nodes) {
+            if (node.parent() != null) {
+                Sequent parentSeq = node.parent().sequent();
+                SequentDelta delta = SequentDelta.create(parentSeq, node.sequent());
+                assertSameFormulas(node.sequent(), delta.apply(parentSeq));
+            }
+        }
+    }
+
+    @Test
+    public void testCompactionKeepsSequents() {
+        closeAll();
+        assertTrue(proof.root().isClosed());
+
+        int compacted = ClosedSubtreeCompactor.compact(proof.root());
+        assertTrue(compacted > 0);
+
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            if (node.leaf() || node.root()) {
+                assertFalse(node.isCompacted(), "Leaves and the subtree root keep their sequents");
+            }
+            assertSameFormulas(sequents.get(i), node.sequent());
+        }
+    }
+
+    @Test
+    public void testCheckpoints() {
+        closeAll();
+        ClosedSubtreeCompactor.compact(proof.root());
+
+        int distance = 0;
+        for (Node node : branch) {
+            if (node.isCompacted()) {
+                distance++;
+                assertTrue(distance < ClosedSubtreeCompactor.CHECKPOINT_INTERVAL);
+            } else {
+                distance = 0;
+            }
+        }
+    }
+
+    @Test
+    public void testRepeatedCompaction() {
+        // close and compact the lower part first, then the whole tree
+        Node middle = branch.get(DEPTH / 2);
+        for (Node node : nodes) {
+            if (node.leaf() && middle.find(node)) {
+                node.close();
+            }
+        }
+        assertTrue(middle.isClosed());
+        ClosedSubtreeCompactor.compact(middle);
+        assertFalse(branch.get(DEPTH / 4).isCompacted());
+
+        closeAll();
+        ClosedSubtreeCompactor.compact(proof.root());
+        for (int i = 0; i < nodes.size(); i++) {
+            assertSameFormulas(sequents.get(i), nodes.get(i).sequent());
+        }
+    }
+
+    @Test
+    public void testCompactedSubtreesAreSkipped() {
+        Node middle = branch.get(DEPTH / 2);
+        for (Node node : nodes) {
+            if (node.leaf() && middle.find(node)) {
+                node.close();
+            }
+        }
+        ClosedSubtreeCompactor.compact(middle);
+        List<Boolean> compacted = new ArrayList<>();
+        for (Node node : nodes) {
+            compacted.add(node.isCompacted());
+        }
+
+        closeAll();
+        ClosedSubtreeCompactor.compact(proof.root());
+        assertFalse(middle.isCompacted());
+        for (int i = 0; i < nodes.size(); i++) {
+            if (middle.find(nodes.get(i))) {
+                assertEquals(compacted.get(i), nodes.get(i).isCompacted());
+            }
+        }
+        assertEquals(0, ClosedSubtreeCompactor.compact(proof.root()));
+
+        // reopening a goal below the middle node makes its subtree eligible again
+        Node leaf = branch.get(DEPTH - 1);
+        leaf.reopen();
+        assertFalse(middle.isCompactedSubtreeRoot());
+        assertFalse(proof.root().isCompactedSubtreeRoot());
+    }
+
+    @Test
+    public void testSetSequentRestoresNode() {
+        closeAll();
+        ClosedSubtreeCompactor.compact(proof.root());
+        Node node = branch.get(5);
+        assertTrue(node.isCompacted());
+        Sequent seq = node.sequent();
+        node.setSequent(seq);
+        assertFalse(node.isCompacted());
+        assertSame(seq, node.sequent());
+    }
+}
@@ -0,0 +1,71 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.prover.engine.ProofSearchInformation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRuleProfile {
+
+    private static final Path PROBLEM = HelperClassForTests.TESTCASE_DIRECTORY
+            .resolve("updateNormalization").resolve("sequential.key");
+
+    @Test
+    public void testProfile() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROBLEM, null, null, null);
+        final Path file = Files.createTempFile("ruleProfile", ".json");
+        try {
+            final Proof proof = env.getLoadedProof();
+            assertNull(proof.getRuleProfile(), "rules are not profiled by default");
+            final RuleProfile profile = proof.startRuleProfile();
+            assertSame(profile, proof.startRuleProfile());
+
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(new StrategyProperties());
+            ps.setMaxRuleApplications(1000);
+            final ProofSearchInformation<?, ?> info = ps.start();
+            assertTrue(proof.closed());
+
+            final List<RuleProfile.Entry> entries = profile.entries();
+            assertEquals(info.getNumberOfAppliedRuleApps(),
+                entries.stream().mapToLong(RuleProfile.Entry::applications).sum());
+            for (int i = 1; i < entries.size(); i++) {
+                assertTrue(entries.get(i - 1).totalTime() >= entries.get(i).totalTime());
+            }
+            for (RuleProfile.Entry e : entries) {
+                assertTrue(e.matches() <= e.matchAttempts(), e.rule());
+            }
+            assertTrue(entries.stream().anyMatch(e -> e.kind().equals("taclet")
+                    && e.matches() > 0 && !e.ruleSets().isEmpty()));
+            assertTrue(entries.stream().anyMatch(e -> e.kind().equals("built-in")
+                    && e.matchAttempts() > 0));
+            assertTrue(entries.stream().anyMatch(e -> e.featureTime() > 0));
+
+            final String csv = profile.toCSV(";");
+            assertTrue(csv.startsWith("rule;kind;rule sets;match attempts;"));
+            assertEquals(entries.size() + 1, csv.lines().count());
+
+            profile.save(file);
+            final String json = Files.readString(file);
+            assertTrue(json.startsWith("[\n  {\"rule\": \"" + entries.get(0).rule() + "\""));
+            assertEquals(entries.size(), json.lines().filter(l -> l.contains("\"rule\"")).count());
+        } finally {
+            env.dispose();
+            Files.deleteIfExists(file);
+        }
+    }
+}
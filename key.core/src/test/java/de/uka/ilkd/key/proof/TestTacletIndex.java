@@ -5,14 +5,18 @@ package de.uka.ilkd.key.proof;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
+import de.uka.ilkd.key.control.KeYEnvironment;
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.*;
 import de.uka.ilkd.key.proof.calculus.JavaDLSequentKit;
 import de.uka.ilkd.key.proof.init.AbstractProfile;
 import de.uka.ilkd.key.proof.init.InitConfig;
 import de.uka.ilkd.key.rule.*;
+import de.uka.ilkd.key.strategy.StrategyProperties;
 import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
 
 import org.key_project.logic.Name;
 import org.key_project.logic.PosInTerm;
@@ -29,6 +33,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -265,6 +270,46 @@ public class TestTacletIndex {
 
     }
 
+    /**
+     * Taclets whose Java block starts with a program schema variable are only tried on Java blocks
+     * whose active statement the schema variable may stand for.
+     */
+    @Test
+    public void testProgramSVTacletsSelectedBySort(@TempDir Path tmp) throws Exception {
+        final Path problem = tmp.resolve("programSV.key");
+        Files.writeString(problem, """
+                \\programVariables { int i; int j; }
+                \\problem {
+                    \\<{ int k = 0, l = 1;
+                         j = k;
+                         switch (j) { case 0: j = l; break; default: j = 2; }
+                         for (i = 0; i < 1; i++) { j++; }
+                    }\\> j = 2
+                }
+                """);
+        KeYEnvironment<?> env = KeYEnvironment.load(problem, null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final RuleProfile profile = proof.startRuleProfile();
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(new StrategyProperties());
+            ps.setMaxRuleApplications(100);
+            ps.start();
+
+            final List<RuleProfile.Entry> entries = profile.entries();
+            for (String name : List.of("variableDeclarationMult", "switch", "for_to_while")) {
+                final RuleProfile.Entry entry = entries.stream()
+                        .filter(e -> e.rule().equals(name)).findFirst().orElseThrow();
+                assertTrue(entry.applications() > 0, name);
+                // without the selection, the taclets are tried on every Java block
+                assertTrue(entry.matchAttempts() <= 2 * entry.matches(), entry::toString);
+            }
+        } finally {
+            env.dispose();
+        }
+    }
+
     private RuleAppIndex createGoalFor(Sequent seq_p5, TacletIndex ruleIdx) {
         final Node node_p5 = new Node(new Proof("TestTacletIndex",
             new InitConfig(new Services(AbstractProfile.getDefaultProfile()))), seq_p5);
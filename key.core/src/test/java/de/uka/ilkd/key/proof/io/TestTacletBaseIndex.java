@@ -0,0 +1,65 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.nparser.KeyAst;
+import de.uka.ilkd.key.nparser.ParsingFacade;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTacletBaseIndex {
+
+    private static final RuleSource STANDARD_RULES =
+        RuleSourceFactory.fromBuiltInRule("standardRules.key");
+
+    @Test
+    public void testIncludeClosure() {
+        final List<String> files = TacletBaseIndex.getIncludeClosure(STANDARD_RULES).stream()
+                .map(e -> e.url().toExternalForm()).toList();
+        assertEquals(STANDARD_RULES.getExternalForm(), files.get(0));
+        for (String name : List.of("ldt.key", "boolean.key", "javaRules.key", "assertions.key")) {
+            assertTrue(
+                files.contains(RuleSourceFactory.fromBuiltInRule(name).getExternalForm()), name);
+        }
+        assertEquals(files.size(), files.stream().distinct().count());
+
+        // no index for other rule files
+        assertEquals(List.of(),
+            TacletBaseIndex.getIncludeClosure(RuleSourceFactory.fromBuiltInRule("ldt.key")));
+    }
+
+    @Test
+    public void testParseIncludeClosure() throws Exception {
+        final Map<String, KeyAst.File> parsed =
+            TacletBaseIndex.parseIncludeClosure(STANDARD_RULES);
+        assertEquals(TacletBaseIndex.getIncludeClosure(STANDARD_RULES).size(), parsed.size());
+
+        final RuleSource intRules = RuleSourceFactory.fromBuiltInRule("intRules.key");
+        final KeyAst.File ctx = parsed.get(intRules.getExternalForm());
+        assertNotNull(ctx);
+        assertEquals(ParsingFacade.parseFile(intRules.getCharStream()).getText(), ctx.getText());
+        assertEquals(intRules.url().toString(),
+            ParsingFacade.getParseRuleContext(ctx).start.getTokenSource().getSourceName());
+    }
+
+    @Test
+    public void testTacletDirectory() {
+        final String old = System.getProperty(RuleSourceFactory.STD_TACLET_DIR_PROP_KEY);
+        System.setProperty(RuleSourceFactory.STD_TACLET_DIR_PROP_KEY, "rules");
+        try {
+            assertEquals(Map.of(), TacletBaseIndex.parseIncludeClosure(STANDARD_RULES));
+        } finally {
+            if (old == null) {
+                System.clearProperty(RuleSourceFactory.STD_TACLET_DIR_PROP_KEY);
+            } else {
+                System.setProperty(RuleSourceFactory.STD_TACLET_DIR_PROP_KEY, old);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.mgt;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.abstraction.KeYJavaType;
+import de.uka.ilkd.key.logic.op.IObserverFunction;
+import de.uka.ilkd.key.logic.op.IProgramMethod;
+import de.uka.ilkd.key.speclang.ClassAxiom;
+import de.uka.ilkd.key.speclang.Contract;
+import de.uka.ilkd.key.speclang.RepresentsAxiom;
+
+import org.key_project.util.collection.ImmutableSLList;
+import org.key_project.util.collection.ImmutableSet;
+import org.key_project.util.collection.Pair;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSpecificationRepository {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    public void testIndexedLookups() throws Exception {
+        Files.writeString(tmp.resolve("A.java"), """
+                public class A {
+                    //@ public model int f;
+                    //@ public represents f = 1;
+
+                    //@ public normal_behavior ensures \\result == f;
+                    public int m() { return 1; }
+                }
+                """);
+        Files.writeString(tmp.resolve("B.java"), """
+                public class B extends A {
+                    public int m() { return 1; }
+                }
+                """);
+        KeYEnvironment<?> env = KeYEnvironment.load(tmp, null, null, null);
+        try {
+            final SpecificationRepository repo = env.getSpecificationRepository();
+            final KeYJavaType a = env.getJavaInfo().getKeYJavaType("A");
+            final KeYJavaType b = env.getJavaInfo().getKeYJavaType("B");
+            final IProgramMethod m =
+                env.getJavaInfo().getProgramMethod(a, "m", ImmutableSLList.<KeYJavaType>nil(), a);
+
+            final ImmutableSet<Pair<KeYJavaType, IObserverFunction>> overriding =
+                repo.getOverridingTargets(a, m);
+            assertEquals(1, overriding.size());
+            final Pair<KeYJavaType, IObserverFunction> sub = overriding.iterator().next();
+            assertEquals(b, sub.first);
+            assertEquals(b, sub.second.getContainerType());
+            assertSame(overriding, repo.getOverridingTargets(a, m));
+
+            // the contract of A::m is inherited to B::m, also when looked up via A::m
+            final ImmutableSet<Contract> contracts = repo.getContracts(b, m);
+            assertEquals(1, contracts.size());
+            assertEquals(contracts, repo.getContracts(b, sub.second));
+            assertEquals(1, repo.getContracts(a, m).size());
+
+            // the represents clause of A::f is inherited to B
+            final ImmutableSet<ClassAxiom> axioms = repo.getClassAxioms(b);
+            assertTrue(axioms.stream().anyMatch(ax -> ax instanceof RepresentsAxiom
+                    && ax.getKJT().equals(b) && ax.getTarget().name().toString().endsWith("f")),
+                axioms::toString);
+
+            // concurrent readers get the same instances
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                final List<Future<ImmutableSet<ClassAxiom>>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    results.add(executor.submit(() -> repo.getClassAxioms(a)));
+                }
+                final ImmutableSet<ClassAxiom> first = results.get(0).get();
+                for (Future<ImmutableSet<ClassAxiom>> result : results) {
+                    assertSame(first, result.get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertSame(axioms, repo.getClassAxioms(b));
+        } finally {
+            env.dispose();
+        }
+    }
+}
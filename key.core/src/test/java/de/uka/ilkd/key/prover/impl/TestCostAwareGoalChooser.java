@@ -0,0 +1,123 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.nio.file.Path;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.init.Profile;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.TacletApp;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.PosInTerm;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCostAwareGoalChooser {
+
+    private static final Path PROBLEM =
+        HelperClassForTests.TESTCASE_DIRECTORY.resolve("goalChooser").resolve("branches.key");
+
+    @Test
+    public void testProve() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROBLEM, null, null, null);
+        final Profile profile = env.getProfile();
+        final String previous = profile.getSelectedGoalChooserBuilder().name();
+        try {
+            assertTrue(profile.supportedGoalChoosers().contains(CostAwareGoalChooserFactory.NAME));
+            profile.setSelectedGoalChooserBuilder(CostAwareGoalChooserFactory.NAME);
+            assertInstanceOf(CostAwareGoalChooser.class,
+                profile.getSelectedGoalChooserBuilder().create());
+
+            final Proof proof = env.getLoadedProof();
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(new StrategyProperties());
+            ps.setMaxRuleApplications(10000);
+            ps.start();
+            assertTrue(proof.closed());
+        } finally {
+            profile.setSelectedGoalChooserBuilder(previous);
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testRating() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROBLEM, null, null, null);
+        try {
+            final Goal goal = env.getLoadedProof().openGoals().head();
+            assertTrue(
+                ((JTerm) goal.sequent().succedent().getFirst().formula())
+                        .containsJavaBlockRecursive(),
+                "the problem contains a program");
+            final CostAwareGoalChooser chooser = new CostAwareGoalChooser();
+            final long rating = chooser.rate(goal.sequent());
+            assertTrue(rating > 5000, "the modality is penalized");
+            assertEquals(rating, chooser.rate(goal.sequent()));
+
+            chooser.init(env.getLoadedProof(), env.getLoadedProof().openGoals());
+            assertSame(goal, chooser.getNextGoal());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testCheapGoalFirst() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROBLEM, null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            // split the problem into the program and the quantified formula
+            final Goal goal = proof.openGoals().head();
+            final PosInOccurrence pos = new PosInOccurrence(
+                goal.sequent().succedent().getFirst(), PosInTerm.getTopLevel(), false);
+            final NoPosTacletApp andRight = goal.indexOfTaclets().lookup(new Name("andRight"));
+            TacletApp app = andRight.matchFind(pos, proof.getServices());
+            app = app.setPosInOccurrence(pos, proof.getServices());
+            app = app.tryToInstantiate(proof.getServices().getOverlay(goal.getLocalNamespaces()));
+            goal.apply(app);
+            final Goal expensive = findGoal(proof, true);
+            final Goal cheap = findGoal(proof, false);
+            final ImmutableList<Goal> goals =
+                ImmutableSLList.<Goal>nil().prepend(expensive).prepend(cheap);
+
+            final DefaultGoalChooser standard = new DefaultGoalChooser();
+            standard.init(proof, goals);
+            assertSame(expensive, standard.getNextGoal());
+
+            final CostAwareGoalChooser chooser = new CostAwareGoalChooser();
+            chooser.init(proof, goals);
+            assertTrue(chooser.rate(cheap.sequent()) < chooser.rate(expensive.sequent()));
+            assertSame(cheap, chooser.getNextGoal());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    /**
+     * @return the open goal whose succedent does or does not contain a program
+     */
+    private static Goal findGoal(Proof proof, boolean program) {
+        for (Goal goal : proof.openGoals()) {
+            if (((JTerm) goal.sequent().succedent().getFirst().formula())
+                    .containsJavaBlockRecursive() == program) {
+                return goal;
+            }
+        }
+        throw new AssertionError("no such goal");
+    }
+}
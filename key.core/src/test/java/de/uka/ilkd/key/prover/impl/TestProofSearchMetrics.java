@@ -0,0 +1,95 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.prover.engine.ProofSearchInformation;
+import org.key_project.prover.engine.TaskStartedInfo.TaskKind;
+import org.key_project.prover.engine.impl.GoalSelectedEvent;
+import org.key_project.prover.engine.impl.RuleAppliedEvent;
+
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestProofSearchMetrics {
+
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(HelperClassForTests.TESTCASE_DIRECTORY
+                .resolve("updateNormalization").resolve("sequential.key"), null, null, null);
+        final Path file = Files.createTempFile("proofSearch", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(GoalSelectedEvent.class);
+            recording.enable(RuleAppliedEvent.class);
+            recording.enable(StrategyCostEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(IndexUpdateEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            final Proof proof = env.getLoadedProof();
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(new StrategyProperties());
+            ps.setMaxRuleApplications(1000);
+            final ProofSearchInformation<?, ?> info = ps.start();
+            assertTrue(proof.closed());
+
+            recording.stop();
+            recording.dump(file);
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(info.getNumberOfAppliedRuleApps(), count(events, RuleAppliedEvent.class),
+                "one event per rule application");
+            assertTrue(count(events, GoalSelectedEvent.class) >= info.getNumberOfAppliedRuleApps());
+            assertTrue(count(events, StrategyCostEvent.class) > 0);
+            assertTrue(count(events, IndexUpdateEvent.class) > 0);
+            assertTrue(events.stream().filter(e -> isOf(e, RuleAppliedEvent.class))
+                    .allMatch(e -> e.getString("rule") != null));
+        } finally {
+            env.dispose();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static boolean isOf(RecordedEvent event, Class<?> type) {
+        return event.getEventType().getName().equals(type.getAnnotation(Name.class).value());
+    }
+
+    private static long count(List<RecordedEvent> events, Class<?> type) {
+        return events.stream().filter(e -> isOf(e, type)).count();
+    }
+
+    @Test
+    public void testReport() {
+        final ProofSearchMetrics metrics = new ProofSearchMetrics(() -> null);
+        metrics.taskStarted(new DefaultTaskStartedInfo(TaskKind.Loading, "Loading", 10));
+        metrics.taskProgress(10);
+        metrics.taskStarted(new DefaultTaskStartedInfo(TaskKind.Strategy, "Strategy", 100));
+        for (int i = 1; i <= 5; i++) {
+            metrics.taskProgress(i);
+        }
+        metrics.taskFinished(null);
+        metrics.taskStarted(new DefaultTaskStartedInfo(TaskKind.Macro, "Macro", 100));
+        metrics.taskProgress(2);
+
+        final String first = metrics.report();
+        assertTrue(first.startsWith("Proof search: 7 steps (+7, "), first);
+        assertTrue(first.contains(" MB"), first);
+        assertFalse(first.contains("open goals"), first);
+        assertTrue(metrics.report().startsWith("Proof search: 7 steps (+0, "));
+    }
+}
@@ -0,0 +1,163 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.Statistics;
+import de.uka.ilkd.key.proof.io.ProofSaver;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.logic.PosInTerm;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCongruenceClosureRule {
+
+    private static final Path DIRECTORY =
+        HelperClassForTests.TESTCASE_DIRECTORY.resolve("congruenceClosure");
+
+    private static PosInOccurrence antecedent(Goal goal, int index) {
+        final SequentFormula sf = goal.sequent().antecedent().get(index);
+        return new PosInOccurrence(sf, PosInTerm.getTopLevel(), true);
+    }
+
+    @Test
+    public void testInstantiateAndApply() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("congruence.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final Goal goal = proof.openGoals().head();
+            final PosInOccurrence focus = antecedent(goal, 0);
+            assertTrue(CongruenceClosureRule.INSTANCE.isApplicable(goal, focus));
+            assertFalse(CongruenceClosureRule.INSTANCE.isApplicable(goal, antecedent(goal, 3)));
+
+            final CongruenceClosureBuiltInRuleApp app =
+                CongruenceClosureRule.INSTANCE.createApp(focus, proof.getServices());
+            assertFalse(app.complete());
+            final CongruenceClosureBuiltInRuleApp instantiated = app.tryToInstantiate(goal);
+            assertTrue(instantiated.complete());
+            assertEquals(3, instantiated.assumesInsts().size(), "d = c is not needed");
+
+            goal.apply(instantiated);
+            assertTrue(proof.closed());
+            assertTrue(instantiated.getDerivedEquations() > 0);
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testNoContradiction() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("open.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final Goal goal = proof.openGoals().head();
+            final CongruenceClosureBuiltInRuleApp app = CongruenceClosureRule.INSTANCE
+                    .createApp(antecedent(goal, 0), proof.getServices()).tryToInstantiate(goal);
+            assertFalse(app.complete());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    /**
+     * The targets of update applications are evaluated in another state, such that
+     * <code>x = 1</code> does not imply <code>{x := 2}x = {x := 2}1</code>.
+     */
+    @Test
+    public void testUpdateApplicationsAreOpaque() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("update.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final Goal goal = proof.openGoals().head();
+            final CongruenceClosureBuiltInRuleApp app = CongruenceClosureRule.INSTANCE
+                    .createApp(antecedent(goal, 0), proof.getServices()).tryToInstantiate(goal);
+            assertFalse(app.complete());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testStrategyReplayAndStatistics() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("congruence.key"), null, null, null);
+        Path file = Files.createTempFile("congruenceClosure", ".proof");
+        try {
+            final Proof proof = env.getLoadedProof();
+            final StrategyProperties sp = new StrategyProperties();
+            sp.setProperty(StrategyProperties.CONGRUENCE_CLOSURE_OPTIONS_KEY,
+                StrategyProperties.CONGRUENCE_CLOSURE_ON);
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(sp);
+            ps.setMaxRuleApplications(1000);
+            ps.start();
+            assertTrue(proof.closed());
+            assertTrue(usesRule(proof), "the goal is closed by congruence closure");
+
+            final Statistics statistics = proof.getStatistics();
+            assertEquals(1, statistics.congruenceClosureApps);
+            assertTrue(statistics.congruenceClosureEquations > 0);
+            assertTrue(statistics.toString().contains("Rewrites saved by congruence closure"));
+
+            assertNull(new ProofSaver(proof, file).save());
+            KeYEnvironment<?> reloaded = KeYEnvironment.load(file, null, null, null);
+            try {
+                assertTrue(reloaded.getLoadedProof().closed());
+                assertTrue(usesRule(reloaded.getLoadedProof()));
+            } finally {
+                reloaded.dispose();
+            }
+        } finally {
+            env.dispose();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testOffByDefault() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("congruence.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(new StrategyProperties());
+            ps.setMaxRuleApplications(1000);
+            ps.start();
+            assertFalse(usesRule(proof));
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private static boolean usesRule(Proof proof) {
+        final Iterator<Node> it = proof.root().subtreeIterator();
+        while (it.hasNext()) {
+            final Node node = it.next();
+            if (node.getAppliedRuleApp() != null
+                    && node.getAppliedRuleApp().rule() == CongruenceClosureRule.INSTANCE) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,205 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.ldt.HeapLDT;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProofSaver;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.logic.PosInTerm;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHeapSimplificationRule {
+
+    private static final Path DIRECTORY =
+        HelperClassForTests.TESTCASE_DIRECTORY.resolve("heapSimplification");
+
+    /**
+     * @return the position of the left side of the equation at the given index of the succedent
+     */
+    private static PosInOccurrence select(Goal goal, int index) {
+        final SequentFormula sf = goal.sequent().succedent().get(index);
+        return new PosInOccurrence(sf, PosInTerm.getTopLevel().down(0), false);
+    }
+
+    private static JTerm left(Goal goal, int index) {
+        return (JTerm) goal.sequent().succedent().get(index).formula().sub(0);
+    }
+
+    @Test
+    public void testResolveStoreChain() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("chain.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final Goal goal = proof.openGoals().head();
+            final PosInOccurrence focus = select(goal, 1);
+            assertTrue(HeapSimplificationRule.INSTANCE.isApplicable(goal, focus));
+
+            final HeapSimplificationBuiltInRuleApp app = HeapSimplificationRule.INSTANCE
+                    .createApp(focus, proof.getServices()).tryToInstantiate(goal);
+            assertTrue(app.complete());
+            assertEquals(1, app.assumesInsts().size(), "a != b is needed");
+            goal.apply(app);
+
+            final Goal result = proof.openGoals().head();
+            final JTerm equation = (JTerm) result.sequent().succedent().get(1).formula();
+            assertEquals(equation.sub(1), equation.sub(0), "the read is resolved to v");
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testStopAtUnknownStore() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("chain.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final Goal goal = proof.openGoals().head();
+            final HeapSimplificationBuiltInRuleApp app = HeapSimplificationRule.INSTANCE
+                    .createApp(select(goal, 2), proof.getServices()).tryToInstantiate(goal);
+            assertTrue(app.complete());
+            assertTrue(app.assumesInsts().isEmpty(), "the fields differ");
+            goal.apply(app);
+
+            final Goal result = proof.openGoals().head();
+            final HeapLDT heapLDT = proof.getServices().getTypeConverter().getHeapLDT();
+            final JTerm read = left(result, 2);
+            assertTrue(heapLDT.isSelectOp(read.op()));
+            assertSame(heapLDT.getStore(), read.sub(0).op());
+            assertSame(heapLDT.getHeap(), read.sub(0).sub(0).op(), "the store to c is kept");
+            assertFalse(HeapSimplificationRule.INSTANCE.isApplicable(result, select(result, 2)));
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testTermLabelsAreIgnored() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("labeled.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            // the field of the read is labeled at arr(1) and at 1, respectively
+            for (int i = 0; i < 2; i++) {
+                final Goal goal = proof.openGoals().head();
+                final HeapSimplificationBuiltInRuleApp app = HeapSimplificationRule.INSTANCE
+                        .createApp(select(goal, i), proof.getServices()).tryToInstantiate(goal);
+                assertTrue(app.complete());
+                goal.apply(app);
+
+                final Goal result = proof.openGoals().head();
+                final JTerm equation = (JTerm) result.sequent().succedent().get(i).formula();
+                assertEquals(equation.sub(1), equation.sub(0), "the read is resolved");
+            }
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testDisequalityOfLabeledTerms() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("labeled.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final Goal goal = proof.openGoals().head();
+            final HeapSimplificationBuiltInRuleApp app = HeapSimplificationRule.INSTANCE
+                    .createApp(select(goal, 2), proof.getServices()).tryToInstantiate(goal);
+            assertTrue(app.complete());
+            assertEquals(1, app.assumesInsts().size(), "a != b is needed");
+            goal.apply(app);
+
+            final JTerm read = left(proof.openGoals().head(), 2);
+            assertSame(proof.getServices().getTypeConverter().getHeapLDT().getHeap(),
+                read.sub(0).op(), "the store to a is skipped");
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testStrategyAndReplay() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("chain.key"), null, null, null);
+        // the saved proof refers to the Java sources relative to its location
+        final Path directory = Files.createTempDirectory("heapSimplification");
+        final Path source = Files.copy(DIRECTORY.resolve("A.java"), directory.resolve("A.java"));
+        final Path file = directory.resolve("chain.proof");
+        try {
+            final Proof proof = env.getLoadedProof();
+            final StrategyProperties sp = new StrategyProperties();
+            sp.setProperty(StrategyProperties.HEAP_SIMPLIFICATION_OPTIONS_KEY,
+                StrategyProperties.HEAP_SIMPLIFICATION_ON);
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(sp);
+            ps.setMaxRuleApplications(1000);
+            ps.start();
+            assertTrue(proof.closed());
+            assertTrue(usesRule(proof));
+
+            assertNull(new ProofSaver(proof, file).save());
+            KeYEnvironment<?> reloaded = KeYEnvironment.load(file, null, null, null);
+            try {
+                assertTrue(reloaded.getLoadedProof().closed());
+                assertTrue(usesRule(reloaded.getLoadedProof()));
+            } finally {
+                reloaded.dispose();
+            }
+        } finally {
+            env.dispose();
+            Files.deleteIfExists(file);
+            Files.delete(source);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testOffByDefault() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("chain.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(new StrategyProperties());
+            ps.setMaxRuleApplications(1000);
+            ps.start();
+            assertTrue(proof.closed());
+            assertFalse(usesRule(proof));
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private static boolean usesRule(Proof proof) {
+        final Iterator<Node> it = proof.root().subtreeIterator();
+        while (it.hasNext()) {
+            final Node node = it.next();
+            if (node.getAppliedRuleApp() != null
+                    && node.getAppliedRuleApp().rule() == HeapSimplificationRule.INSTANCE) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,137 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProofSaver;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.logic.PosInTerm;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLinearArithmeticRule {
+
+    private static final Path DIRECTORY =
+        HelperClassForTests.TESTCASE_DIRECTORY.resolve("linearArithmetic");
+
+    private static PosInOccurrence antecedent(Goal goal, int index) {
+        final SequentFormula sf = goal.sequent().antecedent().get(index);
+        return new PosInOccurrence(sf, PosInTerm.getTopLevel(), true);
+    }
+
+    @Test
+    public void testInstantiateAndApply() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("contradiction.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final Goal goal = proof.openGoals().head();
+            final PosInOccurrence focus = antecedent(goal, 3);
+            assertTrue(LinearArithmeticRule.INSTANCE.isApplicable(goal, focus));
+
+            final LinearArithmeticBuiltInRuleApp app =
+                LinearArithmeticRule.INSTANCE.createApp(focus, proof.getServices());
+            assertFalse(app.complete());
+            final LinearArithmeticBuiltInRuleApp instantiated = app.tryToInstantiate(goal);
+            assertTrue(instantiated.complete());
+            assertEquals(3, instantiated.assumesInsts().size());
+
+            goal.apply(instantiated);
+            assertTrue(proof.closed());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testIntegerTightening() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("parity.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final Goal goal = proof.openGoals().head();
+            final LinearArithmeticBuiltInRuleApp app = LinearArithmeticRule.INSTANCE
+                    .createApp(antecedent(goal, 0), proof.getServices()).tryToInstantiate(goal);
+            assertTrue(app.complete(), "2 * x = 1 has no integer solution");
+            assertTrue(app.assumesInsts().isEmpty());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testStrategyAndReplay() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("contradiction.key"), null, null, null);
+        Path file = Files.createTempFile("linearArithmetic", ".proof");
+        try {
+            final Proof proof = env.getLoadedProof();
+            final StrategyProperties sp = new StrategyProperties();
+            sp.setProperty(StrategyProperties.ARITH_DECISION_OPTIONS_KEY,
+                StrategyProperties.ARITH_DECISION_ON);
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(sp);
+            ps.setMaxRuleApplications(1000);
+            ps.start();
+            assertTrue(proof.closed());
+            assertTrue(usesRule(proof), "the goal is closed by the decision procedure");
+
+            assertNull(new ProofSaver(proof, file).save());
+            KeYEnvironment<?> reloaded = KeYEnvironment.load(file, null, null, null);
+            try {
+                assertTrue(reloaded.getLoadedProof().closed());
+                assertTrue(usesRule(reloaded.getLoadedProof()));
+            } finally {
+                reloaded.dispose();
+            }
+        } finally {
+            env.dispose();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testOffByDefault() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("contradiction.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(new StrategyProperties());
+            ps.setMaxRuleApplications(1000);
+            ps.start();
+            assertFalse(usesRule(proof));
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private static boolean usesRule(Proof proof) {
+        final Iterator<Node> it = proof.root().subtreeIterator();
+        while (it.hasNext()) {
+            final Node node = it.next();
+            if (node.getAppliedRuleApp() != null
+                    && node.getAppliedRuleApp().rule() == LinearArithmeticRule.INSTANCE) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
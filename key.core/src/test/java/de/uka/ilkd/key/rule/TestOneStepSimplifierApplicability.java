@@ -0,0 +1,97 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.MiscTools;
+
+import org.key_project.logic.PosInTerm;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestOneStepSimplifierApplicability {
+
+    private static final Path PROBLEM = HelperClassForTests.TESTCASE_DIRECTORY
+            .resolve("oneStepSimplifier").resolve("parallel.key");
+
+    /**
+     * The outcome of checking the formulas of a goal with or without the parallel pre-check.
+     *
+     * @param cached the cached applicability of every formula after the check
+     * @param apps the formulas with a one step simplifier application
+     * @param result the sequent after applying the first of these applications
+     */
+    private record Outcome(List<Boolean> cached, List<String> apps, String result) {
+    }
+
+    private static Outcome check(boolean parallel) throws Exception {
+        KeYEnvironment<?> env = KeYEnvironment.load(PROBLEM, null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final Goal goal = proof.openGoals().head();
+            final OneStepSimplifier oss = MiscTools.findOneStepSimplifier(proof);
+            // loading the proof already checked the formulas, start with an empty cache
+            oss.shutdownIndices();
+            OneStepSimplifier.refreshOSS(proof);
+
+            final List<PosInOccurrence> positions = new ArrayList<>();
+            for (SequentFormula sf : goal.sequent().antecedent()) {
+                positions.add(new PosInOccurrence(sf, PosInTerm.getTopLevel(), true));
+            }
+            for (SequentFormula sf : goal.sequent().succedent()) {
+                positions.add(new PosInOccurrence(sf, PosInTerm.getTopLevel(), false));
+            }
+            if (parallel) {
+                oss.computeApplicability(goal, positions);
+            } else {
+                for (PosInOccurrence pos : positions) {
+                    oss.isApplicable(goal, pos);
+                }
+            }
+            final List<Boolean> cached = new ArrayList<>();
+            for (PosInOccurrence pos : positions) {
+                cached.add(oss.cachedApplicability(pos.sequentFormula()));
+            }
+
+            final List<String> apps = new ArrayList<>();
+            IBuiltInRuleApp first = null;
+            for (PosInOccurrence pos : positions) {
+                for (IBuiltInRuleApp app : goal.ruleAppIndex().getBuiltInRules(goal, pos)) {
+                    if (app.rule() == oss) {
+                        apps.add(pos.sequentFormula().toString());
+                        first = first == null ? app : first;
+                    }
+                }
+            }
+            assertNotNull(first);
+            goal.apply(first.tryToInstantiate(goal));
+            return new Outcome(cached, apps,
+                proof.openGoals().head().sequent().toString());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testParallelPreCheckIsDeterministic() throws Exception {
+        final Outcome sequential = check(false);
+        assertTrue(sequential.cached().contains(true));
+        assertTrue(sequential.cached().contains(false));
+        assertFalse(sequential.cached().contains(null));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(sequential, check(true));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.logic.JTerm;
+import de.uka.ilkd.key.logic.op.ElementaryUpdate;
+import de.uka.ilkd.key.logic.op.UpdateApplication;
+import de.uka.ilkd.key.logic.op.UpdateJunctor;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProofSaver;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.logic.PosInTerm;
+import org.key_project.logic.op.Modality;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestUpdateNormalizationRule {
+
+    private static final Path DIRECTORY =
+        HelperClassForTests.TESTCASE_DIRECTORY.resolve("updateNormalization");
+
+    private static PosInOccurrence succedent(Goal goal) {
+        final SequentFormula sf = goal.sequent().succedent().getFirst();
+        return new PosInOccurrence(sf, PosInTerm.getTopLevel(), false);
+    }
+
+    private static JTerm applyOnce(Proof proof) {
+        final Goal goal = proof.openGoals().head();
+        final PosInOccurrence focus = succedent(goal);
+        assertTrue(UpdateNormalizationRule.INSTANCE.isApplicable(goal, focus));
+        goal.apply(UpdateNormalizationRule.INSTANCE.createApp(focus, proof.getServices()));
+
+        final Goal result = proof.openGoals().head();
+        assertFalse(UpdateNormalizationRule.INSTANCE.isApplicable(result, succedent(result)),
+            "the result is normalized");
+        return (JTerm) result.sequent().succedent().getFirst().formula();
+    }
+
+    @Test
+    public void testSequentialUpdates() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("sequential.key"), null, null, null);
+        try {
+            final JTerm result = applyOnce(env.getLoadedProof());
+            assertFalse(containsUpdate(result), "all updates are applied: " + result);
+            // x := 0, y := 2, z := 2 + 1
+            final JTerm first = result.sub(0).sub(0);
+            assertEquals(first.sub(0), first.sub(1), "z = y + 1 becomes 2 + 1 = 2 + 1");
+            assertEquals(result.sub(1).sub(0), result.sub(1).sub(1), "x = 0 becomes 0 = 0");
+        } finally {
+            env.dispose();
+        }
+    }
+
+    /**
+     * The update <code>{x := 1}(y := x)</code> only assigns <code>y</code>.
+     */
+    @Test
+    public void testUpdateApplicationInUpdate() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("nested.key"), null, null, null);
+        try {
+            final JTerm result = applyOnce(env.getLoadedProof());
+            assertFalse(containsUpdate(result), "all updates are applied: " + result);
+            final JTerm first = result.sub(0);
+            assertEquals(first.sub(0), first.sub(1), "y = 1 becomes 1 = 1");
+            assertEquals("x", result.sub(1).sub(0).op().name().toString(), "x = 0 is unchanged");
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testModality() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("modality.key"), null, null, null);
+        try {
+            final JTerm result = applyOnce(env.getLoadedProof());
+            assertSame(UpdateApplication.UPDATE_APPLICATION, result.op());
+            assertInstanceOf(Modality.class, UpdateApplication.getTarget(result).op());
+            final JTerm update = UpdateApplication.getUpdate(result);
+            assertSame(UpdateJunctor.PARALLEL_UPDATE, update.op(), "z := 5 is dropped");
+            assertEquals("x", ((ElementaryUpdate) update.sub(0).op()).lhs().name().toString());
+            assertEquals("y", ((ElementaryUpdate) update.sub(1).op()).lhs().name().toString());
+            assertEquals(update.sub(0).sub(0), update.sub(1).sub(0), "y := 1");
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testStrategyAndReplay() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("sequential.key"), null, null, null);
+        Path file = Files.createTempFile("updateNormalization", ".proof");
+        try {
+            final Proof proof = env.getLoadedProof();
+            final StrategyProperties sp = new StrategyProperties();
+            sp.setProperty(StrategyProperties.UPDATE_NORMALIZATION_OPTIONS_KEY,
+                StrategyProperties.UPDATE_NORMALIZATION_ON);
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(sp);
+            ps.setMaxRuleApplications(1000);
+            ps.start();
+            assertTrue(proof.closed());
+            assertTrue(usesRule(proof));
+
+            assertNull(new ProofSaver(proof, file).save());
+            KeYEnvironment<?> reloaded = KeYEnvironment.load(file, null, null, null);
+            try {
+                assertTrue(reloaded.getLoadedProof().closed());
+                assertTrue(usesRule(reloaded.getLoadedProof()));
+            } finally {
+                reloaded.dispose();
+            }
+        } finally {
+            env.dispose();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testOffByDefault() throws Exception {
+        KeYEnvironment<?> env =
+            KeYEnvironment.load(DIRECTORY.resolve("sequential.key"), null, null, null);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final ProofStarter ps = new ProofStarter(false);
+            ps.init(proof);
+            ps.setStrategyProperties(new StrategyProperties());
+            ps.setMaxRuleApplications(1000);
+            ps.start();
+            assertTrue(proof.closed());
+            assertFalse(usesRule(proof));
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private static boolean containsUpdate(JTerm term) {
+        if (term.op() == UpdateApplication.UPDATE_APPLICATION) {
+            return true;
+        }
+        for (JTerm sub : term.subs()) {
+            if (containsUpdate(sub)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean usesRule(Proof proof) {
+        final Iterator<Node> it = proof.root().subtreeIterator();
+        while (it.hasNext()) {
+            final Node node = it.next();
+            if (node.getAppliedRuleApp() != null
+                    && node.getAppliedRuleApp().rule() == UpdateNormalizationRule.INSTANCE) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -7,15 +7,19 @@ import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
+import java.util.Set;
 
 import de.uka.ilkd.key.java.JavaInfo;
 import de.uka.ilkd.key.java.Position;
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.logic.label.OriginTermLabelFactory;
+import de.uka.ilkd.key.settings.GeneralSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
 import de.uka.ilkd.key.speclang.PositionedString;
 import de.uka.ilkd.key.speclang.jml.pretranslation.JMLModifier;
 import de.uka.ilkd.key.speclang.jml.pretranslation.TextualJMLConstruct;
+import de.uka.ilkd.key.util.CacheMetrics;
 import de.uka.ilkd.key.util.HelperClassForTests;
 
 import org.key_project.util.collection.ImmutableList;
@@ -24,6 +28,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 
 /**
  * @author Alexander Weigl
@@ -152,4 +157,47 @@ public class NJmlTranslatorTests {
         assertEquals(ImmutableList.of(JMLModifier.PRIVATE, JMLModifier.STATIC),
             jml.getModifiers());
     }
+
+    private static long parseTreeCacheHits() {
+        return CacheMetrics.getInstance().snapshot().stream()
+                .filter(s -> s.name().equals("jmlParseTrees"))
+                .mapToLong(CacheMetrics.Statistics::hits).sum();
+    }
+
+    @Test
+    public void testParseTreesAreCached() {
+        String contract = "/*@ public normal_behavior requires x > 7; ensures x < 8; @*/";
+        final long hits = parseTreeCacheHits();
+        ImmutableList<TextualJMLConstruct> first =
+            preParser.parseClassLevel(contract, null, Position.newOneBased(17, 3));
+        ImmutableList<TextualJMLConstruct> second =
+            preParser.parseClassLevel(contract, null, Position.newOneBased(17, 3));
+        assertEquals(hits + 1, parseTreeCacheHits());
+        assertNotSame(first.head(), second.head(), "constructs are created anew");
+        assertEquals(first.head().getLocation(), second.head().getLocation());
+        assertEquals(first.head().getModifiers(), second.head().getModifiers());
+
+        preParser.parseClassLevel(contract, null, Position.newOneBased(18, 3));
+        assertEquals(hits + 1, parseTreeCacheHits(), "parsed again at another location");
+    }
+
+    @Test
+    public void testParseTreesDependOnEnabledKeys() {
+        String contract = "/*+KEY@ invariant x == 4; */ /*+OPENJML@ invariant x == 54; */";
+        final GeneralSettings settings = ProofIndependentSettings.DEFAULT_INSTANCE
+                .getGeneralSettings();
+        final Set<String> enabledKeys = settings.getJmlEnabledKeys();
+        assertEquals(1,
+            preParser.parseClassLevel(contract, null, Position.newOneBased(19, 3)).size());
+        try {
+            settings.setJmlEnabledKeys(Set.of("key", "openjml"));
+            assertEquals(2,
+                preParser.parseClassLevel(contract, null, Position.newOneBased(19, 3)).size(),
+                "the comment is parsed again with the new keys");
+        } finally {
+            settings.setJmlEnabledKeys(enabledKeys);
+        }
+        assertEquals(1,
+            preParser.parseClassLevel(contract, null, Position.newOneBased(19, 3)).size());
+    }
 }
@@ -0,0 +1,69 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.quantifierHeuristics;
+
+import java.nio.file.Path;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.logic.Term;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestInstantiation {
+
+    private KeYEnvironment<?> env;
+    private Proof proof;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Path file =
+            HelperClassForTests.TESTCASE_DIRECTORY.resolve("quantifierInstantiation/chain.key");
+        env = KeYEnvironment.load(file, null, null, null);
+        proof = env.getLoadedProof();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        env.dispose();
+    }
+
+    @Test
+    public void testInstancesSharedAlongBranch() {
+        final Services services = proof.getServices();
+        final Goal goal = proof.openGoals().head();
+        final Term qf = goal.sequent().antecedent().get(0).formula();
+
+        final Instantiation first = Instantiation.create(qf, goal, services);
+        assertSame(first, Instantiation.create(qf, goal, services));
+        assertTrue(first.getSubstitution().contains(services.getTermBuilder().zTerm(1)));
+
+        final Goal child = goal.split(2).head();
+        assertSame(first, Instantiation.create(qf, child, services),
+            "the instantiation is shared with the goals created by splitting");
+    }
+
+    @Test
+    public void testProofWithInstantiation() {
+        final StrategyProperties sp = new StrategyProperties();
+        sp.setProperty(StrategyProperties.QUANTIFIERS_OPTIONS_KEY,
+            StrategyProperties.QUANTIFIERS_INSTANTIATE);
+        final ProofStarter ps = new ProofStarter(false);
+        ps.init(proof);
+        ps.setStrategyProperties(sp);
+        ps.setMaxRuleApplications(1000);
+        ps.start();
+        assertTrue(proof.closed());
+    }
+}
@@ -0,0 +1,63 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.ObjectName;
+
+import org.key_project.util.ConcurrentClockCache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCacheMetrics {
+
+    private static CacheMetrics.Statistics find(String name) {
+        return CacheMetrics.getInstance().snapshot().stream()
+                .filter(s -> s.name().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    public void testAggregation() {
+        ConcurrentClockCache<Integer, Integer> c1 = new ConcurrentClockCache<>(10);
+        ConcurrentClockCache<Integer, Integer> c2 = new ConcurrentClockCache<>(10);
+        CacheMetrics.getInstance().register("testAggregation", c1, 8);
+        CacheMetrics.getInstance().register("testAggregation", c2, 8);
+        for (int i = 0; i < 15; i++) {
+            c1.put(i, i);
+        }
+        c1.get(14);
+        c2.get(0);
+
+        CacheMetrics.Statistics s = find("testAggregation");
+        assertEquals(2, s.instances());
+        assertEquals(10, s.size());
+        assertEquals(20, s.maxWeight());
+        assertEquals(5, s.evictions());
+        assertEquals(0.5, s.hitRate());
+        assertEquals(10 * (CacheMetrics.ENTRY_OVERHEAD_BYTES + 8), s.estimatedBytes());
+        assertTrue(Arrays.asList(CacheMetrics.getInstance().getCacheNames())
+                .contains("testAggregation"));
+        assertTrue(CacheMetrics.getInstance().toCSV(";")
+                .contains("cache;testAggregation;10;0.500;5;"));
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        ConcurrentClockCache<Integer, Integer> cache = new ConcurrentClockCache<>(10);
+        CacheMetrics.getInstance().register("testMBean", cache, 0);
+        cache.put(1, 1);
+        cache.get(1);
+
+        CacheMetrics.getInstance().registerMBean();
+        CacheMetrics.getInstance().registerMBean();
+        Object rate = ManagementFactory.getPlatformMBeanServer().invoke(
+            new ObjectName(CacheMetrics.OBJECT_NAME), "getHitRate", new Object[] { "testMBean" },
+            new String[] { String.class.getName() });
+        assertEquals(1.0, rate);
+        assertTrue(CacheMetrics.getInstance().getReport().contains("testMBean"));
+    }
+}
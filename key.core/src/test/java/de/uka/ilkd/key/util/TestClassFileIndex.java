@@ -0,0 +1,152 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.abstraction.KeYJavaType;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestClassFileIndex {
+
+    private static final Path CLASSPATH_TESTCASE =
+        HelperClassForTests.TESTCASE_DIRECTORY.resolve("classpath");
+
+    /** the class file of this test, which is not referenced by the classpath test case */
+    private static final String UNREFERENCED = "de/uka/ilkd/key/util/TestClassFileIndex.class";
+
+    @TempDir
+    Path tmp;
+
+    private static byte[] unreferencedClassFile() throws IOException {
+        try (InputStream is = TestClassFileIndex.class
+                .getResourceAsStream("/" + UNREFERENCED)) {
+            assertNotNull(is);
+            return is.readAllBytes();
+        }
+    }
+
+    private static void writeJar(Path jar, List<String> names, List<byte[]> contents,
+            boolean stored) throws IOException {
+        try (OutputStream os = Files.newOutputStream(jar);
+                ZipOutputStream zip = new ZipOutputStream(os)) {
+            for (int i = 0; i < names.size(); i++) {
+                final ZipEntry entry = new ZipEntry(names.get(i));
+                final byte[] content = contents.get(i);
+                if (stored && i % 2 == 0) {
+                    final CRC32 crc = new CRC32();
+                    crc.update(content);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(content.length);
+                    entry.setCrc(crc.getValue());
+                }
+                zip.putNextEntry(entry);
+                zip.write(content);
+                zip.closeEntry();
+            }
+        }
+    }
+
+    @Test
+    public void testZipIndex() throws Exception {
+        final Path classpath = CLASSPATH_TESTCASE.resolve("classpath");
+        final byte[] c = Files.readAllBytes(classpath.resolve("C.class"));
+        final byte[] e = Files.readAllBytes(classpath.resolve("E.class"));
+        final byte[] test = unreferencedClassFile();
+        final Path jar = tmp.resolve("lib.jar");
+        writeJar(jar, List.of("cp/", "cp/C.class", "cp/C$Inner.class", "cp/E.class", UNREFERENCED,
+            "cp/C.jml"), List.of(new byte[0], c, e, e, test, new byte[] { 1 }), true);
+
+        final ClassFileIndex index = ClassFileIndex.of(jar);
+        assertEquals(Set.of("cp.C", "cp.E", "de.uka.ilkd.key.util.TestClassFileIndex"),
+            index.getClasses());
+        assertEquals(List.of("cp.C"), index.getClassesNamed("C"));
+        assertEquals(List.of(), index.getClassesNamed("Inner"));
+        assertEquals(List.of("cp/C.class", "cp/C$Inner.class"), index.getClassFiles("cp.C"));
+        assertEquals("cp.C", index.resolve("cp.C.Inner"));
+        assertEquals("cp.C", index.resolve("cp.C$Inner"));
+        assertEquals("cp.E", index.resolve("cp.E[][]"));
+        assertNull(index.resolve("cp.F"));
+        assertNull(index.resolve("java.lang.Object"));
+
+        try (InputStream is = index.open("cp/C.class", null)) {
+            assertArrayEquals(c, is.readAllBytes());
+        }
+        try (InputStream is = index.open("cp/C$Inner.class", null)) {
+            assertArrayEquals(e, is.readAllBytes());
+        }
+        try (InputStream is = index.open(UNREFERENCED, null)) {
+            assertArrayEquals(test, is.readAllBytes());
+        }
+        assertTrue(index.getDataLocation("cp/C.class").toString().contains("!/cp/C.class"));
+
+        assertSame(index, ClassFileIndex.of(jar), "index is cached");
+        writeJar(jar, List.of("cp/E.class"), List.of(e), false);
+        final ClassFileIndex changed = ClassFileIndex.of(jar);
+        assertNotSame(index, changed);
+        assertEquals(Set.of("cp.E"), changed.getClasses());
+        try (InputStream is = changed.open("cp/E.class", null)) {
+            assertArrayEquals(e, is.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testDirectoryIndex() throws Exception {
+        final ClassFileIndex index = ClassFileIndex.of(CLASSPATH_TESTCASE.resolve("classpath"));
+        assertEquals(Set.of("C", "E"), index.getClasses());
+        assertEquals(List.of("C.class"), index.getClassFiles("C"));
+        try (InputStream is = index.open("E.class", null)) {
+            assertArrayEquals(
+                Files.readAllBytes(CLASSPATH_TESTCASE.resolve("classpath").resolve("E.class")),
+                is.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testOnlyReferencedClassesAreConverted() throws Exception {
+        final Path classpath = CLASSPATH_TESTCASE.resolve("classpath");
+        writeJar(tmp.resolve("lib.jar"),
+            List.of("cp/C.class", "cp/E.class", "cp/C.jml", "cp/C1.java", UNREFERENCED),
+            List.of(Files.readAllBytes(classpath.resolve("C.class")),
+                Files.readAllBytes(classpath.resolve("E.class")),
+                Files.readAllBytes(classpath.resolve("C.jml")),
+                Files.readAllBytes(classpath.resolve("C1.java")), unreferencedClassFile()),
+            false);
+        Files.createDirectories(tmp.resolve("javaSource"));
+        Files.copy(CLASSPATH_TESTCASE.resolve("javaSource").resolve("C2.java"),
+            tmp.resolve("javaSource").resolve("C2.java"));
+        final String problem = Files.readString(CLASSPATH_TESTCASE.resolve("classpath.key"))
+                .replace("\\classpath \"classpath\"", "\\classpath \"lib.jar\"");
+        final Path file = tmp.resolve("classpath.key");
+        Files.writeString(file, problem);
+
+        KeYEnvironment<?> env = KeYEnvironment.load(file, null, null, null);
+        try {
+            assertNotNull(env.getLoadedProof());
+            final Set<String> types = env.getServices().getJavaInfo().getAllKeYJavaTypes()
+                    .stream().map(KeYJavaType::getFullName).collect(Collectors.toSet());
+            // cp.C is referenced by the sources, cp.E only by the problem
+            assertTrue(types.containsAll(Set.of("cp.C", "cp.C1", "cp.E", "js.C2")),
+                types::toString);
+            assertFalse(types.contains("de.uka.ilkd.key.util.TestClassFileIndex"));
+        } finally {
+            env.dispose();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+public class A {
+    int f;
+    int g;
+}
@@ -12,6 +12,7 @@ import org.key_project.prover.engine.StopCondition;
 import org.key_project.prover.proof.ProofGoal;
 import org.key_project.prover.proof.ProofObject;
 import org.key_project.prover.rules.RuleApp;
+import org.key_project.util.collection.ImmutableList;
 
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.jspecify.annotations.Nullable;
@@ -154,6 +155,8 @@ public abstract class DefaultProver<Proof extends ProofObject<Goal>, Goal extend
         // Look for the strategy ...
         RuleApp app = null;
         Goal g;
+        final GoalSelectedEvent selected = new GoalSelectedEvent();
+        selected.begin();
         while ((g = goalChooser.getNextGoal()) != null) {
             if (!stopCondition.isGoalAllowed(g, maxApplications, timeout, startTime,
                 countApplied)) {
@@ -172,19 +175,32 @@ public abstract class DefaultProver<Proof extends ProofObject<Goal>, Goal extend
                     return new SingleRuleApplicationInfo("Could not close goal.", g, app);
                 }
                 goalChooser.removeGoal(g);
+                selected.discardedGoals++;
             } else {
                 break;
             }
         }
+        if (selected.shouldCommit()) {
+            selected.rule = app == null ? null : app.rule().name().toString();
+            selected.commit();
+        }
         if (app == null) {
             return new SingleRuleApplicationInfo(
                 "No more rules automatically applicable to any goal.", g, app);
         } else {
+            final RuleAppliedEvent applied = new RuleAppliedEvent();
+            applied.begin();
+            final long applyTime = System.nanoTime();
+            @Nullable ImmutableList<Goal> result = null;
             try {
-                @SuppressWarnings({ "nullness", "unused" })
-                final var result = g.apply(app);
+                result = g.apply(app);
             } finally {
-                PERF_GOAL_APPLY.getAndAdd(System.nanoTime() - time);
+                PERF_GOAL_APPLY.getAndAdd(System.nanoTime() - applyTime);
+                if (applied.shouldCommit()) {
+                    applied.rule = app.rule().name().toString();
+                    applied.newGoals = result == null ? 0 : result.size();
+                    applied.commit();
+                }
             }
             return new SingleRuleApplicationInfo(g, app);
         }
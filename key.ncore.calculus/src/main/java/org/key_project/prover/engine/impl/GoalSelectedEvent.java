@@ -0,0 +1,26 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.prover.engine.impl;
+
+import jdk.jfr.*;
+
+/// Java Flight Recorder event emitted by [DefaultProver] when it has selected the goal and the
+/// rule application for the next proof step. The duration of the event covers asking the goal
+/// chooser and the rule application managers of the visited goals, i.e., the time the strategy
+/// spends on finding the next step.
+@Name("org.key_project.prover.GoalSelected")
+@Label("Goal Selected")
+@Category({ "KeY", "Proof Search" })
+@Description("Selection of the goal and rule application for the next proof step")
+@StackTrace(false)
+public final class GoalSelectedEvent extends Event {
+    /// The number of goals which were visited and removed from the goal chooser because no rule
+    /// is applicable to them.
+    @Label("Discarded Goals")
+    public int discardedGoals;
+
+    /// The name of the selected rule, or `null` if no rule application has been found.
+    @Label("Rule")
+    public String rule;
+}
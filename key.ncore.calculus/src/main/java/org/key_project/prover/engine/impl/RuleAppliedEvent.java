@@ -0,0 +1,24 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.prover.engine.impl;
+
+import jdk.jfr.*;
+
+/// Java Flight Recorder event emitted by [DefaultProver] for every rule application of the
+/// automatic proof search. The duration of the event is the time needed to apply the rule,
+/// including the update of the rule application indices of the new goals.
+@Name("org.key_project.prover.RuleApplied")
+@Label("Rule Applied")
+@Category({ "KeY", "Proof Search" })
+@Description("Application of a rule by the automatic proof search")
+@StackTrace(false)
+public final class RuleAppliedEvent extends Event {
+    /// The name of the applied rule.
+    @Label("Rule")
+    public String rule;
+
+    /// The number of goals created by the rule application, `0` if it closed the goal.
+    @Label("New Goals")
+    public int newGoals;
+}
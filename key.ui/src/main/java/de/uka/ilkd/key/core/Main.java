@@ -14,6 +14,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import javax.xml.parsers.ParserConfigurationException;
 
 import de.uka.ilkd.key.control.UserInterfaceControl;
@@ -27,6 +28,7 @@ import de.uka.ilkd.key.macros.SkipMacro;
 import de.uka.ilkd.key.proof.init.AbstractProfile;
 import de.uka.ilkd.key.proof.io.AutoSaver;
 import de.uka.ilkd.key.proof.io.RuleSourceFactory;
+import de.uka.ilkd.key.prover.impl.ProofSearchMetrics;
 import de.uka.ilkd.key.settings.GeneralSettings;
 import de.uka.ilkd.key.settings.PathConfig;
 import de.uka.ilkd.key.settings.ProofIndependentSettings;
@@ -34,6 +36,7 @@ import de.uka.ilkd.key.settings.ProofSettings;
 import de.uka.ilkd.key.ui.AbstractMediatorUserInterfaceControl;
 import de.uka.ilkd.key.ui.ConsoleUserInterfaceControl;
 import de.uka.ilkd.key.ui.Verbosity;
+import de.uka.ilkd.key.util.CacheMetrics;
 import de.uka.ilkd.key.util.CommandLine;
 import de.uka.ilkd.key.util.CommandLineException;
 import de.uka.ilkd.key.util.Debug;
@@ -63,12 +66,32 @@ public final class Main {
     private static final String LAST = "--last";
     private static final String AUTO_LOADONLY = "--auto-loadonly";
     private static final String AUTOSAVE = "--autosave";
+    /**
+     * The interval in seconds in which a line of metrics of the proof search is logged in
+     * automatic mode (see {@link ProofSearchMetrics}).
+     */
+    private static final String METRICS = "--metrics";
+    /**
+     * If this option is set, the rules of each proof are profiled in automatic mode and the
+     * profile is saved in the given format (see {@link GeneralSettings#profileRules}).
+     */
+    private static final String PROFILE_RULES = "--profile-rules";
     private static final String EXPERIMENTAL = "--experimental";
     /**
      * This parameter disables the possibility to prune in closed branches. It is meant as a
      * fallback solution if storing all closed goals needs too much memory.
      */
     private static final String NO_PRUNING_CLOSED = "--no-pruning-closed";
+    /**
+     * If this option is set, closed subtrees of the proof are compacted to save memory (see
+     * {@link GeneralSettings#compactClosedSubtrees}).
+     */
+    private static final String COMPACT_CLOSED = "--compact-closed";
+    /**
+     * If this option is set, parsed Java sources are reused when a problem is loaded again (see
+     * {@link GeneralSettings#reuseParsedSources}).
+     */
+    private static final String REUSE_SOURCES = "--reuse-sources";
     /**
      * If this option is set, the (Disk)FileRepo does not delete its temporary directories (can be
      * used for debugging).
@@ -112,6 +135,23 @@ public final class Main {
 
     private static String examplesDir = null;
 
+    /**
+     * The default interval in seconds in which proof search metrics are logged in automatic mode.
+     */
+    private static final int DEFAULT_METRICS_INTERVAL = 60;
+
+    /**
+     * The interval in seconds in which proof search metrics are logged in automatic mode, 0 if
+     * they are not logged.
+     */
+    private static int metricsInterval = DEFAULT_METRICS_INTERVAL;
+
+    /**
+     * The format in which rule profiles are saved in automatic mode, <code>null</code> if rules are
+     * not profiled.
+     */
+    private static String ruleProfileFormat = null;
+
     /**
      * Determines which {@link UserInterfaceControl} is to be used.
      * <p>
@@ -186,6 +226,8 @@ public final class Main {
         System.setProperty("apple.laf.useScreenMenuBar", "true");
 
         Watchdog.start();
+        // export the cache statistics via JMX
+        CacheMetrics.getInstance().registerMBean();
 
         try {
             cl = createCommandLine();
@@ -259,6 +301,11 @@ public final class Main {
         cl.addOption(EXPERIMENTAL, null, "switch experimental features on");
         cl.addOption(NO_PRUNING_CLOSED, null,
             "disables pruning and goal back in closed branches (saves memory)");
+        cl.addOption(COMPACT_CLOSED, null,
+            "drops the sequents of inner nodes of closed branches and rebuilds them on demand"
+                + " (saves memory)");
+        cl.addOption(REUSE_SOURCES, null,
+            "reuses the parsed Java sources which did not change when a problem is reloaded");
         cl.addOption(KEEP_FILEREPOS, null, "disables the automatic deletion of temporary"
             + "directories of file repos (for debugging)");
         cl.addSection("Batchmode options:");
@@ -268,6 +315,11 @@ public final class Main {
         cl.addOption(AUTO, null,
             "start automatic prove procedure after initialisation without GUI");
         cl.addOption(AUTO_LOADONLY, null, "load files automatically without proving (for testing)");
+        cl.addOption(METRICS, "<seconds>",
+            "log proof search metrics every n seconds in automatic mode (default: "
+                + DEFAULT_METRICS_INTERVAL + ", 0 = off)");
+        cl.addOption(PROFILE_RULES, "<csv|json>",
+            "profile the rules in automatic mode and save the profile next to the statistics");
         cl.addOption(VERBOSITY, "<number>", "verbosity");
         cl.addOption(NO_JMLSPECS, null, "disable parsing JML specifications");
         cl.addOption(EXAMPLES, "<directory>",
@@ -366,6 +418,26 @@ public final class Main {
             }
         }
 
+        if (cl.isSet(METRICS)) {
+            try {
+                metricsInterval = cl.getInteger(METRICS, DEFAULT_METRICS_INTERVAL);
+                if (metricsInterval < 0) {
+                    printUsageAndExit(false, "Illegal metrics interval (must be a number >= 0)",
+                        -5);
+                }
+            } catch (CommandLineException e) {
+                LOGGER.error("Failed to read integer", e);
+            }
+        }
+
+        if (cl.isSet(PROFILE_RULES)) {
+            ruleProfileFormat = cl.getString(PROFILE_RULES, "csv");
+            if (!"csv".equals(ruleProfileFormat) && !"json".equals(ruleProfileFormat)) {
+                printUsageAndExit(false, "Illegal rule profile format (must be csv or json)", -5);
+            }
+            GeneralSettings.profileRules = true;
+        }
+
         if (cl.isSet(HELP)) {
             // 0 as exit value means: no error
             printUsageAndExit(true, null, 0);
@@ -467,6 +539,14 @@ public final class Main {
             GeneralSettings.noPruningClosed = false;
         }
 
+        if (cl.isSet(COMPACT_CLOSED)) {
+            GeneralSettings.compactClosedSubtrees = true;
+        }
+
+        if (cl.isSet(REUSE_SOURCES)) {
+            GeneralSettings.reuseParsedSources = true;
+        }
+
         if (cl.isSet(KEEP_FILEREPOS)) {
             GeneralSettings.keepFileRepos = true;
         }
@@ -521,7 +601,12 @@ public final class Main {
                 printUsageAndExit(true, "Error: No file to load from.", -4);
             }
 
-            return new ConsoleUserInterfaceControl(loadOnly);
+            final ConsoleUserInterfaceControl ui = new ConsoleUserInterfaceControl(loadOnly);
+            if (metricsInterval > 0 && !loadOnly) {
+                ui.startMetrics(TimeUnit.SECONDS.toMillis(metricsInterval));
+            }
+            ui.setRuleProfileFormat(ruleProfileFormat);
+            return ui;
         } else {
             /*
              * explicitly enable pruning in closed branches for interactive mode (if not manually
@@ -24,6 +24,7 @@ import de.uka.ilkd.key.macros.SkipMacro;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.ProofAggregate;
+import de.uka.ilkd.key.proof.RuleProfile;
 import de.uka.ilkd.key.proof.Statistics;
 import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
 import de.uka.ilkd.key.proof.init.InitConfig;
@@ -33,9 +34,11 @@ import de.uka.ilkd.key.proof.init.ProofOblInput;
 import de.uka.ilkd.key.proof.io.ProblemLoader;
 import de.uka.ilkd.key.proof.io.ProofSaver;
 import de.uka.ilkd.key.prover.impl.DefaultTaskStartedInfo;
+import de.uka.ilkd.key.prover.impl.ProofSearchMetrics;
 import de.uka.ilkd.key.rule.IBuiltInRuleApp;
 import de.uka.ilkd.key.scripts.ProofScriptEngine;
 import de.uka.ilkd.key.speclang.PositionedString;
+import de.uka.ilkd.key.util.CacheMetrics;
 import de.uka.ilkd.key.util.MiscTools;
 
 import org.key_project.prover.engine.ProverCore;
@@ -86,9 +89,42 @@ public class ConsoleUserInterfaceControl extends AbstractMediatorUserInterfaceCo
      */
     public boolean allProofsSuccessful = true;
 
+    /**
+     * The metrics of the proof search which are logged periodically after
+     * {@link #startMetrics(long)}.
+     */
+    private final ProofSearchMetrics metrics;
+
+    /**
+     * The file extension of the saved rule profiles ("csv" or "json"), <code>null</code> if rule
+     * profiles are not saved.
+     */
+    private String ruleProfileFormat = null;
+
     public ConsoleUserInterfaceControl(boolean loadOnly) {
         this.mediator = new KeYMediator(this);
         this.loadOnly = loadOnly;
+        this.metrics = new ProofSearchMetrics(mediator::getSelectedProof);
+    }
+
+    /**
+     * Starts logging a line of metrics of the proof search periodically, see
+     * {@link ProofSearchMetrics}.
+     *
+     * @param intervalMillis the time between two lines in milliseconds
+     */
+    public void startMetrics(long intervalMillis) {
+        metrics.start(intervalMillis);
+    }
+
+    /**
+     * Sets the format in which the rule profiles of the proofs are saved together with their
+     * statistics (see {@link Proof#getRuleProfile()}).
+     *
+     * @param format "csv" or "json", or <code>null</code> if rule profiles are not saved
+     */
+    public void setRuleProfileFormat(String format) {
+        this.ruleProfileFormat = format;
     }
 
     private void printResults(final int openGoals, TaskFinishedInfo info, final Object result2) {
@@ -101,6 +137,7 @@ public class ConsoleUserInterfaceControl extends AbstractMediatorUserInterfaceCo
             LOGGER.debug("Branches: {}", stat.branches);
             LOGGER.debug("Automode Time: {} ms", stat.autoModeTimeInMillis);
             LOGGER.debug("Time per step: {} ms", stat.timePerStepInMillis);
+            LOGGER.debug("Caches:\n{}", CacheMetrics.getInstance().getReport());
         }
         LOGGER.info("Number of goals remaining open: {}", openGoals);
         if (openGoals == 0) {
@@ -118,6 +155,7 @@ public class ConsoleUserInterfaceControl extends AbstractMediatorUserInterfaceCo
         assert keyProblemFile != null : "Unexcpected null pointer. Trying to"
             + " save a proof but no corresponding key problem file is " + "available.";
         allProofsSuccessful &= saveProof(result2, (Proof) info.getProof(), keyProblemFile);
+        saveRuleProfile((Proof) info.getProof());
         /*
          * We "delete" the value of keyProblemFile at this point by assigning null to it. That way
          * we prevent KeY from saving another proof (that belongs to another key problem file) for a
@@ -131,6 +169,7 @@ public class ConsoleUserInterfaceControl extends AbstractMediatorUserInterfaceCo
     @Override
     public void taskFinished(TaskFinishedInfo info) {
         super.taskFinished(info);
+        metrics.taskFinished(info);
         progressMax = 0; // reset progress bar marker
         final Proof proof = (Proof) info.getProof();
         final Object result = info.getResult();
@@ -190,6 +229,7 @@ public class ConsoleUserInterfaceControl extends AbstractMediatorUserInterfaceCo
     @Override
     public void taskStarted(TaskStartedInfo info) {
         super.taskStarted(info);
+        metrics.taskStarted(info);
         progressMax = info.size();
         if (TaskKind.Strategy.equals(info.kind())) {
             System.out.println(info.message() + " ["); // start progress bar
@@ -280,6 +320,7 @@ public class ConsoleUserInterfaceControl extends AbstractMediatorUserInterfaceCo
     @Override
     public final void taskProgress(int position) {
         super.taskProgress(position);
+        metrics.taskProgress(position);
         if (progressMax > 0) {
             if ((position * PROGRESS_BAR_STEPS) % progressMax == 0) {
                 System.out.print(PROGRESS_MARK);
@@ -403,6 +444,7 @@ public class ConsoleUserInterfaceControl extends AbstractMediatorUserInterfaceCo
                 new BufferedWriter(
                     new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
                 writer.write(ShowProofStatistics.getCSVStatisticsMessage(proof));
+                writer.write(CacheMetrics.getInstance().toCSV(";"));
             }
         } catch (IOException e) {
             LOGGER.error("Failed to write proof stats", e);
@@ -412,6 +454,21 @@ public class ConsoleUserInterfaceControl extends AbstractMediatorUserInterfaceCo
         return proof.openGoals().isEmpty();
     }
 
+    private void saveRuleProfile(Proof proof) {
+        final RuleProfile profile = proof.getRuleProfile();
+        if (ruleProfileFormat == null || profile == null) {
+            return;
+        }
+        final Path file = Path.of(MiscTools.toValidFileName(proof.name().toString()) + ".rules."
+            + ruleProfileFormat);
+        try {
+            profile.save(file);
+            LOGGER.info("Rule profile saved to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.error("Failed to write rule profile", e);
+        }
+    }
+
     @Override
     public TermLabelVisibilityManager getTermLabelVisibilityManager() {
         return null;
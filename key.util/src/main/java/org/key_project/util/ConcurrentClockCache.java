@@ -0,0 +1,301 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntBiFunction;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A thread-safe, bounded cache with an approximated LRU eviction policy.
+ * <p>
+ * Entries are stored in a {@link ConcurrentHashMap}, so lookups do not lock and, unlike
+ * {@link LRUCache}, do not modify any shared list: a hit only sets the <em>referenced</em> bit of
+ * the entry. Insertions and evictions are serialized per <em>segment</em> (the segment is chosen by
+ * the hash code of the key). Each segment keeps its entries in a FIFO queue and evicts with the
+ * CLOCK (second chance) strategy: an entry which has been referenced since it was last inspected is
+ * moved to the end of the queue instead of being evicted.
+ * <p>
+ * The size of the cache is limited by the total <em>weight</em> of its entries, which is computed
+ * by a weigher function when an entry is inserted. By default every entry has weight 1, i.e., the
+ * limit is the maximal number of entries. The limit is split evenly between the segments.
+ * <p>
+ * The cache counts hits, misses and evictions. {@code null} is neither allowed as key nor as
+ * value. The views returned by {@link #entrySet()}, {@link #keySet()} and {@link #values()} are
+ * snapshots.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class ConcurrentClockCache<K, V> extends AbstractMap<K, V> {
+    /** the maximal number of segments */
+    private static final int MAX_SEGMENTS = 16;
+
+    /** the minimal weight of a segment; small caches use fewer segments */
+    private static final long MIN_SEGMENT_WEIGHT = 64;
+
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    private final Segment<K, V>[] segments;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final long maxWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache with at most {@code maxEntries} entries.
+     *
+     * @param maxEntries the maximal number of entries
+     */
+    public ConcurrentClockCache(long maxEntries) {
+        this(maxEntries, (k, v) -> 1);
+    }
+
+    /**
+     * Creates a cache whose entries have at most the total weight {@code maxWeight}.
+     *
+     * @param maxWeight the maximal total weight of all entries
+     * @param weigher computes the (positive) weight of an entry
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentClockCache(long maxWeight,
+            ToIntBiFunction<? super K, ? super V> weigher) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Negative maximal weight: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        int count = 1;
+        while (count < MAX_SEGMENTS && (long) count * 2 * MIN_SEGMENT_WEIGHT <= maxWeight) {
+            count *= 2;
+        }
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // distribute the remainder so that the segment weights add up to maxWeight
+            segments[i] = new Segment<>(maxWeight / count + (i < maxWeight % count ? 1 : 0));
+        }
+        map = new ConcurrentHashMap<>((int) Math.min(maxWeight, 1 << 16), 0.75f, count);
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        final int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    @Override
+    public @Nullable V get(Object key) {
+        final Node<K, V> node = map.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        // avoid writing the shared entry if the bit is already set
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public @Nullable V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    @Override
+    public @Nullable V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    private @Nullable V put(K key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(value);
+        final Segment<K, V> segment = segmentFor(key);
+        final int weight = weigher.applyAsInt(key, value);
+        synchronized (segment) {
+            final Node<K, V> old = map.get(key);
+            if (old != null) {
+                final V oldValue = old.value;
+                if (!onlyIfAbsent) {
+                    old.value = value;
+                    segment.weight += weight - old.weight;
+                    old.weight = weight;
+                    old.referenced = true;
+                    evict(segment);
+                }
+                return oldValue;
+            }
+            final Node<K, V> node = new Node<>(key, value, weight);
+            map.put(key, node);
+            segment.queue.add(node);
+            segment.weight += weight;
+            evict(segment);
+            return null;
+        }
+    }
+
+    /**
+     * Evicts entries of the given segment until its weight does not exceed its limit. The caller
+     * must hold the lock of the segment.
+     */
+    private void evict(Segment<K, V> segment) {
+        while (segment.weight > segment.maxWeight) {
+            final Node<K, V> node = segment.queue.poll();
+            if (node == null) {
+                return;
+            }
+            if (node.removed) {
+                continue;
+            }
+            if (node.referenced) {
+                // second chance
+                node.referenced = false;
+                segment.queue.add(node);
+                continue;
+            }
+            map.remove(node.key, node);
+            node.removed = true;
+            segment.weight -= node.weight;
+            evictions.increment();
+        }
+    }
+
+    @Override
+    public @Nullable V remove(Object key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            final Node<K, V> node = map.remove(key);
+            if (node == null) {
+                return null;
+            }
+            // the node is dropped from the queue lazily during the next eviction
+            node.removed = true;
+            segment.weight -= node.weight;
+            return node.value;
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                for (Node<K, V> node : segment.queue) {
+                    if (!node.removed) {
+                        map.remove(node.key, node);
+                        node.removed = true;
+                    }
+                }
+                segment.queue.clear();
+                segment.weight = 0;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        final Set<Entry<K, V>> result = new LinkedHashSet<>();
+        map.forEach((k, node) -> result.add(new SimpleImmutableEntry<>(k, node.value)));
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * @return the number of lookups via {@link #get(Object)} which found an entry
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups via {@link #get(Object)} which did not find an entry
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed because the cache was full
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the total weight of all entries
+     */
+    public long weight() {
+        long result = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                result += segment.weight;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the maximal total weight of all entries
+     */
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counters.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentClockCache[size=" + size() + ", weight=" + weight() + "/" + maxWeight
+            + ", hits=" + hitCount() + ", misses=" + missCount() + ", evictions="
+            + evictionCount() + "]";
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile boolean referenced;
+        /** the weight and removed flag are guarded by the lock of the segment */
+        int weight;
+        boolean removed;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        final long maxWeight;
+        final ArrayDeque<Node<K, V>> queue = new ArrayDeque<>();
+        long weight;
+
+        Segment(long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+    }
+}
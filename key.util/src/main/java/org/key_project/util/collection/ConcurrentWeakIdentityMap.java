@@ -0,0 +1,140 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A thread-safe map which compares its keys by identity and references them only weakly.
+ *
+ * <p>
+ * An entry is removed once its key has been garbage-collected, so the map can be used to attach
+ * derived information to objects (e.g., normal forms to terms) without extending their lifetime
+ * and without a fixed size limit. Lookups do not call {@code equals} or {@code hashCode} of the
+ * keys, which makes them cheap even for large structural keys.
+ * </p>
+ *
+ * <p>
+ * Values are referenced strongly. A value which (directly or indirectly) references its own key
+ * keeps the entry alive as long as the map exists, so such values should not be stored.
+ * </p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of values stored in the map
+ */
+public class ConcurrentWeakIdentityMap<K, V> {
+
+    private final ConcurrentHashMap<Object, V> delegate = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    /**
+     * Returns the value to which the specified key is mapped, or {@code null} if this map contains
+     * no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or {@code null} if no mapping exists
+     */
+    public @Nullable V get(K key) {
+        return delegate.get(new LookupKey(key));
+    }
+
+    /**
+     * Associates the specified key with the specified value in this map. Entries whose keys have
+     * been garbage-collected are removed before adding the new entry.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with the key, or {@code null} if there was no mapping
+     *         for the key
+     */
+    public @Nullable V put(K key, V value) {
+        expungeStaleEntries();
+        return delegate.put(new WeakKey<>(key, queue), value);
+    }
+
+    /**
+     * Returns the number of entries. Entries whose keys have been garbage-collected, but which have
+     * not been removed yet, are removed first.
+     *
+     * @return the number of entries in this map
+     */
+    public int size() {
+        expungeStaleEntries();
+        return delegate.size();
+    }
+
+    /**
+     * Removes all entries from this map.
+     */
+    public void clear() {
+        delegate.clear();
+        while (queue.poll() != null) {
+            // drop the references of the removed entries
+        }
+    }
+
+    private void expungeStaleEntries() {
+        Object ref;
+        while ((ref = queue.poll()) != null) {
+            delegate.remove(ref);
+        }
+    }
+
+    /**
+     * Common base of the stored and the lookup keys, which are equal if they refer to the same
+     * object.
+     */
+    private interface IdentityKey {
+        @Nullable
+        Object referent();
+    }
+
+    private static final class WeakKey<K> extends WeakReference<K> implements IdentityKey {
+        private final int hash;
+
+        WeakKey(K key, ReferenceQueue<K> queue) {
+            super(key, queue);
+            hash = System.identityHashCode(key);
+        }
+
+        @Override
+        public @Nullable Object referent() {
+            return get();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IdentityKey other)) {
+                return false;
+            }
+            final Object referent = referent();
+            // a cleared key is only equal to itself, so that it can still be removed
+            return referent != null && referent == other.referent();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private record LookupKey(Object referent) implements IdentityKey {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey other && referent == other.referent();
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(referent);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A hash map which can be copied in time proportional to the number of its local modifications.
+ * <p>
+ * The map consists of a <em>base</em> map, which is shared between all copies and never modified,
+ * and an <em>overlay</em> which records the entries added, changed or removed since the base was
+ * created. {@link #copy()} shares the base and clones only the overlay. When the overlay becomes
+ * large compared to the base, both are merged into a new (unshared) base, so lookups stay cheap
+ * and the amortized cost of a modification is constant.
+ * <p>
+ * Iteration order is deterministic: the entries of the base in their insertion order (with
+ * updated values in place), followed by the entries added in the overlay in insertion order.
+ * <p>
+ * Instances are not thread-safe; however, the shared base is never modified, so concurrent use of
+ * different copies is safe. {@code null} is neither allowed as key nor as value.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class CopyOnWriteOverlayMap<K, V> {
+    /** marker for a key removed in the overlay but present in the base */
+    private static final Object REMOVED = new Object();
+
+    /** the overlay is never merged into the base before it reaches this size */
+    private static final int MIN_MERGE_SIZE = 16;
+
+    /** the shared base, never modified after creation */
+    private Map<K, V> base;
+
+    /** local modifications, values are either of type V or {@link #REMOVED} */
+    private @Nullable LinkedHashMap<K, Object> overlay;
+
+    /** number of entries visible in this map */
+    private int size;
+
+    /**
+     * creates an empty map
+     */
+    public CopyOnWriteOverlayMap() {
+        this(Collections.emptyMap(), null, 0);
+    }
+
+    private CopyOnWriteOverlayMap(Map<K, V> base, @Nullable LinkedHashMap<K, Object> overlay,
+            int size) {
+        this.base = base;
+        this.overlay = overlay;
+        this.size = size;
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the value associated with the key or {@code null} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(K key) {
+        if (overlay != null) {
+            final Object value = overlay.get(key);
+            if (value != null) {
+                return value == REMOVED ? null : (V) value;
+            }
+        }
+        return base.get(key);
+    }
+
+    /**
+     * @param key the key to look up
+     * @return true iff a value is associated with the key
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the key with the given value. Copies created before are not affected.
+     *
+     * @param key the key
+     * @param value the value (not null)
+     */
+    public void put(K key, V value) {
+        Objects.requireNonNull(value);
+        final Object old = overlay().put(key, value);
+        if (old == REMOVED || (old == null && !base.containsKey(key))) {
+            size++;
+        }
+        mergeIfLarge();
+    }
+
+    /**
+     * Removes the value associated with the given key. Copies created before are not affected.
+     *
+     * @param key the key
+     */
+    public void remove(K key) {
+        if (base.containsKey(key)) {
+            if (overlay().put(key, REMOVED) != REMOVED) {
+                size--;
+            }
+        } else if (overlay != null && overlay.remove(key) != null) {
+            size--;
+        }
+    }
+
+    /**
+     * @return the number of entries of this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true iff this map has no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Creates a copy of this map. The base is shared, so the cost depends only on the size of the
+     * local modifications. Later modifications of either map are not visible in the other one.
+     *
+     * @return a copy of this map
+     */
+    public CopyOnWriteOverlayMap<K, V> copy() {
+        return new CopyOnWriteOverlayMap<>(base,
+            overlay == null ? null : new LinkedHashMap<>(overlay), size);
+    }
+
+    /**
+     * Performs the given action for each entry of this map in iteration order.
+     *
+     * @param action the action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (overlay == null) {
+            base.forEach(action);
+            return;
+        }
+        for (Map.Entry<K, V> entry : base.entrySet()) {
+            final Object value = overlay.get(entry.getKey());
+            if (value == null) {
+                action.accept(entry.getKey(), entry.getValue());
+            } else if (value != REMOVED) {
+                action.accept(entry.getKey(), (V) value);
+            }
+        }
+        for (Map.Entry<K, Object> entry : overlay.entrySet()) {
+            if (entry.getValue() != REMOVED && !base.containsKey(entry.getKey())) {
+                action.accept(entry.getKey(), (V) entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return the values of this map in iteration order
+     */
+    public List<V> values() {
+        final List<V> result = new ArrayList<>(size);
+        forEach((k, v) -> result.add(v));
+        return result;
+    }
+
+    private LinkedHashMap<K, Object> overlay() {
+        if (overlay == null) {
+            overlay = new LinkedHashMap<>();
+        }
+        return overlay;
+    }
+
+    /**
+     * Merges the overlay into a new base if it has become large compared to the base. Growing the
+     * base geometrically keeps the amortized cost of {@link #put(Object, Object)} constant.
+     */
+    private void mergeIfLarge() {
+        if (overlay != null && overlay.size() >= MIN_MERGE_SIZE
+                && overlay.size() > base.size() / 8) {
+            final LinkedHashMap<K, V> newBase = new LinkedHashMap<>(2 * size);
+            forEach(newBase::put);
+            base = newBase;
+            overlay = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringJoiner sj = new StringJoiner(", ", "{", "}");
+        forEach((k, v) -> sj.add(k + "=" + v));
+        return sj.toString();
+    }
+}
@@ -0,0 +1,107 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentClockCacheTest {
+
+    @Test
+    void putGetRemove() {
+        ConcurrentClockCache<Integer, String> cache = new ConcurrentClockCache<>(100);
+        assertNull(cache.put(1, "a"));
+        assertEquals("a", cache.put(1, "b"));
+        assertEquals("b", cache.putIfAbsent(1, "c"));
+        assertEquals("b", cache.get(1));
+        assertTrue(cache.containsKey(1));
+        assertEquals("b", cache.remove(1));
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void bounded() {
+        ConcurrentClockCache<Integer, Integer> cache = new ConcurrentClockCache<>(1000);
+        for (int i = 0; i < 10000; i++) {
+            cache.put(i, i);
+        }
+        assertTrue(cache.size() <= 1000);
+        assertEquals(cache.size(), cache.weight());
+        assertEquals(10000 - cache.size(), cache.evictionCount());
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.weight());
+    }
+
+    @Test
+    void referencedEntriesSurvive() {
+        ConcurrentClockCache<Integer, Integer> cache = new ConcurrentClockCache<>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+        cache.get(0);
+        cache.put(10, 10);
+        // entry 0 got a second chance, entry 1 was evicted instead
+        assertEquals(0, cache.get(0));
+        assertNull(cache.get(1));
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    void weighted() {
+        ConcurrentClockCache<Integer, String> cache =
+            new ConcurrentClockCache<>(100, (k, v) -> v.length());
+        cache.put(1, "x".repeat(60));
+        cache.put(2, "y".repeat(30));
+        assertEquals(90, cache.weight());
+        cache.put(3, "z".repeat(30));
+        assertTrue(cache.weight() <= 100);
+        assertEquals(1, cache.evictionCount());
+        assertEquals(0, new ConcurrentClockCache<Integer, String>(0).size());
+    }
+
+    @Test
+    void concurrentAccess() throws Exception {
+        ConcurrentClockCache<Integer, Integer> cache = new ConcurrentClockCache<>(2000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        int key = (i * 7 + offset) % 5000;
+                        Integer value = cache.get(key);
+                        if (value == null) {
+                            cache.put(key, key);
+                        } else {
+                            assertEquals(key, value);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertTrue(cache.size() <= 2000);
+        assertEquals(cache.size(), cache.weight());
+        assertEquals(80000, cache.hitCount() + cache.missCount());
+    }
+}
@@ -0,0 +1,53 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentWeakIdentityMapTest {
+
+    // make reasonably sure that gc has been run and collected unreachable objects
+    private void encourageGC(int nr) {
+        for (int i = 0; i < nr; i++) {
+            System.gc();
+        }
+    }
+
+    @Test
+    void identityKeys() {
+        ConcurrentWeakIdentityMap<String, Integer> map = new ConcurrentWeakIdentityMap<>();
+        final String key = new String("key");
+        final String equalKey = new String("key");
+        assertNull(map.put(key, 1));
+        assertEquals(1, map.get(key));
+        assertNull(map.get(equalKey), "keys are compared by identity");
+        assertNull(map.put(equalKey, 2));
+        assertEquals(1, map.put(key, 3));
+        assertEquals(3, map.get(key));
+        assertEquals(2, map.get(equalKey));
+        assertEquals(2, map.size());
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(key));
+    }
+
+    @Test
+    void entriesOfCollectedKeysAreRemoved() {
+        ConcurrentWeakIdentityMap<Object, Object> map = new ConcurrentWeakIdentityMap<>();
+        final @Nullable Object[] keys = { new Object(), new Object() };
+        final Object value = new Object();
+        map.put(keys[0], value);
+        map.put(keys[1], value);
+        assertEquals(2, map.size());
+        keys[1] = null;
+        encourageGC(100);
+        assertEquals(1, map.size(),
+            "As the key is no longer reachable the previous calls to gc should have "
+                + "removed the entry from the map");
+        assertSame(value, map.get(keys[0]));
+    }
+}
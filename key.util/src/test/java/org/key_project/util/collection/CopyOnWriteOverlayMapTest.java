@@ -0,0 +1,104 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CopyOnWriteOverlayMapTest {
+
+    private static CopyOnWriteOverlayMap<Integer, String> filled(int n) {
+        CopyOnWriteOverlayMap<Integer, String> map = new CopyOnWriteOverlayMap<>();
+        for (int i = 0; i < n; i++) {
+            map.put(i, "v" + i);
+        }
+        return map;
+    }
+
+    private static Map<Integer, String> toMap(CopyOnWriteOverlayMap<Integer, String> map) {
+        Map<Integer, String> result = new LinkedHashMap<>();
+        map.forEach(result::put);
+        return result;
+    }
+
+    @Test
+    void putGetRemove() {
+        CopyOnWriteOverlayMap<Integer, String> map = filled(100);
+        assertEquals(100, map.size());
+        assertEquals("v42", map.get(42));
+        map.put(42, "x");
+        assertEquals("x", map.get(42));
+        assertEquals(100, map.size());
+        map.remove(42);
+        assertNull(map.get(42));
+        assertFalse(map.containsKey(42));
+        assertEquals(99, map.size());
+        map.remove(42);
+        assertEquals(99, map.size());
+        map.put(42, "y");
+        assertEquals("y", map.get(42));
+        assertEquals(100, map.size());
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        CopyOnWriteOverlayMap<Integer, String> original = filled(1000);
+        CopyOnWriteOverlayMap<Integer, String> copy = original.copy();
+
+        copy.put(1, "copy");
+        copy.remove(2);
+        copy.put(5000, "new");
+        original.put(3, "original");
+
+        assertEquals("v1", original.get(1));
+        assertEquals("v2", original.get(2));
+        assertNull(original.get(5000));
+        assertEquals("original", original.get(3));
+        assertEquals(1000, original.size());
+
+        assertEquals("copy", copy.get(1));
+        assertNull(copy.get(2));
+        assertEquals("new", copy.get(5000));
+        assertEquals("v3", copy.get(3));
+        assertEquals(1000, copy.size());
+    }
+
+    @Test
+    void manyModificationsInCopy() {
+        CopyOnWriteOverlayMap<Integer, String> original = filled(100);
+        CopyOnWriteOverlayMap<Integer, String> copy = original.copy();
+        // enough to trigger merging the overlay into a new base
+        for (int i = 0; i < 500; i++) {
+            copy.put(i, "c" + i);
+        }
+        for (int i = 0; i < 50; i++) {
+            copy.remove(i);
+        }
+        assertEquals(450, copy.size());
+        assertEquals(toMap(copy).size(), copy.size());
+        assertEquals("c99", copy.get(99));
+        assertEquals("v99", original.get(99));
+        assertEquals(100, original.size());
+    }
+
+    @Test
+    void iterationOrder() {
+        CopyOnWriteOverlayMap<Integer, String> map = filled(100);
+        CopyOnWriteOverlayMap<Integer, String> copy = map.copy();
+        copy.put(200, "a");
+        copy.put(0, "b");
+        copy.remove(1);
+        List<Integer> keys = List.copyOf(toMap(copy).keySet());
+        assertEquals(0, keys.get(0));
+        assertEquals(2, keys.get(1));
+        assertEquals(200, keys.get(keys.size() - 1));
+        assertEquals("b", copy.values().get(0));
+        assertEquals(copy.size(), copy.values().size());
+    }
+}
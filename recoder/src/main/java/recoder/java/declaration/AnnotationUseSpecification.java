@@ -50,8 +50,10 @@ public class AnnotationUseSpecification extends JavaNonTerminalProgramElement
      */
     public AnnotationUseSpecification(AnnotationUseSpecification proto) {
         super(proto);
-        this.reference = (TypeReference) proto.parent.deepClone();
-        this.elementValuePairs = proto.elementValuePairs.deepClone();
+        this.reference = proto.reference.deepClone();
+        if (proto.elementValuePairs != null) {
+            this.elementValuePairs = proto.elementValuePairs.deepClone();
+        }
         makeParentRoleValid();
     }
 